@@ -29,6 +29,8 @@ import alluxio.grpc.DeletePRequest;
 import alluxio.grpc.DeletePResponse;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
+import alluxio.grpc.GetCacheReportRequest;
+import alluxio.grpc.GetCacheReportResponse;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcServerAddress;
@@ -198,6 +200,13 @@ public interface BlockWorkerClient extends Closeable {
    */
   Iterator<ListStatusPResponse> listStatus(ListStatusPRequest request);
 
+  /**
+   * Gets the bytes the worker caches for the files under a path.
+   * @param request the cache report request
+   * @return the streamed responses, the last one holding the totals of the path
+   */
+  Iterator<GetCacheReportResponse> getCacheReport(GetCacheReportRequest request);
+
   /**
    * copy files from src to dst.
    *
@@ -36,6 +36,8 @@ import alluxio.grpc.DeletePResponse;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
 import alluxio.grpc.FreeWorkerRequest;
+import alluxio.grpc.GetCacheReportRequest;
+import alluxio.grpc.GetCacheReportResponse;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcChannel;
@@ -352,6 +354,12 @@ public class DefaultBlockWorkerClient implements BlockWorkerClient {
         .listStatus(request);
   }
 
+  @Override
+  public Iterator<GetCacheReportResponse> getCacheReport(GetCacheReportRequest request) {
+    return mRpcBlockingStub.withDeadlineAfter(mRpcTimeoutMs, TimeUnit.MILLISECONDS)
+        .getCacheReport(request);
+  }
+
   @Override
   public ListenableFuture<CopyResponse> copy(CopyRequest request) {
     return mRpcFutureStub.copy(request);
@@ -16,6 +16,7 @@ import alluxio.CloseableSupplier;
 import alluxio.PositionReader;
 import alluxio.annotation.SuppressFBWarnings;
 import alluxio.client.ReadType;
+import alluxio.client.file.dora.CacheReport;
 import alluxio.client.file.dora.DoraCacheClient;
 import alluxio.client.file.options.OutStreamOptions;
 import alluxio.client.file.ufs.UfsBaseFileSystem;
@@ -176,6 +177,9 @@ public class DoraCacheFileSystem extends DelegatingFileSystem {
   @Override
   public FileInStream openFile(AlluxioURI path, OpenFilePOptions options)
       throws IOException, AlluxioException {
+    if (options.hasFileLength()) {
+      return openFile(getStatusFromLength(path, options.getFileLength()), options);
+    }
     return openFile(getStatus(path), options);
   }
 
@@ -203,7 +207,8 @@ public class DoraCacheFileSystem extends DelegatingFileSystem {
               .setNoCache(!ReadType.fromProto(mergedOptions.getReadType()).isCache())
               .setMountId(DUMMY_MOUNT_ID)
               .build();
-      return mDoraClient.getInStream(status, openUfsBlockOptions);
+      return mDoraClient.getInStream(status, openUfsBlockOptions,
+          mergedOptions.getRandomAccess());
     } catch (RuntimeException ex) {
       if (!mUfsFallbackEnabled) {
         throw ex;
@@ -442,6 +447,26 @@ public class DoraCacheFileSystem extends DelegatingFileSystem {
     }
   }
 
+  /**
+   * Builds the status of a file whose length is given by the caller, which saves the lookup of
+   * the status when opening the file. A file which does not exist fails on its first read.
+   *
+   * @param path the Alluxio path of the file
+   * @param length the length of the file
+   * @return the status of the file
+   */
+  private URIStatus getStatusFromLength(AlluxioURI path, long length) {
+    AlluxioURI ufsFullPath = convertToUfsPath(path);
+    FileInfo info = new FileInfo()
+        .setPath(path.getPath())
+        .setName(path.getName())
+        .setUfsPath(ufsFullPath.toString())
+        .setLength(length)
+        .setFolder(false)
+        .setCompleted(true);
+    return new URIStatus(info);
+  }
+
   /**
    * Converts the Alluxio based path to UfsBaseFileSystem based path if needed.
    *
@@ -505,6 +530,18 @@ public class DoraCacheFileSystem extends DelegatingFileSystem {
     return mDoraClient.checkFileLocation(ufsFullPath.toString(), options);
   }
 
+  /**
+   * Gets the bytes the workers cache for the files under a path.
+   * @param path the path
+   * @param recursive whether to report the files in the sub directories of the path
+   * @return the merged cache reports of all the workers
+   * @throws IOException
+   */
+  public CacheReport getCacheReport(AlluxioURI path, boolean recursive) throws IOException {
+    AlluxioURI ufsFullPath = convertToUfsPath(path);
+    return mDoraClient.getCacheReport(ufsFullPath.toString(), recursive);
+  }
+
   /**
    * Get the location information of the specified file.
    * @param path the path to get the location information
@@ -166,11 +166,16 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
       Consumer<? super URIStatus> action)
       throws FileDoesNotExistException, IOException, AlluxioException {
     if (options.getRecursive()) {
-      // Do not cache results of recursive list status,
+      // Do not cache results of recursive list status as directory listings,
       // because some results might be cached multiple times.
       // Otherwise, needs more complicated logic inside the cache,
       // that might not worth the effort of caching.
-      mDelegatedFileSystem.iterateStatus(path, options, action);
+      // The statuses of the listed paths are cached one by one though, so that one recursive
+      // listing warms up the metadata of the whole tree for the following getStatus calls.
+      mDelegatedFileSystem.iterateStatus(path, options, status -> {
+        mMetadataCache.put(status.getPath(), status);
+        action.accept(status);
+      });
       return;
     }
 
@@ -191,11 +196,17 @@ public class MetadataCachingFileSystem extends DelegatingFileSystem {
   public List<URIStatus> listStatus(AlluxioURI path, ListStatusPOptions options)
       throws FileDoesNotExistException, IOException, AlluxioException {
     if (options.getRecursive()) {
-      // Do not cache results of recursive list status,
+      // Do not cache results of recursive list status as directory listings,
       // because some results might be cached multiple times.
       // Otherwise, needs more complicated logic inside the cache,
       // that might not worth the effort of caching.
-      return mDelegatedFileSystem.listStatus(path, options);
+      // The statuses of the listed paths are cached one by one though, so that one recursive
+      // listing warms up the metadata of the whole tree for the following getStatus calls.
+      List<URIStatus> statuses = mDelegatedFileSystem.listStatus(path, options);
+      for (URIStatus status : statuses) {
+        mMetadataCache.put(status.getPath(), status);
+      }
+      return statuses;
     }
 
     List<URIStatus> statuses = mMetadataCache.listStatus(path);
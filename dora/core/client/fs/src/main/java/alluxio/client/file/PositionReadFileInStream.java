@@ -43,6 +43,8 @@ public class PositionReadFileInStream extends FileInStream {
   private final PrefetchCache mCache;
   private final URIStatus mURIStatus;
   private final DoraCacheClient mClient;
+  /** Whether the reads go straight to the reader, without the prefetch cache. */
+  private final boolean mRandomAccess;
   // Preload requests are async so a cached thread pool is used here.
   private final boolean mDataPreloadEnabled;
   private final long mNumPreloadedDataSize =
@@ -160,8 +162,26 @@ public class PositionReadFileInStream extends FileInStream {
       PositionReader reader,
       URIStatus uriStatus,
       DoraCacheClient client
+  ) {
+    this(reader, uriStatus, client, false);
+  }
+
+  /**
+   * Constructor.
+   * @param reader the position reader
+   * @param uriStatus the uri status
+   * @param client the dora client
+   * @param randomAccess whether the file is read with random positioned reads, in which case
+   *        the reads are not served by the prefetch cache and no data is preloaded
+   */
+  public PositionReadFileInStream(
+      PositionReader reader,
+      URIStatus uriStatus,
+      DoraCacheClient client,
+      boolean randomAccess
   ) {
     mClient = client;
+    mRandomAccess = randomAccess;
     mURIStatus = uriStatus;
     mPositionReader = reader;
     mLength = uriStatus.getLength();
@@ -169,8 +189,8 @@ public class PositionReadFileInStream extends FileInStream {
         PrefetchCachePolicy.Factory.create(), mLength);
     long dataPreloadFileSizeThreshold =
         Configuration.getBytes(PropertyKey.USER_POSITION_READER_PRELOAD_DATA_FILE_SIZE_THRESHOLD);
-    mDataPreloadEnabled =
-        Configuration.getBoolean(PropertyKey.USER_POSITION_READER_PRELOAD_DATA_ENABLED)
+    mDataPreloadEnabled = !randomAccess
+        && Configuration.getBoolean(PropertyKey.USER_POSITION_READER_PRELOAD_DATA_ENABLED)
             && uriStatus.getLength() > dataPreloadFileSizeThreshold
             && uriStatus.getInAlluxioPercentage() != 100;
   }
@@ -204,6 +224,13 @@ public class PositionReadFileInStream extends FileInStream {
   @Override
   public int read(ByteBuffer byteBuffer, int off, int len) throws IOException {
     byteBuffer.position(off).limit(off + len);
+    if (mRandomAccess) {
+      int bytesRead = mPositionReader.read(mPos, byteBuffer, len);
+      if (bytesRead > 0) {
+        mPos += bytesRead;
+      }
+      return bytesRead;
+    }
     mCache.addTrace(mPos, len);
     int totalBytesRead = 0;
     int bytesReadFromCache = mCache.fillWithCache(mPos, byteBuffer);
@@ -242,6 +269,9 @@ public class PositionReadFileInStream extends FileInStream {
       throws IOException {
     long pos = position;
     ByteBuffer byteBuffer = ByteBuffer.wrap(buffer, offset, len);
+    if (mRandomAccess) {
+      return mPositionReader.read(position, byteBuffer, len);
+    }
     mCache.addTrace(position, len);
     int totalBytesRead = 0;
     int bytesReadFromCache = mCache.fillWithCache(pos, byteBuffer);
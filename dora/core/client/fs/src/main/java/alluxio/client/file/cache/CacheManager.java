@@ -33,6 +33,7 @@ import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import javax.annotation.concurrent.GuardedBy;
@@ -316,6 +317,28 @@ public interface CacheManager extends AutoCloseable, CacheStatus {
     throw new UnsupportedOperationException();
   }
 
+  /**
+   * Checks whether all the pages of a range of a file are cached.
+   * @param fileId file identifier
+   * @param offset the offset of the range in the file
+   * @param length the length of the range
+   * @return whether the range is fully cached
+   */
+  default boolean isCached(String fileId, long offset, long length) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Calls an action for each cached file whose path starts with a prefix. Only the files cached
+   * with a {@link CacheContext#getFilePath() file path} are visited.
+   *
+   * @param pathPrefix the prefix of the paths
+   * @param action the action taking the path and the cached bytes of a file
+   */
+  default void forEachCachedFile(String pathPrefix, BiConsumer<String, Long> action) {
+    throw new UnsupportedOperationException();
+  }
+
   /**
    * Deletes all pages of the given file.
    *
@@ -0,0 +1,115 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.cache;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The cached pages of a file: a bitmap of the indexes of the pages and their total size. It lets
+ * the meta store answer how much of a file is cached without enumerating the pages of the cache.
+ *
+ * Updates must hold the write lock of the meta store. The byte count and the path may be read
+ * without lock.
+ */
+@NotThreadSafe
+final class CachedFilePages {
+  private final BitSet mPageIndexes = new BitSet();
+  private final AtomicLong mBytes = new AtomicLong();
+  @Nullable
+  private volatile String mPath;
+
+  /**
+   * @param pageIndex the index of the page
+   * @param pageSize the size of the page
+   */
+  void add(long pageIndex, long pageSize) {
+    int index = Math.toIntExact(pageIndex);
+    if (!mPageIndexes.get(index)) {
+      mPageIndexes.set(index);
+      mBytes.addAndGet(pageSize);
+    }
+  }
+
+  /**
+   * @param pageIndex the index of the page
+   * @param pageSize the size of the page
+   */
+  void remove(long pageIndex, long pageSize) {
+    int index = Math.toIntExact(pageIndex);
+    if (mPageIndexes.get(index)) {
+      mPageIndexes.clear(index);
+      mBytes.addAndGet(-pageSize);
+    }
+  }
+
+  /**
+   * @param pageIndex the index of the page
+   * @return whether the page is cached
+   */
+  boolean contains(long pageIndex) {
+    return pageIndex <= Integer.MAX_VALUE && mPageIndexes.get((int) pageIndex);
+  }
+
+  /**
+   * @param fromPageIndex the index of the first page, inclusive
+   * @param toPageIndex the index of the last page, exclusive
+   * @return whether all the pages in the range are cached
+   */
+  boolean containsAll(long fromPageIndex, long toPageIndex) {
+    if (fromPageIndex >= toPageIndex) {
+      return true;
+    }
+    if (toPageIndex > Integer.MAX_VALUE) {
+      return false;
+    }
+    return mPageIndexes.nextClearBit((int) fromPageIndex) >= toPageIndex;
+  }
+
+  /**
+   * @return the indexes of the cached pages in increasing order
+   */
+  long[] getPageIndexes() {
+    return mPageIndexes.stream().asLongStream().toArray();
+  }
+
+  /**
+   * @return whether no page is cached
+   */
+  boolean isEmpty() {
+    return mPageIndexes.isEmpty();
+  }
+
+  /**
+   * @return the total size of the cached pages
+   */
+  long bytes() {
+    return mBytes.get();
+  }
+
+  /**
+   * @return the path of the file, or null if it is not known
+   */
+  @Nullable
+  String getPath() {
+    return mPath;
+  }
+
+  /**
+   * @param path the path of the file
+   */
+  void setPath(String path) {
+    mPath = path;
+  }
+}
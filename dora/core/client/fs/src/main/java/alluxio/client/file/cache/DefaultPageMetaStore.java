@@ -31,11 +31,16 @@ import com.google.common.collect.ImmutableList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.NotThreadSafe;
@@ -50,6 +55,11 @@ public class DefaultPageMetaStore implements PageMetaStore {
   private static final Logger LOG = LoggerFactory.getLogger(DefaultPageMetaStore.class);
   /** A map from PageId to page info. */
   private final IndexedSet<PageInfo> mPages = new IndexedSet<>(INDEX_PAGE_ID, INDEX_FILE_ID);
+  /** A map from file ID to its cached pages, kept in sync with the pages. */
+  private final Map<String, CachedFilePages> mFiles = new ConcurrentHashMap<>();
+  /** A sorted map from file path to the ids of the cached files, for path prefix queries. */
+  private final ConcurrentSkipListMap<String, Set<String>> mFileIdsByPath =
+      new ConcurrentSkipListMap<>();
   private final ImmutableList<PageStoreDir> mDirs;
   /** The number of logical bytes used. */
   private final AtomicLong mBytes = new AtomicLong(0);
@@ -104,6 +114,8 @@ public class DefaultPageMetaStore implements PageMetaStore {
   private void addPageInternal(PageId pageId, PageInfo pageInfo) {
     Preconditions.checkArgument(pageId.equals(pageInfo.getPageId()), "page id mismatch");
     mPages.add(pageInfo);
+    mFiles.computeIfAbsent(pageId.getFileId(), fileId -> new CachedFilePages())
+        .add(pageId.getPageIndex(), pageInfo.getPageSize());
     mBytes.addAndGet(pageInfo.getPageSize());
     Metrics.SPACE_USED.inc(pageInfo.getPageSize());
   }
@@ -123,12 +135,21 @@ public class DefaultPageMetaStore implements PageMetaStore {
       throw new PageNotFoundException(
           String.format("No Pages found for file %s when committing", fileId));
     }
+    PageStoreDir dir = pages.iterator().next().getLocalCacheDir();
+    CachedFilePages oldFile = mFiles.remove(fileId);
+    CachedFilePages newFile = mFiles.computeIfAbsent(newFileId, id -> new CachedFilePages());
     for (PageInfo oldPageInfo : pages) {
       PageId newPageId = new PageId(newFileId, oldPageInfo.getPageId().getPageIndex());
       PageInfo newPageInfo = new PageInfo(newPageId, oldPageInfo.getPageSize(),
           oldPageInfo.getScope(), oldPageInfo.getLocalCacheDir());
       mPages.remove(oldPageInfo);
       mPages.add(newPageInfo);
+      newFile.add(newPageId.getPageIndex(), newPageInfo.getPageSize());
+    }
+    if (oldFile != null && oldFile.getPath() != null) {
+      indexFilePath(fileId, oldFile.getPath(), null);
+      deleteFilePath(dir, fileId);
+      setFilePath(newFileId, oldFile.getPath());
     }
   }
 
@@ -171,6 +192,7 @@ public class DefaultPageMetaStore implements PageMetaStore {
 
     PageInfo pageInfo = mPages.getFirstByField(INDEX_PAGE_ID, pageId);
     mPages.remove(pageInfo);
+    removeFromFile(pageInfo);
     mBytes.addAndGet(-pageInfo.getPageSize());
     Metrics.SPACE_USED.dec(pageInfo.getPageSize());
     if (isTemporary) {
@@ -181,6 +203,41 @@ public class DefaultPageMetaStore implements PageMetaStore {
     return pageInfo;
   }
 
+  private void removeFromFile(PageInfo pageInfo) {
+    String fileId = pageInfo.getPageId().getFileId();
+    CachedFilePages file = mFiles.get(fileId);
+    if (file != null) {
+      file.remove(pageInfo.getPageId().getPageIndex(), pageInfo.getPageSize());
+      if (file.isEmpty()) {
+        mFiles.remove(fileId);
+        if (file.getPath() != null) {
+          indexFilePath(fileId, file.getPath(), null);
+          deleteFilePath(pageInfo.getLocalCacheDir(), fileId);
+        }
+      }
+    }
+  }
+
+  private void deleteFilePath(PageStoreDir dir, String fileId) {
+    try {
+      dir.deleteFilePath(fileId);
+    } catch (IOException e) {
+      LOG.warn("Failed to delete the recorded path of file {}", fileId, e);
+    }
+  }
+
+  private void indexFilePath(String fileId, @Nullable String oldPath, @Nullable String newPath) {
+    if (oldPath != null) {
+      mFileIdsByPath.computeIfPresent(oldPath, (path, fileIds) -> {
+        fileIds.remove(fileId);
+        return fileIds.isEmpty() ? null : fileIds;
+      });
+    }
+    if (newPath != null) {
+      mFileIdsByPath.computeIfAbsent(newPath, path -> ConcurrentHashMap.newKeySet()).add(fileId);
+    }
+  }
+
   @Override
   @GuardedBy("getLock()")
   public PageInfo removePage(PageId pageId) throws PageNotFoundException {
@@ -204,6 +261,8 @@ public class DefaultPageMetaStore implements PageMetaStore {
     mBytes.set(0);
     Metrics.SPACE_USED.dec(Metrics.SPACE_USED.getCount());
     mPages.clear();
+    mFiles.clear();
+    mFileIdsByPath.clear();
   }
 
   @Override
@@ -234,6 +293,74 @@ public class DefaultPageMetaStore implements PageMetaStore {
     return pages;
   }
 
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public void setFilePath(String fileId, String path) {
+    CachedFilePages file = mFiles.get(fileId);
+    if (file == null || path.equals(file.getPath())) {
+      return;
+    }
+    indexFilePath(fileId, file.getPath(), path);
+    file.setPath(path);
+    // record the path along with the pages so that it is restored after a restart
+    try {
+      mPages.getFirstByField(INDEX_FILE_ID, fileId).getLocalCacheDir().putFilePath(fileId, path);
+    } catch (IOException e) {
+      LOG.warn("Failed to record the path {} of file {}", path, fileId, e);
+    }
+  }
+
+  @Override
+  @GuardedBy("getLock().writeLock()")
+  public boolean restoreFilePath(String fileId, String path) {
+    CachedFilePages file = mFiles.get(fileId);
+    if (file == null) {
+      return false;
+    }
+    indexFilePath(fileId, file.getPath(), path);
+    file.setPath(path);
+    return true;
+  }
+
+  @Override
+  public void forEachCachedFile(String pathPrefix, BiConsumer<String, Long> action) {
+    for (Map.Entry<String, Set<String>> entry
+        : mFileIdsByPath.tailMap(pathPrefix).entrySet()) {
+      if (!entry.getKey().startsWith(pathPrefix)) {
+        break;
+      }
+      for (String fileId : entry.getValue()) {
+        CachedFilePages file = mFiles.get(fileId);
+        if (file != null) {
+          action.accept(entry.getKey(), file.bytes());
+        }
+      }
+    }
+  }
+
+  @Override
+  public long getBytesByFileId(String fileId) {
+    CachedFilePages file = mFiles.get(fileId);
+    return file == null ? 0 : file.bytes();
+  }
+
+  @Override
+  @GuardedBy("getLock().readLock()")
+  public long[] getPageIndexesByFileId(String fileId) {
+    CachedFilePages file = mFiles.get(fileId);
+    return file == null ? new long[0] : file.getPageIndexes();
+  }
+
+  @Override
+  @GuardedBy("getLock().readLock()")
+  public boolean hasPages(String fileId, long fromPageIndex, long toPageIndex) {
+    if (fromPageIndex >= toPageIndex) {
+      return true;
+    }
+    CachedFilePages file = mFiles.get(fileId);
+    return file != null && file.containsAll(fromPageIndex, toPageIndex);
+  }
+
   @Override
   public Optional<CacheUsage> getUsage() {
     return Optional.of(new Usage());
@@ -260,8 +387,7 @@ public class DefaultPageMetaStore implements PageMetaStore {
     public Optional<CacheUsage> partitionedBy(PartitionDescriptor<?> partition) {
       if (partition instanceof FilePartition) {
         String fileId = ((FilePartition) partition).getIdentifier();
-        Set<PageInfo> pages = mPages.getByField(INDEX_FILE_ID, fileId);
-        long used = pages.stream().mapToLong(PageInfo::getPageSize).sum();
+        long used = getBytesByFileId(fileId);
         long capacity = capacity();
         long available = capacity - bytes();
         return Optional.of(new ImmutableCacheUsageView(used, available, capacity));
@@ -59,6 +59,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReadWriteLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 import javax.annotation.Nullable;
@@ -555,6 +556,9 @@ public class LocalCacheManager implements CacheManager {
     } else {
       mPageMetaStore.addPage(pageId, pageInfo);
     }
+    if (cacheContext.getFilePath() != null) {
+      mPageMetaStore.setFilePath(pageId.getFileId(), cacheContext.getFilePath());
+    }
   }
 
   private void undoAddPage(PageId pageId) {
@@ -787,6 +791,14 @@ public class LocalCacheManager implements CacheManager {
       LOG.error("Failed to restore PageStore", e);
       return false;
     }
+    try {
+      pageStoreDir.scanFilePaths(
+          (fileId, path) -> restoreFilePath(pageStoreDir, fileId, path));
+    } catch (IOException | RuntimeException e) {
+      // the pages are still usable, only the reports by path miss the files
+      LOG.warn("Failed to restore the file paths of PageStore ({})",
+          pageStoreDir.getRootPath(), e);
+    }
     LOG.info("PageStore ({}) restored with {} pages ({} bytes), "
             + "discarded {} pages ({} bytes)",
         pageStoreDir.getRootPath(), mPageMetaStore.numPages() - restoredPages,
@@ -795,6 +807,21 @@ public class LocalCacheManager implements CacheManager {
     return true;
   }
 
+  private void restoreFilePath(PageStoreDir pageStoreDir, String fileId, String path) {
+    boolean restored;
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().writeLock())) {
+      restored = mPageMetaStore.restoreFilePath(fileId, path);
+    }
+    if (!restored) {
+      // none of the pages of the file survived the restart
+      try {
+        pageStoreDir.deleteFilePath(fileId);
+      } catch (IOException e) {
+        LOG.warn("Failed to delete the recorded path of file {}", fileId, e);
+      }
+    }
+  }
+
   private void addPageToDir(PageStoreDir pageStoreDir, PageInfo pageInfo) {
     PageId pageId = pageInfo.getPageId();
     ReadWriteLock pageLock = getPageLock(pageId);
@@ -823,18 +850,36 @@ public class LocalCacheManager implements CacheManager {
   public List<PageId> getCachedPageIdsByFileId(String fileId, long fileLength) {
     //ceiling round the result
     int numOfPages = (int) ((fileLength - 1) / mOptions.getPageSize()) + 1;
-    List<PageId> pageIds = new ArrayList<>(numOfPages);
+    long[] pageIndexes;
     try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
-      for (long pageIndex = 0; pageIndex < numOfPages; pageIndex++) {
-        PageId pageId = new PageId(fileId, pageIndex);
-        if (mPageMetaStore.hasPage(pageId)) {
-          pageIds.add(pageId);
-        }
+      pageIndexes = mPageMetaStore.getPageIndexesByFileId(fileId);
+    }
+    List<PageId> pageIds = new ArrayList<>(pageIndexes.length);
+    for (long pageIndex : pageIndexes) {
+      if (pageIndex >= numOfPages) {
+        break;
       }
+      pageIds.add(new PageId(fileId, pageIndex));
     }
     return pageIds;
   }
 
+  @Override
+  public boolean isCached(String fileId, long offset, long length) {
+    long pageSize = mOptions.getPageSize();
+    long fromPageIndex = offset / pageSize;
+    long toPageIndex = (offset + length + pageSize - 1) / pageSize;
+    try (LockResource r = new LockResource(mPageMetaStore.getLock().readLock())) {
+      return mPageMetaStore.hasPages(fileId, fromPageIndex, toPageIndex);
+    }
+  }
+
+  @Override
+  public void forEachCachedFile(String pathPrefix, BiConsumer<String, Long> action) {
+    // the file index of the meta store can be read without lock
+    mPageMetaStore.forEachCachedFile(pathPrefix, action);
+  }
+
   @Override
   public boolean hasPageUnsafe(PageId pageId) {
     return mPageMetaStore.hasPage(pageId);
@@ -31,16 +31,30 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Stopwatch;
 import com.google.common.base.Ticker;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
 /**
  * Implementation of {@link PositionReader} that reads from a local cache if possible.
+ *
+ * When created with a fetch executor, the pages missing in the cache are fetched from the
+ * external reader by up to a given number of concurrent requests, for reads spanning several
+ * pages and ahead of sequential reads, instead of one page at a time by the reading thread.
  */
 @ThreadSafe
 public class LocalCachePositionReader implements PositionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(LocalCachePositionReader.class);
+
   /**
    * Page size in bytes.
    */
@@ -60,6 +74,16 @@ public class LocalCachePositionReader implements PositionReader {
   private final CloseableSupplier<PositionReader> mFallbackReader;
   private final FileId mFileId;
   private final long mFileSize;
+  /**
+   * Executor fetching the missing pages in parallel, or null to read them one at a time.
+   */
+  @Nullable
+  private final Executor mFetchExecutor;
+  private final int mFetchParallelism;
+  /** The fetches of the pages in flight, by page index. */
+  private final ConcurrentHashMap<Long, PageFetch> mPageFetches = new ConcurrentHashMap<>();
+  /** The end of the last read, to detect sequential reads. */
+  private volatile long mLastReadEnd = -1;
   private volatile boolean mClosed;
 
   /**
@@ -98,19 +122,46 @@ public class LocalCachePositionReader implements PositionReader {
                                                 CloseableSupplier<PositionReader> fallbackReader,
                                                 FileId fileId, long fileSize, long pageSize,
                                                 CacheContext cacheContext) {
+    return create(cacheManager, fallbackReader, fileId, fileSize, pageSize, cacheContext,
+        null, 1);
+  }
+
+  /**
+   * @param cacheManager
+   * @param fallbackReader the reader of the pages missing in the cache, which must support
+   *        concurrent reads when a fetch executor is given
+   * @param fileId
+   * @param fileSize
+   * @param pageSize
+   * @param cacheContext
+   * @param fetchExecutor the executor fetching the missing pages, or null to read them one at a
+   *        time from the reading thread
+   * @param fetchParallelism the maximum number of pages of the file fetched concurrently
+   * @return LocalCachePositionReader
+   */
+  public static LocalCachePositionReader create(CacheManager cacheManager,
+                                                CloseableSupplier<PositionReader> fallbackReader,
+                                                FileId fileId, long fileSize, long pageSize,
+                                                CacheContext cacheContext,
+                                                @Nullable Executor fetchExecutor,
+                                                int fetchParallelism) {
     return new LocalCachePositionReader(cacheManager, fallbackReader,
-        fileId, fileSize, pageSize, cacheContext);
+        fileId, fileSize, pageSize, cacheContext,
+        fetchParallelism > 1 ? fetchExecutor : null, fetchParallelism);
   }
 
   private LocalCachePositionReader(CacheManager cacheManager,
                                    CloseableSupplier<PositionReader> fallbackReader, FileId fileId,
-                                   long fileSize, long pageSize, CacheContext context) {
+                                   long fileSize, long pageSize, CacheContext context,
+                                   @Nullable Executor fetchExecutor, int fetchParallelism) {
     mCacheManager = Preconditions.checkNotNull(cacheManager);
     mFallbackReader = Preconditions.checkNotNull(fallbackReader);
     mFileId = fileId;
     mFileSize = fileSize;
     mPageSize = pageSize;
     mCacheContext = Preconditions.checkNotNull(context);
+    mFetchExecutor = fetchExecutor;
+    mFetchParallelism = fetchParallelism;
   }
 
   @Override
@@ -123,9 +174,16 @@ public class LocalCachePositionReader implements PositionReader {
     Stopwatch stopwatch = createUnstartedStopwatch();
     int totalBytesRead = 0;
     long lengthToRead = Math.min(length, mFileSize - position);
+    if (mFetchExecutor != null) {
+      fetchPages(position, lengthToRead);
+    }
     // used in positionedRead, so make stopwatch a local variable rather than class member
     // for each page, check if it is available in the cache
     while (totalBytesRead < lengthToRead) {
+      PageFetch fetch = mPageFetches.get(position / mPageSize);
+      if (fetch != null) {
+        fetch.await();
+      }
       int bytesRead = localCachedRead(buffer,
           (int) (lengthToRead - totalBytesRead), position, stopwatch);
       if (bytesRead <= 0) {
@@ -134,6 +192,7 @@ public class LocalCachePositionReader implements PositionReader {
       totalBytesRead += bytesRead;
       position += bytesRead;
     }
+    mLastReadEnd = position;
     if (totalBytesRead > length
         || (totalBytesRead < length && position < mFileSize)) {
       throw new IOException(String.format("Invalid number of bytes read - "
@@ -149,9 +208,97 @@ public class LocalCachePositionReader implements PositionReader {
       return;
     }
     mClosed = true;
+    // the fallback reader must not be used by a fetch once closed
+    for (PageFetch fetch : mPageFetches.values()) {
+      fetch.await();
+    }
     mFallbackReader.close();
   }
 
+  /**
+   * Fetches in parallel the missing pages of a read spanning several pages, or ahead of a
+   * sequential read. The first page is left to the reading thread.
+   */
+  private void fetchPages(long position, long length) {
+    long firstPage = position / mPageSize;
+    long lastPage = (position + length - 1) / mPageSize;
+    if (position == mLastReadEnd) {
+      lastPage = Math.max(lastPage, firstPage + mFetchParallelism - 1);
+    }
+    lastPage = Math.min(lastPage, (mFileSize - 1) / mPageSize);
+    for (long page = firstPage + 1;
+         page <= lastPage && mPageFetches.size() < mFetchParallelism - 1; page++) {
+      if (mPageFetches.containsKey(page) || mCacheManager.hasPageUnsafe(getPageId(page))) {
+        continue;
+      }
+      PageFetch fetch = new PageFetch(page);
+      if (mPageFetches.putIfAbsent(page, fetch) != null) {
+        continue;
+      }
+      try {
+        mFetchExecutor.execute(fetch);
+      } catch (RejectedExecutionException e) {
+        mPageFetches.remove(page, fetch);
+        return;
+      }
+    }
+  }
+
+  private PageId getPageId(long pageIndex) {
+    return mCacheContext.getCacheIdentifier() != null
+        ? new PageId(mCacheContext.getCacheIdentifier(), pageIndex)
+        : new PageId(mFileId.toString(), pageIndex);
+  }
+
+  /**
+   * Fetch of a page from the external reader into the cache. The reader needing a page whose
+   * fetch has not started yet reads the page itself rather than waiting for the executor.
+   */
+  private final class PageFetch implements Runnable {
+    private final long mPageIndex;
+    private final AtomicBoolean mClaimed = new AtomicBoolean();
+    private final CountDownLatch mDone = new CountDownLatch(1);
+
+    PageFetch(long pageIndex) {
+      mPageIndex = pageIndex;
+    }
+
+    @Override
+    public void run() {
+      if (!mClaimed.compareAndSet(false, true)) {
+        return;
+      }
+      try {
+        if (!mClosed) {
+          mCacheManager.put(getPageId(mPageIndex), readExternalPage(mPageIndex * mPageSize),
+              mCacheContext);
+        }
+      } catch (RuntimeException e) {
+        // the reader loads the page itself
+        LOG.debug("Failed to fetch page {} of file {}", mPageIndex, mFileId, e);
+      } finally {
+        mPageFetches.remove(mPageIndex, this);
+        mDone.countDown();
+      }
+    }
+
+    /**
+     * Waits for the fetch if it is running, or cancels it if it has not started.
+     */
+    void await() {
+      if (mClaimed.compareAndSet(false, true)) {
+        mPageFetches.remove(mPageIndex, this);
+        mDone.countDown();
+        return;
+      }
+      try {
+        mDone.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
   /**
    * Get a {@link DataFileChannel} which wraps a {@link io.netty.channel.FileRegion}.
    *
@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 import java.nio.ByteBuffer;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
 /**
@@ -210,6 +211,25 @@ public class NoExceptionCacheManager implements CacheManager {
     return mCacheManager.getCachedPageIdsByFileId(fileId, fileLength);
   }
 
+  @Override
+  public boolean isCached(String fileId, long offset, long length) {
+    try {
+      return mCacheManager.isCached(fileId, offset, length);
+    } catch (Exception e) {
+      LOG.error("Failed to check whether file {} is cached", fileId, e);
+      return false;
+    }
+  }
+
+  @Override
+  public void forEachCachedFile(String pathPrefix, BiConsumer<String, Long> action) {
+    try {
+      mCacheManager.forEachCachedFile(pathPrefix, action);
+    } catch (Exception e) {
+      LOG.error("Failed to get the cached files under {}", pathPrefix, e);
+    }
+  }
+
   @Override
   public boolean hasPageUnsafe(PageId pageId) {
     return mCacheManager.hasPageUnsafe(pageId);
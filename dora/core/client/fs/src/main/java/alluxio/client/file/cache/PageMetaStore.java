@@ -20,6 +20,7 @@ import java.io.IOException;
 import java.util.List;
 import java.util.Set;
 import java.util.concurrent.locks.ReadWriteLock;
+import java.util.function.BiConsumer;
 
 /**
  * The metadata store for pages stored in cache.
@@ -143,6 +144,71 @@ public interface PageMetaStore extends CacheStatus {
    */
   Set<PageInfo> getAllPagesByFileId(String fileId);
 
+  /**
+   * Gets the bytes of all the pages of a file.
+   * @param fileId the target file id
+   * @return the bytes cached for the file
+   */
+  default long getBytesByFileId(String fileId) {
+    return getAllPagesByFileId(fileId).stream().mapToLong(PageInfo::getPageSize).sum();
+  }
+
+  /**
+   * Records the path of a file with cached pages, so that the file can be found by its path. The
+   * path is dropped along with the last page of the file.
+   * @param fileId the target file id
+   * @param path the path of the file
+   */
+  default void setFilePath(String fileId, String path) {
+  }
+
+  /**
+   * Restores the path of a file with cached pages recorded before a restart. Unlike
+   * {@link #setFilePath}, the path is not recorded again.
+   * @param fileId the target file id
+   * @param path the path of the file
+   * @return whether the file has cached pages to restore the path for
+   */
+  default boolean restoreFilePath(String fileId, String path) {
+    return false;
+  }
+
+  /**
+   * Calls an action for each file with cached pages whose recorded path starts with a prefix.
+   * The files are not locked, so the cached bytes of a file may change while it is visited.
+   * @param pathPrefix the prefix of the paths
+   * @param action the action taking the path and the cached bytes of a file
+   */
+  default void forEachCachedFile(String pathPrefix, BiConsumer<String, Long> action) {
+    throw new UnsupportedOperationException();
+  }
+
+  /**
+   * Gets the indexes of the cached pages of a file.
+   * @param fileId the target file id
+   * @return the page indexes in increasing order
+   */
+  default long[] getPageIndexesByFileId(String fileId) {
+    return getAllPagesByFileId(fileId).stream()
+        .mapToLong(pageInfo -> pageInfo.getPageId().getPageIndex()).sorted().toArray();
+  }
+
+  /**
+   * Checks whether a range of pages of a file are all cached.
+   * @param fileId the target file id
+   * @param fromPageIndex the index of the first page, inclusive
+   * @param toPageIndex the index of the last page, exclusive
+   * @return whether all the pages are cached
+   */
+  default boolean hasPages(String fileId, long fromPageIndex, long toPageIndex) {
+    for (long pageIndex = fromPageIndex; pageIndex < toPageIndex; pageIndex++) {
+      if (!hasPage(new PageId(fileId, pageIndex))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
   /**
    * @param pageStoreDir
    * @return a page to evict
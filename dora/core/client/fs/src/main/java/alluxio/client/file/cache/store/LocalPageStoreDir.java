@@ -25,23 +25,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.nio.file.attribute.FileTime;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Stream;
 
 /**
  *
  */
 public class LocalPageStoreDir extends QuotaManagedPageStoreDir {
   private static final Logger LOG = LoggerFactory.getLogger(LocalPageStoreDir.class);
+  /** The dir under the page size dir holding the recorded paths of the cached files. */
+  public static final String FILE_PATH_DIR = "PATHS";
 
   private final PageStoreOptions mPageStoreOptions;
   private final int mFileBuckets;
   private final Pattern mPagePattern;
+  private final Path mFilePathDir;
 
   private PageStore mPageStore;
 
@@ -65,6 +72,8 @@ public class LocalPageStoreDir extends QuotaManagedPageStoreDir {
         String.format("%s/%d/(\\d+)/([^/]+)/(\\d+)",
             Pattern.quote(pageStoreOptions.getRootDir().toString()),
             pageStoreOptions.getPageSize()));
+    mFilePathDir = Paths.get(pageStoreOptions.getRootDir().toString(),
+        Long.toString(pageStoreOptions.getPageSize()), FILE_PATH_DIR);
   }
 
   /**
@@ -95,10 +104,51 @@ public class LocalPageStoreDir extends QuotaManagedPageStoreDir {
    */
   @Override
   public void scanPages(Consumer<Optional<PageInfo>> pageInfoConsumer) throws IOException {
-    Files.walk(getRootPath()).filter(Files::isRegularFile).map(this::getPageInfo)
+    Files.walk(getRootPath()).filter(Files::isRegularFile)
+        .filter(path -> !path.startsWith(mFilePathDir)).map(this::getPageInfo)
         .forEach(pageInfoConsumer);
   }
 
+  @Override
+  public void putFilePath(String fileId, String path) throws IOException {
+    Path filePathFile = getFilePathFile(fileId);
+    Files.createDirectories(filePathFile.getParent());
+    Files.write(filePathFile, path.getBytes(StandardCharsets.UTF_8));
+  }
+
+  @Override
+  public void deleteFilePath(String fileId) throws IOException {
+    Files.deleteIfExists(getFilePathFile(fileId));
+  }
+
+  @Override
+  public void scanFilePaths(BiConsumer<String, String> filePathConsumer) throws IOException {
+    if (!Files.isDirectory(mFilePathDir)) {
+      return;
+    }
+    try (Stream<Path> stream = Files.walk(mFilePathDir)) {
+      stream.filter(Files::isRegularFile).forEach(filePathFile -> {
+        String path;
+        try {
+          path = new String(Files.readAllBytes(filePathFile), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+          LOG.error("Failed to read the file path in " + filePathFile, e);
+          deleteUnrecognizedPage(filePathFile);
+          return;
+        }
+        filePathConsumer.accept(filePathFile.getFileName().toString(), path);
+      });
+    }
+  }
+
+  /**
+   * @param fileId file id
+   * @return the local file recording the path of the file
+   */
+  private Path getFilePathFile(String fileId) {
+    return mFilePathDir.resolve(getFileBucket(mFileBuckets, fileId)).resolve(fileId);
+  }
+
   /**
    * @param path path of a file
    * @return the corresponding page info for the file otherwise empty
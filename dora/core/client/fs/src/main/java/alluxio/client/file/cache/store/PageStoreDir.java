@@ -28,6 +28,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 import java.util.stream.Stream;
 
@@ -136,6 +137,31 @@ public interface PageStoreDir extends CacheStatus {
    */
   void scanPages(Consumer<Optional<PageInfo>> pageInfoConsumer) throws IOException;
 
+  /**
+   * Records the path of a file with pages in this dir, so that it survives a restart.
+   * @param fileId the file id
+   * @param path the path of the file
+   * @throws IOException if the path could not be recorded
+   */
+  default void putFilePath(String fileId, String path) throws IOException {
+  }
+
+  /**
+   * Drops the recorded path of a file.
+   * @param fileId the file id
+   * @throws IOException if the path could not be dropped
+   */
+  default void deleteFilePath(String fileId) throws IOException {
+  }
+
+  /**
+   * Scans the file paths recorded in this dir.
+   * @param filePathConsumer the consumer taking the file id and the path of a file
+   * @throws IOException if the paths could not be scanned
+   */
+  default void scanFilePaths(BiConsumer<String, String> filePathConsumer) throws IOException {
+  }
+
   /**
    * @return cached bytes in this directory
    */
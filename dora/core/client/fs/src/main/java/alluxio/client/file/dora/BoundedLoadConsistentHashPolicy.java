@@ -0,0 +1,232 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.membership.MembershipManager;
+import alluxio.membership.WorkerLoadHints;
+import alluxio.wire.WorkerIdentity;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Suppliers;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * An implementation of WorkerLocationPolicy.
+ *
+ * A consistent hashing policy with bounded loads. Like {@link ConsistentHashPolicy}, a file
+ * path is matched to a sequence of workers along the hash ring. Workers publish load hints
+ * through the membership service, and a worker whose in-flight reads or read throughput exceed
+ * {@link PropertyKey#USER_CONSISTENT_HASH_BOUNDED_LOAD_FACTOR} times the cluster average is
+ * skipped in favor of the next worker along the ring.
+ *
+ * Files this client reads often are considered hot, and their reads are spread over the first
+ * {@link PropertyKey#USER_CONSISTENT_HASH_HOT_FILE_MAX_REPLICAS} workers along the ring.
+ * This trades the determinism of the mapping for a bounded number of cache replicas of the hot
+ * files only, while the long tail of files keeps its single cache location.
+ * When no load hints are available and no file is hot, this policy picks the same workers as
+ * {@link ConsistentHashPolicy}.
+ */
+public class BoundedLoadConsistentHashPolicy implements WorkerLocationPolicy {
+  private static final Logger LOG =
+      LoggerFactory.getLogger(BoundedLoadConsistentHashPolicy.class);
+  private static final ConsistentHashProvider HASH_PROVIDER =
+      new ConsistentHashProvider(100, Constants.SECOND_MS);
+  /** The maximum number of files whose accesses are counted for hot file detection. */
+  private static final int MAX_TRACKED_FILES = 10_000;
+
+  private final int mNumVirtualNodes;
+  private final double mLoadFactor;
+  private final int mHotFileThreshold;
+  private final int mHotFileMaxReplicas;
+  private final long mLoadHintsTtlMs;
+  private final Supplier<Map<WorkerIdentity, WorkerLoadHints>> mLoadHints;
+  /** Number of accesses to a file within the hot file window, since the first access. */
+  private final Cache<String, AtomicInteger> mAccessCounts;
+  /** Rotates the reads of hot files over their replicas. */
+  private final AtomicLong mSpillCounter = new AtomicLong();
+
+  /**
+   * Constructs a new {@link BoundedLoadConsistentHashPolicy}.
+   *
+   * @param conf the configuration used by the policy
+   */
+  public BoundedLoadConsistentHashPolicy(AlluxioConfiguration conf) {
+    this(conf, () -> {
+      try {
+        return MembershipManager.Factory.get(conf).getLoadHints();
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Failed to get worker load hints", e);
+        return Collections.emptyMap();
+      }
+    });
+  }
+
+  @VisibleForTesting
+  BoundedLoadConsistentHashPolicy(AlluxioConfiguration conf,
+      Supplier<Map<WorkerIdentity, WorkerLoadHints>> loadHints) {
+    mNumVirtualNodes = conf.getInt(PropertyKey.USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT_PER_WORKER);
+    mLoadFactor = conf.getDouble(PropertyKey.USER_CONSISTENT_HASH_BOUNDED_LOAD_FACTOR);
+    Preconditions.checkArgument(mLoadFactor >= 1.0,
+        "%s should be at least 1.0", PropertyKey.USER_CONSISTENT_HASH_BOUNDED_LOAD_FACTOR);
+    mHotFileThreshold = conf.getInt(PropertyKey.USER_CONSISTENT_HASH_HOT_FILE_ACCESS_THRESHOLD);
+    mHotFileMaxReplicas = conf.getInt(PropertyKey.USER_CONSISTENT_HASH_HOT_FILE_MAX_REPLICAS);
+    long refreshIntervalMs =
+        conf.getMs(PropertyKey.USER_CONSISTENT_HASH_LOAD_HINTS_REFRESH_INTERVAL);
+    // hints that were not refreshed by the worker for a few intervals are considered stale
+    mLoadHintsTtlMs = 3 * Math.max(refreshIntervalMs,
+        conf.getMs(PropertyKey.WORKER_LOAD_HINTS_PUBLISH_INTERVAL));
+    mLoadHints = refreshIntervalMs > 0
+        ? Suppliers.memoizeWithExpiration(loadHints::get, refreshIntervalMs, TimeUnit.MILLISECONDS)
+        : loadHints;
+    mAccessCounts = CacheBuilder.newBuilder()
+        .maximumSize(MAX_TRACKED_FILES)
+        .expireAfterWrite(conf.getMs(PropertyKey.USER_CONSISTENT_HASH_HOT_FILE_WINDOW),
+            TimeUnit.MILLISECONDS)
+        .build();
+  }
+
+  @Override
+  public List<BlockWorkerInfo> getPreferredWorkers(List<BlockWorkerInfo> blockWorkerInfos,
+      String fileId, int count) throws ResourceExhaustedException {
+    if (blockWorkerInfos.size() < count) {
+      throw new ResourceExhaustedException(String.format(
+          "Not enough workers in the cluster %d workers in the cluster but %d required",
+          blockWorkerInfos.size(), count));
+    }
+    HASH_PROVIDER.refresh(blockWorkerInfos, mNumVirtualNodes);
+    int replicas = isHot(fileId) ? Math.max(count, mHotFileMaxReplicas) : count;
+    Load load = new Load(mLoadHints.get(), blockWorkerInfos);
+    // look further along the ring by as many workers as are overloaded, to skip them
+    int numCandidates = Math.min(blockWorkerInfos.size(), replicas + load.mNumOverloaded);
+    List<BlockWorkerInfo> candidates = HASH_PROVIDER.getMultiple(fileId, numCandidates);
+    if (candidates.size() < count) {
+      throw new ResourceExhaustedException(String.format(
+          "Found %d workers from the hash ring but %d required", candidates.size(), count));
+    }
+    if (replicas > count) {
+      // spread the reads of a hot file by rotating over its replicas
+      int numReplicas = Math.min(replicas, candidates.size());
+      int offset = (int) (mSpillCounter.getAndIncrement() % numReplicas);
+      List<BlockWorkerInfo> rotated = new ArrayList<>(candidates.size());
+      for (int i = 0; i < numReplicas; i++) {
+        rotated.add(candidates.get((offset + i) % numReplicas));
+      }
+      rotated.addAll(candidates.subList(numReplicas, candidates.size()));
+      candidates = rotated;
+    }
+    return select(candidates, count, load);
+  }
+
+  /**
+   * Picks the first {@code count} workers that are not overloaded in the order of the
+   * candidates, and falls back to the overloaded ones in the same order.
+   */
+  private static List<BlockWorkerInfo> select(List<BlockWorkerInfo> candidates, int count,
+      Load load) {
+    List<BlockWorkerInfo> selected = new ArrayList<>(count);
+    List<BlockWorkerInfo> overloaded = new ArrayList<>();
+    for (BlockWorkerInfo candidate : candidates) {
+      if (selected.size() == count) {
+        break;
+      }
+      if (load.isOverloaded(candidate.getIdentity())) {
+        overloaded.add(candidate);
+      } else {
+        selected.add(candidate);
+      }
+    }
+    for (int i = 0; selected.size() < count; i++) {
+      selected.add(overloaded.get(i));
+    }
+    return selected;
+  }
+
+  private boolean isHot(String fileId) {
+    if (mHotFileThreshold <= 0 || mHotFileMaxReplicas <= 1) {
+      return false;
+    }
+    try {
+      return mAccessCounts.get(fileId, AtomicInteger::new).incrementAndGet() > mHotFileThreshold;
+    } catch (ExecutionException e) {
+      // the loader does not throw
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * The load of the workers, derived from the hints they published.
+   * The capacity follows consistent hashing with bounded loads: a worker may take up to
+   * the load factor times the average load, plus one so that idle clusters are never full.
+   */
+  private final class Load {
+    private final Map<WorkerIdentity, WorkerLoadHints> mHints;
+    private final double mMaxInFlightReads;
+    private final double mMaxBytesReadPerSec;
+    private final int mNumOverloaded;
+
+    Load(Map<WorkerIdentity, WorkerLoadHints> hints, List<BlockWorkerInfo> workers) {
+      mHints = hints;
+      long now = System.currentTimeMillis();
+      long inFlightReads = 0;
+      double bytesReadPerSec = 0;
+      int numWorkers = 0;
+      for (BlockWorkerInfo worker : workers) {
+        WorkerLoadHints hint = hints.get(worker.getIdentity());
+        if (hint != null && now - hint.getTimestampMs() <= mLoadHintsTtlMs) {
+          inFlightReads += hint.getInFlightReads();
+          bytesReadPerSec += hint.getBytesReadPerSec();
+          numWorkers++;
+        }
+      }
+      mMaxInFlightReads = numWorkers == 0 ? Double.MAX_VALUE
+          : Math.ceil(mLoadFactor * (inFlightReads + 1) / numWorkers);
+      mMaxBytesReadPerSec = numWorkers == 0 || bytesReadPerSec == 0 ? Double.MAX_VALUE
+          : mLoadFactor * bytesReadPerSec / numWorkers;
+      int numOverloaded = 0;
+      for (BlockWorkerInfo worker : workers) {
+        if (isOverloaded(worker.getIdentity())) {
+          numOverloaded++;
+        }
+      }
+      mNumOverloaded = numOverloaded;
+    }
+
+    boolean isOverloaded(WorkerIdentity worker) {
+      WorkerLoadHints hint = mHints.get(worker);
+      if (hint == null || System.currentTimeMillis() - hint.getTimestampMs() > mLoadHintsTtlMs) {
+        return false;
+      }
+      return hint.getInFlightReads() > mMaxInFlightReads
+          || hint.getBytesReadPerSec() > mMaxBytesReadPerSec;
+    }
+  }
+}
@@ -0,0 +1,124 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.grpc.CachedFileStatus;
+import alluxio.grpc.GetCacheReportResponse;
+import alluxio.wire.WorkerNetAddress;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * The bytes cached by the workers for the files under a path, merged from the cache reports of
+ * all the workers. Only the files with cached data are reported.
+ *
+ * A file cached by several workers is counted once, with the bytes of the worker which caches the
+ * most of it, so that the replicas of a file do not make the path look warmer than it is.
+ */
+@NotThreadSafe
+public final class CacheReport {
+  private final Map<String, FileCacheStatus> mFiles = new HashMap<>();
+  private int mFailedWorkers = 0;
+
+  /**
+   * Merges a response of the cache report of a worker.
+   *
+   * @param worker the worker
+   * @param response the response
+   */
+  public void add(WorkerNetAddress worker, GetCacheReportResponse response) {
+    for (CachedFileStatus file : response.getFilesList()) {
+      FileCacheStatus status =
+          mFiles.computeIfAbsent(file.getUfsPath(), path -> new FileCacheStatus());
+      status.mCachedBytes = Math.max(status.mCachedBytes, file.getCachedBytes());
+      status.mWorkers.add(worker);
+    }
+  }
+
+  /**
+   * Merges the cache report of a worker which failed.
+   */
+  public void addFailedWorker() {
+    mFailedWorkers++;
+  }
+
+  /**
+   * Merges another report in this report.
+   *
+   * @param other the other report
+   */
+  public void merge(CacheReport other) {
+    other.mFiles.forEach((path, otherStatus) -> {
+      FileCacheStatus status = mFiles.computeIfAbsent(path, p -> new FileCacheStatus());
+      status.mCachedBytes = Math.max(status.mCachedBytes, otherStatus.mCachedBytes);
+      status.mWorkers.addAll(otherStatus.mWorkers);
+    });
+    mFailedWorkers += other.mFailedWorkers;
+  }
+
+  /**
+   * @return the cache status of the files reported by the workers, by ufs path
+   */
+  public Map<String, FileCacheStatus> getFiles() {
+    return Collections.unmodifiableMap(mFiles);
+  }
+
+  /**
+   * @return the number of files with cached data
+   */
+  public long getCachedFiles() {
+    return mFiles.size();
+  }
+
+  /**
+   * @return the bytes of the files under the path which are cached
+   */
+  public long getCachedBytes() {
+    return mFiles.values().stream().mapToLong(FileCacheStatus::getCachedBytes).sum();
+  }
+
+  /**
+   * @return the number of workers which could not report their cache
+   */
+  public int getFailedWorkers() {
+    return mFailedWorkers;
+  }
+
+  /**
+   * The cache status of a file.
+   */
+  public static final class FileCacheStatus {
+    private long mCachedBytes = 0;
+    private final List<WorkerNetAddress> mWorkers = new ArrayList<>();
+
+    private FileCacheStatus() {}
+
+    /**
+     * @return the bytes of the file cached by the worker which caches the most of it
+     */
+    public long getCachedBytes() {
+      return mCachedBytes;
+    }
+
+    /**
+     * @return the workers which cache some data of the file
+     */
+    public List<WorkerNetAddress> getWorkers() {
+      return Collections.unmodifiableList(mWorkers);
+    }
+  }
+}
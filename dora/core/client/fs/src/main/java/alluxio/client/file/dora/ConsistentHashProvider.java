@@ -11,9 +11,6 @@
 
 package alluxio.client.file.dora;
 
-import static com.google.common.hash.Hashing.murmur3_32_fixed;
-import static java.nio.charset.StandardCharsets.UTF_8;
-
 import alluxio.Constants;
 import alluxio.client.block.BlockWorkerInfo;
 import alluxio.wire.WorkerIdentity;
@@ -21,15 +18,12 @@ import alluxio.wire.WorkerIdentity;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
-import com.google.common.hash.HashCode;
-import com.google.common.hash.HashFunction;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.Map;
 import java.util.NavigableMap;
 import java.util.Set;
-import java.util.TreeMap;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.atomic.LongAdder;
@@ -42,11 +36,15 @@ import javax.annotation.concurrent.ThreadSafe;
  *
  * This implementation is thread safe in lazy init and in refreshing the worker list.
  * See inline comments for thread safety guarantees and semantics.
+ *
+ * The ring itself is an immutable {@link HashRing}. On a membership change, only the virtual
+ * nodes of the added workers are computed and merged into the ring, and the fraction of keys
+ * that moved to a different worker is logged and available from {@link #getLastMovedFraction()}.
  */
 @VisibleForTesting
 @ThreadSafe
 public class ConsistentHashProvider {
-  private static final HashFunction HASH_FUNCTION = murmur3_32_fixed();
+  private static final Logger LOG = LoggerFactory.getLogger(ConsistentHashProvider.class);
   private final int mMaxAttempts;
   private final long mWorkerInfoUpdateIntervalNs;
 
@@ -85,7 +83,11 @@ public class ConsistentHashProvider {
    *    At this stage it is guarded by `mLastUpdatedTimestamp`.
    */
   @Nullable
-  private volatile NavigableMap<Integer, BlockWorkerInfo> mActiveNodesByConsistentHashing;
+  private volatile HashRing mActiveNodesByConsistentHashing;
+  /**
+   * The fraction of the keys that moved to a different worker on the last ring update.
+   */
+  private volatile double mLastMovedFraction = 0;
   /**
    * Lock to protect the lazy initialization of {@link #mActiveNodesByConsistentHashing}.
    */
@@ -110,13 +112,9 @@ public class ConsistentHashProvider {
    * @return a list of workers following the hash ring
    */
   public List<BlockWorkerInfo> getMultiple(String key, int count) {
-    Set<BlockWorkerInfo> workers = new LinkedHashSet<>(); // preserve insertion order
-    int attempts = 0;
-    while (workers.size() < count && attempts < mMaxAttempts) {
-      attempts++;
-      workers.add(get(key, attempts));
-    }
-    return ImmutableList.copyOf(workers);
+    HashRing ring = mActiveNodesByConsistentHashing;
+    Preconditions.checkState(ring != null, "Hash provider is not properly initialized");
+    return ring.getMultiple(key, count, mMaxAttempts);
   }
 
   /**
@@ -141,9 +139,16 @@ public class ConsistentHashProvider {
       // WORKER_INFO_UPDATE_INTERVAL_NS, so that before next update the current update has been
       // finished
       if (hasWorkerListChanged(workerInfos, mLastWorkerInfos.get())) {
-        mActiveNodesByConsistentHashing = build(workerInfos, numVirtualNodes);
+        HashRing previous = mActiveNodesByConsistentHashing;
+        HashRing updated = previous.getNumVirtualNodes() == numVirtualNodes
+            ? previous.update(workerInfos) : HashRing.build(workerInfos, numVirtualNodes);
+        mLastMovedFraction = HashRing.movedFraction(previous, updated);
+        mActiveNodesByConsistentHashing = updated;
         mLastWorkerInfos.set(workerInfos);
         mUpdateCount.increment();
+        LOG.info("Updated the hash ring from {} to {} workers, {}% of the keys moved",
+            previous.getWorkers().size(), workerInfos.size(),
+            String.format("%.2f", mLastMovedFraction * 100));
       }
     }
     // otherwise, do nothing and proceed with stale worker list. on next access, the worker list
@@ -178,7 +183,7 @@ public class ConsistentHashProvider {
         // only one thread should reach here
         // test again to skip re-initialization
         if (mActiveNodesByConsistentHashing == null) {
-          mActiveNodesByConsistentHashing = build(workerInfos, numVirtualNodes);
+          mActiveNodesByConsistentHashing = HashRing.build(workerInfos, numVirtualNodes);
           mLastWorkerInfos.set(workerInfos);
           mLastUpdatedTimestamp.set(System.nanoTime());
         }
@@ -200,28 +205,16 @@ public class ConsistentHashProvider {
 
   @VisibleForTesting
   BlockWorkerInfo get(String key, int index) {
-    NavigableMap<Integer, BlockWorkerInfo> map = mActiveNodesByConsistentHashing;
-    Preconditions.checkState(map != null, "Hash provider is not properly initialized");
-    return get(map, key, index);
+    HashRing ring = mActiveNodesByConsistentHashing;
+    Preconditions.checkState(ring != null, "Hash provider is not properly initialized");
+    return ring.get(key, index);
   }
 
-  @VisibleForTesting
-  static BlockWorkerInfo get(NavigableMap<Integer, BlockWorkerInfo> map, String key, int index) {
-    HashCode hashCode = HASH_FUNCTION.newHasher()
-        .putString(key, UTF_8)
-        .putInt(index)
-        .hash();
-    int hashKey = hashCode.asInt();
-    Map.Entry<Integer, BlockWorkerInfo> entry = map.ceilingEntry(hashKey);
-    if (entry != null) {
-      return entry.getValue();
-    } else {
-      Map.Entry<Integer, BlockWorkerInfo> firstEntry = map.firstEntry();
-      if (firstEntry == null) {
-        throw new IllegalStateException("Hash provider is empty");
-      }
-      return firstEntry.getValue();
-    }
+  /**
+   * @return the fraction of the keys that moved to a different worker on the last update
+   */
+  public double getLastMovedFraction() {
+    return mLastMovedFraction;
   }
 
   @VisibleForTesting
@@ -231,7 +224,8 @@ public class ConsistentHashProvider {
 
   @VisibleForTesting
   NavigableMap<Integer, BlockWorkerInfo> getActiveNodesMap() {
-    return mActiveNodesByConsistentHashing;
+    HashRing ring = mActiveNodesByConsistentHashing;
+    return ring == null ? null : ring.toNavigableMap();
   }
 
   @VisibleForTesting
@@ -242,17 +236,6 @@ public class ConsistentHashProvider {
   @VisibleForTesting
   static NavigableMap<Integer, BlockWorkerInfo> build(
           List<BlockWorkerInfo> workerInfos, int numVirtualNodes) {
-    Preconditions.checkArgument(!workerInfos.isEmpty(), "worker list is empty");
-    NavigableMap<Integer, BlockWorkerInfo> activeNodesByConsistentHashing = new TreeMap<>();
-    for (BlockWorkerInfo workerInfo : workerInfos) {
-      for (int i = 0; i < numVirtualNodes; i++) {
-        final HashCode hashCode = HASH_FUNCTION.newHasher()
-            .putObject(workerInfo.getIdentity(), WorkerIdentity.HashFunnel.INSTANCE)
-            .putInt(i)
-            .hash();
-        activeNodesByConsistentHashing.put(hashCode.asInt(), workerInfo);
-      }
-    }
-    return activeNodesByConsistentHashing;
+    return HashRing.build(workerInfos, numVirtualNodes).toNavigableMap();
   }
 }
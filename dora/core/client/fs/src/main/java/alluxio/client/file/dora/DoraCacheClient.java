@@ -48,6 +48,7 @@ import alluxio.grpc.ExistsPOptions;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
 import alluxio.grpc.FileInfo;
+import alluxio.grpc.GetCacheReportRequest;
 import alluxio.grpc.GetStatusPOptions;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GrpcUtils;
@@ -61,8 +62,10 @@ import alluxio.grpc.SetAttributePOptions;
 import alluxio.grpc.SetAttributePRequest;
 import alluxio.proto.dataserver.Protocol;
 import alluxio.resource.CloseableResource;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.wire.WorkerNetAddress;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.util.concurrent.FutureCallback;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -76,6 +79,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
@@ -93,7 +100,13 @@ public class DoraCacheClient {
   private final int mPreferredWorkerCount;
 
   private final boolean mEnableDynamicHashRing;
+
+  private final HotFileDetector mHotFileDetector;
+  private final int mHotFileWorkerCount;
+  private final long mHotFileStripeSize;
   private static final Logger LOG = LoggerFactory.getLogger(DoraCacheClient.class);
+  /** The maximum number of workers asked for their cache report at the same time. */
+  private static final int CACHE_REPORT_PARALLELISM = 64;
 
   /**
    * Constructor.
@@ -111,6 +124,11 @@ public class DoraCacheClient {
         context.getClusterConf().getBoolean(PropertyKey.USER_DYNAMIC_CONSISTENT_HASH_RING_ENABLED);
     int minReplicaCount = context.getClusterConf().getInt(PropertyKey.USER_FILE_REPLICATION_MIN);
     mPreferredWorkerCount = Math.max(1, minReplicaCount);
+    mHotFileDetector = new HotFileDetector(context.getClusterConf());
+    mHotFileWorkerCount =
+        context.getClusterConf().getInt(PropertyKey.USER_FILE_HOT_READ_WORKER_COUNT);
+    mHotFileStripeSize =
+        context.getClusterConf().getBytes(PropertyKey.USER_FILE_HOT_READ_STRIPE_SIZE);
   }
 
   /**
@@ -118,19 +136,18 @@ public class DoraCacheClient {
    *
    * @param status
    * @param ufsOptions
+   * @param randomAccess whether the file is read with random positioned reads, in which case
+   *        the stream does not prefetch the data around the reads
    * @return the input stream
    */
   public PositionReadFileInStream getInStream(URIStatus status,
-      Protocol.OpenUfsBlockOptions ufsOptions) {
-    WorkerNetAddress workerNetAddress = getWorkerNetAddress(status.getUfsPath());
-    // Construct the partial read request
-    NettyDataReader reader;
-    if (mNettyTransEnabled) {
-      reader = createNettyDataReader(workerNetAddress, ufsOptions);
-    } else {
+      Protocol.OpenUfsBlockOptions ufsOptions, boolean randomAccess) {
+    if (!mNettyTransEnabled) {
       throw new UnsupportedOperationException("Grpc dora reader not implemented");
     }
-    return new PositionReadFileInStream(reader, status, this);
+    PositionReader reader = createPositionReader(status.getUfsPath(), status.getUfsPath(),
+        ufsOptions);
+    return new PositionReadFileInStream(reader, status, this, randomAccess);
   }
 
   /**
@@ -166,12 +183,61 @@ public class DoraCacheClient {
   public DoraCachePositionReader createNettyPositionReader(URIStatus status,
       Protocol.OpenUfsBlockOptions ufsOptions,
       Optional<CloseableSupplier<PositionReader>> externalPositionReader) {
-    WorkerNetAddress workerNetAddress = getWorkerNetAddress(status.toString());
-    // Construct the partial read request
-    NettyDataReader reader = createNettyDataReader(workerNetAddress, ufsOptions);
+    PositionReader reader = createPositionReader(status.getUfsPath(), status.getUfsPath(),
+        ufsOptions);
     return new DoraCachePositionReader(reader, status.getLength(), externalPositionReader);
   }
 
+  /**
+   * Creates a reader of the file through the worker of the file, or through multiple workers
+   * if the file is hot.
+   *
+   * @param workerKey the key to select the worker of the file
+   * @param ufsPath the ufs path of the file
+   * @param ufsOptions the options to read the file
+   * @return the reader
+   */
+  private PositionReader createPositionReader(String workerKey, String ufsPath,
+      Protocol.OpenUfsBlockOptions ufsOptions) {
+    if (mHotFileWorkerCount <= 1 || !mHotFileDetector.isEnabled()) {
+      return createNettyDataReader(getWorkerNetAddress(workerKey), ufsOptions);
+    }
+    boolean hot = mHotFileDetector.open(ufsPath);
+    try {
+      List<BlockWorkerInfo> workers = hot ? getHotFileWorkers(ufsPath) : ImmutableList.of();
+      PositionReader reader;
+      if (workers.size() > 1) {
+        LOG.debug("Reading hot file {} from {} workers", ufsPath, workers.size());
+        List<PositionReader> readers = new ArrayList<>(workers.size());
+        for (BlockWorkerInfo worker : workers) {
+          readers.add(createNettyDataReader(worker.getNetAddress(), ufsOptions));
+        }
+        reader = new StripedPositionReader(readers, mHotFileStripeSize);
+      } else {
+        reader = createNettyDataReader(getWorkerNetAddress(workerKey), ufsOptions);
+      }
+      return mHotFileDetector.track(ufsPath, reader);
+    } catch (RuntimeException e) {
+      mHotFileDetector.close(ufsPath);
+      throw e;
+    }
+  }
+
+  /**
+   * @param path the ufs path of the hot file
+   * @return the active workers the reads of the file are spread over
+   */
+  private List<BlockWorkerInfo> getHotFileWorkers(String path) {
+    try {
+      List<BlockWorkerInfo> workers = getWorkers();
+      return mWorkerLocationPolicy.getPreferredWorkers(workers, path,
+          Math.min(mHotFileWorkerCount, workers.size()))
+          .stream().filter(BlockWorkerInfo::isActive).collect(Collectors.toList());
+    } catch (IOException e) {
+      throw new RuntimeException(e);
+    }
+  }
+
   protected GrpcDataReader.Factory createGrpcDataReader(
       WorkerNetAddress workerNetAddress,
       Protocol.OpenUfsBlockOptions ufsOptions) {
@@ -306,6 +372,62 @@ public class DoraCacheClient {
     return pathDistributionMap;
   }
 
+  /**
+   * Gets the bytes the workers cache for the files under a path. The workers are asked in
+   * parallel, and each of them reports the whole path in a single streaming call.
+   *
+   * @param path the ufs path
+   * @param recursive whether to report the files in the sub directories of the path
+   * @return the merged reports of the workers
+   */
+  public CacheReport getCacheReport(String path, boolean recursive) throws IOException {
+    List<BlockWorkerInfo> workers = mContext.getLiveWorkers();
+    CacheReport report = new CacheReport();
+    if (workers.isEmpty()) {
+      return report;
+    }
+    GetCacheReportRequest request = GetCacheReportRequest.newBuilder()
+        .setPath(path)
+        .setRecursive(recursive)
+        .build();
+    ExecutorService executor = Executors.newFixedThreadPool(
+        Math.min(workers.size(), CACHE_REPORT_PARALLELISM),
+        ThreadFactoryUtils.build("dora-cache-report-%d", true));
+    try {
+      List<Future<CacheReport>> futures = new ArrayList<>(workers.size());
+      for (BlockWorkerInfo worker : workers) {
+        futures.add(executor.submit(() -> getCacheReport(worker.getNetAddress(), request)));
+      }
+      for (Future<CacheReport> future : futures) {
+        report.merge(future.get());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while getting the cache report of " + path, e);
+    } catch (ExecutionException e) {
+      throw new IOException("Failed to get the cache report of " + path, e.getCause());
+    } finally {
+      executor.shutdownNow();
+    }
+    return report;
+  }
+
+  private CacheReport getCacheReport(WorkerNetAddress worker, GetCacheReportRequest request) {
+    CacheReport report = new CacheReport();
+    try (CloseableResource<BlockWorkerClient> client =
+             mContext.acquireBlockWorkerClient(worker)) {
+      client.get().getCacheReport(request)
+          .forEachRemaining(response -> report.add(worker, response));
+      return report;
+    } catch (Exception e) {
+      // the partial report of a worker is dropped, the worker is counted as failed
+      LOG.warn("Failed to get the cache report of {} from worker {}", request.getPath(), worker, e);
+      CacheReport failed = new CacheReport();
+      failed.addFailedWorker();
+      return failed;
+    }
+  }
+
   /**
    * Mark the newly created and written file as complete.
    *
@@ -444,9 +566,7 @@ public class DoraCacheClient {
    */
   public WorkerNetAddress getWorkerNetAddress(String path) {
     try {
-      List<BlockWorkerInfo> workers = mEnableDynamicHashRing ? mContext.getCachedWorkers(
-          FileSystemContext.GetWorkerListType.LIVE) : mContext.getCachedWorkers(
-          FileSystemContext.GetWorkerListType.ALL);
+      List<BlockWorkerInfo> workers = getWorkers();
       List<BlockWorkerInfo> preferredWorkers =
           mWorkerLocationPolicy.getPreferredWorkers(workers,
               path, mPreferredWorkerCount);
@@ -464,6 +584,12 @@ public class DoraCacheClient {
     }
   }
 
+  private List<BlockWorkerInfo> getWorkers() throws IOException {
+    return mEnableDynamicHashRing ? mContext.getCachedWorkers(
+        FileSystemContext.GetWorkerListType.LIVE) : mContext.getCachedWorkers(
+        FileSystemContext.GetWorkerListType.ALL);
+  }
+
   /**
    * Caches data from ufs.
    * @param ufsPath the full ufs path
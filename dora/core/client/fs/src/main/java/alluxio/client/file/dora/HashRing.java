@@ -0,0 +1,422 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static com.google.common.hash.Hashing.murmur3_32_fixed;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.wire.WorkerIdentity;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.hash.HashFunction;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * An immutable consistent hash ring of workers.
+ *
+ * The virtual nodes are kept in a sorted primitive array of hashes, with a parallel array of
+ * owner indexes into the worker array, so a lookup is a murmur3 hash of the key computed
+ * without allocation followed by a binary search.
+ * A membership change is applied by {@link #update(List)}, which only hashes the virtual nodes
+ * of the added workers and merges them with the surviving virtual nodes in linear time,
+ * instead of rebuilding and re-sorting the whole ring.
+ *
+ * When several virtual nodes have the same hash, all of them are kept, so that a later update
+ * still has the virtual nodes of the workers which did not own the hash, and the one of the
+ * smallest worker identity by {@link #IDENTITY_ORDER} owns the hash. Which node owns a hash
+ * only depends on the workers in the ring, so a ring built from scratch and a ring built
+ * incrementally from the same workers are identical.
+ */
+@ThreadSafe
+public final class HashRing {
+  private static final HashFunction HASH_FUNCTION = murmur3_32_fixed();
+  private static final long HASH_SPACE = 1L << 32;
+  /** A total order of the worker identities, which does not depend on the order of the list. */
+  private static final Comparator<WorkerIdentity> IDENTITY_ORDER =
+      Comparator.comparingInt(WorkerIdentity::hashCode).thenComparing(WorkerIdentity::toString);
+
+  private final BlockWorkerInfo[] mWorkers;
+  private final int mNumVirtualNodes;
+  /**
+   * Sorted hashes of the virtual nodes. The first of the nodes with the same hash owns the hash.
+   */
+  private final int[] mHashes;
+  /** The index in {@link #mWorkers} of the owner of each virtual node. */
+  private final int[] mOwners;
+
+  private HashRing(BlockWorkerInfo[] workers, int numVirtualNodes, int[] hashes, int[] owners) {
+    mWorkers = workers;
+    mNumVirtualNodes = numVirtualNodes;
+    mHashes = hashes;
+    mOwners = owners;
+  }
+
+  /**
+   * Builds a hash ring from scratch.
+   *
+   * @param workerInfos the workers
+   * @param numVirtualNodes the number of virtual nodes per worker
+   * @return the hash ring
+   */
+  public static HashRing build(List<BlockWorkerInfo> workerInfos, int numVirtualNodes) {
+    Preconditions.checkArgument(!workerInfos.isEmpty(), "worker list is empty");
+    BlockWorkerInfo[] workers = workerInfos.toArray(new BlockWorkerInfo[0]);
+    int[] indexes = new int[workers.length];
+    for (int i = 0; i < indexes.length; i++) {
+      indexes[i] = i;
+    }
+    long[] nodes = virtualNodes(workers, indexes, numVirtualNodes);
+    return fromSortedNodes(workers, numVirtualNodes, nodes, nodes.length);
+  }
+
+  /**
+   * Creates a new ring for a new list of workers, reusing the virtual nodes of the workers that
+   * are in both this ring and the new list.
+   *
+   * @param workerInfos the new workers
+   * @return the new hash ring, or this ring if the set of worker identities is unchanged
+   */
+  public HashRing update(List<BlockWorkerInfo> workerInfos) {
+    Preconditions.checkArgument(!workerInfos.isEmpty(), "worker list is empty");
+    BlockWorkerInfo[] workers = workerInfos.toArray(new BlockWorkerInfo[0]);
+    Map<WorkerIdentity, Integer> newIndexes = new HashMap<>(workers.length * 2);
+    for (int i = 0; i < workers.length; i++) {
+      newIndexes.put(workers[i].getIdentity(), i);
+    }
+    // map the old worker indexes to the new ones, -1 for removed workers
+    int[] remap = new int[mWorkers.length];
+    boolean[] retained = new boolean[workers.length];
+    int numRetained = 0;
+    for (int i = 0; i < mWorkers.length; i++) {
+      Integer index = newIndexes.get(mWorkers[i].getIdentity());
+      remap[i] = index == null ? -1 : index;
+      if (index != null && !retained[index]) {
+        retained[index] = true;
+        numRetained++;
+      }
+    }
+    if (numRetained == workers.length && numRetained == mWorkers.length) {
+      return this;
+    }
+    int[] added = new int[workers.length - numRetained];
+    for (int i = 0, j = 0; i < workers.length; i++) {
+      if (!retained[i]) {
+        added[j++] = i;
+      }
+    }
+    long[] addedNodes = virtualNodes(workers, added, mNumVirtualNodes);
+
+    // merge the surviving nodes, which are already sorted, with the added nodes
+    long[] merged = new long[mHashes.length + addedNodes.length];
+    int size = 0;
+    int j = 0;
+    for (int i = 0; i < mHashes.length; i++) {
+      int owner = remap[mOwners[i]];
+      if (owner < 0) {
+        continue;
+      }
+      long node = node(mHashes[i], owner);
+      while (j < addedNodes.length && addedNodes[j] < node) {
+        merged[size++] = addedNodes[j++];
+      }
+      merged[size++] = node;
+    }
+    while (j < addedNodes.length) {
+      merged[size++] = addedNodes[j++];
+    }
+    return fromSortedNodes(workers, mNumVirtualNodes, merged, size);
+  }
+
+  /**
+   * Finds the worker for a key.
+   *
+   * @param key the key to hash on
+   * @param index the attempt index, which is hashed along with the key
+   * @return the worker owning the key
+   */
+  public BlockWorkerInfo get(String key, int index) {
+    return mWorkers[mOwners[ceilingIndex(hash(key, index))]];
+  }
+
+  /**
+   * Finds multiple distinct workers for a key by rehashing it with increasing attempt indexes.
+   *
+   * @param key the key to hash on
+   * @param count the expected number of workers
+   * @param maxAttempts the max number of attempts
+   * @return a list of at most count workers
+   */
+  public List<BlockWorkerInfo> getMultiple(String key, int count, int maxAttempts) {
+    int[] found = new int[Math.min(count, mWorkers.length)];
+    int numFound = 0;
+    for (int attempt = 1; attempt <= maxAttempts && numFound < found.length; attempt++) {
+      int owner = mOwners[ceilingIndex(hash(key, attempt))];
+      boolean duplicate = false;
+      for (int i = 0; i < numFound; i++) {
+        if (found[i] == owner) {
+          duplicate = true;
+          break;
+        }
+      }
+      if (!duplicate) {
+        found[numFound++] = owner;
+      }
+    }
+    ImmutableList.Builder<BlockWorkerInfo> builder = ImmutableList.builder();
+    for (int i = 0; i < numFound; i++) {
+      builder.add(mWorkers[found[i]]);
+    }
+    return builder.build();
+  }
+
+  /**
+   * @return the workers in this ring
+   */
+  public List<BlockWorkerInfo> getWorkers() {
+    return Arrays.asList(mWorkers);
+  }
+
+  /**
+   * @return the number of virtual nodes per worker
+   */
+  public int getNumVirtualNodes() {
+    return mNumVirtualNodes;
+  }
+
+  /**
+   * @return the number of virtual nodes in this ring, including the ones sharing a hash
+   */
+  public int size() {
+    return mHashes.length;
+  }
+
+  /**
+   * Computes the fraction of the hash space, and therefore of the keys, that is owned by a
+   * different worker in the two rings.
+   *
+   * @param before the ring before a change
+   * @param after the ring after a change
+   * @return the fraction of keys that moved, between 0 and 1
+   */
+  public static double movedFraction(HashRing before, HashRing after) {
+    if (before == after) {
+      return 0;
+    }
+    // Every hash in (previous boundary, boundary] is owned by the ceiling node of the
+    // boundary in each ring, so walk the union of the boundaries of both rings.
+    int[] a = before.mHashes;
+    int[] b = after.mHashes;
+    long moved = 0;
+    long previous = Math.min(a[0], b[0]);
+    int i = 0;
+    int j = 0;
+    while (i < a.length || j < b.length) {
+      long boundary = Math.min(i < a.length ? a[i] : Long.MAX_VALUE,
+          j < b.length ? b[j] : Long.MAX_VALUE);
+      int ia = i < a.length ? i : 0;
+      int jb = j < b.length ? j : 0;
+      if (!sameOwner(before, ia, after, jb)) {
+        moved += boundary - previous;
+      }
+      previous = boundary;
+      if (i < a.length && a[i] == boundary) {
+        i++;
+      }
+      if (j < b.length && b[j] == boundary) {
+        j++;
+      }
+    }
+    // the arc that wraps around is owned by the first node of each ring
+    long first = Math.min(a[0], b[0]);
+    if (!sameOwner(before, 0, after, 0)) {
+      moved += HASH_SPACE - (previous - first);
+    }
+    return (double) moved / HASH_SPACE;
+  }
+
+  /**
+   * @return the ring as a map from the virtual node hashes to their workers
+   */
+  NavigableMap<Integer, BlockWorkerInfo> toNavigableMap() {
+    NavigableMap<Integer, BlockWorkerInfo> map = new TreeMap<>();
+    for (int i = 0; i < mHashes.length; i++) {
+      if (i == 0 || mHashes[i] != mHashes[i - 1]) {
+        map.put(mHashes[i], mWorkers[mOwners[i]]);
+      }
+    }
+    return map;
+  }
+
+  private static boolean sameOwner(HashRing a, int ia, HashRing b, int ib) {
+    return a.mWorkers[a.mOwners[ia]].getIdentity()
+        .equals(b.mWorkers[b.mOwners[ib]].getIdentity());
+  }
+
+  private int ceilingIndex(int hash) {
+    int index = Arrays.binarySearch(mHashes, hash);
+    if (index >= 0) {
+      while (index > 0 && mHashes[index - 1] == hash) {
+        index--;
+      }
+      return index;
+    }
+    index = -(index + 1);
+    return index == mHashes.length ? 0 : index;
+  }
+
+  /**
+   * Packs a virtual node into a long that sorts by hash first, then by the tie-break order.
+   */
+  private static long node(int hash, int owner) {
+    return ((long) hash << 32) | (owner & 0xFFFFFFFFL);
+  }
+
+  private static long[] virtualNodes(BlockWorkerInfo[] workers, int[] indexes,
+      int numVirtualNodes) {
+    long[] nodes = new long[indexes.length * numVirtualNodes];
+    int n = 0;
+    for (int index : indexes) {
+      for (int i = 0; i < numVirtualNodes; i++) {
+        int hash = HASH_FUNCTION.newHasher()
+            .putObject(workers[index].getIdentity(), WorkerIdentity.HashFunnel.INSTANCE)
+            .putInt(i)
+            .hash()
+            .asInt();
+        nodes[n++] = node(hash, index);
+      }
+    }
+    Arrays.sort(nodes);
+    return nodes;
+  }
+
+  /**
+   * Creates a ring from virtual nodes sorted by hash. Of the nodes with the same hash, the one
+   * owned by the smallest worker identity is moved first, to own the hash.
+   */
+  private static HashRing fromSortedNodes(BlockWorkerInfo[] workers, int numVirtualNodes,
+      long[] nodes, int size) {
+    int[] hashes = new int[size];
+    int[] owners = new int[size];
+    int first = 0;
+    for (int i = 0; i < size; i++) {
+      hashes[i] = (int) (nodes[i] >> 32);
+      owners[i] = (int) nodes[i];
+      if (i == 0 || hashes[i] != hashes[i - 1]) {
+        first = i;
+      } else if (IDENTITY_ORDER.compare(workers[owners[i]].getIdentity(),
+          workers[owners[first]].getIdentity()) < 0) {
+        int owner = owners[first];
+        owners[first] = owners[i];
+        owners[i] = owner;
+      }
+    }
+    return new HashRing(workers, numVirtualNodes, hashes, owners);
+  }
+
+  /**
+   * Computes the same hash as {@code murmur3_32_fixed().newHasher().putString(key, UTF_8)
+   * .putInt(index).hash().asInt()} without allocating, by encoding the key to UTF-8 on the fly.
+   *
+   * @param key the key
+   * @param index the attempt index
+   * @return the hash
+   */
+  static int hash(String key, int index) {
+    int h1 = 0;
+    int buffer = 0;
+    int buffered = 0;
+    int length = 0;
+    for (int i = 0; i < key.length(); i++) {
+      char c = key.charAt(i);
+      int bytes;
+      int encoded;
+      if (c < 0x80) {
+        bytes = 1;
+        encoded = c;
+      } else if (c < 0x800) {
+        bytes = 2;
+        encoded = (0xc0 | (c >>> 6)) | ((0x80 | (c & 0x3f)) << 8);
+      } else if (!Character.isSurrogate(c)) {
+        bytes = 3;
+        encoded = (0xe0 | (c >>> 12)) | ((0x80 | ((c >>> 6) & 0x3f)) << 8)
+            | ((0x80 | (c & 0x3f)) << 16);
+      } else {
+        int codePoint = Character.codePointAt(key, i);
+        if (codePoint == c) {
+          // an unpaired surrogate is encoded as '?', the same as String.getBytes
+          bytes = 1;
+          encoded = '?';
+        } else {
+          i++;
+          bytes = 4;
+          encoded = (0xf0 | (codePoint >>> 18)) | ((0x80 | ((codePoint >>> 12) & 0x3f)) << 8)
+              | ((0x80 | ((codePoint >>> 6) & 0x3f)) << 16)
+              | ((0x80 | (codePoint & 0x3f)) << 24);
+        }
+      }
+      for (int b = 0; b < bytes; b++) {
+        buffer |= ((encoded >>> (8 * b)) & 0xff) << (8 * buffered);
+        buffered++;
+        length++;
+        if (buffered == 4) {
+          h1 = mixH1(h1, mixK1(buffer));
+          buffer = 0;
+          buffered = 0;
+        }
+      }
+    }
+    // the index is appended in little endian order
+    for (int b = 0; b < Integer.BYTES; b++) {
+      buffer |= ((index >>> (8 * b)) & 0xff) << (8 * buffered);
+      buffered++;
+      length++;
+      if (buffered == 4) {
+        h1 = mixH1(h1, mixK1(buffer));
+        buffer = 0;
+        buffered = 0;
+      }
+    }
+    if (buffered > 0) {
+      h1 ^= mixK1(buffer);
+    }
+    h1 ^= length;
+    h1 ^= h1 >>> 16;
+    h1 *= 0x85ebca6b;
+    h1 ^= h1 >>> 13;
+    h1 *= 0xc2b2ae35;
+    h1 ^= h1 >>> 16;
+    return h1;
+  }
+
+  private static int mixK1(int k1) {
+    k1 *= 0xcc9e2d51;
+    k1 = Integer.rotateLeft(k1, 15);
+    k1 *= 0x1b873593;
+    return k1;
+  }
+
+  private static int mixH1(int h1, int k1) {
+    h1 ^= k1;
+    h1 = Integer.rotateLeft(h1, 13);
+    h1 = h1 * 5 + 0xe6546b64;
+    return h1;
+  }
+}
@@ -0,0 +1,125 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.PositionReader;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.file.ReadTargetBuffer;
+
+import com.google.common.collect.ImmutableList;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Decides whether the reads of a file should be spread over multiple workers.
+ * A file is hot if its path matches one of the configured prefixes, or if this client
+ * already has enough readers open on the file.
+ */
+@ThreadSafe
+public class HotFileDetector {
+  private final List<String> mPathPrefixes;
+  private final int mConcurrentReadersThreshold;
+  /** Number of open readers per path, only tracked when the threshold is enabled. */
+  private final ConcurrentHashMap<String, Integer> mOpenReaders = new ConcurrentHashMap<>();
+
+  /**
+   * @param conf the configuration
+   */
+  public HotFileDetector(AlluxioConfiguration conf) {
+    mPathPrefixes = conf.isSet(PropertyKey.USER_FILE_HOT_PATH_PREFIXES)
+        ? ImmutableList.copyOf(conf.getList(PropertyKey.USER_FILE_HOT_PATH_PREFIXES))
+        : ImmutableList.of();
+    mConcurrentReadersThreshold =
+        conf.getInt(PropertyKey.USER_FILE_HOT_CONCURRENT_READERS_THRESHOLD);
+  }
+
+  /**
+   * @return whether any file can be considered hot
+   */
+  public boolean isEnabled() {
+    return !mPathPrefixes.isEmpty() || mConcurrentReadersThreshold > 0;
+  }
+
+  /**
+   * Records a reader being opened on the path. The reader must be passed to {@link #track},
+   * or {@link #close} must be called if the reader could not be created.
+   *
+   * @param path the ufs path of the file
+   * @return whether the file is hot
+   */
+  public boolean open(String path) {
+    boolean hot = false;
+    if (mConcurrentReadersThreshold > 0) {
+      int openReaders = mOpenReaders.merge(path, 1, Integer::sum);
+      hot = openReaders > mConcurrentReadersThreshold;
+    }
+    for (String prefix : mPathPrefixes) {
+      if (path.startsWith(prefix)) {
+        hot = true;
+        break;
+      }
+    }
+    return hot;
+  }
+
+  /**
+   * Records a reader opened by {@link #open} being closed.
+   *
+   * @param path the ufs path of the file
+   */
+  public void close(String path) {
+    if (mConcurrentReadersThreshold > 0) {
+      mOpenReaders.computeIfPresent(path, (k, count) -> count == 1 ? null : count - 1);
+    }
+  }
+
+  /**
+   * @param path the ufs path of the file
+   * @param reader a reader opened on the path after {@link #open}
+   * @return a reader that calls {@link #close} when it is closed
+   */
+  public PositionReader track(String path, PositionReader reader) {
+    if (mConcurrentReadersThreshold <= 0) {
+      return reader;
+    }
+    return new PositionReader() {
+      private final AtomicBoolean mClosed = new AtomicBoolean();
+
+      @Override
+      public int readInternal(long position, ReadTargetBuffer buffer, int length)
+          throws IOException {
+        return reader.readInternal(position, buffer, length);
+      }
+
+      @Override
+      public void close() throws IOException {
+        if (mClosed.compareAndSet(false, true)) {
+          HotFileDetector.this.close(path);
+          reader.close();
+        }
+      }
+    };
+  }
+
+  /**
+   * @param path the ufs path of the file
+   * @return number of readers open on the path
+   */
+  int getOpenReaders(String path) {
+    return mOpenReaders.getOrDefault(path, 0);
+  }
+}
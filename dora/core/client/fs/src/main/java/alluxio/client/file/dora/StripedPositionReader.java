@@ -0,0 +1,79 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.PositionReader;
+import alluxio.file.ReadTargetBuffer;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
+import com.google.common.io.Closer;
+
+import java.io.IOException;
+import java.util.List;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link PositionReader} that spreads the reads of a file over multiple workers.
+ *
+ * The file is divided into stripes of a fixed size, and stripe {@code i} is always read through
+ * reader {@code i % n}. Every stripe is therefore read from the UFS and cached by exactly one
+ * worker, while the load of serving the file is shared by all the workers.
+ */
+@ThreadSafe
+public class StripedPositionReader implements PositionReader {
+  private final List<PositionReader> mReaders;
+  private final long mStripeSize;
+  private volatile boolean mClosed;
+
+  /**
+   * @param readers the readers of the same file through different workers
+   * @param stripeSize the size of a stripe in bytes
+   */
+  public StripedPositionReader(List<PositionReader> readers, long stripeSize) {
+    Preconditions.checkArgument(!readers.isEmpty(), "readers should not be empty");
+    Preconditions.checkArgument(stripeSize > 0, "stripeSize should be positive");
+    mReaders = ImmutableList.copyOf(readers);
+    mStripeSize = stripeSize;
+  }
+
+  @Override
+  public int readInternal(long position, ReadTargetBuffer buffer, int length)
+      throws IOException {
+    int totalRead = 0;
+    while (totalRead < length) {
+      long pos = position + totalRead;
+      long stripe = pos / mStripeSize;
+      int toRead = (int) Math.min(length - totalRead, (stripe + 1) * mStripeSize - pos);
+      int read = mReaders.get((int) (stripe % mReaders.size())).read(pos, buffer, toRead);
+      if (read <= 0) {
+        break;
+      }
+      totalRead += read;
+      if (read < toRead) {
+        break;
+      }
+    }
+    return totalRead == 0 ? -1 : totalRead;
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+    if (mClosed) {
+      return;
+    }
+    mClosed = true;
+    try (Closer closer = Closer.create()) {
+      mReaders.forEach(closer::register);
+    }
+  }
+}
@@ -0,0 +1,90 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.ResourceExhaustedException;
+
+import java.util.List;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The placement of files on the workers by consistent hashing. It is shared by the clients,
+ * through {@link ConsistentHashPolicy}, and by the load jobs of the master, so that the data
+ * loaded by a job is cached by the workers the clients read it from.
+ *
+ * The placement key of a file is its full ufs path. Clients read a whole file through the worker
+ * the path maps to, so all the parts of a file, including its metadata and the virtual blocks a
+ * load job splits it into, must be placed with the same key.
+ *
+ * The ring is updated as soon as the given workers change, so that callers tracking the worker
+ * membership themselves never get a worker which is not in their list.
+ */
+@ThreadSafe
+public final class WorkerPlacement {
+  private static final int MAX_ATTEMPTS = 100;
+
+  /**
+   * The number of virtual nodes of each worker on the ring. On membership changes, only the
+   * virtual nodes of the changed workers move, so the number of virtual nodes is a balance
+   * between the granularity of the redistribution and the size of the ring.
+   */
+  private final int mNumVirtualNodes;
+  @Nullable
+  private List<BlockWorkerInfo> mLastWorkerInfos;
+  @Nullable
+  private HashRing mRing;
+
+  /**
+   * @param conf the configuration
+   */
+  public WorkerPlacement(AlluxioConfiguration conf) {
+    mNumVirtualNodes = conf.getInt(PropertyKey.USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT_PER_WORKER);
+  }
+
+  /**
+   * Finds the workers a key is placed on, the first one being the primary replica.
+   *
+   * @param workerInfos the workers
+   * @param key the placement key
+   * @param count the number of workers
+   * @return exactly count workers
+   * @throws ResourceExhaustedException if there are not enough workers
+   */
+  public List<BlockWorkerInfo> getWorkers(List<BlockWorkerInfo> workerInfos, String key,
+      int count) throws ResourceExhaustedException {
+    if (workerInfos.size() < count) {
+      throw new ResourceExhaustedException(String.format(
+          "Not enough workers in the cluster %d workers in the cluster but %d required",
+          workerInfos.size(), count));
+    }
+    List<BlockWorkerInfo> workers = getRing(workerInfos).getMultiple(key, count, MAX_ATTEMPTS);
+    if (workers.size() != count) {
+      throw new ResourceExhaustedException(String.format(
+          "Found %d workers from the hash ring but %d required", workers.size(), count));
+    }
+    return workers;
+  }
+
+  private synchronized HashRing getRing(List<BlockWorkerInfo> workerInfos) {
+    // callers usually pass the same cached list, which saves comparing the workers every time
+    if (workerInfos != mLastWorkerInfos) {
+      mRing = mRing == null
+          ? HashRing.build(workerInfos, mNumVirtualNodes) : mRing.update(workerInfos);
+      mLastWorkerInfos = workerInfos;
+    }
+    return mRing;
+  }
+}
@@ -122,6 +122,9 @@ public class MetadataCachingFileSystemTest {
     mFs.iterateStatus(DIR, LIST_STATUS_OPTIONS.toBuilder().setRecursive(true).build(), ignored -> {
     });
     assertEquals(1, mRpcCountingFs.listStatusRpcCount(DIR));
+    // The recursive listing has cached the file status, so no RPC will be made.
+    mFs.getStatus(FILE);
+    assertEquals(0, mRpcCountingFs.getStatusRpcCount(FILE));
     mFs.iterateStatus(DIR, LIST_STATUS_OPTIONS.toBuilder().setRecursive(true).build(), ignored -> {
     });
     assertEquals(2, mRpcCountingFs.listStatusRpcCount(DIR));
@@ -145,6 +148,9 @@ public class MetadataCachingFileSystemTest {
   public void listStatusRecursive() throws Exception {
     mFs.listStatus(DIR, LIST_STATUS_OPTIONS.toBuilder().setRecursive(true).build());
     assertEquals(1, mRpcCountingFs.listStatusRpcCount(DIR));
+    // The recursive listing has cached the file status, so no RPC will be made.
+    mFs.getStatus(FILE);
+    assertEquals(0, mRpcCountingFs.getStatusRpcCount(FILE));
     mFs.listStatus(DIR, LIST_STATUS_OPTIONS.toBuilder().setRecursive(true).build());
     assertEquals(2, mRpcCountingFs.listStatusRpcCount(DIR));
   }
@@ -116,6 +116,27 @@ public class PositionReadFileInStreamTest {
     }
   }
 
+  @Test
+  public void randomAccessDoesNotPrefetch() throws Exception {
+    PositionReader spy = Mockito.spy(mPositionReader);
+    PositionReadFileInStream stream = new PositionReadFileInStream(spy, mUriStatus, null, true);
+    int numReads = 0;
+    for (Pair<Integer, Integer> pair :
+        generateReadSequence(0.7, 0.0, mDataLength, mBufferSize)) {
+      int position = pair.getFirst();
+      int readLength = pair.getSecond();
+      assertEquals(readLength, stream.positionedRead(position, mBuffer, 0, readLength));
+      assertTrue(BufferUtils.equalIncreasingByteBuffer(
+          position, readLength, ByteBuffer.wrap(mBuffer, 0, readLength)));
+      if (readLength > 0) {
+        numReads++;
+      }
+      assertEquals(0, stream.getBufferedLength());
+      verify(spy, times(numReads))
+          .readInternal(anyLong(), any(ReadTargetBuffer.class), anyInt());
+    }
+  }
+
   @Test
   public void positionedReadWithRandomBufferSize() throws Exception {
     PositionReader spy = Mockito.spy(mPositionReader);
@@ -31,6 +31,7 @@ import alluxio.metrics.MetricsSystem;
 
 import com.codahale.metrics.Gauge;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Rule;
@@ -38,7 +39,9 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -100,6 +103,122 @@ public class DefaultPageMetaStoreTest {
     assertEquals(1, mCachedPageGauge.getValue());
   }
 
+  @Test
+  public void filePages() throws Exception {
+    String fileId = mPage.getFileId();
+    for (long pageIndex = 0; pageIndex < 4; pageIndex++) {
+      PageId pageId = new PageId(fileId, pageIndex);
+      mMetaStore.addPage(pageId, new PageInfo(pageId, 1024, mPageStoreDir));
+    }
+    // adding a page again does not count it twice
+    mMetaStore.addPage(mPage, mPageInfo);
+    assertEquals(4 * 1024, mMetaStore.getBytesByFileId(fileId));
+    Assert.assertTrue(mMetaStore.hasPages(fileId, 0, 4));
+    Assert.assertFalse(mMetaStore.hasPages(fileId, 0, 5));
+
+    mMetaStore.removePage(mPage);
+    assertEquals(3 * 1024, mMetaStore.getBytesByFileId(fileId));
+    Assert.assertArrayEquals(new long[] {0, 1, 3}, mMetaStore.getPageIndexesByFileId(fileId));
+    Assert.assertTrue(mMetaStore.hasPages(fileId, 0, 2));
+    Assert.assertFalse(mMetaStore.hasPages(fileId, 1, 4));
+
+    mMetaStore.commitFile(fileId, "newFile");
+    assertEquals(0, mMetaStore.getBytesByFileId(fileId));
+    assertEquals(3 * 1024, mMetaStore.getBytesByFileId("newFile"));
+    Assert.assertTrue(mMetaStore.hasPages("newFile", 3, 4));
+    mMetaStore.reset();
+    assertEquals(0, mMetaStore.getPageIndexesByFileId("newFile").length);
+  }
+
+  @Test
+  public void forEachCachedFile() throws Exception {
+    mMetaStore.setFilePath(mPage.getFileId(), "s3://bucket/dir/notCached");
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.setFilePath(mPage.getFileId(), "s3://bucket/dir/file");
+    PageId otherPage = new PageId("2L", 0L);
+    mMetaStore.addPage(otherPage, new PageInfo(otherPage, 512, mPageStoreDir));
+    mMetaStore.setFilePath(otherPage.getFileId(), "s3://bucket/other");
+    // the pages of a file without path are not reported
+    PageId noPathPage = new PageId("3L", 0L);
+    mMetaStore.addPage(noPathPage, new PageInfo(noPathPage, 256, mPageStoreDir));
+
+    Map<String, Long> files = new HashMap<>();
+    mMetaStore.forEachCachedFile("s3://bucket/dir", files::put);
+    assertEquals(ImmutableMap.of("s3://bucket/dir/file", 1024L), files);
+
+    // the path is kept when the file is committed
+    mMetaStore.commitFile(mPage.getFileId(), "newFile");
+    files.clear();
+    mMetaStore.forEachCachedFile("s3://bucket/", files::put);
+    assertEquals(ImmutableMap.of("s3://bucket/dir/file", 1024L, "s3://bucket/other", 512L),
+        files);
+  }
+
+  @Test
+  public void forEachCachedFileByPrefix() throws Exception {
+    String[] paths = {"s3://bucket/di", "s3://bucket/dir", "s3://bucket/dir/a",
+        "s3://bucket/dir/b/c", "s3://bucket/dir0", "s3://bucket/e"};
+    for (int i = 0; i < paths.length; i++) {
+      PageId page = new PageId(Integer.toString(i), 0L);
+      mMetaStore.addPage(page, new PageInfo(page, i + 1, mPageStoreDir));
+      mMetaStore.setFilePath(page.getFileId(), paths[i]);
+    }
+
+    Map<String, Long> files = new HashMap<>();
+    mMetaStore.forEachCachedFile("s3://bucket/dir/", files::put);
+    assertEquals(ImmutableMap.of("s3://bucket/dir/a", 3L, "s3://bucket/dir/b/c", 4L), files);
+    files.clear();
+    mMetaStore.forEachCachedFile("s3://bucket/dir", files::put);
+    assertEquals(ImmutableMap.of("s3://bucket/dir", 2L, "s3://bucket/dir/a", 3L,
+        "s3://bucket/dir/b/c", 4L, "s3://bucket/dir0", 5L), files);
+    files.clear();
+    mMetaStore.forEachCachedFile("s3://bucket/f", files::put);
+    assertEquals(ImmutableMap.of(), files);
+  }
+
+  @Test
+  public void filePathFollowsPages() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.setFilePath(mPage.getFileId(), "s3://bucket/old");
+    mMetaStore.setFilePath(mPage.getFileId(), "s3://bucket/new");
+    Map<String, Long> files = new HashMap<>();
+    mMetaStore.forEachCachedFile("s3://bucket/", files::put);
+    assertEquals(ImmutableMap.of("s3://bucket/new", 1024L), files);
+    assertEquals(ImmutableMap.of(mPage.getFileId(), "s3://bucket/new"), scanFilePaths());
+
+    // the path is dropped with the last page of the file
+    mMetaStore.removePage(mPage);
+    files.clear();
+    mMetaStore.forEachCachedFile("s3://bucket/", files::put);
+    assertEquals(ImmutableMap.of(), files);
+    assertEquals(ImmutableMap.of(), scanFilePaths());
+  }
+
+  @Test
+  public void restoreFilePath() throws Exception {
+    mMetaStore.addPage(mPage, mPageInfo);
+    mMetaStore.setFilePath(mPage.getFileId(), "s3://bucket/file");
+
+    // a restarted store learns the path from the dir, the page scan skips the recorded paths
+    DefaultPageMetaStore restored = new DefaultPageMetaStore(ImmutableList.of(mPageStoreDir));
+    mPageStoreDir.scanPages(pageInfo -> { });
+    restored.addPage(mPage, mPageInfo);
+    Map<String, String> paths = scanFilePaths();
+    assertEquals(ImmutableMap.of(mPage.getFileId(), "s3://bucket/file"), paths);
+    Assert.assertTrue(restored.restoreFilePath(mPage.getFileId(), "s3://bucket/file"));
+    Assert.assertFalse(restored.restoreFilePath("notCached", "s3://bucket/other"));
+    Map<String, Long> files = new HashMap<>();
+    restored.forEachCachedFile("s3://bucket/", files::put);
+    assertEquals(ImmutableMap.of("s3://bucket/file", 1024L), files);
+    assertEquals(paths, scanFilePaths());
+  }
+
+  private Map<String, String> scanFilePaths() throws Exception {
+    Map<String, String> paths = new HashMap<>();
+    mPageStoreDir.scanFilePaths(paths::put);
+    return paths;
+  }
+
   @Test
   public void removeExist() throws Exception {
     mMetaStore.addPage(mPage, mPageInfo);
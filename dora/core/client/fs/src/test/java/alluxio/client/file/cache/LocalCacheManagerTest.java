@@ -64,8 +64,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Paths;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
@@ -624,6 +626,27 @@ public final class LocalCacheManagerTest {
     assertArrayEquals(PAGE2, mBuf);
   }
 
+  @Test
+  public void restoreFilePaths() throws Exception {
+    assertTrue(mCacheManager.put(PAGE_ID1, ByteBuffer.wrap(PAGE1),
+        CacheContext.defaults().setFilePath("s3://bucket/dir/file")));
+    assertTrue(mCacheManager.put(PAGE_ID2, ByteBuffer.wrap(PAGE2),
+        CacheContext.defaults().setFilePath("s3://bucket/other")));
+    mCacheManager.close();
+    // the only page of the second file is lost during the restart
+    mPageStore.delete(PAGE_ID2);
+    mConf.set(PropertyKey.USER_CLIENT_CACHE_ASYNC_RESTORE_ENABLED, false);
+    mCacheManager = createLocalCacheManager();
+
+    Map<String, Long> files = new HashMap<>();
+    mCacheManager.forEachCachedFile("s3://bucket/", files::put);
+    assertEquals(ImmutableMap.of("s3://bucket/dir/file", (long) PAGE1.length), files);
+    // the path of the lost file is dropped
+    Map<String, String> paths = new HashMap<>();
+    mPageStoreDir.scanFilePaths(paths::put);
+    assertEquals(ImmutableMap.of(PAGE_ID1.getFileId(), "s3://bucket/dir/file"), paths);
+  }
+
   @Test
   public void asyncRestore() throws Exception {
     mCacheManager.close();
@@ -0,0 +1,136 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static org.junit.Assert.assertEquals;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.membership.WorkerLoadHints;
+import alluxio.wire.WorkerIdentity;
+import alluxio.wire.WorkerIdentityTestUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+public class BoundedLoadConsistentHashPolicyTest {
+  // the hash provider of the policy is shared and only refreshed once per second, so all tests
+  // use the same workers
+  private static final List<BlockWorkerInfo> WORKERS = createWorkers(10);
+
+  private InstancedConfiguration mConf;
+  private ConsistentHashProvider mConsistentHash;
+  private final Map<WorkerIdentity, WorkerLoadHints> mHints = new HashMap<>();
+
+  @Before
+  public void setup() {
+    mConf = new InstancedConfiguration(Configuration.copyProperties());
+    mConf.set(PropertyKey.USER_CONSISTENT_HASH_LOAD_HINTS_REFRESH_INTERVAL, "0");
+    mConf.set(PropertyKey.USER_CONSISTENT_HASH_HOT_FILE_ACCESS_THRESHOLD, 1000);
+    mConsistentHash = new ConsistentHashProvider(100, 0);
+    mConsistentHash.refresh(WORKERS,
+        mConf.getInt(PropertyKey.USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT_PER_WORKER));
+  }
+
+  @Test
+  public void sameAsConsistentHashWithoutLoad() throws Exception {
+    WorkerLocationPolicy policy = new BoundedLoadConsistentHashPolicy(mConf, () -> mHints);
+    for (LoadCase loadCase : LoadCase.values()) {
+      for (BlockWorkerInfo worker : WORKERS) {
+        mHints.put(worker.getIdentity(), loadCase.mHints);
+      }
+      for (int i = 0; i < 50; i++) {
+        String path = "s3://bucket/file" + i;
+        assertEquals(mConsistentHash.getMultiple(path, 2),
+            policy.getPreferredWorkers(WORKERS, path, 2));
+      }
+    }
+  }
+
+  @Test
+  public void skipOverloadedWorker() throws Exception {
+    WorkerLocationPolicy policy = new BoundedLoadConsistentHashPolicy(mConf, () -> mHints);
+    String path = "s3://bucket/hot";
+    List<BlockWorkerInfo> ring = mConsistentHash.getMultiple(path, 3);
+    for (BlockWorkerInfo worker : WORKERS) {
+      mHints.put(worker.getIdentity(), load(1, 1000));
+    }
+    mHints.put(ring.get(0).getIdentity(), load(100, 1000));
+    assertEquals(ImmutableList.of(ring.get(1)), policy.getPreferredWorkers(WORKERS, path, 1));
+
+    mHints.put(ring.get(0).getIdentity(), load(1, 100_000));
+    mHints.put(ring.get(1).getIdentity(), load(100, 1000));
+    assertEquals(ImmutableList.of(ring.get(2)), policy.getPreferredWorkers(WORKERS, path, 1));
+
+    // stale hints are ignored
+    mHints.put(ring.get(0).getIdentity(), new WorkerLoadHints(100, 100_000, 0, 0));
+    mHints.put(ring.get(1).getIdentity(), new WorkerLoadHints(100, 100_000, 0, 0));
+    assertEquals(ImmutableList.of(ring.get(0)), policy.getPreferredWorkers(WORKERS, path, 1));
+  }
+
+  @Test
+  public void spreadHotFile() throws Exception {
+    mConf.set(PropertyKey.USER_CONSISTENT_HASH_HOT_FILE_ACCESS_THRESHOLD, 5);
+    mConf.set(PropertyKey.USER_CONSISTENT_HASH_HOT_FILE_MAX_REPLICAS, 3);
+    WorkerLocationPolicy policy = new BoundedLoadConsistentHashPolicy(mConf, () -> mHints);
+    String path = "s3://bucket/hot";
+    List<BlockWorkerInfo> ring = mConsistentHash.getMultiple(path, 3);
+    Set<BlockWorkerInfo> selected = new HashSet<>();
+    for (int i = 0; i < 5; i++) {
+      assertEquals(ImmutableList.of(ring.get(0)), policy.getPreferredWorkers(WORKERS, path, 1));
+    }
+    for (int i = 0; i < 30; i++) {
+      selected.addAll(policy.getPreferredWorkers(WORKERS, path, 1));
+    }
+    assertEquals(new HashSet<>(ring), selected);
+    // other files keep their location
+    assertEquals(mConsistentHash.getMultiple("s3://bucket/cold", 1),
+        policy.getPreferredWorkers(WORKERS, "s3://bucket/cold", 1));
+  }
+
+  private enum LoadCase {
+    NONE(null),
+    IDLE(load(0, 0)),
+    EVEN(load(10, 1000));
+
+    private final WorkerLoadHints mHints;
+
+    LoadCase(WorkerLoadHints hints) {
+      mHints = hints;
+    }
+  }
+
+  private static WorkerLoadHints load(long inFlightReads, double bytesReadPerSec) {
+    return new WorkerLoadHints(inFlightReads, bytesReadPerSec, 0.5, System.currentTimeMillis());
+  }
+
+  private static List<BlockWorkerInfo> createWorkers(int count) {
+    ImmutableList.Builder<BlockWorkerInfo> builder = ImmutableList.builder();
+    for (int i = 0; i < count; i++) {
+      WorkerNetAddress address = new WorkerNetAddress()
+          .setHost("worker" + i).setRpcPort(29998).setDataPort(29999).setWebPort(30000);
+      builder.add(new BlockWorkerInfo(
+          WorkerIdentityTestUtils.ofLegacyId(i), address, 1024, 0));
+    }
+    return builder.build();
+  }
+}
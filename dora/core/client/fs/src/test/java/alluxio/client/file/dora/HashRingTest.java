@@ -0,0 +1,157 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static com.google.common.hash.Hashing.murmur3_32_fixed;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.wire.WorkerIdentityTestUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.commons.lang3.RandomStringUtils;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class HashRingTest {
+  private static final int NUM_VIRTUAL_NODES = 100;
+
+  @Test
+  public void hashMatchesGuava() {
+    List<String> keys = new ArrayList<>();
+    keys.add("");
+    keys.add("/path/to/object");
+    keys.add("s3://bucket/\u00e9t\u00e9/\u6587\u4ef6/\uD83D\uDE00");
+    keys.add("unpaired\uD800surrogate");
+    for (int i = 0; i < 100; i++) {
+      keys.add(RandomStringUtils.random(ThreadLocalRandom.current().nextInt(0, 64)));
+    }
+    for (String key : keys) {
+      for (int index : new int[] {0, 1, 7, -1, Integer.MAX_VALUE}) {
+        assertEquals(key,
+            murmur3_32_fixed().newHasher().putString(key, UTF_8).putInt(index).hash().asInt(),
+            HashRing.hash(key, index));
+      }
+    }
+  }
+
+  @Test
+  public void updateEqualsBuild() {
+    List<BlockWorkerInfo> workers = generateRandomWorkerList(20);
+    HashRing ring = HashRing.build(workers, NUM_VIRTUAL_NODES);
+    List<BlockWorkerInfo> updatedWorkers = new ArrayList<>(workers.subList(3, 20));
+    updatedWorkers.addAll(generateRandomWorkerList(5));
+    HashRing updated = ring.update(updatedWorkers);
+    assertEquals(HashRing.build(updatedWorkers, NUM_VIRTUAL_NODES).toNavigableMap(),
+        updated.toNavigableMap());
+    assertEquals(updatedWorkers, updated.getWorkers());
+    assertSame(updated, updated.update(ImmutableList.copyOf(updatedWorkers)));
+  }
+
+  @Test
+  public void updateEqualsBuildWithCollisions() {
+    // enough virtual nodes for several of them to share a hash
+    int numVirtualNodes = 100_000;
+    List<BlockWorkerInfo> workers = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      workers.add(new BlockWorkerInfo(WorkerIdentityTestUtils.ofLegacyId(i),
+          new WorkerNetAddress().setHost("worker" + i), Constants.GB, 0));
+    }
+    List<BlockWorkerInfo> initial = workers.subList(0, 4);
+    HashRing ring = HashRing.build(initial, numVirtualNodes);
+    assertTrue(ring.toNavigableMap().size() < ring.size());
+
+    // the owner of a shared hash does not depend on the order of the workers
+    List<BlockWorkerInfo> reversed = new ArrayList<>(initial);
+    Collections.reverse(reversed);
+    assertEquals(ring.toNavigableMap(),
+        HashRing.build(reversed, numVirtualNodes).toNavigableMap());
+
+    // nor on the changes the ring went through
+    List<BlockWorkerInfo> changed = workers.subList(1, 5);
+    HashRing updated = ring.update(changed);
+    assertEquals(HashRing.build(changed, numVirtualNodes).toNavigableMap(),
+        updated.toNavigableMap());
+    HashRing restored = updated.update(initial);
+    assertEquals(ring.size(), restored.size());
+    assertEquals(ring.toNavigableMap(), restored.toNavigableMap());
+    assertEquals(0, HashRing.movedFraction(ring, restored), 0);
+  }
+
+  @Test
+  public void getMatchesNavigableMap() {
+    HashRing ring = HashRing.build(generateRandomWorkerList(10), NUM_VIRTUAL_NODES);
+    for (int i = 0; i < 1000; i++) {
+      String key = "/path/" + i;
+      int hash = murmur3_32_fixed().newHasher().putString(key, UTF_8).putInt(1).hash().asInt();
+      BlockWorkerInfo expected = ring.toNavigableMap().ceilingEntry(hash) == null
+          ? ring.toNavigableMap().firstEntry().getValue()
+          : ring.toNavigableMap().ceilingEntry(hash).getValue();
+      assertEquals(expected, ring.get(key, 1));
+    }
+  }
+
+  @Test
+  public void getMultipleReturnsDistinctWorkers() {
+    List<BlockWorkerInfo> workers = generateRandomWorkerList(10);
+    HashRing ring = HashRing.build(workers, NUM_VIRTUAL_NODES);
+    List<BlockWorkerInfo> found = ring.getMultiple("/path/to/object", 3, 100);
+    assertEquals(3, found.size());
+    assertEquals(3, new HashSet<>(found).size());
+    assertEquals(found.get(0), ring.get("/path/to/object", 1));
+    assertEquals(10, ring.getMultiple("/path/to/object", 20, 1000).size());
+  }
+
+  @Test
+  public void movedFraction() {
+    List<BlockWorkerInfo> workers = generateRandomWorkerList(20);
+    HashRing ring = HashRing.build(workers, NUM_VIRTUAL_NODES);
+    assertEquals(0, HashRing.movedFraction(ring, ring), 0);
+
+    List<BlockWorkerInfo> added = new ArrayList<>(workers);
+    added.addAll(generateRandomWorkerList(1));
+    HashRing addedRing = ring.update(added);
+    double moved = HashRing.movedFraction(ring, addedRing);
+    // the new worker takes about 1/21 of the keys, and only from the others
+    assertTrue(String.valueOf(moved), moved > 0.5 / 21 && moved < 2.0 / 21);
+    assertEquals(moved, HashRing.movedFraction(addedRing, ring), 1e-9);
+
+    // the keys moving back when the worker leaves again are the same keys
+    assertEquals(0, HashRing.movedFraction(ring, addedRing.update(workers)), 0);
+    assertEquals(1, HashRing.movedFraction(ring,
+        HashRing.build(generateRandomWorkerList(5), NUM_VIRTUAL_NODES)), 0);
+  }
+
+  private List<BlockWorkerInfo> generateRandomWorkerList(int count) {
+    ThreadLocalRandom rng = ThreadLocalRandom.current();
+    ImmutableList.Builder<BlockWorkerInfo> builder = ImmutableList.builder();
+    while (count-- > 0) {
+      WorkerNetAddress netAddress = new WorkerNetAddress();
+      netAddress.setHost(RandomStringUtils.randomAlphanumeric(10));
+      netAddress.setRpcPort(rng.nextInt(0, 65536));
+      netAddress.setNettyDataPort(rng.nextInt(0, 65536));
+      builder.add(new BlockWorkerInfo(WorkerIdentityTestUtils.randomLegacyId(),
+          netAddress, rng.nextLong(0, Constants.GB), rng.nextLong(0, Constants.GB)));
+    }
+    return builder.build();
+  }
+}
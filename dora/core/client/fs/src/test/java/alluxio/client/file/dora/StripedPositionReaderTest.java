@@ -0,0 +1,122 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.client.file.dora;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.ByteArrayPositionReader;
+import alluxio.PositionReader;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+public class StripedPositionReaderTest {
+  private static final int STRIPE_SIZE = 100;
+  private static final int FILE_SIZE = 1050;
+
+  private final byte[] mData = BufferUtils.getIncreasingByteArray(FILE_SIZE);
+
+  @Test
+  public void readStripesFromTheirWorkers() throws Exception {
+    List<StripeCheckingReader> readers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      readers.add(new StripeCheckingReader(i, 3));
+    }
+    PositionReader reader =
+        new StripedPositionReader(ImmutableList.copyOf(readers), STRIPE_SIZE);
+    for (int chunk : new int[] {1, 37, 100, 250, FILE_SIZE}) {
+      byte[] buf = new byte[FILE_SIZE];
+      int pos = 0;
+      while (pos < FILE_SIZE) {
+        int read = reader.read(pos, buf, pos, Math.min(chunk, FILE_SIZE - pos));
+        assertTrue(read > 0);
+        pos += read;
+      }
+      assertArrayEquals(mData, buf);
+    }
+    assertEquals(-1, reader.read(FILE_SIZE, new byte[10], 10));
+    for (StripeCheckingReader r : readers) {
+      assertTrue(r.mReads > 0);
+    }
+    reader.close();
+    reader.close();
+    for (StripeCheckingReader r : readers) {
+      assertEquals(1, r.mCloses);
+    }
+  }
+
+  @Test
+  public void hotFileDetector() throws Exception {
+    InstancedConfiguration conf = new InstancedConfiguration(Configuration.copyProperties());
+    conf.set(PropertyKey.USER_FILE_HOT_CONCURRENT_READERS_THRESHOLD, 2);
+    conf.set(PropertyKey.USER_FILE_HOT_PATH_PREFIXES, "s3://bucket/models/");
+    HotFileDetector detector = new HotFileDetector(conf);
+    assertTrue(detector.isEnabled());
+    assertTrue(detector.open("s3://bucket/models/checkpoint"));
+    detector.close("s3://bucket/models/checkpoint");
+
+    String path = "s3://bucket/data";
+    List<PositionReader> readers = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      assertEquals(i == 2, detector.open(path));
+      readers.add(detector.track(path, new ByteArrayPositionReader(mData)));
+    }
+    assertEquals(3, detector.getOpenReaders(path));
+    readers.get(0).close();
+    readers.get(0).close();
+    assertEquals(2, detector.getOpenReaders(path));
+    assertFalse(detector.open("s3://bucket/other"));
+    readers.get(1).close();
+    readers.get(2).close();
+    assertEquals(0, detector.getOpenReaders(path));
+  }
+
+  private class StripeCheckingReader extends ByteArrayPositionReader {
+    private final int mIndex;
+    private final int mNumReaders;
+    private int mReads;
+    private int mCloses;
+
+    StripeCheckingReader(int index, int numReaders) {
+      super(mData);
+      mIndex = index;
+      mNumReaders = numReaders;
+    }
+
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length)
+        throws IOException {
+      assertEquals(mIndex, (position / STRIPE_SIZE) % mNumReaders);
+      assertEquals(position / STRIPE_SIZE, (position + length - 1) / STRIPE_SIZE);
+      mReads++;
+      return super.readInternal(position, buffer,
+          (int) Math.min(length, FILE_SIZE - Math.min(position, FILE_SIZE)));
+    }
+
+    @Override
+    public void close() {
+      mCloses++;
+    }
+  }
+}
@@ -38,6 +38,7 @@ import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.DeletePOptions;
 import alluxio.grpc.ListStatusPOptions;
+import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.SetAttributePOptions;
 import alluxio.master.MasterInquireClient.Factory;
 import alluxio.security.CurrentUser;
@@ -53,7 +54,10 @@ import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FSDataOutputStream;
 import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.PathFilter;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.fs.UnsupportedFileSystemException;
 import org.apache.hadoop.fs.permission.FsAction;
 import org.apache.hadoop.fs.permission.FsPermission;
@@ -73,8 +77,11 @@ import java.security.PrivilegedExceptionAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 import javax.security.auth.Subject;
@@ -87,7 +94,7 @@ import javax.security.auth.Subject;
  * used and {@link #getScheme()} for Hadoop's {@link java.util.ServiceLoader} support.
  */
 @NotThreadSafe
-public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem {
+public abstract class AbstractFileSystem extends HadoopFileSystemCompat {
   private static final Logger LOG = LoggerFactory.getLogger(AbstractFileSystem.class);
 
   protected AlluxioConfiguration mAlluxioConf = null;
@@ -312,7 +319,6 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
       mStatistics.incrementReadOps(1);
     }
 
-    List<BlockLocation> blockLocations = new ArrayList<>();
     try {
       List<BlockLocationInfo> locations;
       if (file instanceof AlluxioFileStatus) {
@@ -321,22 +327,7 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
         AlluxioURI path = getAlluxioPath(file.getPath());
         locations = mFileSystem.getBlockLocations(path);
       }
-      locations.forEach(location -> {
-        FileBlockInfo info = location.getBlockInfo();
-        List<WorkerNetAddress> workers = location.getLocations();
-        long offset = location.getBlockInfo().getOffset();
-        long end = offset + info.getBlockInfo().getLength();
-        if (end >= start && offset <= start + len) {
-          List<HostAndPort> addresses = workers.stream()
-              .map(worker -> HostAndPort.fromParts(worker.getHost(), worker.getDataPort()))
-              .collect(toList());
-          String[] names = addresses.stream().map(HostAndPort::toString).toArray(String[]::new);
-          String[] hosts = addresses.stream().map(HostAndPort::getHost).toArray(String[]::new);
-          blockLocations.add(new BlockLocation(names, hosts, offset,
-              info.getBlockInfo().getLength()));
-        }
-      });
-      BlockLocation[] ret = blockLocations.toArray(new BlockLocation[0]);
+      BlockLocation[] ret = toBlockLocations(locations, start, len);
       if (LOG.isDebugEnabled()) {
         LOG.debug("getFileBlockLocations({}, {}, {}) returned {}",
             file.getPath().getName(), start, len, Arrays.toString(ret));
@@ -351,6 +342,33 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
     }
   }
 
+  /**
+   * @param locations the locations of the blocks of a file
+   * @param start the start of the range of the file
+   * @param len the length of the range of the file
+   * @return the Hadoop locations of the blocks overlapping the range
+   */
+  private static BlockLocation[] toBlockLocations(List<BlockLocationInfo> locations, long start,
+      long len) {
+    List<BlockLocation> blockLocations = new ArrayList<>();
+    locations.forEach(location -> {
+      FileBlockInfo info = location.getBlockInfo();
+      List<WorkerNetAddress> workers = location.getLocations();
+      long offset = location.getBlockInfo().getOffset();
+      long end = offset + info.getBlockInfo().getLength();
+      if (end >= start && offset <= start + len) {
+        List<HostAndPort> addresses = workers.stream()
+            .map(worker -> HostAndPort.fromParts(worker.getHost(), worker.getDataPort()))
+            .collect(toList());
+        String[] names = addresses.stream().map(HostAndPort::toString).toArray(String[]::new);
+        String[] hosts = addresses.stream().map(HostAndPort::getHost).toArray(String[]::new);
+        blockLocations.add(new BlockLocation(names, hosts, offset,
+            info.getBlockInfo().getLength()));
+      }
+    });
+    return blockLocations.toArray(new BlockLocation[0]);
+  }
+
   @Override
   public short getDefaultReplication() {
     return (short) Math.max(1, mFileSystem.getConf()
@@ -622,12 +640,73 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
       mStatistics.incrementReadOps(1);
     }
 
+    List<URIStatus> statuses = listStatuses(path, false);
+    FileStatus[] ret = new FileStatus[statuses.size()];
+    for (int k = 0; k < statuses.size(); k++) {
+      URIStatus status = statuses.get(k);
+      ret[k] = new AlluxioFileStatus(status, getFsPath(mAlluxioHeader, status));
+    }
+    return ret;
+  }
+
+  /**
+   * Lists the statuses of the paths under a directory together with the locations of their
+   * blocks. The locations are computed by the client from the listed statuses, so the listing
+   * does not need a status lookup per file.
+   *
+   * @param path the path to list
+   * @param filter the filter of the listed paths
+   * @return an iterator over the located statuses of the listed paths
+   */
+  @Override
+  protected RemoteIterator<LocatedFileStatus> listLocatedStatus(Path path, PathFilter filter)
+      throws IOException {
+    LOG.debug("listLocatedStatus({})", path);
+
+    if (mStatistics != null) {
+      mStatistics.incrementReadOps(1);
+    }
+
+    return new LocatedStatusIterator(listStatuses(path, false).iterator(),
+        status -> filter.accept(getFsPath(mAlluxioHeader, status)));
+  }
+
+  /**
+   * Lists the statuses of the files under a directory together with the locations of their
+   * blocks. A recursive listing of the whole tree is a single listing call rather than one
+   * listing per directory, and does not need a status lookup per file.
+   *
+   * @param path the path to list
+   * @param recursive whether to list the files of the subdirectories
+   * @return an iterator over the located statuses of the listed files
+   */
+  @Override
+  public RemoteIterator<LocatedFileStatus> listFiles(Path path, boolean recursive)
+      throws IOException {
+    LOG.debug("listFiles({}, {})", path, recursive);
+
+    if (mStatistics != null) {
+      mStatistics.incrementReadOps(1);
+    }
+
+    return new LocatedStatusIterator(listStatuses(path, recursive).iterator(),
+        status -> !status.isFolder());
+  }
+
+  /**
+   * @param path the path to list
+   * @param recursive whether to list the subdirectories
+   * @return the statuses of the listed paths
+   */
+  private List<URIStatus> listStatuses(Path path, boolean recursive) throws IOException {
     AlluxioURI uri = getAlluxioPath(path);
-    List<URIStatus> statuses;
     try {
-      ListStatusPOptions listStatusPOptions = ListStatusPOptions.getDefaultInstance().toBuilder()
-          .setExcludeMountInfo(mExcludeMountInfoOnListStatus).build();
-      statuses = mFileSystem.listStatus(uri, listStatusPOptions);
+      ListStatusPOptions.Builder listStatusPOptions = ListStatusPOptions.getDefaultInstance()
+          .toBuilder().setExcludeMountInfo(mExcludeMountInfoOnListStatus);
+      if (recursive) {
+        listStatusPOptions.setRecursive(true);
+      }
+      return mFileSystem.listStatus(uri, listStatusPOptions.build());
     } catch (FileDoesNotExistException e) {
       throw new FileNotFoundException(getAlluxioPath(path).toString());
     } catch (InvalidArgumentRuntimeException e) {
@@ -637,13 +716,57 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
     } catch (AlluxioException e) {
       throw new IOException(e);
     }
+  }
 
-    FileStatus[] ret = new FileStatus[statuses.size()];
-    for (int k = 0; k < statuses.size(); k++) {
-      URIStatus status = statuses.get(k);
-      ret[k] = new AlluxioFileStatus(status, getFsPath(mAlluxioHeader, status));
+  /**
+   * Iterates over the listed statuses accepted by a filter, converting them to located statuses
+   * as the iteration goes.
+   */
+  private final class LocatedStatusIterator implements RemoteIterator<LocatedFileStatus> {
+    private final Iterator<URIStatus> mStatuses;
+    private final Predicate<URIStatus> mFilter;
+    @Nullable
+    private URIStatus mNext;
+
+    private LocatedStatusIterator(Iterator<URIStatus> statuses, Predicate<URIStatus> filter) {
+      mStatuses = statuses;
+      mFilter = filter;
+    }
+
+    @Override
+    public boolean hasNext() {
+      while (mNext == null && mStatuses.hasNext()) {
+        URIStatus status = mStatuses.next();
+        if (mFilter.test(status)) {
+          mNext = status;
+        }
+      }
+      return mNext != null;
+    }
+
+    @Override
+    public LocatedFileStatus next() throws IOException {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      URIStatus status = mNext;
+      mNext = null;
+      BlockLocation[] locations = new BlockLocation[0];
+      if (!status.isFolder()) {
+        try {
+          locations = toBlockLocations(mFileSystem.getBlockLocations(status), 0,
+              status.getLength());
+        } catch (InvalidArgumentRuntimeException e) {
+          throw new IllegalArgumentException(e);
+        } catch (AlluxioRuntimeException e) {
+          throw toHdfsIOException(e);
+        } catch (AlluxioException e) {
+          throw new IOException(e);
+        }
+      }
+      return new LocatedFileStatus(
+          new AlluxioFileStatus(status, getFsPath(mAlluxioHeader, status)), locations);
     }
-    return ret;
   }
 
   /**
@@ -684,13 +807,27 @@ public abstract class AbstractFileSystem extends org.apache.hadoop.fs.FileSystem
   // TODO(calvin): Consider respecting the buffer size option
   @Override
   public FSDataInputStream open(Path path, int bufferSize) throws IOException {
-    LOG.debug("open({}, {})", path, bufferSize);
+    return open(path, bufferSize, -1, false);
+  }
+
+  @Override
+  protected FSDataInputStream open(Path path, int bufferSize, long fileLength,
+      boolean randomAccess) throws IOException {
+    LOG.debug("open({}, {}, {}, {})", path, bufferSize, fileLength, randomAccess);
     if (mStatistics != null) {
       mStatistics.incrementReadOps(1);
     }
 
     AlluxioURI uri = getAlluxioPath(path);
-    return new FSDataInputStream(new HdfsFileInputStream(mFileSystem, uri, mStatistics));
+    OpenFilePOptions.Builder options = OpenFilePOptions.newBuilder();
+    if (randomAccess) {
+      options.setRandomAccess(true);
+    }
+    if (fileLength >= 0) {
+      options.setFileLength(fileLength);
+    }
+    return new FSDataInputStream(
+        new HdfsFileInputStream(mFileSystem, uri, options.build(), mStatistics));
   }
 
   @Override
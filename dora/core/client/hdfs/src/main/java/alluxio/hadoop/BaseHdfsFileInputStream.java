@@ -17,6 +17,7 @@ import alluxio.client.file.FileSystem;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.FileDoesNotExistException;
+import alluxio.grpc.OpenFilePOptions;
 
 import org.apache.hadoop.fs.ByteBufferReadable;
 import org.apache.hadoop.fs.FileSystem.Statistics;
@@ -55,11 +56,24 @@ public class BaseHdfsFileInputStream extends InputStream implements Seekable, Po
    */
   public BaseHdfsFileInputStream(FileSystem fs, AlluxioURI uri, Statistics stats)
       throws IOException {
-    LOG.debug("HdfsFileInputStream({}, {})", uri, stats);
+    this(fs, uri, OpenFilePOptions.getDefaultInstance(), stats);
+  }
+
+  /**
+   * Constructs a new stream for reading a file from HDFS.
+   *
+   * @param fs the file system
+   * @param uri the Alluxio file URI
+   * @param options the options to open the file
+   * @param stats filesystem statistics
+   */
+  public BaseHdfsFileInputStream(FileSystem fs, AlluxioURI uri, OpenFilePOptions options,
+      Statistics stats) throws IOException {
+    LOG.debug("HdfsFileInputStream({}, {}, {})", uri, options, stats);
 
     mStatistics = stats;
     try {
-      mInputStream = fs.openFile(uri);
+      mInputStream = fs.openFile(uri, options);
     } catch (FileDoesNotExistException e) {
       // Transform the Alluxio exception to a Java exception to satisfy the HDFS API contract.
       throw new FileNotFoundException(ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(uri));
@@ -0,0 +1,36 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.Path;
+
+import java.io.IOException;
+
+/**
+ * The Hadoop {@link org.apache.hadoop.fs.FileSystem} extended by {@link AbstractFileSystem},
+ * implement for hadoop 1 and hadoop 2, which do not have the openFile() builder.
+ */
+public abstract class HadoopFileSystemCompat extends org.apache.hadoop.fs.FileSystem {
+  /**
+   * Opens a file for reading with the hints given to the openFile() builder.
+   *
+   * @param path the file name to open
+   * @param bufferSize stream buffer size in bytes
+   * @param fileLength the length of the file if known, or -1 to look it up
+   * @param randomAccess whether the file is read with random positioned reads rather than
+   *        sequentially
+   * @return an {@link FSDataInputStream} at the indicated path of a file
+   */
+  protected abstract FSDataInputStream open(Path path, int bufferSize, long fileLength,
+      boolean randomAccess) throws IOException;
+}
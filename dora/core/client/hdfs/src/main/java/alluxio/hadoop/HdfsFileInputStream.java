@@ -14,6 +14,7 @@ package alluxio.hadoop;
 import alluxio.AlluxioURI;
 import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileSystem;
+import alluxio.grpc.OpenFilePOptions;
 
 import org.apache.hadoop.fs.FileSystem.Statistics;
 
@@ -35,6 +36,19 @@ public class HdfsFileInputStream extends BaseHdfsFileInputStream {
     super(fs, uri, stats);
   }
 
+  /**
+   * Constructs a new stream for reading a file from HDFS.
+   *
+   * @param fs the file system
+   * @param uri the Alluxio file URI
+   * @param options the options to open the file
+   * @param stats filesystem statistics
+   */
+  public HdfsFileInputStream(FileSystem fs, AlluxioURI uri, OpenFilePOptions options,
+      Statistics stats) throws IOException {
+    super(fs, uri, options, stats);
+  }
+
   /**
    * Constructs a new stream for reading a file from HDFS.
    *
@@ -22,7 +22,9 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import alluxio.AlluxioURI;
@@ -43,6 +45,7 @@ import alluxio.exception.FileAlreadyExistsException;
 import alluxio.grpc.ListStatusPOptions;
 import alluxio.util.ConfigurationUtils;
 import alluxio.wire.BlockInfo;
+import alluxio.wire.BlockLocationInfo;
 import alluxio.wire.FileBlockInfo;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerIdentityTestUtils;
@@ -53,7 +56,9 @@ import com.google.common.net.HostAndPort;
 import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.fs.BlockLocation;
 import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.LocatedFileStatus;
 import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RemoteIterator;
 import org.apache.hadoop.security.UserGroupInformation;
 import org.junit.After;
 import org.junit.Before;
@@ -472,6 +477,54 @@ public class AbstractFileSystemTest {
     alluxioHadoopFs.close();
   }
 
+  /**
+   * Tests that the {@link AbstractFileSystem#listFiles(Path, boolean)} method lists a whole tree
+   * with a single recursive listing and locates the files without looking up their statuses.
+   */
+  @Test
+  public void listFilesRecursive() throws Exception {
+    FileInfo dirInfo = new FileInfo()
+        .setPath("/dir/sub")
+        .setFolder(true)
+        .setMode(00755);
+    FileInfo fileInfo = new FileInfo()
+        .setPath("/dir/sub/file")
+        .setLength(100)
+        .setFolder(false)
+        .setMode(00644);
+    WorkerNetAddress worker = new WorkerNetAddress().setHost("worker1").setDataPort(1234);
+    FileBlockInfo blockInfo = new FileBlockInfo().setOffset(0)
+        .setBlockInfo(new BlockInfo().setLength(100));
+
+    Path path = new Path("/dir");
+    alluxio.client.file.FileSystem alluxioFs =
+        mock(alluxio.client.file.FileSystem.class);
+    FileSystem alluxioHadoopFs = new FileSystem(alluxioFs);
+    URI uri = URI.create(Constants.HEADER + "host:1");
+    alluxioHadoopFs.initialize(uri, getConf());
+    ListStatusPOptions listStatusPOptions = ListStatusPOptions.getDefaultInstance().toBuilder()
+        .setExcludeMountInfo(alluxioHadoopFs.mAlluxioConf.getBoolean(
+            PropertyKey.USER_HDFS_CLIENT_EXCLUDE_MOUNT_INFO_ON_LIST_STATUS))
+        .setRecursive(true).build();
+    URIStatus fileStatus = new URIStatus(fileInfo);
+    when(alluxioFs.listStatus(new AlluxioURI(HadoopUtils.getPathWithoutScheme(path)),
+        listStatusPOptions))
+        .thenReturn(Lists.newArrayList(new URIStatus(dirInfo), fileStatus));
+    when(alluxioFs.getBlockLocations(fileStatus)).thenReturn(
+        Lists.newArrayList(new BlockLocationInfo(blockInfo, Lists.newArrayList(worker))));
+
+    RemoteIterator<LocatedFileStatus> files = alluxioHadoopFs.listFiles(path, true);
+    assertTrue(files.hasNext());
+    LocatedFileStatus file = files.next();
+    assertFalse(files.hasNext());
+    assertEquals("/dir/sub/file", file.getPath().toUri().getPath());
+    assertEquals(100, file.getLen());
+    assertEquals(1, file.getBlockLocations().length);
+    assertArrayEquals(new String[] {"worker1"}, file.getBlockLocations()[0].getHosts());
+    verify(alluxioFs, never()).getStatus(any(AlluxioURI.class));
+    alluxioHadoopFs.close();
+  }
+
   /**
    * Tests that the {@link AbstractFileSystem#listStatus(Path)} method throws
    * FileNotFound Exception.
@@ -0,0 +1,85 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Options.OpenFileOptions;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.impl.AbstractFSBuilderImpl;
+import org.apache.hadoop.fs.impl.OpenFileParameters;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * The Hadoop {@link org.apache.hadoop.fs.FileSystem} extended by {@link AbstractFileSystem},
+ * implement for hadoop 3, which passes the hints of the openFile() builder to the stream.
+ */
+public abstract class HadoopFileSystemCompat extends org.apache.hadoop.fs.FileSystem {
+  /**
+   * Opens a file for reading with the hints given to the openFile() builder.
+   *
+   * @param path the file name to open
+   * @param bufferSize stream buffer size in bytes
+   * @param fileLength the length of the file if known, or -1 to look it up
+   * @param randomAccess whether the file is read with random positioned reads rather than
+   *        sequentially
+   * @return an {@link FSDataInputStream} at the indicated path of a file
+   */
+  protected abstract FSDataInputStream open(Path path, int bufferSize, long fileLength,
+      boolean randomAccess) throws IOException;
+
+  @Override
+  protected CompletableFuture<FSDataInputStream> openFileWithOptions(Path path,
+      OpenFileParameters parameters) throws IOException {
+    AbstractFSBuilderImpl.rejectUnknownMandatoryKeys(parameters.getMandatoryKeys(),
+        OpenFileOptions.FS_OPTION_OPENFILE_STANDARD_OPTIONS, "for " + path);
+    long fileLength = parameters.getOptions().getLong(OpenFileOptions.FS_OPTION_OPENFILE_LENGTH,
+        -1);
+    FileStatus status = parameters.getStatus();
+    if (fileLength < 0 && status != null) {
+      fileLength = status.getLen();
+    }
+    boolean randomAccess = isRandomAccess(parameters.getOptions()
+        .getTrimmedStringCollection(OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY));
+    CompletableFuture<FSDataInputStream> result = new CompletableFuture<>();
+    try {
+      result.complete(open(path, parameters.getBufferSize(), fileLength, randomAccess));
+    } catch (IOException | RuntimeException e) {
+      result.completeExceptionally(e);
+    }
+    return result;
+  }
+
+  /**
+   * @param policies the read policies given to the openFile() builder, in order of preference
+   * @return whether the first known policy reads the file with random positioned reads
+   */
+  private static boolean isRandomAccess(Iterable<String> policies) {
+    for (String policy : policies) {
+      switch (policy) {
+        case OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_RANDOM:
+        case OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_VECTOR:
+          return true;
+        case OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_ADAPTIVE:
+        case OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_DEFAULT:
+        case OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_SEQUENTIAL:
+        case OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_WHOLE_FILE:
+          return false;
+        default:
+          // unknown policies are skipped for the next ones
+      }
+    }
+    return false;
+  }
+}
@@ -12,25 +12,69 @@
 package alluxio.hadoop;
 
 import alluxio.AlluxioURI;
+import alluxio.PositionReader;
 import alluxio.client.file.FileInStream;
 import alluxio.client.file.FileSystem;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.ExceptionMessage;
+import alluxio.exception.FileDoesNotExistException;
+import alluxio.grpc.OpenFilePOptions;
+import alluxio.util.ThreadFactoryUtils;
 
 import org.apache.commons.lang3.StringUtils;
 import org.apache.hadoop.fs.CanUnbuffer;
+import org.apache.hadoop.fs.FileRange;
 import org.apache.hadoop.fs.FileSystem.Statistics;
 import org.apache.hadoop.fs.StreamCapabilities;
 
+import java.io.EOFException;
+import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * HdfsFileInputStream implement for hadoop 3.
  * This is just a wrapper around {@link HdfsFileInputStream} with
- * CanUnbuffer and StreamCapabilities support.
+ * CanUnbuffer, StreamCapabilities and vectored read support.
+ *
+ * The ranges of a vectored read which are close to each other are merged into a single
+ * positioned read, whose data is then sliced into the buffers of the ranges. The merged reads
+ * are issued in parallel through a thread-safe {@link PositionReader} of the file. A stream
+ * wrapping a given {@link FileInStream} has no such reader, and issues the merged reads one
+ * after another, as the {@link FileInStream} is not thread-safe.
  */
 @NotThreadSafe
 public class HdfsFileInputStream extends BaseHdfsFileInputStream
     implements CanUnbuffer, StreamCapabilities {
+  /** Runs the merged reads of the vectored reads of all the streams. */
+  private static final ExecutorService VECTORED_READ_EXECUTOR = createVectoredReadExecutor();
+
+  private final int mMinSeekSize;
+  private final int mMaxMergedSize;
+  @Nullable
+  private final Statistics mStats;
+  @Nullable
+  private final FileSystem mFileSystem;
+  @Nullable
+  private final AlluxioURI mUri;
+  private final OpenFilePOptions mOptions;
+  /** The reader of the vectored reads, opened on the first one. */
+  @Nullable
+  private PositionReader mPositionReader;
+
   /**
    * Constructs a new stream for reading a file from HDFS.
    *
@@ -40,7 +84,26 @@ public class HdfsFileInputStream extends BaseHdfsFileInputStream
    */
   public HdfsFileInputStream(FileSystem fs, AlluxioURI uri, Statistics stats)
       throws IOException {
-    super(fs, uri, stats);
+    this(fs, uri, OpenFilePOptions.getDefaultInstance(), stats);
+  }
+
+  /**
+   * Constructs a new stream for reading a file from HDFS.
+   *
+   * @param fs the file system
+   * @param uri the Alluxio file URI
+   * @param options the options to open the file
+   * @param stats filesystem statistics
+   */
+  public HdfsFileInputStream(FileSystem fs, AlluxioURI uri, OpenFilePOptions options,
+      Statistics stats) throws IOException {
+    super(fs, uri, options, stats);
+    mMinSeekSize = getMinSeekSize(fs.getConf());
+    mMaxMergedSize = getMaxMergedSize(fs.getConf());
+    mStats = stats;
+    mFileSystem = fs;
+    mUri = uri;
+    mOptions = options;
   }
 
   /**
@@ -51,12 +114,170 @@ public class HdfsFileInputStream extends BaseHdfsFileInputStream
    */
   public HdfsFileInputStream(FileInStream inputStream, Statistics stats) {
     super(inputStream, stats);
+    mMinSeekSize = getMinSeekSize(Configuration.global());
+    mMaxMergedSize = getMaxMergedSize(Configuration.global());
+    mStats = stats;
+    mFileSystem = null;
+    mUri = null;
+    mOptions = OpenFilePOptions.getDefaultInstance();
+  }
+
+  private static ExecutorService createVectoredReadExecutor() {
+    // the merged reads mostly wait for the workers
+    int threads = 2 * Runtime.getRuntime().availableProcessors();
+    ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(), ThreadFactoryUtils.build("hdfs-vectored-read-%d", true));
+    executor.allowCoreThreadTimeOut(true);
+    return executor;
+  }
+
+  private static int getMinSeekSize(AlluxioConfiguration conf) {
+    return (int) conf.getBytes(PropertyKey.USER_VECTORED_READ_MIN_SEEK_SIZE);
+  }
+
+  private static int getMaxMergedSize(AlluxioConfiguration conf) {
+    return (int) conf.getBytes(PropertyKey.USER_VECTORED_READ_MAX_MERGED_SIZE);
   }
 
   @Override
   public boolean hasCapability(String capability) {
     return StringUtils.equalsIgnoreCase("in:unbuffer", capability)
-        || StringUtils.equalsIgnoreCase("in:readbytebuffer", capability);
+        || StringUtils.equalsIgnoreCase("in:readbytebuffer", capability)
+        || StringUtils.equalsIgnoreCase("in:readvectored", capability);
+  }
+
+  @Override
+  public int minSeekForVectorReads() {
+    return mMinSeekSize;
+  }
+
+  @Override
+  public int maxReadSizeForVectorReads() {
+    return mMaxMergedSize;
+  }
+
+  @Override
+  public void readVectored(List<? extends FileRange> ranges,
+      IntFunction<ByteBuffer> allocate) throws IOException {
+    List<FileRange> sortedRanges = new ArrayList<>(ranges);
+    sortedRanges.sort(Comparator.comparingLong(FileRange::getOffset));
+    for (int i = 0; i < sortedRanges.size(); i++) {
+      FileRange range = sortedRanges.get(i);
+      if (range.getOffset() < 0) {
+        throw new EOFException("Position is negative in range " + range);
+      }
+      if (range.getLength() < 0) {
+        throw new IllegalArgumentException("Length is negative in range " + range);
+      }
+      if (i > 0) {
+        FileRange previous = sortedRanges.get(i - 1);
+        if (previous.getOffset() + previous.getLength() > range.getOffset()) {
+          throw new IllegalArgumentException(
+              String.format("Overlapping ranges %s and %s", previous, range));
+        }
+      }
+      range.setData(new CompletableFuture<>());
+    }
+    PositionReader reader = getPositionReader();
+    int start = 0;
+    while (start < sortedRanges.size()) {
+      long mergedOffset = sortedRanges.get(start).getOffset();
+      long mergedEnd = mergedOffset + sortedRanges.get(start).getLength();
+      int end = start + 1;
+      while (end < sortedRanges.size()) {
+        FileRange next = sortedRanges.get(end);
+        long nextEnd = next.getOffset() + next.getLength();
+        if (next.getOffset() - mergedEnd > mMinSeekSize
+            || nextEnd - mergedOffset > mMaxMergedSize) {
+          break;
+        }
+        mergedEnd = nextEnd;
+        end++;
+      }
+      List<FileRange> merged = sortedRanges.subList(start, end);
+      int length = (int) (mergedEnd - mergedOffset);
+      if (reader == null) {
+        readMergedRanges(merged, mergedOffset, length, allocate, null);
+      } else {
+        VECTORED_READ_EXECUTOR.execute(
+            () -> readMergedRanges(merged, mergedOffset, length, allocate, reader));
+      }
+      start = end;
+    }
+  }
+
+  /**
+   * @return the reader of the vectored reads, or null if the stream wraps a given stream only
+   */
+  @Nullable
+  private PositionReader getPositionReader() throws IOException {
+    if (mPositionReader == null && mFileSystem != null) {
+      try {
+        mPositionReader = mFileSystem.openPositionRead(mUri, mOptions);
+      } catch (FileDoesNotExistException e) {
+        throw new FileNotFoundException(ExceptionMessage.PATH_DOES_NOT_EXIST.getMessage(mUri));
+      }
+    }
+    return mPositionReader;
+  }
+
+  /**
+   * Reads the ranges covered by a single positioned read and completes their futures.
+   *
+   * @param ranges the ranges sorted by offset
+   * @param offset the offset of the first range
+   * @param length the length from the first range to the end of the last one
+   * @param allocate the function allocating the buffers of the ranges
+   * @param reader the reader to read with, or null to read from this stream
+   */
+  private void readMergedRanges(List<FileRange> ranges, long offset, int length,
+      IntFunction<ByteBuffer> allocate, @Nullable PositionReader reader) {
+    byte[] data = new byte[length];
+    try {
+      if (reader == null) {
+        readFully(offset, data, 0, length);
+      } else {
+        readFully(reader, offset, data);
+      }
+    } catch (IOException | RuntimeException e) {
+      for (FileRange range : ranges) {
+        range.getData().completeExceptionally(e);
+      }
+      return;
+    }
+    for (FileRange range : ranges) {
+      ByteBuffer buffer = allocate.apply(range.getLength());
+      buffer.put(data, (int) (range.getOffset() - offset), range.getLength());
+      buffer.flip();
+      range.getData().complete(buffer);
+    }
+  }
+
+  private void readFully(PositionReader reader, long position, byte[] data) throws IOException {
+    int totalBytesRead = 0;
+    while (totalBytesRead < data.length) {
+      int bytesRead = reader.read(position + totalBytesRead, data, totalBytesRead,
+          data.length - totalBytesRead);
+      if (bytesRead == -1) {
+        throw new EOFException();
+      }
+      totalBytesRead += bytesRead;
+    }
+    if (mStats != null) {
+      mStats.incrementBytesRead(totalBytesRead);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (mPositionReader != null) {
+        mPositionReader.close();
+        mPositionReader = null;
+      }
+    } finally {
+      super.close();
+    }
   }
 
   @Override
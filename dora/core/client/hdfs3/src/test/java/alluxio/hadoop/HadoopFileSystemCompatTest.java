@@ -0,0 +1,166 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FSDataOutputStream;
+import org.apache.hadoop.fs.FileStatus;
+import org.apache.hadoop.fs.Options.OpenFileOptions;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.permission.FsPermission;
+import org.apache.hadoop.util.Progressable;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URI;
+
+/**
+ * Tests for the openFile() options handled by {@link HadoopFileSystemCompat}.
+ */
+public final class HadoopFileSystemCompatTest {
+  private static final Path PATH = new Path("alluxio:///file");
+
+  private TestFileSystem mFileSystem;
+
+  @Before
+  public void before() {
+    mFileSystem = new TestFileSystem();
+    mFileSystem.setConf(new Configuration());
+  }
+
+  @Test
+  public void defaults() throws Exception {
+    mFileSystem.openFile(PATH).build().get();
+    assertEquals(-1, mFileSystem.mFileLength);
+    assertFalse(mFileSystem.mRandomAccess);
+  }
+
+  @Test
+  public void fileLength() throws Exception {
+    mFileSystem.openFile(PATH)
+        .opt(OpenFileOptions.FS_OPTION_OPENFILE_LENGTH, "1024").build().get();
+    assertEquals(1024, mFileSystem.mFileLength);
+
+    // the length of a given status is used when the length is not set
+    FileStatus status = new FileStatus(2048, false, 1, 512, 0, PATH);
+    mFileSystem.openFile(PATH).withFileStatus(status).build().get();
+    assertEquals(2048, mFileSystem.mFileLength);
+    mFileSystem.openFile(PATH).withFileStatus(status)
+        .opt(OpenFileOptions.FS_OPTION_OPENFILE_LENGTH, "1024").build().get();
+    assertEquals(1024, mFileSystem.mFileLength);
+  }
+
+  @Test
+  public void readPolicy() throws Exception {
+    assertTrue(openWithReadPolicy(OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_RANDOM));
+    assertTrue(openWithReadPolicy(OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_VECTOR));
+    assertFalse(openWithReadPolicy(OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_SEQUENTIAL));
+    assertFalse(openWithReadPolicy(OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY_WHOLE_FILE));
+    // the first known policy is used
+    assertTrue(openWithReadPolicy("unknown, random, sequential"));
+    assertFalse(openWithReadPolicy("sequential, random"));
+    assertFalse(openWithReadPolicy("unknown"));
+  }
+
+  @Test
+  public void mandatoryKeys() throws Exception {
+    mFileSystem.openFile(PATH)
+        .must(OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY, "random").build().get();
+    assertTrue(mFileSystem.mRandomAccess);
+    assertThrows(IllegalArgumentException.class,
+        () -> mFileSystem.openFile(PATH).must("fs.option.openfile.unknown", "value").build());
+  }
+
+  private boolean openWithReadPolicy(String policy) throws Exception {
+    mFileSystem.openFile(PATH)
+        .opt(OpenFileOptions.FS_OPTION_OPENFILE_READ_POLICY, policy).build().get();
+    return mFileSystem.mRandomAccess;
+  }
+
+  /**
+   * A file system recording the hints passed to open.
+   */
+  private static final class TestFileSystem extends HadoopFileSystemCompat {
+    private long mFileLength;
+    private boolean mRandomAccess;
+
+    @Override
+    protected FSDataInputStream open(Path path, int bufferSize, long fileLength,
+        boolean randomAccess) {
+      mFileLength = fileLength;
+      mRandomAccess = randomAccess;
+      return null;
+    }
+
+    @Override
+    public URI getUri() {
+      return URI.create("alluxio:///");
+    }
+
+    @Override
+    public FSDataInputStream open(Path path, int bufferSize) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public FSDataOutputStream create(Path path, FsPermission permission, boolean overwrite,
+        int bufferSize, short replication, long blockSize, Progressable progress) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public FSDataOutputStream append(Path path, int bufferSize, Progressable progress) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean rename(Path src, Path dst) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean delete(Path path, boolean recursive) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public FileStatus[] listStatus(Path path) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setWorkingDirectory(Path dir) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Path getWorkingDirectory() {
+      return new Path("/");
+    }
+
+    @Override
+    public boolean mkdirs(Path path, FsPermission permission) {
+      throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public FileStatus getFileStatus(Path path) {
+      throw new UnsupportedOperationException();
+    }
+  }
+}
@@ -0,0 +1,215 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.hadoop;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.PositionReader;
+import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileSystem;
+import alluxio.conf.Configuration;
+import alluxio.grpc.OpenFilePOptions;
+import alluxio.util.io.BufferUtils;
+
+import com.google.common.collect.ImmutableList;
+import org.apache.hadoop.fs.FileRange;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.stubbing.Answer;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tests for the vectored reads of {@link HdfsFileInputStream}.
+ */
+public final class HdfsFileInputStreamTest {
+  private byte[] mFile;
+  private FileInStream mInStream;
+  private HdfsFileInputStream mStream;
+  private int mMinSeek;
+  private int mMaxMerged;
+
+  @Before
+  public void before() throws Exception {
+    mInStream = mock(FileInStream.class);
+    mStream = new HdfsFileInputStream(mInStream, null);
+    mMinSeek = mStream.minSeekForVectorReads();
+    mMaxMerged = mStream.maxReadSizeForVectorReads();
+    mFile = BufferUtils.getIncreasingByteArray(mMaxMerged + mMinSeek + 1024);
+    when(mInStream.positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt()))
+        .thenAnswer(readFile());
+  }
+
+  @Test
+  public void mergesRangesWithinMinSeek() throws Exception {
+    List<FileRange> ranges = ranges(0, 100, 100 + mMinSeek, 100);
+    mStream.readVectored(ranges, ByteBuffer::allocate);
+    verify(mInStream).positionedRead(eq(0L), any(byte[].class), eq(0), eq(200 + mMinSeek));
+    verify(mInStream, times(1)).positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt());
+    checkData(ranges);
+  }
+
+  @Test
+  public void splitsRangesBeyondMinSeek() throws Exception {
+    List<FileRange> ranges = ranges(0, 100, 101 + mMinSeek, 100);
+    mStream.readVectored(ranges, ByteBuffer::allocate);
+    verify(mInStream).positionedRead(eq(0L), any(byte[].class), eq(0), eq(100));
+    verify(mInStream).positionedRead(eq(101L + mMinSeek), any(byte[].class), eq(0), eq(100));
+    checkData(ranges);
+  }
+
+  @Test
+  public void mergesRangesUpToMaxSize() throws Exception {
+    List<FileRange> ranges = ranges(0, 100, mMaxMerged - 100, 100);
+    mStream.readVectored(ranges, ByteBuffer::allocate);
+    verify(mInStream).positionedRead(eq(0L), any(byte[].class), eq(0), eq(mMaxMerged));
+    verify(mInStream, times(1)).positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt());
+    checkData(ranges);
+  }
+
+  @Test
+  public void splitsRangesBeyondMaxSize() throws Exception {
+    List<FileRange> ranges = ranges(0, 100, mMaxMerged - 99, 100);
+    mStream.readVectored(ranges, ByteBuffer::allocate);
+    verify(mInStream).positionedRead(eq(0L), any(byte[].class), eq(0), eq(100));
+    verify(mInStream).positionedRead(eq(mMaxMerged - 99L), any(byte[].class), eq(0), eq(100));
+    checkData(ranges);
+  }
+
+  @Test
+  public void slicesMergedDataIntoRanges() throws Exception {
+    // the ranges are not sorted, and the merged read covers the gaps between them
+    List<FileRange> ranges = ranges(300, 50, 0, 10, 100, 1, 20, 0);
+    mStream.readVectored(ranges, ByteBuffer::allocate);
+    verify(mInStream).positionedRead(eq(0L), any(byte[].class), eq(0), eq(350));
+    checkData(ranges);
+    for (FileRange range : ranges) {
+      ByteBuffer buffer = range.getData().get();
+      assertEquals(0, buffer.position());
+      assertEquals(range.getLength(), buffer.limit());
+    }
+  }
+
+  @Test
+  public void failsRangesOfFailedRead() throws Exception {
+    doThrow(new IOException("failed")).when(mInStream)
+        .positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt());
+    List<FileRange> ranges = ranges(0, 100, 200, 100);
+    mStream.readVectored(ranges, ByteBuffer::allocate);
+    for (FileRange range : ranges) {
+      assertTrue(range.getData().isCompletedExceptionally());
+    }
+  }
+
+  @Test
+  public void rejectsOverlappingRanges() {
+    assertThrows(IllegalArgumentException.class,
+        () -> mStream.readVectored(ranges(0, 100, 99, 10), ByteBuffer::allocate));
+  }
+
+  @Test
+  public void rejectsNegativeRanges() throws Exception {
+    assertThrows(EOFException.class,
+        () -> mStream.readVectored(ranges(-1, 10), ByteBuffer::allocate));
+    assertThrows(IllegalArgumentException.class,
+        () -> mStream.readVectored(ranges(0, -1), ByteBuffer::allocate));
+    verify(mInStream, never()).positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt());
+  }
+
+  @Test
+  public void issuesMergedReadsInParallel() throws Exception {
+    AlluxioURI uri = new AlluxioURI("/file");
+    FileSystem fs = mock(FileSystem.class);
+    when(fs.getConf()).thenReturn(Configuration.global());
+    when(fs.openFile(uri, OpenFilePOptions.getDefaultInstance())).thenReturn(mInStream);
+    PositionReader reader = mock(PositionReader.class);
+    when(fs.openPositionRead(uri, OpenFilePOptions.getDefaultInstance())).thenReturn(reader);
+    // each read waits for the other one to start
+    CountDownLatch started = new CountDownLatch(2);
+    Answer<Integer> readFile = readFile();
+    when(reader.read(anyLong(), any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> {
+      started.countDown();
+      if (!started.await(10, TimeUnit.SECONDS)) {
+        throw new IOException("the merged reads are not issued in parallel");
+      }
+      return readFile.answer(invocation);
+    });
+    HdfsFileInputStream stream = new HdfsFileInputStream(fs, uri, null);
+
+    List<FileRange> ranges = ranges(0, 100, 101 + mMinSeek, 100);
+    stream.readVectored(ranges, ByteBuffer::allocate);
+    checkData(ranges);
+    verify(mInStream, never()).positionedRead(anyLong(), any(byte[].class), anyInt(), anyInt());
+    stream.close();
+    verify(reader).close();
+  }
+
+  /**
+   * @param offsetsAndLengths the offset and the length of each range
+   * @return the ranges
+   */
+  private static List<FileRange> ranges(long... offsetsAndLengths) {
+    ImmutableList.Builder<FileRange> ranges = ImmutableList.builder();
+    for (int i = 0; i < offsetsAndLengths.length; i += 2) {
+      ranges.add(FileRange.createFileRange(offsetsAndLengths[i], (int) offsetsAndLengths[i + 1]));
+    }
+    return ranges.build();
+  }
+
+  /**
+   * @return an answer for a positioned read of the file into a byte array
+   */
+  private Answer<Integer> readFile() {
+    return invocation -> {
+      long position = invocation.getArgument(0);
+      byte[] buffer = invocation.getArgument(1);
+      int offset = invocation.getArgument(2);
+      int length = invocation.getArgument(3);
+      if (position >= mFile.length) {
+        return -1;
+      }
+      int read = (int) Math.min(length, mFile.length - position);
+      System.arraycopy(mFile, (int) position, buffer, offset, read);
+      return read;
+    };
+  }
+
+  private void checkData(List<FileRange> ranges) throws Exception {
+    for (FileRange range : ranges) {
+      ByteBuffer buffer = range.getData().get(10, TimeUnit.SECONDS);
+      byte[] data = new byte[buffer.remaining()];
+      buffer.get(data);
+      assertArrayEquals(Arrays.copyOfRange(mFile, (int) range.getOffset(),
+          (int) range.getOffset() + range.getLength()), data);
+    }
+  }
+}
@@ -52,6 +52,9 @@ public class CacheContext {
 
   private boolean mIsTemporary = false;
 
+  /** The path of the file, recorded in the cache so that the cached files can be found by path. */
+  private String mFilePath = null;
+
   /**
    * @return the default CacheContext
    */
@@ -152,6 +155,23 @@ public class CacheContext {
     return this;
   }
 
+  /**
+   * @return the path of the file to cache
+   */
+  @Nullable
+  public String getFilePath() {
+    return mFilePath;
+  }
+
+  /**
+   * @param filePath the path of the file to cache
+   * @return the updated {@code CacheContext}
+   */
+  public CacheContext setFilePath(String filePath) {
+    mFilePath = filePath;
+    return this;
+  }
+
   /**
    * Increments the counter {@code name} by {@code value}.
    * <p>
@@ -189,13 +209,14 @@ public class CacheContext {
     return Objects.equals(mCacheIdentifier, that.mCacheIdentifier)
         && Objects.equals(mHiveCacheContext, that.mHiveCacheContext)
         && Objects.equals(mCacheQuota, that.mCacheQuota)
-        && Objects.equals(mCacheScope, that.mCacheScope);
+        && Objects.equals(mCacheScope, that.mCacheScope)
+        && Objects.equals(mFilePath, that.mFilePath);
   }
 
   @Override
   public int hashCode() {
     return Objects.hash(mCacheQuota, mCacheScope, mCacheIdentifier, mHiveCacheContext,
-        mIsTemporary);
+        mIsTemporary, mFilePath);
   }
 
   @Override
@@ -206,6 +227,7 @@ public class CacheContext {
         .add("cacheScope", mCacheScope)
         .add("hiveCacheContext", mHiveCacheContext)
         .add("isTemporary", mIsTemporary)
+        .add("filePath", mFilePath)
         .toString();
   }
 }
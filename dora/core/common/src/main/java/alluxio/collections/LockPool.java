@@ -41,6 +41,7 @@ import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 
 /**
  * A resource pool specifically designed to contain locks and will NOT evict any entries
@@ -206,8 +207,25 @@ public class LockPool<K> implements Closeable {
    * @return a lock resource which must be closed to unlock the key
    */
   public RWLockResource get(K key, LockMode mode, boolean useTryLock) {
+    return get(key, mode, useTryLock, null);
+  }
+
+  /**
+   * Locks the specified key in the specified mode.
+   *
+   * @param key the key to lock
+   * @param mode the mode to lock in
+   * @param useTryLock Determines whether or not to use {@link Lock#tryLock()} or
+   *                   {@link Lock#lock()} to acquire the lock
+   * @param closeAction the nullable action to run when the resource is closed, before the key is
+   *                    unlocked
+   * @return a lock resource which must be closed to unlock the key
+   */
+  public RWLockResource get(K key, LockMode mode, boolean useTryLock,
+      @Nullable Runnable closeAction) {
     Resource resource = getResource(key);
-    return new RefCountLockResource(resource.mLock, mode, true, resource.mRefCount, useTryLock);
+    return new RefCountLockResource(resource.mLock, mode, true, resource.mRefCount, useTryLock,
+        closeAction);
   }
 
   /**
@@ -218,6 +236,19 @@ public class LockPool<K> implements Closeable {
    * @return either empty or a lock resource which must be closed to unlock the key
    */
   public Optional<RWLockResource> tryGet(K key, LockMode mode) {
+    return tryGet(key, mode, null);
+  }
+
+  /**
+   * Attempts to take a lock on the given key.
+   *
+   * @param key the key to lock
+   * @param mode lockMode to acquire
+   * @param closeAction the nullable action to run when the resource is closed, before the key is
+   *                    unlocked
+   * @return either empty or a lock resource which must be closed to unlock the key
+   */
+  public Optional<RWLockResource> tryGet(K key, LockMode mode, @Nullable Runnable closeAction) {
     Resource resource = getResource(key);
     ReentrantReadWriteLock lock = resource.mLock;
     Lock innerLock;
@@ -234,7 +265,8 @@ public class LockPool<K> implements Closeable {
     if (!innerLock.tryLock()) {
       return Optional.empty();
     }
-    return Optional.of(new RefCountLockResource(lock, mode, false, resource.mRefCount, false));
+    return Optional.of(
+        new RefCountLockResource(lock, mode, false, resource.mRefCount, false, closeAction));
   }
 
   /**
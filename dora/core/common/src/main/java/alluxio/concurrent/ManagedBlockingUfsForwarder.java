@@ -22,6 +22,7 @@ import alluxio.security.authorization.AccessControlList;
 import alluxio.security.authorization.AclEntry;
 import alluxio.security.authorization.DefaultAccessControlList;
 import alluxio.underfs.Fingerprint;
+import alluxio.underfs.MultipartUploader;
 import alluxio.underfs.UfsDirectoryStatus;
 import alluxio.underfs.UfsFileStatus;
 import alluxio.underfs.UfsLoadResult;
@@ -583,6 +584,31 @@ public class ManagedBlockingUfsForwarder implements UnderFileSystem {
     return mUfs.supportsFlush();
   }
 
+  @Override
+  public boolean supportsServerSideCopy() {
+    return mUfs.supportsServerSideCopy();
+  }
+
+  @Override
+  public boolean copyFile(String src, String dst) throws IOException {
+    return new ManagedBlockingUfsMethod<Boolean>() {
+      @Override
+      public Boolean execute() throws IOException {
+        return mUfs.copyFile(src, dst);
+      }
+    }.get();
+  }
+
+  @Override
+  public boolean supportsMultipartUpload() {
+    return mUfs.supportsMultipartUpload();
+  }
+
+  @Override
+  public MultipartUploader createMultipartUploader(String path) throws IOException {
+    return mUfs.createMultipartUploader(path);
+  }
+
   @Override
   public void close() throws IOException {
     mUfs.close();
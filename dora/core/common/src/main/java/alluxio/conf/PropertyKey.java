@@ -1313,6 +1313,63 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_POSITION_READ_AHEAD =
+      dataSizeBuilder(Name.UNDERFS_OBJECT_STORE_POSITION_READ_AHEAD)
+          .setDefaultValue("4MB")
+          .setDescription("Once a position reader of an object store sees a read starting where "
+              + "the previous one ended, it opens a stream of this size and keeps it open to "
+              + "serve the next sequential reads with a single range request. 0 disables the "
+              + "stream reuse, every read then issues its own range request.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_POSITION_READ_COALESCE_GAP =
+      dataSizeBuilder(Name.UNDERFS_OBJECT_STORE_POSITION_READ_COALESCE_GAP)
+          .setDefaultValue("256KB")
+          .setDescription("The max gap between two reads of a position reader of an object "
+              + "store for the second one to be served from the stream opened by the first one, "
+              + "the bytes in between being skipped.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_POSITION_READ_STREAM_IDLE_TIMEOUT =
+      durationBuilder(Name.UNDERFS_OBJECT_STORE_POSITION_READ_STREAM_IDLE_TIMEOUT)
+          .setDefaultValue("5sec")
+          .setDescription("A stream kept open by a position reader of an object store which is "
+              + "not read for this long is closed rather than reused, since the object store "
+              + "may have closed the connection in the meantime.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_POSITION_READ_HEDGE_PERCENTILE =
+      doubleBuilder(Name.UNDERFS_OBJECT_STORE_POSITION_READ_HEDGE_PERCENTILE)
+          .setDefaultValue(0.0)
+          .setDescription("A range request of a position reader of an object store which takes "
+              + "longer than this percentile of the recent range requests to the same kind of "
+              + "object store is duplicated, and the first response is used. This cuts the "
+              + "long tail of the object store latency for about 1% more requests at 99. "
+              + "0 disables the hedged requests.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_BATCHES_IN_FLIGHT =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_BATCHES_IN_FLIGHT)
+          .setDefaultValue(40)
+          .setDescription("The maximum number of batches of a directory delete or rename which "
+              + "are queued or running at a time. The directory is listed as the batches "
+              + "complete, so that its keys are never all held in memory.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
+  public static final PropertyKey UNDERFS_OBJECT_STORE_BATCH_RETRIES =
+      intBuilder(Name.UNDERFS_OBJECT_STORE_BATCH_RETRIES)
+          .setDefaultValue(3)
+          .setDescription("The number of times the keys a batch of a directory delete or rename "
+              + "failed to operate on are retried, for example the keys a bulk delete "
+              + "partially failed to delete.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.SERVER)
+          .build();
   public static final PropertyKey UNDERFS_OBJECT_STORE_SERVICE_THREADS =
       intBuilder(Name.UNDERFS_OBJECT_STORE_SERVICE_THREADS)
           .setDefaultValue(20)
@@ -2308,6 +2365,56 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_SCHEDULER_FAIR_SHARE_WEIGHTS =
+      listBuilder(Name.MASTER_SCHEDULER_FAIR_SHARE_WEIGHTS)
+          .setDescription("A comma-separated list of <user>:<weight> pairs. The scheduler "
+              + "shares the task slots of the workers between the users who submitted the "
+              + "running jobs proportionally to their weights, and evenly between the jobs of a "
+              + "user. Users not in the list have a weight of 1.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_SCHEDULER_PRIORITY_USERS =
+      listBuilder(Name.MASTER_SCHEDULER_PRIORITY_USERS)
+          .setDescription("A comma-separated list of users whose jobs are scheduled before the "
+              + "jobs of other users. The queued tasks of other users are preempted to make room "
+              + "for their tasks.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_SCHEDULER_TASK_STEALING_ENABLED =
+      booleanBuilder(Name.MASTER_SCHEDULER_TASK_STEALING_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether an idle worker may take the queued tasks of a busy worker, "
+              + "for jobs whose tasks can run on any worker such as copy and move.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_SCHEDULER_UFS_BANDWIDTH =
+      dataSizeBuilder(Name.MASTER_SCHEDULER_UFS_BANDWIDTH)
+          .setDescription("The maximum UFS bandwidth per second used by the tasks of all the "
+              + "jobs of the scheduler together, in addition to the bandwidth of each job. "
+              + "Unlimited if not set.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_SCHEDULER_WORKER_MAX_CONCURRENT_TASKS =
+      intBuilder(Name.MASTER_SCHEDULER_WORKER_MAX_CONCURRENT_TASKS)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of tasks the scheduler runs concurrently on a "
+              + "worker. The scheduler starts with one task per worker, and adapts the number "
+              + "of concurrent tasks of each worker up to this value from the latency and "
+              + "failures of its tasks.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
+  public static final PropertyKey MASTER_SCHEDULER_WORKER_TASK_QUEUE_SIZE =
+      intBuilder(Name.MASTER_SCHEDULER_WORKER_TASK_QUEUE_SIZE)
+          .setDefaultValue(10)
+          .setDescription("The maximum number of tasks queued or running for a worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_DORA_LOAD_JOB_TOTAL_FAILURE_COUNT_THRESHOLD =
       intBuilder(Name.MASTER_DORA_LOAD_JOB_TOTAL_FAILURE_COUNT_THRESHOLD)
           .setDefaultValue(-1)
@@ -2331,6 +2438,15 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.SERVER)
           .build();
+  public static final PropertyKey MASTER_DORA_LOAD_JOB_CHECKPOINT_INTERVAL =
+      durationBuilder(Name.MASTER_DORA_LOAD_JOB_CHECKPOINT_INTERVAL)
+          .setDefaultValue("1min")
+          .setDescription("The interval between the checkpoints of an incremental load job, "
+              + "which journal the files loaded so far and the listing position, so that the "
+              + "job resumes from there after a master failover.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
 
   public static final PropertyKey MASTER_SHELL_BACKUP_STATE_LOCK_GRACE_MODE =
       enumBuilder(Name.MASTER_SHELL_BACKUP_STATE_LOCK_GRACE_MODE, GraceMode.class)
@@ -2532,6 +2648,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_EMBEDDED_JOURNAL_WRITE_BATCHES_IN_FLIGHT =
+      intBuilder(Name.MASTER_EMBEDDED_JOURNAL_WRITE_BATCHES_IN_FLIGHT)
+          .setDefaultValue(1)
+          .setDescription("(Experimental) The maximum number of batches of journal entries "
+              + "submitted to the embedded journal and not committed yet. With 1, every flush "
+              + "waits for its batch to be committed before the next batch is submitted. With "
+              + "more, the batches are pipelined and their size adapts to the rate at which "
+              + "entries are written.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setIsHidden(true)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_COMPRESSION_TYPE =
       enumBuilder(Name.MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_COMPRESSION_TYPE,
           DirectoryMarshaller.Type.class)
@@ -2541,6 +2669,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_INCREMENTAL =
+      booleanBuilder(Name.MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_INCREMENTAL)
+          .setDefaultValue(false)
+          .setDescription("Whether a master downloading a snapshot from another master only "
+              + "downloads the RocksDB SST files it does not have in its own latest snapshot. "
+              + "The SST files are identified by their digests, which are computed when a "
+              + "snapshot is taken for the SST files not shared with the previous snapshot.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_COMPRESSION_LEVEL =
       intBuilder(Name.MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_COMPRESSION_LEVEL)
           .setAlias(Name.MASTER_METASTORE_ROCKS_CHECKPOINT_COMPRESSION_LEVEL)
@@ -2782,6 +2920,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_CACHE_OFF_HEAP_SIZE =
+      dataSizeBuilder(Name.MASTER_METASTORE_INODE_CACHE_OFF_HEAP_SIZE)
+          .setDefaultValue("0MB")
+          .setDescription("The size of the direct memory holding serialized inodes evicted from "
+              + "the on-heap inode cache, which are read from there instead of the backing store "
+              + "until the space is reused. Unlike the on-heap inode cache, it is bounded by "
+              + "bytes, so large inodes do not make the heap usage unpredictable. The master JVM "
+              + "must allow this much direct memory. This only applies to off-heap metastores, "
+              + "e.g. ROCKS. Set this to 0 to disable the off-heap inode cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   // In Java8 in container environment Runtime.availableProcessors() always returns 1,
   // which is not the actual number of cpus, so we set a safe default value 4.
   public static final PropertyKey MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT =
@@ -2814,6 +2964,17 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_METASTORE_INODE_OPTIMISTIC_READ_ENABLED =
+      booleanBuilder(Name.MASTER_METASTORE_INODE_OPTIMISTIC_READ_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether read-only lookups of inode paths first traverse the inode "
+              + "tree without locking it, validating version stamps of the traversed inodes and "
+              + "edges at the end of the traversal. This applies to the existence checks and to "
+              + "getStatus of existing paths. Lookups which race with a write fall back to "
+              + "locking the path.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_METASTORE_ROCKS_BLOCK_META_BLOOM_FILTER =
       booleanBuilder(Name.MASTER_METASTORE_ROCKS_BLOCK_META_BLOOM_FILTER)
           .setDescription("Whether or not to use a bloom filter in the Block meta"
@@ -3189,6 +3350,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.MASTER)
           .build();
+  public static final PropertyKey MASTER_JOURNAL_REPLAY_PARALLELISM =
+      intBuilder(Name.MASTER_JOURNAL_REPLAY_PARALLELISM)
+          .setDefaultValue(1)
+          .setDescription("(Experimental) The number of threads applying the entries of the "
+              + "embedded journal to the masters. Above 1, the entries updating independent "
+              + "states, such as different inodes, the jobs or the block metadata, are applied "
+              + "concurrently, each in order. Deletes, renames and mount table changes are "
+              + "applied alone.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setIsHidden(true)
+          .setScope(Scope.MASTER)
+          .build();
   public static final PropertyKey MASTER_JOURNAL_TOLERATE_CORRUPTION =
       booleanBuilder(Name.MASTER_JOURNAL_TOLERATE_CORRUPTION)
           .setDefaultValue(false)
@@ -3965,6 +4138,44 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .setScope(Scope.WORKER)
           .build();
+  public static final PropertyKey WORKER_COPY_PARALLELISM =
+      intBuilder(Name.WORKER_COPY_PARALLELISM)
+          .setDefaultValue(4)
+          .setDescription("The maximum number of parts of a file read and uploaded in "
+              + "parallel when the worker copies the file through to a UFS that supports "
+              + "multipart upload. Other files, and files smaller than two parts, are copied "
+              + "with a single stream.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_COPY_PART_SIZE =
+      dataSizeBuilder(Name.WORKER_COPY_PART_SIZE)
+          .setDefaultValue("16MB")
+          .setDescription("The size of the parts of a file uploaded in parallel when the "
+              + "worker copies the file. It is increased for files of more than 10000 parts. "
+              + "Up to " + Name.WORKER_COPY_PARALLELISM + " parts of each copied file are "
+              + "buffered in memory.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_COPY_PART_THREADS =
+      intBuilder(Name.WORKER_COPY_PART_THREADS)
+          .setDefaultValue(32)
+          .setDescription("The number of threads used by the worker to read and upload the "
+              + "parts of the files it copies.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_COPY_SERVER_SIDE_ENABLED =
+      booleanBuilder(Name.WORKER_COPY_SERVER_SIDE_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker copies a file with the server-side copy of the "
+              + "UFS, e.g. S3 CopyObject or GCS rewrite, when the source and the destination are "
+              + "in the same UFS that supports it and the write type is THROUGH. The data is "
+              + "then not transferred through the worker.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_DATA_FOLDER =
       stringBuilder(Name.WORKER_DATA_FOLDER)
           .setDefaultValue("/alluxioworker/")
@@ -4806,6 +5017,106 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.ENFORCE)
           .setScope(Scope.ALL)
           .build();
+  public static final PropertyKey WORKER_LOAD_HINTS_PUBLISH_ENABLED =
+      booleanBuilder(Name.WORKER_LOAD_HINTS_PUBLISH_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether the worker periodically publishes load hints, i.e. the number "
+              + "of in-flight reads, the read throughput and the cache fullness, through the "
+              + "membership service. The hints are used by the "
+              + "`alluxio.client.file.dora.BoundedLoadConsistentHashPolicy` worker selection "
+              + "policy. Only takes effect with the ETCD membership manager.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_LOAD_HINTS_PUBLISH_INTERVAL =
+      durationBuilder(Name.WORKER_LOAD_HINTS_PUBLISH_INTERVAL)
+          .setDefaultValue("5sec")
+          .setDescription("The interval at which the worker publishes its load hints.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PEER_FILL_ENABLED =
+      booleanBuilder(Name.WORKER_PEER_FILL_ENABLED)
+          .setDefaultValue(true)
+          .setDescription("Whether a worker which misses a page first reads it from the workers "
+              + "which owned the file on the consistent hash ring before the recent membership "
+              + "changes, and only reads the UFS if none of them caches the page.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_PEER_FILL_RING_HISTORY_RETENTION =
+      durationBuilder(Name.WORKER_PEER_FILL_RING_HISTORY_RETENTION)
+          .setDefaultValue("30min")
+          .setDescription("How long after a membership change the previous owners of the files "
+              + "are asked for the pages the worker misses. Once the caches of the new owners "
+              + "are warm, asking the previous owners only adds latency to the misses.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_PARALLEL_FETCH_PARALLELISM =
+      intBuilder(Name.WORKER_UFS_PARALLEL_FETCH_PARALLELISM)
+          .setDefaultValue(8)
+          .setDescription("The number of concurrent range requests a reader of a large file "
+              + "missing in the cache issues to the UFS, each filling its own pages. A single "
+              + "connection to an object store is far slower than the network of the worker. "
+              + "Set to 1 to read the missing pages one at a time.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_PARALLEL_FETCH_THREADS =
+      intBuilder(Name.WORKER_UFS_PARALLEL_FETCH_THREADS)
+          .setDefaultValue(64)
+          .setDescription("The maximum number of range requests the worker issues to the UFS "
+              + "in parallel to fill the pages of the files missing in the cache, across all "
+              + "the readers, so that many concurrent readers do not exhaust the connections.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_UFS_PARALLEL_FETCH_MIN_FILE_SIZE =
+      dataSizeBuilder(Name.WORKER_UFS_PARALLEL_FETCH_MIN_FILE_SIZE)
+          .setDefaultValue("64MB")
+          .setDescription("The pages of the files smaller than this size are read one at a "
+              + "time when missing in the cache.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_DECOMMISSION_HANDOFF_ENABLED =
+      booleanBuilder(Name.WORKER_DECOMMISSION_HANDOFF_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether a worker which is decommissioned drains first: it hands "
+              + "off the cached pages of the files it recently served to the workers which own "
+              + "these files on the ring without it, then leaves the membership. This avoids a "
+              + "spike of UFS reads when workers are taken out one by one, e.g. during an "
+              + "upgrade. The handoff only runs on an explicit decommission, when the master "
+              + "sends the decommission command to the worker, not when a worker is stopped.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_DECOMMISSION_HANDOFF_BANDWIDTH =
+      dataSizeBuilder(Name.WORKER_DECOMMISSION_HANDOFF_BANDWIDTH)
+          .setDefaultValue("256MB")
+          .setDescription("The bytes per second of cached pages a draining worker hands off, "
+              + "so that the handoff does not starve the reads the worker still serves.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_DECOMMISSION_HANDOFF_MAX_FILES =
+      intBuilder(Name.WORKER_DECOMMISSION_HANDOFF_MAX_FILES)
+          .setDefaultValue(100000)
+          .setDescription("The max number of recently served files a worker tracks for the "
+              + "handoff of its cache. Only the cached pages of these files are handed off, "
+              + "the most recently served first.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey WORKER_DECOMMISSION_HANDOFF_TIMEOUT =
+      durationBuilder(Name.WORKER_DECOMMISSION_HANDOFF_TIMEOUT)
+          .setDefaultValue("10min")
+          .setDescription("The max time a draining worker spends handing off its cache before "
+              + "it leaves the membership anyway.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
   public static final PropertyKey WORKER_STATIC_MEMBERSHIP_MANAGER_CONFIG_FILE =
       stringBuilder(Name.WORKER_STATIC_MEMBERSHIP_MANAGER_CONFIG_FILE)
           .setDefaultValue(format("${%s}/workers", Name.CONF_DIR))
@@ -5629,6 +5940,51 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_CONSISTENT_HASH_BOUNDED_LOAD_FACTOR =
+      doubleBuilder(Name.USER_CONSISTENT_HASH_BOUNDED_LOAD_FACTOR)
+          .setDefaultValue(1.25)
+          .setDescription("Used by `alluxio.client.file.dora.BoundedLoadConsistentHashPolicy`. "
+              + "A worker is considered overloaded when its published number of in-flight reads "
+              + "or its read throughput exceeds this factor times the cluster average. "
+              + "Overloaded workers are skipped along the hash ring.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CONSISTENT_HASH_HOT_FILE_ACCESS_THRESHOLD =
+      intBuilder(Name.USER_CONSISTENT_HASH_HOT_FILE_ACCESS_THRESHOLD)
+          .setDefaultValue(64)
+          .setDescription("Used by `alluxio.client.file.dora.BoundedLoadConsistentHashPolicy`. "
+              + "A file is considered hot when this client resolves it more than this many times "
+              + "within the window of " + Name.USER_CONSISTENT_HASH_HOT_FILE_WINDOW + ". "
+              + "Reads of a hot file are spread over up to "
+              + Name.USER_CONSISTENT_HASH_HOT_FILE_MAX_REPLICAS + " workers along the ring.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CONSISTENT_HASH_HOT_FILE_MAX_REPLICAS =
+      intBuilder(Name.USER_CONSISTENT_HASH_HOT_FILE_MAX_REPLICAS)
+          .setDefaultValue(3)
+          .setDescription("The maximum number of workers the reads of a hot file are spread "
+              + "over by `alluxio.client.file.dora.BoundedLoadConsistentHashPolicy`.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CONSISTENT_HASH_HOT_FILE_WINDOW =
+      durationBuilder(Name.USER_CONSISTENT_HASH_HOT_FILE_WINDOW)
+          .setDefaultValue("10sec")
+          .setDescription("The window in which accesses to a file are counted to decide if the "
+              + "file is hot.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_CONSISTENT_HASH_LOAD_HINTS_REFRESH_INTERVAL =
+      durationBuilder(Name.USER_CONSISTENT_HASH_LOAD_HINTS_REFRESH_INTERVAL)
+          .setDefaultValue("5sec")
+          .setDescription("The interval at which the client refreshes the worker load hints "
+              + "from the membership service.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT_PER_WORKER =
       intBuilder(Name.USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT_PER_WORKER)
           .setDefaultValue(2000)
@@ -5641,6 +5997,41 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
           .build();
+  public static final PropertyKey USER_FILE_HOT_CONCURRENT_READERS_THRESHOLD =
+      intBuilder(Name.USER_FILE_HOT_CONCURRENT_READERS_THRESHOLD)
+          .setDefaultValue(0)
+          .setDescription("A file is considered hot when the client already has this many "
+              + "readers open on it. The reads of a hot file are spread over "
+              + Name.USER_FILE_HOT_READ_WORKER_COUNT + " workers. 0 disables the detection.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_HOT_PATH_PREFIXES =
+      listBuilder(Name.USER_FILE_HOT_PATH_PREFIXES)
+          .setDescription("UFS path prefixes of files that are always considered hot, "
+              + "e.g. model checkpoints read by many clients at the same time. The reads of a "
+              + "hot file are spread over " + Name.USER_FILE_HOT_READ_WORKER_COUNT
+              + " workers. The delimiter is any whitespace and/or ','.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_HOT_READ_STRIPE_SIZE =
+      dataSizeBuilder(Name.USER_FILE_HOT_READ_STRIPE_SIZE)
+          .setDefaultValue("4MB")
+          .setDescription("The reads of a hot file are split into stripes of this size, and "
+              + "each stripe is read from and cached by one of the workers of the file. "
+              + "Should be a multiple of " + Name.WORKER_PAGE_STORE_PAGE_SIZE + ".")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
+  public static final PropertyKey USER_FILE_HOT_READ_WORKER_COUNT =
+      intBuilder(Name.USER_FILE_HOT_READ_WORKER_COUNT)
+          .setDefaultValue(3)
+          .setDescription("The number of workers, chosen by the worker selection policy, "
+              + "that the reads of a hot file are spread over.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.CLIENT)
+          .build();
   public static final PropertyKey USER_FILE_WRITE_TYPE_DEFAULT =
       enumBuilder(Name.USER_FILE_WRITE_TYPE_DEFAULT, WriteType.class)
           .setDefaultValue(WriteType.CACHE_THROUGH)
@@ -5829,6 +6220,24 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setDescription("The preload data size to load on worker.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
           .build();
+  public static final PropertyKey USER_VECTORED_READ_MIN_SEEK_SIZE =
+      dataSizeBuilder(Name.USER_VECTORED_READ_MIN_SEEK_SIZE)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("16KB")
+          .setDescription("The vectored reads of the Hadoop client merge two ranges into one "
+              + "positioned read when the gap between them is at most this size, since reading "
+              + "the gap costs less than another request.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
+  public static final PropertyKey USER_VECTORED_READ_MAX_MERGED_SIZE =
+      dataSizeBuilder(Name.USER_VECTORED_READ_MAX_MERGED_SIZE)
+          .setScope(Scope.CLIENT)
+          .setDefaultValue("4MB")
+          .setDescription("The maximum size of a positioned read merging several ranges of a "
+              + "vectored read of the Hadoop client. A single range larger than this size is "
+              + "read on its own.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.IGNORE)
+          .build();
   public static final PropertyKey USER_STREAMING_DATA_READ_TIMEOUT =
       durationBuilder(Name.USER_STREAMING_DATA_READ_TIMEOUT)
           .setAlias("alluxio.user.network.data.timeout.ms", Name.USER_NETWORK_DATA_TIMEOUT,
@@ -6229,7 +6638,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
       classBuilder(Name.USER_WORKER_SELECTION_POLICY)
           .setDefaultValue("alluxio.client.file.dora.ConsistentHashPolicy")
           .setDescription("The policy a client uses to map a file path to a worker address. "
-              + "The only option is `alluxio.client.file.dora.ConsistentHashPolicy`. "
+              + "The options are `alluxio.client.file.dora.ConsistentHashPolicy` and "
+              + "`alluxio.client.file.dora.BoundedLoadConsistentHashPolicy`. "
               + "Other options are for internal tests only and not for real deployments.")
           .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
           .setScope(Scope.CLIENT)
@@ -7138,6 +7548,42 @@ public final class PropertyKey implements Comparable<PropertyKey> {
           .setScope(Scope.WORKER)
           .build();
 
+  public static final PropertyKey DORA_WORKER_METASTORE_ROCKSDB_COMPACT_ENCODING_ENABLED =
+      booleanBuilder(Name.DORA_WORKER_METASTORE_ROCKSDB_COMPACT_ENCODING_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to store Dora metadata in RocksDB with the compact encoding, "
+              + "which interns the parent directory of every path and stores the frequently "
+              + "read fields in a fixed binary layout. Metadata stored in the default format "
+              + "is migrated the first time the worker starts with this enabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+
+  public static final PropertyKey DORA_WORKER_METASTORE_PREFETCH_ENABLED =
+      booleanBuilder(Name.DORA_WORKER_METASTORE_PREFETCH_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether to store the metadata of every file in a directory listing "
+              + "that is put into the listing cache in the Dora metastore, so that later "
+              + "getStatus calls on the listed files are served without calling the UFS. "
+              + "Listings are not used when "
+              + Name.UNDERFS_XATTR_CHANGE_ENABLED + " or "
+              + Name.USER_FILE_METADATA_LOAD_REAL_CONTENT_HASH
+              + " is enabled, as they do not carry that information.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+  public static final PropertyKey DORA_WORKER_METASTORE_PREFETCH_SIBLINGS_ENABLED =
+      booleanBuilder(Name.DORA_WORKER_METASTORE_PREFETCH_SIBLINGS_ENABLED)
+          .setDefaultValue(false)
+          .setDescription("Whether a getStatus that misses the Dora metastore lists the parent "
+              + "directory of the file instead of calling getStatus on the UFS, so that the "
+              + "metadata of all its siblings is prefetched with a single listing. "
+              + "Takes effect only when " + Name.DORA_WORKER_METASTORE_PREFETCH_ENABLED
+              + " is enabled and the listing cache is not disabled.")
+          .setConsistencyCheckLevel(ConsistencyCheckLevel.WARN)
+          .setScope(Scope.WORKER)
+          .build();
+
   public static final PropertyKey DORA_UFS_LIST_STATUS_CACHE_TTL =
       durationBuilder(Name.DORA_UFS_LIST_STATUS_CACHE_TTL)
           .setDefaultValue("48h")
@@ -7341,6 +7787,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.underfs.object.store.multipart.upload.timeout";
     public static final String UNDERFS_OBJECT_STORE_BREADCRUMBS_ENABLED =
         "alluxio.underfs.object.store.breadcrumbs.enabled";
+    public static final String UNDERFS_OBJECT_STORE_BATCHES_IN_FLIGHT =
+        "alluxio.underfs.object.store.batches.in.flight";
+    public static final String UNDERFS_OBJECT_STORE_BATCH_RETRIES =
+        "alluxio.underfs.object.store.batch.retries";
     public static final String UNDERFS_OBJECT_STORE_SERVICE_THREADS =
         "alluxio.underfs.object.store.service.threads";
     public static final String UNDERFS_OBJECT_STORE_SKIP_PARENT_DIRECTORY_CREATION =
@@ -7349,6 +7799,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.underfs.object.store.mount.shared.publicly";
     public static final String UNDERFS_OBJECT_STORE_MULTI_RANGE_CHUNK_SIZE =
         "alluxio.underfs.object.store.multi.range.chunk.size";
+    public static final String UNDERFS_OBJECT_STORE_POSITION_READ_AHEAD =
+        "alluxio.underfs.object.store.position.read.ahead";
+    public static final String UNDERFS_OBJECT_STORE_POSITION_READ_COALESCE_GAP =
+        "alluxio.underfs.object.store.position.read.coalesce.gap";
+    public static final String UNDERFS_OBJECT_STORE_POSITION_READ_STREAM_IDLE_TIMEOUT =
+        "alluxio.underfs.object.store.position.read.stream.idle.timeout";
+    public static final String UNDERFS_OBJECT_STORE_POSITION_READ_HEDGE_PERCENTILE =
+        "alluxio.underfs.object.store.position.read.hedge.percentile";
     public static final String UNDERFS_OSS_CONNECT_MAX = "alluxio.underfs.oss.connection.max";
     public static final String UNDERFS_OSS_CONNECT_TIMEOUT =
         "alluxio.underfs.oss.connection.timeout";
@@ -7540,6 +7998,18 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.scheduler.initial.wait.time";
     public static final String MASTER_SCHEDULER_RESTORE_JOB_FROM_JOURNAL =
         "alluxio.master.scheduler.restore.job.from.journal";
+    public static final String MASTER_SCHEDULER_FAIR_SHARE_WEIGHTS =
+        "alluxio.master.scheduler.fair.share.weights";
+    public static final String MASTER_SCHEDULER_PRIORITY_USERS =
+        "alluxio.master.scheduler.priority.users";
+    public static final String MASTER_SCHEDULER_TASK_STEALING_ENABLED =
+        "alluxio.master.scheduler.task.stealing.enabled";
+    public static final String MASTER_SCHEDULER_UFS_BANDWIDTH =
+        "alluxio.master.scheduler.ufs.bandwidth";
+    public static final String MASTER_SCHEDULER_WORKER_MAX_CONCURRENT_TASKS =
+        "alluxio.master.scheduler.worker.max.concurrent.tasks";
+    public static final String MASTER_SCHEDULER_WORKER_TASK_QUEUE_SIZE =
+        "alluxio.master.scheduler.worker.task.queue.size";
     public static final String MASTER_SHELL_BACKUP_STATE_LOCK_GRACE_MODE =
         "alluxio.master.shell.backup.state.lock.grace.mode";
     public static final String MASTER_SHELL_BACKUP_STATE_LOCK_TRY_DURATION =
@@ -7554,6 +8024,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.dora.load.job.total.failure.ratio.threshold";
     public static final String MASTER_DORA_LOAD_JOB_RETRIES =
         "alluxio.master.dora.load.job.retries";
+    public static final String MASTER_DORA_LOAD_JOB_CHECKPOINT_INTERVAL =
+        "alluxio.master.dora.load.job.checkpoint.interval";
     public static final String MASTER_DAILY_BACKUP_ENABLED =
         "alluxio.master.daily.backup.enabled";
     public static final String MASTER_DAILY_BACKUP_FILES_RETAINED =
@@ -7614,6 +8086,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.journal.space.monitor.interval";
     public static final String MASTER_JOURNAL_SPACE_MONITOR_PERCENT_FREE_THRESHOLD
         = "alluxio.master.journal.space.monitor.percent.free.threshold";
+    public static final String MASTER_JOURNAL_REPLAY_PARALLELISM
+        = "alluxio.master.journal.replay.parallelism";
     public static final String MASTER_JOURNAL_TOLERATE_CORRUPTION
         = "alluxio.master.journal.tolerate.corruption";
     public static final String MASTER_JOURNAL_BACKUP_WHEN_CORRUPTED
@@ -7651,10 +8125,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.embedded.journal.write.remote.enabled";
     public static final String MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT =
         "alluxio.master.embedded.journal.write.timeout";
+    public static final String MASTER_EMBEDDED_JOURNAL_WRITE_BATCHES_IN_FLIGHT =
+        "alluxio.master.embedded.journal.write.batches.in.flight";
     public static final String MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_CHUNK_SIZE =
         "alluxio.master.embedded.journal.snapshot.replication.chunk.size";
     public static final String MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_COMPRESSION_TYPE =
         "alluxio.master.embedded.journal.snapshot.replication.compression.type";
+    public static final String MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_INCREMENTAL =
+        "alluxio.master.embedded.journal.snapshot.replication.incremental";
     public static final String MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_COMPRESSION_LEVEL =
         "alluxio.master.embedded.journal.snapshot.replication.compression.level";
     public static final String MASTER_EMBEDDED_JOURNAL_RAFT_CLIENT_REQUEST_TIMEOUT =
@@ -7724,6 +8202,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.metastore.inode.cache.low.water.mark.ratio";
     public static final String MASTER_METASTORE_INODE_CACHE_MAX_SIZE =
         "alluxio.master.metastore.inode.cache.max.size";
+    public static final String MASTER_METASTORE_INODE_CACHE_OFF_HEAP_SIZE =
+        "alluxio.master.metastore.inode.cache.off.heap.size";
     public static final String MASTER_METASTORE_INODE_ITERATION_CRAWLER_COUNT =
         "alluxio.master.metastore.inode.iteration.crawler.count";
     public static final String MASTER_METASTORE_INODE_ENUMERATOR_BUFFER_COUNT =
@@ -7732,6 +8212,8 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.master.metastore.iterator.readahead.size";
     public static final String MASTER_METASTORE_INODE_INHERIT_OWNER_AND_GROUP =
         "alluxio.master.metastore.inode.inherit.owner.and.group";
+    public static final String MASTER_METASTORE_INODE_OPTIMISTIC_READ_ENABLED =
+        "alluxio.master.metastore.inode.optimistic.read.enabled";
     public static final String MASTER_METASTORE_ROCKS_BLOCK_META_BLOOM_FILTER =
         "alluxio.master.metastore.rocks.block.meta.bloom.filter";
     public static final String MASTER_METASTORE_ROCKS_BLOCK_META_CACHE_SIZE =
@@ -7916,6 +8398,11 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String WORKER_BLOCK_STORE_TYPE = "alluxio.worker.block.store.type";
     public static final String WORKER_CONTAINER_HOSTNAME =
         "alluxio.worker.container.hostname";
+    public static final String WORKER_COPY_PARALLELISM = "alluxio.worker.copy.parallelism";
+    public static final String WORKER_COPY_PART_SIZE = "alluxio.worker.copy.part.size";
+    public static final String WORKER_COPY_PART_THREADS = "alluxio.worker.copy.part.threads";
+    public static final String WORKER_COPY_SERVER_SIDE_ENABLED =
+        "alluxio.worker.copy.server.side.enabled";
     public static final String WORKER_DATA_FOLDER = "alluxio.worker.data.folder";
     public static final String WORKER_DATA_FOLDER_PERMISSIONS =
         "alluxio.worker.data.folder.permissions";
@@ -8115,6 +8602,28 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.worker.ufs.instream.cache.max.size";
     public static final String WORKER_MEMBERSHIP_MANAGER_TYPE =
         "alluxio.worker.membership.manager.type";
+    public static final String WORKER_LOAD_HINTS_PUBLISH_ENABLED =
+        "alluxio.worker.load.hints.publish.enabled";
+    public static final String WORKER_LOAD_HINTS_PUBLISH_INTERVAL =
+        "alluxio.worker.load.hints.publish.interval";
+    public static final String WORKER_PEER_FILL_ENABLED =
+        "alluxio.worker.peer.fill.enabled";
+    public static final String WORKER_PEER_FILL_RING_HISTORY_RETENTION =
+        "alluxio.worker.peer.fill.ring.history.retention";
+    public static final String WORKER_UFS_PARALLEL_FETCH_PARALLELISM =
+        "alluxio.worker.ufs.parallel.fetch.parallelism";
+    public static final String WORKER_UFS_PARALLEL_FETCH_THREADS =
+        "alluxio.worker.ufs.parallel.fetch.threads";
+    public static final String WORKER_UFS_PARALLEL_FETCH_MIN_FILE_SIZE =
+        "alluxio.worker.ufs.parallel.fetch.min.file.size";
+    public static final String WORKER_DECOMMISSION_HANDOFF_ENABLED =
+        "alluxio.worker.decommission.handoff.enabled";
+    public static final String WORKER_DECOMMISSION_HANDOFF_BANDWIDTH =
+        "alluxio.worker.decommission.handoff.bandwidth";
+    public static final String WORKER_DECOMMISSION_HANDOFF_MAX_FILES =
+        "alluxio.worker.decommission.handoff.max.files";
+    public static final String WORKER_DECOMMISSION_HANDOFF_TIMEOUT =
+        "alluxio.worker.decommission.handoff.timeout";
     public static final String WORKER_STATIC_MEMBERSHIP_MANAGER_CONFIG_FILE =
         "alluxio.worker.static.membership.manager.config.file";
 
@@ -8275,6 +8784,16 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.client.cache.timeout.threads";
     public static final String USER_CLIENT_REPORT_VERSION_ENABLED =
         "alluxio.user.client.report.version.enabled";
+    public static final String USER_CONSISTENT_HASH_BOUNDED_LOAD_FACTOR =
+        "alluxio.user.consistent.hash.bounded.load.factor";
+    public static final String USER_CONSISTENT_HASH_HOT_FILE_ACCESS_THRESHOLD =
+        "alluxio.user.consistent.hash.hot.file.access.threshold";
+    public static final String USER_CONSISTENT_HASH_HOT_FILE_MAX_REPLICAS =
+        "alluxio.user.consistent.hash.hot.file.max.replicas";
+    public static final String USER_CONSISTENT_HASH_HOT_FILE_WINDOW =
+        "alluxio.user.consistent.hash.hot.file.window";
+    public static final String USER_CONSISTENT_HASH_LOAD_HINTS_REFRESH_INTERVAL =
+        "alluxio.user.consistent.hash.load.hints.refresh.interval";
     public static final String USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT_PER_WORKER =
         "alluxio.user.consistent.hash.virtual.node.count.per.worker";
     public static final String USER_CONF_CLUSTER_DEFAULT_ENABLED =
@@ -8318,6 +8837,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.file.create.ttl";
     public static final String USER_FILE_CREATE_TTL_ACTION =
         "alluxio.user.file.create.ttl.action";
+    public static final String USER_FILE_HOT_CONCURRENT_READERS_THRESHOLD =
+        "alluxio.user.file.hot.concurrent.readers.threshold";
+    public static final String USER_FILE_HOT_PATH_PREFIXES =
+        "alluxio.user.file.hot.path.prefixes";
+    public static final String USER_FILE_HOT_READ_STRIPE_SIZE =
+        "alluxio.user.file.hot.read.stripe.size";
+    public static final String USER_FILE_HOT_READ_WORKER_COUNT =
+        "alluxio.user.file.hot.read.worker.count";
     public static final String USER_FILE_WRITE_TYPE_DEFAULT = "alluxio.user.file.writetype.default";
     public static final String USER_FILE_WRITE_TIER_DEFAULT =
         "alluxio.user.file.write.tier.default";
@@ -8357,6 +8884,10 @@ public final class PropertyKey implements Comparable<PropertyKey> {
         "alluxio.user.position.reader.preload.data.file.size.threshold";
     public static final String USER_POSITION_READER_PRELOAD_DATA_SIZE =
         "alluxio.user.position.reader.preload.data.size";
+    public static final String USER_VECTORED_READ_MIN_SEEK_SIZE =
+        "alluxio.user.vectored.read.min.seek.size";
+    public static final String USER_VECTORED_READ_MAX_MERGED_SIZE =
+        "alluxio.user.vectored.read.max.merged.size";
     public static final String USER_NETWORK_DATA_TIMEOUT =
         "alluxio.user.network.data.timeout";
     public static final String USER_NETWORK_READER_BUFFER_SIZE_MESSAGES =
@@ -8662,6 +9193,14 @@ public final class PropertyKey implements Comparable<PropertyKey> {
     public static final String DORA_WORKER_METASTORE_ROCKSDB_INDEX =
         "alluxio.dora.worker.metastore.rocksdb.index";
 
+    public static final String DORA_WORKER_METASTORE_ROCKSDB_COMPACT_ENCODING_ENABLED =
+        "alluxio.dora.worker.metastore.rocksdb.compact.encoding.enabled";
+
+    public static final String DORA_WORKER_METASTORE_PREFETCH_ENABLED =
+        "alluxio.dora.worker.metastore.prefetch.enabled";
+    public static final String DORA_WORKER_METASTORE_PREFETCH_SIBLINGS_ENABLED =
+        "alluxio.dora.worker.metastore.prefetch.siblings.enabled";
+
     public static final String DORA_UFS_LIST_STATUS_CACHE_TTL =
         "alluxio.dora.ufs.list.status.cache.ttl";
     public static final String DORA_UFS_LIST_STATUS_CACHE_NR_FILES =
@@ -0,0 +1,145 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.membership;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Progress of the handoff of the cache of a worker being decommissioned to the workers which take
+ * over its files, published through the membership service.
+ */
+public class CacheHandoffProgress {
+  /**
+   * State of the handoff.
+   */
+  public enum State {
+    /** The worker is handing off its cache and still serves reads. */
+    DRAINING,
+    /** The handoff is over, the worker is about to leave. */
+    DRAINED,
+  }
+
+  @Expose
+  @SerializedName("State")
+  private State mState;
+  @Expose
+  @SerializedName("TotalBytes")
+  private long mTotalBytes;
+  @Expose
+  @SerializedName("HandedOffBytes")
+  private long mHandedOffBytes;
+  @Expose
+  @SerializedName("FailedBytes")
+  private long mFailedBytes;
+  @Expose
+  @SerializedName("Timestamp")
+  private long mTimestampMs;
+
+  /**
+   * CTOR for deserialization.
+   */
+  public CacheHandoffProgress() {}
+
+  /**
+   * @param state the state of the handoff
+   * @param totalBytes the bytes of the pages to hand off
+   * @param handedOffBytes the bytes of the pages loaded by the new owners
+   * @param failedBytes the bytes of the pages the new owners failed to load
+   * @param timestampMs the time the progress was collected
+   */
+  public CacheHandoffProgress(State state, long totalBytes, long handedOffBytes,
+      long failedBytes, long timestampMs) {
+    mState = state;
+    mTotalBytes = totalBytes;
+    mHandedOffBytes = handedOffBytes;
+    mFailedBytes = failedBytes;
+    mTimestampMs = timestampMs;
+  }
+
+  /**
+   * @return the state of the handoff
+   */
+  public State getState() {
+    return mState;
+  }
+
+  /**
+   * @return the bytes of the pages to hand off
+   */
+  public long getTotalBytes() {
+    return mTotalBytes;
+  }
+
+  /**
+   * @return the bytes of the pages loaded by the new owners
+   */
+  public long getHandedOffBytes() {
+    return mHandedOffBytes;
+  }
+
+  /**
+   * @return the bytes of the pages the new owners failed to load
+   */
+  public long getFailedBytes() {
+    return mFailedBytes;
+  }
+
+  /**
+   * @return the percentage of the bytes which are handed off or failed
+   */
+  public int getPercentage() {
+    return mTotalBytes > 0
+        ? (int) ((mHandedOffBytes + mFailedBytes) * 100 / mTotalBytes) : 100;
+  }
+
+  /**
+   * @return the time the progress was collected, in milliseconds since epoch
+   */
+  public long getTimestampMs() {
+    return mTimestampMs;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof CacheHandoffProgress)) {
+      return false;
+    }
+    CacheHandoffProgress that = (CacheHandoffProgress) o;
+    return mState == that.mState
+        && mTotalBytes == that.mTotalBytes
+        && mHandedOffBytes == that.mHandedOffBytes
+        && mFailedBytes == that.mFailedBytes
+        && mTimestampMs == that.mTimestampMs;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mState, mTotalBytes, mHandedOffBytes, mFailedBytes, mTimestampMs);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("State", mState)
+        .add("TotalBytes", mTotalBytes)
+        .add("HandedOffBytes", mHandedOffBytes)
+        .add("FailedBytes", mFailedBytes)
+        .add("Timestamp", mTimestampMs)
+        .toString();
+  }
+}
@@ -14,6 +14,7 @@ package alluxio.membership;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.util.CommonUtils;
+import alluxio.wire.WorkerIdentity;
 import alluxio.wire.WorkerInfo;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -27,11 +28,13 @@ import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 
 /**
  * MembershipManager backed by configured etcd cluster.
@@ -43,6 +46,8 @@ public class EtcdMembershipManager implements MembershipManager {
   private String mClusterName;
   private Supplier<String> mRingPathPrefix =
       CommonUtils.memoize(this::constructRingPathPrefix);
+  /** The entity registered by {@link #join(WorkerInfo)}, used to publish load hints. */
+  private volatile WorkerServiceEntity mJoinedEntity;
 
   /**
    * @param conf
@@ -112,9 +117,53 @@ public class EtcdMembershipManager implements MembershipManager {
     }
     // 2) start heartbeat
     mAlluxioEtcdClient.mServiceDiscovery.registerAndStartSync(entity);
+    mJoinedEntity = entity;
     LOG.info("Joined on etcd for worker:{} ", workerInfo);
   }
 
+  @Override
+  public void updateLoadHints(WorkerInfo worker, WorkerLoadHints hints) throws IOException {
+    WorkerServiceEntity entity = mJoinedEntity;
+    if (entity == null || !entity.getIdentity().equals(worker.getIdentity())) {
+      throw new IOException(String.format("Worker %s has not joined", worker.getIdentity()));
+    }
+    entity.setLoadHints(hints);
+    mAlluxioEtcdClient.mServiceDiscovery.updateService(entity);
+  }
+
+  @Override
+  public Map<WorkerIdentity, WorkerLoadHints> getLoadHints() throws IOException {
+    Map<WorkerIdentity, WorkerLoadHints> hints = new HashMap<>();
+    for (WorkerServiceEntity entity : retrieveLiveMembers()) {
+      if (entity.getLoadHints() != null) {
+        hints.put(entity.getIdentity(), entity.getLoadHints());
+      }
+    }
+    return hints;
+  }
+
+  @Override
+  public void updateHandoffProgress(WorkerInfo worker, CacheHandoffProgress progress)
+      throws IOException {
+    WorkerServiceEntity entity = mJoinedEntity;
+    if (entity == null || !entity.getIdentity().equals(worker.getIdentity())) {
+      throw new IOException(String.format("Worker %s has not joined", worker.getIdentity()));
+    }
+    entity.setHandoffProgress(progress);
+    mAlluxioEtcdClient.mServiceDiscovery.updateService(entity);
+  }
+
+  @Override
+  public Map<WorkerIdentity, CacheHandoffProgress> getHandoffProgress() throws IOException {
+    Map<WorkerIdentity, CacheHandoffProgress> progress = new HashMap<>();
+    for (WorkerServiceEntity entity : retrieveLiveMembers()) {
+      if (entity.getHandoffProgress() != null) {
+        progress.put(entity.getIdentity(), entity.getHandoffProgress());
+      }
+    }
+    return progress;
+  }
+
   @Override
   public List<WorkerInfo> getAllMembers() throws IOException {
     List<WorkerServiceEntity> registeredWorkers = retrieveFullMembers();
@@ -183,8 +232,9 @@ public class EtcdMembershipManager implements MembershipManager {
   public String showAllMembers() {
     try {
       List<WorkerServiceEntity> registeredWorkers = retrieveFullMembers();
-      List<String> liveWorkers = retrieveLiveMembers().stream().map(
-          w -> w.getServiceEntityName()).collect(Collectors.toList());
+      Map<String, WorkerServiceEntity> liveWorkers = retrieveLiveMembers().stream()
+          .collect(Collectors.toMap(WorkerServiceEntity::getServiceEntityName, w -> w,
+              (first, second) -> first));
       String printFormat = "%s\t%s\t%s%n";
       StringBuilder sb = new StringBuilder(
           String.format(printFormat, "WorkerId", "Address", "Status"));
@@ -193,7 +243,7 @@ public class EtcdMembershipManager implements MembershipManager {
             entity.getServiceEntityName(),
             entity.getWorkerNetAddress().getHost() + ":"
                 + entity.getWorkerNetAddress().getRpcPort(),
-            liveWorkers.contains(entity.getServiceEntityName()) ? "ONLINE" : "OFFLINE");
+            getStatus(liveWorkers.get(entity.getServiceEntityName())));
         sb.append(entryLine);
       }
       return sb.toString();
@@ -202,15 +252,32 @@ public class EtcdMembershipManager implements MembershipManager {
     }
   }
 
+  private static String getStatus(@Nullable WorkerServiceEntity liveEntity) {
+    if (liveEntity == null) {
+      return "OFFLINE";
+    }
+    CacheHandoffProgress progress = liveEntity.getHandoffProgress();
+    if (progress == null) {
+      return "ONLINE";
+    }
+    return String.format("%s(%d%%)", progress.getState(), progress.getPercentage());
+  }
+
   @Override
   public void stopHeartBeat(WorkerInfo worker) throws IOException {
     WorkerServiceEntity entity = new WorkerServiceEntity(worker.getIdentity(), worker.getAddress());
     mAlluxioEtcdClient.mServiceDiscovery.unregisterService(entity.getServiceEntityName());
+    mJoinedEntity = null;
   }
 
   @Override
   public void decommission(WorkerInfo worker) throws IOException {
-    // TO BE IMPLEMENTED
+    // leave the live members first, so that the clients stop reading from the worker
+    // before it is removed from the ring
+    stopHeartBeat(worker);
+    WorkerServiceEntity entity = new WorkerServiceEntity(worker.getIdentity(), worker.getAddress());
+    mAlluxioEtcdClient.deleteForPath(getRingPathPrefix() + entity.getServiceEntityName(), false);
+    LOG.info("Decommissioned worker:{}", worker);
   }
 
   @Override
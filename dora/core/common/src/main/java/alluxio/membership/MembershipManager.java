@@ -14,6 +14,7 @@ package alluxio.membership;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.resource.LockResource;
+import alluxio.wire.WorkerIdentity;
 import alluxio.wire.WorkerInfo;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -21,7 +22,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -83,6 +86,50 @@ public interface MembershipManager extends AutoCloseable {
    */
   public void decommission(WorkerInfo worker) throws IOException;
 
+  /**
+   * Publish the load hints of the current worker, if the membership service supports it.
+   * @param worker WorkerInfo
+   * @param hints the load hints of the worker
+   * @throws IOException
+   */
+  public default void updateLoadHints(WorkerInfo worker, WorkerLoadHints hints)
+      throws IOException {
+    // load hints are not supported by default
+  }
+
+  /**
+   * Get the latest load hints published by the live workers.
+   * Workers that have not published any hints are absent from the map.
+   * @return load hints keyed by worker identity
+   * @throws IOException
+   */
+  public default Map<WorkerIdentity, WorkerLoadHints> getLoadHints() throws IOException {
+    return Collections.emptyMap();
+  }
+
+  /**
+   * Publish the progress of the cache handoff of the current worker while it is decommissioned,
+   * if the membership service supports it.
+   * @param worker WorkerInfo
+   * @param progress the progress of the handoff
+   * @throws IOException
+   */
+  public default void updateHandoffProgress(WorkerInfo worker, CacheHandoffProgress progress)
+      throws IOException {
+    // handoff progress is not supported by default
+  }
+
+  /**
+   * Get the latest cache handoff progress published by the live workers.
+   * Workers that are not being decommissioned are absent from the map.
+   * @return handoff progress keyed by worker identity
+   * @throws IOException
+   */
+  public default Map<WorkerIdentity, CacheHandoffProgress> getHandoffProgress()
+      throws IOException {
+    return Collections.emptyMap();
+  }
+
   /**
    * Factory class to get or create a MembershipManager.
    */
@@ -229,7 +229,7 @@ public class ServiceDiscoveryRecipe implements AutoCloseable {
    * @throws IOException
    */
   public void updateService(DefaultServiceEntity service) throws IOException {
-    LOG.info("Updating service : {}", service);
+    LOG.debug("Updating service : {}", service);
     if (!mRegisteredServices.containsKey(service.getServiceEntityName())) {
       Preconditions.checkNotNull(service.getLease(), "Service not attach with lease");
       throw new NoSuchElementException("Service " + service.getServiceEntityName()
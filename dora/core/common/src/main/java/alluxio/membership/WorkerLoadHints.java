@@ -0,0 +1,113 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.membership;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Objects;
+import com.google.gson.annotations.Expose;
+import com.google.gson.annotations.SerializedName;
+
+/**
+ * Load hints a worker publishes through the membership service, so that clients can avoid
+ * sending more reads to a worker that is already busy.
+ */
+public class WorkerLoadHints {
+  @Expose
+  @SerializedName("InFlightReads")
+  private long mInFlightReads;
+  @Expose
+  @SerializedName("BytesReadPerSec")
+  private double mBytesReadPerSec;
+  @Expose
+  @SerializedName("CacheUsedRatio")
+  private double mCacheUsedRatio;
+  @Expose
+  @SerializedName("Timestamp")
+  private long mTimestampMs;
+
+  /**
+   * CTOR for deserialization.
+   */
+  public WorkerLoadHints() {}
+
+  /**
+   * @param inFlightReads number of reads being served by the worker
+   * @param bytesReadPerSec recent read throughput of the worker
+   * @param cacheUsedRatio fraction of the cache capacity in use, between 0 and 1
+   * @param timestampMs the time the hints were collected
+   */
+  public WorkerLoadHints(long inFlightReads, double bytesReadPerSec, double cacheUsedRatio,
+      long timestampMs) {
+    mInFlightReads = inFlightReads;
+    mBytesReadPerSec = bytesReadPerSec;
+    mCacheUsedRatio = cacheUsedRatio;
+    mTimestampMs = timestampMs;
+  }
+
+  /**
+   * @return number of reads being served by the worker
+   */
+  public long getInFlightReads() {
+    return mInFlightReads;
+  }
+
+  /**
+   * @return recent read throughput of the worker in bytes per second
+   */
+  public double getBytesReadPerSec() {
+    return mBytesReadPerSec;
+  }
+
+  /**
+   * @return fraction of the cache capacity in use, between 0 and 1
+   */
+  public double getCacheUsedRatio() {
+    return mCacheUsedRatio;
+  }
+
+  /**
+   * @return the time the hints were collected, in milliseconds since epoch
+   */
+  public long getTimestampMs() {
+    return mTimestampMs;
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof WorkerLoadHints)) {
+      return false;
+    }
+    WorkerLoadHints that = (WorkerLoadHints) o;
+    return mInFlightReads == that.mInFlightReads
+        && Double.compare(mBytesReadPerSec, that.mBytesReadPerSec) == 0
+        && Double.compare(mCacheUsedRatio, that.mCacheUsedRatio) == 0
+        && mTimestampMs == that.mTimestampMs;
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hashCode(mInFlightReads, mBytesReadPerSec, mCacheUsedRatio, mTimestampMs);
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("InFlightReads", mInFlightReads)
+        .add("BytesReadPerSec", mBytesReadPerSec)
+        .add("CacheUsedRatio", mCacheUsedRatio)
+        .add("Timestamp", mTimestampMs)
+        .toString();
+  }
+}
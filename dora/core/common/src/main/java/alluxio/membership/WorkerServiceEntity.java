@@ -24,6 +24,7 @@ import com.google.gson.annotations.Expose;
 
 import java.io.ByteArrayInputStream;
 import java.io.InputStreamReader;
+import javax.annotation.Nullable;
 
 /**
  * Entity class including all the information to register to Etcd
@@ -52,6 +53,12 @@ public class WorkerServiceEntity extends DefaultServiceEntity {
   @Expose
   @com.google.gson.annotations.SerializedName("GenerationNumber")
   int mGenerationNum = -1;
+  @Expose
+  @com.google.gson.annotations.SerializedName("LoadHints")
+  volatile WorkerLoadHints mLoadHints;
+  @Expose
+  @com.google.gson.annotations.SerializedName("HandoffProgress")
+  volatile CacheHandoffProgress mHandoffProgress;
 
   /**
    * CTOR for WorkerServiceEntity.
@@ -87,6 +94,41 @@ public class WorkerServiceEntity extends DefaultServiceEntity {
     return mIdentity;
   }
 
+  /**
+   * @return the latest load hints published by the worker, or null if there are none
+   */
+  @Nullable
+  public WorkerLoadHints getLoadHints() {
+    return mLoadHints;
+  }
+
+  /**
+   * Set the load hints to publish with this entity.
+   *
+   * @param loadHints the load hints
+   */
+  public void setLoadHints(WorkerLoadHints loadHints) {
+    mLoadHints = loadHints;
+  }
+
+  /**
+   * @return the latest cache handoff progress published by the worker, or null if it is not
+   *         being decommissioned
+   */
+  @Nullable
+  public CacheHandoffProgress getHandoffProgress() {
+    return mHandoffProgress;
+  }
+
+  /**
+   * Set the cache handoff progress to publish with this entity.
+   *
+   * @param handoffProgress the handoff progress
+   */
+  public void setHandoffProgress(CacheHandoffProgress handoffProgress) {
+    mHandoffProgress = handoffProgress;
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
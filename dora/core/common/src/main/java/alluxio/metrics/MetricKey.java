@@ -368,6 +368,18 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("Total number of inodes (inode metadata) cached.")
           .setMetricType(MetricType.GAUGE)
           .build();
+  public static final MetricKey MASTER_INODE_OFF_HEAP_CACHE_HITS =
+      new Builder("Master.InodeOffHeapCacheHits")
+          .setDescription("Total number of inodes loaded from the off-heap inode cache instead "
+              + "of the backing store.")
+          .setMetricType(MetricType.COUNTER)
+          .build();
+  public static final MetricKey MASTER_INODE_OFF_HEAP_CACHE_SIZE =
+      new Builder("Master.InodeOffHeapCacheSize")
+          .setDescription("Total bytes of direct memory filled by the off-heap inode cache, "
+              + "including the inodes invalidated since they were written.")
+          .setMetricType(MetricType.GAUGE)
+          .build();
   public static final MetricKey MASTER_JOURNAL_SPACE_FREE_BYTES =
       new Builder("Master.JournalFreeBytes")
           .setDescription("Bytes left on the journal disk(s) for an Alluxio master. "
@@ -1887,6 +1899,13 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_BYTES_READ_PEER_FILL =
+      new Builder("Worker.BytesReadPeerFill")
+          .setDescription("Total number of bytes of the pages this worker missed which were read "
+              + "from the workers previously owning the files instead of the UFS")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(true)
+          .build();
   public static final MetricKey WORKER_BYTES_READ_UFS =
       new Builder("Worker.BytesReadPerUfs")
           .setDescription("Total number of bytes read from a specific Alluxio UFS by this worker")
@@ -1899,6 +1918,34 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setMetricType(MetricType.METER)
           .setIsClusterAggregated(false)
           .build();
+  public static final MetricKey WORKER_UFS_POSITION_READS_COALESCED =
+      new Builder("Worker.UfsPositionReadsCoalesced")
+          .setDescription("Total number of position reads of object stores served from a "
+              + "stream kept open by a previous read instead of a new range request")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(true)
+          .build();
+  public static final MetricKey WORKER_UFS_POSITION_READS_HEDGED =
+      new Builder("Worker.UfsPositionReadsHedged")
+          .setDescription("Total number of range requests to object stores which were "
+              + "duplicated because they took longer than the hedge latency percentile")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(true)
+          .build();
+  public static final MetricKey WORKER_UFS_OBJECTS_DELETED =
+      new Builder("Worker.UfsObjectsDeleted")
+          .setDescription("Total number of objects deleted from object stores by the recursive "
+              + "deletes and the renames of directories")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(true)
+          .build();
+  public static final MetricKey WORKER_UFS_OBJECTS_COPIED =
+      new Builder("Worker.UfsObjectsCopied")
+          .setDescription("Total number of objects copied in object stores by the renames of "
+              + "directories")
+          .setMetricType(MetricType.COUNTER)
+          .setIsClusterAggregated(true)
+          .build();
   public static final MetricKey WORKER_BYTES_WRITTEN_DIRECT =
       new Builder("Worker.BytesWrittenDirect")
           .setDescription("Total number of bytes written to this worker "
@@ -2178,6 +2225,12 @@ public final class MetricKey implements Comparable<MetricKey> {
           .setDescription("Total number of GetFileInfo read from external storage.")
           .setMetricType(MetricType.COUNTER)
           .build();
+  public static final MetricKey WORKER_METADATA_PREFETCHED =
+      new Builder("Worker.MetadataPrefetched")
+          .setDescription("Total number of file metadata entries stored in the worker "
+              + "metastore from directory listings instead of individual UFS getStatus calls.")
+          .setMetricType(MetricType.COUNTER)
+          .build();
 
   // Client metrics
   public static final MetricKey CLIENT_BLOCK_READ_CHUNK_REMOTE =
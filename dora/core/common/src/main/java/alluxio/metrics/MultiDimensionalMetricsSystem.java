@@ -63,14 +63,14 @@ public final class MultiDimensionalMetricsSystem {
       .name("alluxio_ufs_data_access")
       .help("aggregated throughput of ufs access")
       .unit(Unit.BYTES)
-      .labelNames("method")
+      .labelNames("method", "ufs")
       .build();
 
   public static final Summary UFS_DATA_ACCESS_LATENCY = Summary.builder()
       .name("alluxio_ufs_data_access_latency")
       .help("aggregated latency of ufs access")
       .unit(Unit.SECONDS)
-      .labelNames("method")
+      .labelNames("method", "ufs")
       .build();
 
   public static final Counter META_OPERATION = Counter.builder()
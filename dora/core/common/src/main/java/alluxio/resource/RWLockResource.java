@@ -16,6 +16,7 @@ import alluxio.concurrent.LockMode;
 import com.google.common.base.Preconditions;
 
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
 
 /**
  * The {@link RWLockResource} is an extension of the {@link LockResource} which allows for
@@ -36,7 +37,23 @@ public class RWLockResource extends LockResource {
    */
   public RWLockResource(ReentrantReadWriteLock rwLock, LockMode mode, boolean acquireLock,
       boolean useTryLock) {
-    super(mode == LockMode.READ ? rwLock.readLock() : rwLock.writeLock(), acquireLock, useTryLock);
+    this(rwLock, mode, acquireLock, useTryLock, null);
+  }
+
+  /**
+   * Creates a new instance of RW lock that will lock with the given mode.
+   *
+   * @param rwLock the read-write lock backing the resource
+   * @param mode the initial lock mode if acquiring the lock
+   * @param acquireLock whether or not to acquire the lock
+   * @param useTryLock whether or not to use {@link java.util.concurrent.locks.Lock#tryLock} when
+   *                  acquiring the resource
+   * @param closeAction the nullable closeable that will be run before releasing the lock
+   */
+  public RWLockResource(ReentrantReadWriteLock rwLock, LockMode mode, boolean acquireLock,
+      boolean useTryLock, @Nullable Runnable closeAction) {
+    super(mode == LockMode.READ ? rwLock.readLock() : rwLock.writeLock(), acquireLock, useTryLock,
+        closeAction);
     mRwLock = rwLock;
   }
 
@@ -18,6 +18,7 @@ import com.google.common.base.Preconditions;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.Nullable;
 
 /**
  * Reference counted Lock resource, automatically unlocks and decrements the reference count.
@@ -40,7 +41,24 @@ public class RefCountLockResource extends RWLockResource {
    */
   public RefCountLockResource(ReentrantReadWriteLock lock, LockMode mode, boolean acquireLock,
       AtomicInteger refCount, boolean useTryLock) {
-    super(lock, mode, acquireLock, useTryLock);
+    this(lock, mode, acquireLock, refCount, useTryLock, null);
+  }
+
+  /**
+   * Creates a new instance of {@link LockResource} using the given lock and reference counter. The
+   * reference counter should have been initialized and incremented outside of this class.
+   *
+   * @param lock the lock to acquire
+   * @param mode the mode to acquire the lock in
+   * @param acquireLock whether to lock the lock
+   * @param refCount ref count for the lock
+   * @param useTryLock applicable only if acquireLock is true. Determines whether or not to use
+   *                   {@link Lock#tryLock()} or {@link Lock#lock()} to acquire the lock
+   * @param closeAction the nullable closeable that will be run before releasing the lock
+   */
+  public RefCountLockResource(ReentrantReadWriteLock lock, LockMode mode, boolean acquireLock,
+      AtomicInteger refCount, boolean useTryLock, @Nullable Runnable closeAction) {
+    super(lock, mode, acquireLock, useTryLock, closeAction);
     mRefCount = Preconditions.checkNotNull(refCount,
         "Reference Counter can not be null");
   }
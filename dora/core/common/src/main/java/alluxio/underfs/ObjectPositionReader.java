@@ -12,16 +12,61 @@
 package alluxio.underfs;
 
 import alluxio.PositionReader;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.metrics.MultiDimensionalMetricsSystem;
+import alluxio.util.ThreadFactoryUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.io.ByteStreams;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.GuardedBy;
 
 /**
  * A stream for reading data using position reader.
+ *
+ * Reading a file page by page would otherwise issue one range request per page. Once a read
+ * starts where the previous one ended, the reader opens a stream ahead of it and keeps it open,
+ * so that the next sequential reads, including reads skipping a small gap, are served by the
+ * same range request. Other reads issue their own range request, which can be hedged when it
+ * takes longer than a percentile of the recent range requests to the same kind of object store:
+ * a second range request is then sent and the first response is used.
  */
-
 public abstract class ObjectPositionReader implements PositionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(ObjectPositionReader.class);
+  /** The maximum number of hedged range requests in flight, across the readers. */
+  private static final int MAX_HEDGED_REQUESTS = 16;
+  /** Sends the hedged range requests once their delay elapses. */
+  private static final ScheduledThreadPoolExecutor HEDGE_EXECUTOR = createHedgeExecutor();
+  /** Completes the result of a hedged range when the request of the caller completes first. */
+  private static final byte[] REQUEST_WON = new byte[0];
+  /** The latencies of the range requests, by kind of object store. */
+  private static final ConcurrentHashMap<String, RangeLatencyTracker> LATENCIES =
+      new ConcurrentHashMap<>();
+  private static final Counter READS_COALESCED =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_POSITION_READS_COALESCED.getName());
+  private static final Counter READS_HEDGED =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_POSITION_READS_HEDGED.getName());
+  private static final String METHOD = "positionRead";
+
   /** Path of the file when it is uploaded to object storage. */
   protected final String mPath;
 
@@ -31,15 +76,63 @@ public abstract class ObjectPositionReader implements PositionReader {
   /** Name of the bucket the object resides in. */
   protected final String mBucketName;
 
+  private final long mReadAhead;
+  private final long mCoalesceGap;
+  private final long mStreamIdleTimeoutMs;
+  private final double mHedgePercentile;
+  private final String mUfsType;
+  private final RangeLatencyTracker mLatencies;
+
+  /** The end of the last read, to detect sequential reads. */
+  private volatile long mLastReadEnd = -1;
+  private final ReentrantLock mStreamLock = new ReentrantLock();
+  /** The stream kept open for the sequential reads. */
+  @GuardedBy("mStreamLock")
+  @Nullable
+  private InputStream mStream;
+  @GuardedBy("mStreamLock")
+  private long mStreamPos;
+  @GuardedBy("mStreamLock")
+  private long mStreamEnd;
+  @GuardedBy("mStreamLock")
+  private long mStreamLastReadMs;
+
+  private static ScheduledThreadPoolExecutor createHedgeExecutor() {
+    ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(MAX_HEDGED_REQUESTS,
+        ThreadFactoryUtils.build("object-range-hedge-%d", true));
+    // most range requests complete before their hedge is due
+    executor.setRemoveOnCancelPolicy(true);
+    return executor;
+  }
+
   /**
    * @param bucketName the bucket name
    * @param path path of the file when it is uploaded to object storage
    * @param fileLength the file length
    */
   public ObjectPositionReader(String bucketName, String path, long fileLength) {
+    this(Configuration.global(), bucketName, path, fileLength);
+  }
+
+  /**
+   * @param conf the configuration of the UFS
+   * @param bucketName the bucket name
+   * @param path path of the file when it is uploaded to object storage
+   * @param fileLength the file length
+   */
+  public ObjectPositionReader(AlluxioConfiguration conf, String bucketName, String path,
+      long fileLength) {
     mBucketName = bucketName;
     mPath = path;
     mFileLength = fileLength;
+    mReadAhead = conf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_POSITION_READ_AHEAD);
+    mCoalesceGap = conf.getBytes(PropertyKey.UNDERFS_OBJECT_STORE_POSITION_READ_COALESCE_GAP);
+    mStreamIdleTimeoutMs =
+        conf.getMs(PropertyKey.UNDERFS_OBJECT_STORE_POSITION_READ_STREAM_IDLE_TIMEOUT);
+    mHedgePercentile =
+        conf.getDouble(PropertyKey.UNDERFS_OBJECT_STORE_POSITION_READ_HEDGE_PERCENTILE);
+    mUfsType = getClass().getSimpleName().replace("PositionReader", "");
+    mLatencies = LATENCIES.computeIfAbsent(mUfsType, type -> new RangeLatencyTracker());
   }
 
   /**
@@ -55,17 +148,268 @@ public abstract class ObjectPositionReader implements PositionReader {
       return -1;
     }
     int bytesToRead = (int) Math.min(mFileLength - position, length);
-    try (InputStream in = openObjectInputStream(position, bytesToRead)) {
+    // a concurrent read does not wait for the stream, it issues its own range request
+    if (mReadAhead > 0 && mStreamLock.tryLock()) {
+      try {
+        int bytesRead = readFromStream(position, buffer, bytesToRead);
+        if (bytesRead > 0) {
+          mLastReadEnd = position + bytesRead;
+          return bytesRead;
+        }
+      } finally {
+        mStreamLock.unlock();
+      }
+    }
+    int bytesRead = readRange(position, buffer, bytesToRead);
+    if (bytesRead > 0) {
+      mLastReadEnd = position + bytesRead;
+    }
+    return bytesRead;
+  }
+
+  /**
+   * Reads from the stream kept open, opening it if the read follows the previous one.
+   *
+   * @return the bytes read, or 0 if the read cannot be served by the stream
+   */
+  @GuardedBy("mStreamLock")
+  private int readFromStream(long position, ReadTargetBuffer buffer, int length)
+      throws IOException {
+    long now = System.currentTimeMillis();
+    if (mStream != null && (position < mStreamPos || position - mStreamPos > mCoalesceGap
+        || position + length > mStreamEnd || now - mStreamLastReadMs > mStreamIdleTimeoutMs)) {
+      closeStream();
+    }
+    if (mStream == null) {
+      long lastReadEnd = mLastReadEnd;
+      if (lastReadEnd < 0 || position < lastReadEnd || position - lastReadEnd > mCoalesceGap) {
+        return 0;
+      }
+      long end = Math.min(mFileLength, position + Math.max(length, mReadAhead));
+      mStream = openObjectInputStream(position, (int) (end - position));
+      mStreamPos = position;
+      mStreamEnd = end;
+    } else {
+      READS_COALESCED.inc();
+    }
+    int offset = buffer.offset();
+    int totalRead = 0;
+    try {
+      ByteStreams.skipFully(mStream, position - mStreamPos);
+      mStreamPos = position;
+      while (totalRead < length) {
+        int currentRead = buffer.readFromInputStream(mStream, length - totalRead);
+        if (currentRead < 0) {
+          break;
+        }
+        totalRead += currentRead;
+      }
+    } catch (IOException e) {
+      LOG.debug("Failed to read {} from the open stream at {}, retrying with a range request",
+          mPath, position, e);
+      totalRead = 0;
+    }
+    if (totalRead < length) {
+      // the object is shorter than expected or the connection broke
+      buffer.offset(offset);
+      closeStream();
+      return 0;
+    }
+    recordBytes(totalRead);
+    mStreamPos += totalRead;
+    mStreamLastReadMs = now;
+    if (mStreamPos >= mStreamEnd) {
+      closeStream();
+    }
+    return totalRead;
+  }
+
+  @GuardedBy("mStreamLock")
+  private void closeStream() {
+    if (mStream == null) {
+      return;
+    }
+    try {
+      mStream.close();
+    } catch (IOException e) {
+      LOG.debug("Failed to close the stream of {}", mPath, e);
+    }
+    mStream = null;
+  }
+
+  /**
+   * Reads with a range request of its own, which is hedged if it is slow.
+   */
+  private int readRange(long position, ReadTargetBuffer buffer, int length) throws IOException {
+    long hedgeDelayMs = mHedgePercentile > 0 ? mLatencies.getPercentileMs(mHedgePercentile) : -1;
+    if (hedgeDelayMs < 0) {
+      long startNs = System.nanoTime();
+      try (InputStream in = openObjectInputStream(position, length)) {
+        int totalRead = 0;
+        int currentRead = 0;
+        while (totalRead < length) {
+          currentRead = buffer.readFromInputStream(in, length - totalRead);
+          if (currentRead < 0) {
+            break;
+          }
+          totalRead += currentRead;
+        }
+        recordLatency(System.nanoTime() - startNs);
+        recordBytes(totalRead);
+        return totalRead == 0 ? currentRead : totalRead;
+      }
+    }
+    return readHedged(position, buffer, length, hedgeDelayMs);
+  }
+
+  /**
+   * Reads with a range request on the calling thread. If it is still running after the hedge
+   * delay, a second range request is sent on the hedge executor, and the request which completes
+   * first is used while the stream of the other one is closed.
+   */
+  private int readHedged(long position, ReadTargetBuffer buffer, int length, long hedgeDelayMs)
+      throws IOException {
+    HedgedRange range = new HedgedRange(position, length);
+    ScheduledFuture<?> hedge =
+        HEDGE_EXECUTOR.schedule(range::hedge, hedgeDelayMs, TimeUnit.MILLISECONDS);
+    int offset = buffer.offset();
+    long startNs = System.nanoTime();
+    try (InputStream in = openObjectInputStream(position, length)) {
+      range.mRequestStream = in;
       int totalRead = 0;
       int currentRead = 0;
-      while (totalRead < bytesToRead) {
-        currentRead = buffer.readFromInputStream(in, bytesToRead - totalRead);
+      while (totalRead < length && !range.mResult.isDone()) {
+        currentRead = buffer.readFromInputStream(in, length - totalRead);
         if (currentRead < 0) {
           break;
         }
         totalRead += currentRead;
       }
-      return totalRead == 0 ? currentRead : totalRead;
+      if (range.mResult.complete(REQUEST_WON)) {
+        hedge.cancel(false);
+        closeQuietly(range.mHedgeStream);
+        recordLatency(System.nanoTime() - startNs);
+        recordBytes(totalRead);
+        return totalRead == 0 ? currentRead : totalRead;
+      }
+    } catch (IOException | RuntimeException e) {
+      if (hedge.cancel(false)) {
+        // the hedged request was not sent
+        throw e;
+      }
+      range.onFailure(e);
+    }
+    // the hedged request completed first, or it is the only request left
+    byte[] data;
+    try {
+      data = range.mResult.get();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      closeQuietly(range.mHedgeStream);
+      throw new IOException(String.format("Interrupted reading %s at %d", mPath, position), e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    }
+    buffer.offset(offset);
+    if (data.length == 0) {
+      return -1;
+    }
+    buffer.writeBytes(data, 0, data.length);
+    return data.length;
+  }
+
+  private void closeQuietly(@Nullable InputStream stream) {
+    if (stream == null) {
+      return;
+    }
+    try {
+      stream.close();
+    } catch (IOException e) {
+      LOG.debug("Failed to close the losing range request of {}", mPath, e);
+    }
+  }
+
+  /**
+   * A range request and its hedged request. The first request to succeed completes the result,
+   * which only fails once both requests failed.
+   */
+  private final class HedgedRange {
+    private final long mPosition;
+    private final int mLength;
+    private final CompletableFuture<byte[]> mResult = new CompletableFuture<>();
+    private final AtomicInteger mFailures = new AtomicInteger();
+    @Nullable
+    private volatile InputStream mRequestStream;
+    @Nullable
+    private volatile InputStream mHedgeStream;
+
+    private HedgedRange(long position, int length) {
+      mPosition = position;
+      mLength = length;
+    }
+
+    /**
+     * Sends the hedged request, on the hedge executor.
+     */
+    private void hedge() {
+      if (mResult.isDone()) {
+        return;
+      }
+      READS_HEDGED.inc();
+      long startNs = System.nanoTime();
+      try (InputStream in = openObjectInputStream(mPosition, mLength)) {
+        mHedgeStream = in;
+        if (mResult.isDone()) {
+          return;
+        }
+        byte[] data = new byte[mLength];
+        int totalRead = ByteStreams.read(in, data, 0, mLength);
+        recordLatency(System.nanoTime() - startNs);
+        if (mResult.complete(totalRead == mLength ? data : Arrays.copyOf(data, totalRead))) {
+          recordBytes(totalRead);
+          // unblocks the range request of the caller
+          closeQuietly(mRequestStream);
+        }
+      } catch (Throwable t) {
+        onFailure(t);
+      }
+    }
+
+    private void onFailure(Throwable t) {
+      if (mFailures.incrementAndGet() >= 2) {
+        mResult.completeExceptionally(t);
+      } else if (!mResult.isDone()) {
+        LOG.debug("Range request of {} at {} failed, waiting for the other request",
+            mPath, mPosition, t);
+      }
+    }
+  }
+
+  private void recordLatency(long latencyNs) {
+    mLatencies.record(latencyNs);
+    MultiDimensionalMetricsSystem.UFS_DATA_ACCESS_LATENCY.labelValues(METHOD, mUfsType)
+        .observe(latencyNs / 1e9);
+  }
+
+  private void recordBytes(int bytes) {
+    if (bytes > 0) {
+      MultiDimensionalMetricsSystem.UFS_DATA_ACCESS.labelValues(METHOD, mUfsType).observe(bytes);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    mStreamLock.lock();
+    try {
+      closeStream();
+    } finally {
+      mStreamLock.unlock();
     }
   }
 
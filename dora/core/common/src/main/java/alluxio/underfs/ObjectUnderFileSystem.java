@@ -17,6 +17,8 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.ExceptionMessage;
 import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.retry.CountingRetry;
 import alluxio.retry.ExponentialBackoffRetry;
 import alluxio.retry.RetryPolicy;
@@ -31,6 +33,7 @@ import alluxio.util.CommonUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.util.io.PathUtils;
 
+import com.codahale.metrics.Counter;
 import com.google.common.annotations.VisibleForTesting;
 import com.google.common.collect.Iterators;
 import io.grpc.Status;
@@ -49,18 +52,21 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
 import java.util.TreeMap;
-import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -71,6 +77,10 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   private static final Logger LOG = LoggerFactory.getLogger(ObjectUnderFileSystem.class);
+  private static final Counter OBJECTS_DELETED =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_OBJECTS_DELETED.getName());
+  private static final Counter OBJECTS_COPIED =
+      MetricsSystem.counter(MetricKey.WORKER_UFS_OBJECTS_COPIED.getName());
 
   /** Default maximum length for a single listing query. */
   private static final int DEFAULT_MAX_LISTING_CHUNK_LENGTH = 1000;
@@ -250,25 +260,33 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   }
 
   /**
-   * Operations added to this buffer are performed concurrently.
+   * Operations added to this buffer are performed concurrently, in batches submitted as soon as
+   * they are full. At most {@link PropertyKey#UNDERFS_OBJECT_STORE_BATCHES_IN_FLIGHT} batches are
+   * queued or running at a time, {@link #add(Object)} blocks beyond that, so that the inputs are
+   * produced as fast as the object store consumes them and never all held in memory. The inputs a
+   * batch fails to operate on are retried a few times.
    * Note that {@link #getResult()} method blocks {@link #add(Object)} method.
    *
    * @param <T> input type for operation
    */
   @ThreadSafe
   protected abstract class OperationBuffer<T> {
-    /** A list of the successful operations for each batch. */
-    private final ArrayList<Future<List<T>>> mBatchesResult;
+    /** Permits of the batches which can be in flight. */
+    private final Semaphore mBatchesInFlight;
+    private final int mMaxBatchesInFlight;
+    /** Number of the inputs successfully operated on. */
+    private final AtomicLong mSucceeded = new AtomicLong();
     /** Buffer for a batch of inputs. */
-    private final List<T> mCurrentBatchBuffer;
+    private List<T> mCurrentBatchBuffer;
     /** Total number of inputs to be operated on across batches. */
-    protected int mEntriesAdded;
+    protected long mEntriesAdded;
 
     /**
      * Construct a new {@link OperationBuffer} instance.
      */
     protected OperationBuffer() {
-      mBatchesResult = new ArrayList<>();
+      mMaxBatchesInFlight = mUfsConf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_BATCHES_IN_FLIGHT);
+      mBatchesInFlight = new Semaphore(mMaxBatchesInFlight);
       mCurrentBatchBuffer = new ArrayList<>();
       mEntriesAdded = 0;
     }
@@ -288,6 +306,13 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
      */
     protected abstract List<T> operate(List<T> paths) throws IOException;
 
+    /**
+     * Called with the inputs of a batch successfully operated on.
+     *
+     * @param succeeded the inputs successfully operated on
+     */
+    protected void onSuccess(List<T> succeeded) {}
+
     /**
      * Adds a new input to be operated on.
      *
@@ -304,32 +329,16 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     }
 
     /**
-     * Gets the combined result from all batches.
+     * Waits for all the batches to be operated on.
      *
-     * @return a list of inputs for successful operations
+     * @return the number of inputs successfully operated on
      * @throws IOException if a non-Alluxio error occurs
      */
-    public synchronized List<T> getResult() throws IOException {
+    public synchronized long getResult() throws IOException {
       submitBatch();
-      List<T> result = new ArrayList<>();
-      for (Future<List<T>> list : mBatchesResult) {
-        try {
-          result.addAll(list.get());
-        } catch (InterruptedException e) {
-          Thread.currentThread().interrupt();
-          // If operation was interrupted do not add to successfully deleted list
-          LOG.warn(
-              "{}: Interrupted while waiting for the result of batch operation. UFS and Alluxio "
-                  + "state may be inconsistent. Error: {}",
-              getClass().getName(), e.getMessage());
-        } catch (ExecutionException e) {
-          // If operation failed to execute do not add to successfully deleted list
-          LOG.warn(
-              "{}: A batch operation failed. UFS and Alluxio state may be inconsistent. Error: {}",
-              getClass().getName(), e.getMessage());
-        }
-      }
-      return result;
+      acquire(mMaxBatchesInFlight);
+      mBatchesInFlight.release(mMaxBatchesInFlight);
+      return mSucceeded.get();
     }
 
     /**
@@ -337,17 +346,62 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
      */
     private void submitBatch() throws IOException {
       if (mCurrentBatchBuffer.size() != 0) {
-        List<T> batch = new ArrayList<>(mCurrentBatchBuffer);
-        mCurrentBatchBuffer.clear();
-        mBatchesResult.add(mExecutorService.submit(() -> {
-          try {
-            return operate(batch);
-          } catch (IOException e) {
-            LOG.error("A batch operation failed. ", e);
-            // Do not append to success list
-            return Collections.emptyList();
-          }
-        }));
+        List<T> batch = mCurrentBatchBuffer;
+        mCurrentBatchBuffer = new ArrayList<>();
+        acquire(1);
+        try {
+          mExecutorService.execute(() -> {
+            try {
+              operateWithRetries(batch);
+            } finally {
+              mBatchesInFlight.release();
+            }
+          });
+        } catch (RuntimeException e) {
+          mBatchesInFlight.release();
+          throw e;
+        }
+      }
+    }
+
+    private void operateWithRetries(List<T> batch) {
+      List<T> remaining = batch;
+      RetryPolicy retry = new ExponentialBackoffRetry(
+          100, 5000, mUfsConf.getInt(PropertyKey.UNDERFS_OBJECT_STORE_BATCH_RETRIES));
+      while (!remaining.isEmpty() && retry.attempt()) {
+        List<T> succeeded;
+        try {
+          succeeded = operate(remaining);
+        } catch (IOException | RuntimeException e) {
+          LOG.warn("{}: A batch operation of {} inputs failed (attempt {}): {}",
+              getClass().getName(), remaining.size(), retry.getAttemptCount(), e.toString());
+          continue;
+        }
+        mSucceeded.addAndGet(succeeded.size());
+        onSuccess(succeeded);
+        if (succeeded.size() < remaining.size()) {
+          // only retry the inputs which failed
+          Set<T> done = new HashSet<>(succeeded);
+          remaining = remaining.stream().filter(input -> !done.contains(input))
+              .collect(Collectors.toList());
+        } else {
+          remaining = Collections.emptyList();
+        }
+      }
+      if (!remaining.isEmpty()) {
+        // If operation failed to execute do not add to successfully operated count
+        LOG.warn("{}: A batch operation failed for {} inputs. UFS and Alluxio state may be "
+            + "inconsistent.", getClass().getName(), remaining.size());
+      }
+    }
+
+    private void acquire(int permits) throws IOException {
+      try {
+        mBatchesInFlight.acquire(permits);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IOException(String.format(
+            "%s: Interrupted while waiting for the batch operations", getClass().getName()), e);
       }
     }
   }
@@ -416,29 +470,33 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
       return deleteObject(stripPrefixIfPresent(convertToFolderName(path)));
     }
 
-    // Delete children
-    DeleteBuffer deleteBuffer = new DeleteBuffer();
-    UfsStatus[] pathsToDelete = listInternal(path, ListOptions.defaults().setRecursive(true));
-    if (pathsToDelete == null) {
-      LOG.warn("Unable to delete {} because listInternal returns null", path);
+    // Delete children as they are listed, so that the subtree is never held in memory
+    String dirKey = stripPrefixIfPresent(convertToFolderName(path));
+    ObjectListingChunk chunk = getObjectListingChunkForPath(path, true);
+    if (chunk == null && getObjectStatus(dirKey) == null) {
+      LOG.warn("Unable to delete {} because it is not a directory", path);
       return false;
     }
-    Arrays.sort(pathsToDelete, Comparator.comparing(UfsStatus::getName).reversed());
-    for (UfsStatus pathToDelete : pathsToDelete) {
-      String pathKey = stripPrefixIfPresent(PathUtils.concatPath(path, pathToDelete.getName()));
-      if (pathToDelete.isDirectory()) {
-        deleteBuffer.add(convertToFolderName(pathKey));
-      } else {
-        deleteBuffer.add(pathKey);
+    DeleteBuffer deleteBuffer = new DeleteBuffer();
+    while (chunk != null) {
+      for (ObjectStatus status : chunk.getObjectStatuses()) {
+        if (!status.getName().equals(dirKey)) {
+          deleteBuffer.add(status.getName());
+        }
       }
+      chunk = chunk.getNextChunk();
     }
-    deleteBuffer.add(stripPrefixIfPresent(convertToFolderName(path)));
-    int filesDeleted = deleteBuffer.getResult().size();
+    long filesDeleted = deleteBuffer.getResult();
     if (filesDeleted != deleteBuffer.mEntriesAdded) {
       LOG.warn("Failed to delete directory, successfully deleted {} files out of {}.",
           filesDeleted, deleteBuffer.mEntriesAdded);
       return false;
     }
+    // Delete the directory itself once its children are deleted
+    if (deleteObjects(Collections.singletonList(dirKey)).isEmpty()) {
+      LOG.warn("Failed to delete directory {} after deleting its children.", path);
+      return false;
+    }
     return true;
   }
 
@@ -473,6 +531,11 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     protected List<String> operate(List<String> paths) throws IOException {
       return deleteObjects(paths);
     }
+
+    @Override
+    protected void onSuccess(List<String> succeeded) {
+      OBJECTS_DELETED.inc(succeeded.size());
+    }
   }
 
   /**
@@ -722,58 +785,55 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
       LOG.error("Unable to rename {} to {} because destination already exists.", src, dst);
       return false;
     }
-    // Use a global delete buffer, in order to merge delete object requests
-    DeleteBuffer deleteBuffer = new DeleteBuffer();
-    boolean result = renameDirectoryInternal(src, dst, deleteBuffer);
-    int fileDeleted = deleteBuffer.getResult().size();
-    if (fileDeleted != deleteBuffer.mEntriesAdded) {
-      LOG.warn("Failed to rename directory, successfully deleted {} files out of {}.",
-          fileDeleted, deleteBuffer.mEntriesAdded);
-      return false;
-    }
-    return result;
-  }
-
-  private boolean renameDirectoryInternal(String src, String dst, DeleteBuffer deleteBuffer)
-      throws IOException {
-    UfsStatus[] children = listInternal(src, ListOptions.defaults());
-    if (children == null) {
+    String srcKey = stripPrefixIfPresent(convertToFolderName(src));
+    ObjectListingChunk chunk = getObjectListingChunkForPath(src, true);
+    if (chunk == null && getObjectStatus(srcKey) == null) {
       LOG.error("Failed to list directory {}, aborting rename.", src);
       return false;
     }
     // Source exists and is a directory, and destination does not exist
     // Rename the source folder first
-    String srcKey = stripPrefixIfPresent(convertToFolderName(src));
     if (!copyObject(srcKey, stripPrefixIfPresent(convertToFolderName(dst)))) {
       return false;
     }
-    deleteBuffer.add(srcKey);
-
-    // Rename each child in the src folder to destination/child
-    // a. Since renames are a copy operation, files are added to a buffer and processed concurrently
-    // b. Pseudo-directories are metadata only operations are not added to the buffer
-    RenameBuffer buffer = new RenameBuffer(deleteBuffer);
-    for (UfsStatus child : children) {
-      String childSrcPath = PathUtils.concatPath(src, child.getName());
-      String childDstPath = PathUtils.concatPath(dst, child.getName());
-      if (child.isDirectory()) {
-        // Recursive call
-        if (!renameDirectoryInternal(childSrcPath, childDstPath, deleteBuffer)) {
-          LOG.error("Failed to rename path {} to {}, aborting rename.", childSrcPath, childDstPath);
-          return false;
+
+    // Rename each descendant of the src folder as it is listed
+    // a. Since renames are a copy operation, keys are added to a buffer and copied concurrently
+    // b. The copied keys are deleted in batches, through a single delete buffer in order to
+    //    merge delete object requests
+    // c. Pseudo-directories without a breadcrumb only exist through the keys they contain
+    String srcPrefix = PathUtils.normalizePath(stripPrefixIfPresent(src), PATH_SEPARATOR);
+    String dstPrefix = PathUtils.normalizePath(stripPrefixIfPresent(dst), PATH_SEPARATOR);
+    RenameBuffer renameBuffer = new RenameBuffer();
+    DeleteBuffer deleteBuffer = new DeleteBuffer();
+    while (chunk != null) {
+      for (ObjectStatus status : chunk.getObjectStatuses()) {
+        String key = status.getName();
+        if (key.equals(srcKey) || !key.startsWith(srcPrefix)) {
+          continue;
         }
-      } else {
-        buffer.add(new Pair<>(childSrcPath, childDstPath));
+        renameBuffer.add(new Pair<>(key, dstPrefix + key.substring(srcPrefix.length())));
+        renameBuffer.drainCopied(deleteBuffer);
       }
+      chunk = chunk.getNextChunk();
     }
     // Get result of parallel file renames
-    int filesRenamed = buffer.getResult().size();
-    if (filesRenamed != buffer.mEntriesAdded) {
+    long filesRenamed = renameBuffer.getResult();
+    renameBuffer.drainCopied(deleteBuffer);
+    boolean result = filesRenamed == renameBuffer.mEntriesAdded;
+    if (result) {
+      deleteBuffer.add(srcKey);
+    } else {
       LOG.warn("Failed to rename directory, successfully renamed {} files out of {}.",
-          filesRenamed, buffer.mEntriesAdded);
+          filesRenamed, renameBuffer.mEntriesAdded);
+    }
+    long filesDeleted = deleteBuffer.getResult();
+    if (filesDeleted != deleteBuffer.mEntriesAdded) {
+      LOG.warn("Failed to rename directory, successfully deleted {} files out of {}.",
+          filesDeleted, deleteBuffer.mEntriesAdded);
       return false;
     }
-    return true;
+    return result;
   }
 
   @Override
@@ -783,20 +843,18 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
   }
 
   /**
-   * File paths added to a {@link RenameBuffer} will be renamed concurrently.
+   * Object keys added to a {@link RenameBuffer} will be copied concurrently. The source keys
+   * copied are collected to be deleted.
    */
   @ThreadSafe
   protected class RenameBuffer extends OperationBuffer<Pair<String, String>> {
-    private final DeleteBuffer mDeleteBuffer;
+    /** The source keys copied, which are left to delete. */
+    private final Queue<String> mCopied = new ConcurrentLinkedQueue<>();
 
     /**
      * Construct a new {@link RenameBuffer} instance.
-     *
-     * @param deleteBuffer delete object buffer
      */
-    public RenameBuffer(DeleteBuffer deleteBuffer) {
-      mDeleteBuffer = deleteBuffer;
-    }
+    public RenameBuffer() {}
 
     @Override
     protected int getBatchSize() {
@@ -804,19 +862,38 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     }
 
     @Override
-    protected List<Pair<String, String>> operate(List<Pair<String, String>> paths)
+    protected List<Pair<String, String>> operate(List<Pair<String, String>> keys)
         throws IOException {
       List<Pair<String, String>> succeeded = new ArrayList<>();
-      for (Pair<String, String> pathPair : paths) {
-        String src = stripPrefixIfPresent(pathPair.getFirst());
-        String dst = stripPrefixIfPresent(pathPair.getSecond());
-        if (copyObject(src, dst)) {
-          mDeleteBuffer.add(src);
-          succeeded.add(pathPair);
+      for (Pair<String, String> keyPair : keys) {
+        if (copyObject(keyPair.getFirst(), keyPair.getSecond())) {
+          succeeded.add(keyPair);
         }
       }
       return succeeded;
     }
+
+    @Override
+    protected void onSuccess(List<Pair<String, String>> succeeded) {
+      for (Pair<String, String> keyPair : succeeded) {
+        mCopied.add(keyPair.getFirst());
+      }
+      OBJECTS_COPIED.inc(succeeded.size());
+    }
+
+    /**
+     * Adds the source keys copied so far to a delete buffer. The copies are run by the executor,
+     * which must not block on the delete buffer, hence the keys are handed over by the thread
+     * adding the copies.
+     *
+     * @param deleteBuffer the delete buffer
+     */
+    public void drainCopied(DeleteBuffer deleteBuffer) throws IOException {
+      String key;
+      while ((key = mCopied.poll()) != null) {
+        deleteBuffer.add(key);
+      }
+    }
   }
 
   @Override
@@ -846,6 +923,16 @@ public abstract class ObjectUnderFileSystem extends BaseUnderFileSystem {
     return false;
   }
 
+  @Override
+  public boolean supportsServerSideCopy() {
+    return true;
+  }
+
+  @Override
+  public boolean copyFile(String src, String dst) throws IOException {
+    return copyObject(stripPrefixIfPresent(src), stripPrefixIfPresent(dst));
+  }
+
   /**
    * Creates a zero-byte object used to encode a directory.
    *
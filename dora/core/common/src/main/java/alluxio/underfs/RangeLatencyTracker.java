@@ -0,0 +1,78 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A histogram of the recent latencies of the range requests to an object store, used to decide
+ * when a range request is slow enough to be hedged.
+ *
+ * The buckets are powers of two of microseconds, so a percentile is only known within a factor of
+ * two, which is precise enough to tell the long tail from the usual latency. The counts are
+ * halved every {@link #DECAY_SAMPLES} samples so that the histogram follows the recent latencies.
+ */
+@ThreadSafe
+final class RangeLatencyTracker {
+  private static final int NUM_BUCKETS = 40;
+  /** The number of samples before the percentiles are considered meaningful. */
+  private static final long MIN_SAMPLES = 100;
+  private static final long DECAY_SAMPLES = 10_000;
+
+  private final AtomicLongArray mBuckets = new AtomicLongArray(NUM_BUCKETS);
+  private final AtomicLong mNumSamples = new AtomicLong();
+
+  /**
+   * @param latencyNs the latency of a range request in nanoseconds
+   */
+  void record(long latencyNs) {
+    long latencyUs = Math.max(1, latencyNs / 1000);
+    int bucket = Math.min(NUM_BUCKETS - 1, 63 - Long.numberOfLeadingZeros(latencyUs));
+    mBuckets.incrementAndGet(bucket);
+    if (mNumSamples.incrementAndGet() % DECAY_SAMPLES == 0) {
+      // concurrent samples may be halved or not, which does not matter for an estimate
+      for (int i = 0; i < NUM_BUCKETS; i++) {
+        long count = mBuckets.get(i);
+        mBuckets.addAndGet(i, -(count / 2));
+      }
+    }
+  }
+
+  /**
+   * @param percentile the percentile, between 0 and 100
+   * @return an upper bound of the latency of the given percentile of the recent range requests
+   *         in milliseconds, or -1 if there are not enough samples yet
+   */
+  long getPercentileMs(double percentile) {
+    long[] counts = new long[NUM_BUCKETS];
+    long total = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      counts[i] = mBuckets.get(i);
+      total += counts[i];
+    }
+    if (total < MIN_SAMPLES) {
+      return -1;
+    }
+    long target = (long) Math.ceil(total * Math.min(100, percentile) / 100);
+    long cumulative = 0;
+    for (int i = 0; i < NUM_BUCKETS; i++) {
+      cumulative += counts[i];
+      if (cumulative >= target) {
+        // the upper bound of the bucket
+        return Math.max(1, (1L << (i + 1)) / 1000);
+      }
+    }
+    return Math.max(1, (1L << NUM_BUCKETS) / 1000);
+  }
+}
@@ -889,6 +889,50 @@ public interface UnderFileSystem extends Closeable, AsyncUfsClient {
    */
   boolean supportsFlush() throws IOException;
 
+  /**
+   * Whether this UFS can copy a file to another path of the same UFS without the data being
+   * transferred through Alluxio, e.g. with S3 CopyObject or GCS rewrite.
+   *
+   * @return true if {@link #copyFile(String, String)} is supported, false otherwise
+   */
+  default boolean supportsServerSideCopy() {
+    return false;
+  }
+
+  /**
+   * Copies a file to another path of this UFS on the server side. This is only supported if
+   * {@link #supportsServerSideCopy()} returns true.
+   *
+   * @param src the source file path
+   * @param dst the destination file path
+   * @return true if the file was copied, false otherwise
+   */
+  default boolean copyFile(String src, String dst) throws IOException {
+    throw new UnsupportedOperationException("Server side copy is not supported by this UFS");
+  }
+
+  /**
+   * Whether this UFS can write a file as parts uploaded independently, in any order, with a
+   * {@link MultipartUploader}.
+   *
+   * @return true if {@link #createMultipartUploader(String)} is supported, false otherwise
+   */
+  default boolean supportsMultipartUpload() {
+    return false;
+  }
+
+  /**
+   * Creates a {@link MultipartUploader} writing the file at the given path. The file is created
+   * when the upload is completed. This is only supported if {@link #supportsMultipartUpload()}
+   * returns true.
+   *
+   * @param path the file path
+   * @return the multipart uploader of the file
+   */
+  default MultipartUploader createMultipartUploader(String path) throws IOException {
+    throw new UnsupportedOperationException("Multipart upload is not supported by this UFS");
+  }
+
   /**
    * Gets a temporary token according to path, sid, effect and action.
    *
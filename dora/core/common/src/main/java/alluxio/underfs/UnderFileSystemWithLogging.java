@@ -1224,6 +1224,56 @@ public class UnderFileSystemWithLogging implements UnderFileSystem {
     return mUnderFileSystem.supportsFlush();
   }
 
+  @Override
+  public boolean supportsServerSideCopy() {
+    return mUnderFileSystem.supportsServerSideCopy();
+  }
+
+  @Override
+  public boolean copyFile(final String src, final String dst) throws IOException {
+    return call(new UfsCallable<Boolean>() {
+      @Override
+      public Boolean call() throws IOException {
+        return mUnderFileSystem.copyFile(src, dst);
+      }
+
+      @Override
+      public String methodName() {
+        return "CopyFile";
+      }
+
+      @Override
+      public String toString() {
+        return String.format("src=%s, dst=%s", src, dst);
+      }
+    });
+  }
+
+  @Override
+  public boolean supportsMultipartUpload() {
+    return mUnderFileSystem.supportsMultipartUpload();
+  }
+
+  @Override
+  public MultipartUploader createMultipartUploader(final String path) throws IOException {
+    return call(new UfsCallable<MultipartUploader>() {
+      @Override
+      public MultipartUploader call() throws IOException {
+        return mUnderFileSystem.createMultipartUploader(path);
+      }
+
+      @Override
+      public String methodName() {
+        return "CreateMultipartUploader";
+      }
+
+      @Override
+      public String toString() {
+        return String.format("path=%s", path);
+      }
+    });
+  }
+
   /**
    * This is only used in the test.
    *
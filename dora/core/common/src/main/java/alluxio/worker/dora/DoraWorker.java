@@ -39,7 +39,9 @@ import alluxio.worker.block.io.BlockWriter;
 import com.google.common.util.concurrent.ListenableFuture;
 
 import java.io.IOException;
+import java.util.Iterator;
 import java.util.List;
+import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 
 /**
@@ -72,6 +74,24 @@ public interface DoraWorker extends DataWorker, SessionCleanable {
   UfsStatus[] listStatus(String path, ListStatusPOptions options)
       throws IOException, AccessControlException;
 
+  /**
+   * Lists a directory of the Under File System in the order of the names of its children,
+   * bypassing the listing cache. An object storage is listed in batches as the iterator is
+   * consumed, starting after the given path, so a page of the listing only costs the objects
+   * of the page.
+   *
+   * @param path the full UFS path of the directory
+   * @param recursive whether to also list the sub directories
+   * @param startAfter the full UFS path after which the listing starts, or null to list from the
+   *        beginning; a hint only, earlier children may still be returned
+   * @param batchSize the number of children fetched from the UFS at a time, 0 for the default
+   * @return an iterator of the statuses, with the names relative to the directory. Returns
+   *         {@code null} if the path does not denote a directory.
+   */
+  @Nullable
+  Iterator<UfsStatus> listStatusIterable(String path, boolean recursive,
+      @Nullable String startAfter, int batchSize) throws IOException;
+
   /**
    * Creates the file reader to read from Alluxio dora.
    * Owner of this block reader must close it or lock will leak.
@@ -199,9 +219,24 @@ public interface DoraWorker extends DataWorker, SessionCleanable {
    */
   void cacheData(String path, long length, long pos, boolean isAsync) throws IOException;
 
+  /**
+   * Calls an action for each file whose full UFS path starts with a prefix and which has data
+   * cached on this worker.
+   *
+   * @param pathPrefix the prefix of the full UFS paths
+   * @param action the action taking the full UFS path and the cached bytes of a file
+   */
+  void forEachCachedFile(String pathPrefix, BiConsumer<String, Long> action);
+
   /**
    * Get the address of the Dora Worker.
    * @return worker address
    */
   WorkerNetAddress getAddress();
+
+  /**
+   * Leaves the cluster. If the cache handoff is enabled, the worker first hands off its cached
+   * pages to the workers which take over its files, so it must still serve reads meanwhile.
+   */
+  void decommission();
 }
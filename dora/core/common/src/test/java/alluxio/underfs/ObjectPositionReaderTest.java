@@ -0,0 +1,167 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.PositionReaderTest;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.util.io.BufferUtils;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class ObjectPositionReaderTest {
+  private static final int FILE_LENGTH = 4 * Constants.MB;
+  private static final byte[] DATA = BufferUtils.getIncreasingByteArray(FILE_LENGTH);
+
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+
+  @Before
+  public void before() {
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_POSITION_READ_AHEAD, Constants.MB);
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_POSITION_READ_COALESCE_GAP, 16 * Constants.KB);
+  }
+
+  @Test
+  public void cornerCases() throws Exception {
+    try (InMemoryPositionReader reader = new InMemoryPositionReader(mConf)) {
+      PositionReaderTest test = new PositionReaderTest(reader, FILE_LENGTH);
+      test.testAllCornerCases();
+      test.testReadRandomPart();
+      test.concurrentReadPart();
+    }
+  }
+
+  @Test
+  public void sequentialReadsShareStream() throws Exception {
+    try (InMemoryPositionReader reader = new InMemoryPositionReader(mConf)) {
+      byte[] buffer = new byte[64 * Constants.KB];
+      long position = 0;
+      while (position < 2 * Constants.MB) {
+        assertEquals(buffer.length, reader.read(position, buffer, buffer.length));
+        assertTrue(BufferUtils.equalIncreasingByteArray((int) position, buffer.length, buffer));
+        // skip a small gap between the reads
+        position += buffer.length + Constants.KB;
+      }
+      // the first read issues its own range request, the next ones read ahead 1MB at a time
+      assertTrue(reader.mOpens.get() <= 4);
+      // a random read does not reuse the stream
+      assertEquals(buffer.length, reader.read(3 * Constants.MB, buffer, buffer.length));
+      assertTrue(BufferUtils.equalIncreasingByteArray(3 * Constants.MB, buffer.length, buffer));
+    }
+  }
+
+  @Test
+  public void readAheadDisabled() throws Exception {
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_POSITION_READ_AHEAD, 0);
+    try (InMemoryPositionReader reader = new InMemoryPositionReader(mConf)) {
+      byte[] buffer = new byte[64 * Constants.KB];
+      for (int i = 0; i < 8; i++) {
+        assertEquals(buffer.length, reader.read(i * buffer.length, buffer, buffer.length));
+      }
+      assertEquals(8, reader.mOpens.get());
+    }
+  }
+
+  @Test
+  public void slowRangeRequestIsHedged() throws Exception {
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_POSITION_READ_AHEAD, 0);
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_POSITION_READ_HEDGE_PERCENTILE, 50.0);
+    try (StallingPositionReader reader = new StallingPositionReader(mConf)) {
+      byte[] buffer = new byte[Constants.KB];
+      // the latencies of the first range requests decide when to hedge
+      for (int i = 0; i < 100; i++) {
+        assertEquals(buffer.length, reader.read(0, buffer, buffer.length));
+      }
+      assertEquals(100, reader.mOpens.get());
+      StalledInputStream stalled = new StalledInputStream();
+      reader.mStalled.set(stalled);
+      assertEquals(buffer.length, reader.read(Constants.MB, buffer, buffer.length));
+      assertTrue(BufferUtils.equalIncreasingByteArray(Constants.MB, buffer.length, buffer));
+      // the hedged request completed the read and closed the stalled request
+      assertEquals(102, reader.mOpens.get());
+      assertTrue(stalled.mClosed.await(10, TimeUnit.SECONDS));
+    }
+  }
+
+  /**
+   * Serves the ranges of an in-memory object, counting the requests.
+   */
+  private static class InMemoryPositionReader extends ObjectPositionReader {
+    final AtomicInteger mOpens = new AtomicInteger();
+
+    InMemoryPositionReader(InstancedConfiguration conf) {
+      super(conf, "bucket", "object", FILE_LENGTH);
+    }
+
+    @Override
+    protected InputStream openObjectInputStream(long position, int bytesToRead)
+        throws IOException {
+      mOpens.incrementAndGet();
+      return new ByteArrayInputStream(DATA, (int) position, bytesToRead);
+    }
+  }
+
+  /**
+   * Serves the ranges of an in-memory object, except for one request which stalls.
+   */
+  private static class StallingPositionReader extends InMemoryPositionReader {
+    private final AtomicReference<InputStream> mStalled = new AtomicReference<>();
+
+    StallingPositionReader(InstancedConfiguration conf) {
+      super(conf);
+    }
+
+    @Override
+    protected InputStream openObjectInputStream(long position, int bytesToRead)
+        throws IOException {
+      InputStream in = super.openObjectInputStream(position, bytesToRead);
+      InputStream stalled = mStalled.getAndSet(null);
+      return stalled == null ? in : stalled;
+    }
+  }
+
+  /**
+   * A stream which blocks until it is closed.
+   */
+  private static class StalledInputStream extends InputStream {
+    private final CountDownLatch mClosed = new CountDownLatch(1);
+
+    @Override
+    public int read() throws IOException {
+      try {
+        mClosed.await();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      throw new IOException("stream closed");
+    }
+
+    @Override
+    public void close() {
+      mClosed.countDown();
+    }
+  }
+}
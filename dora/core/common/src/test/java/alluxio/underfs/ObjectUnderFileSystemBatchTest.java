@@ -0,0 +1,198 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.AlluxioURI;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.underfs.options.DeleteOptions;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import javax.annotation.Nullable;
+
+/**
+ * Tests the recursive deletes and the renames of directories of {@link ObjectUnderFileSystem},
+ * which stream the listing into batches.
+ */
+public class ObjectUnderFileSystemBatchTest {
+  private static final String ROOT = "mem://bucket";
+  private static final int NUM_FILES = 2500;
+
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+  private InMemoryObjectUnderFileSystem mUfs;
+
+  @Before
+  public void before() {
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_BATCHES_IN_FLIGHT, 2);
+    mConf.set(PropertyKey.UNDERFS_OBJECT_STORE_BATCH_RETRIES, 2);
+    mUfs = new InMemoryObjectUnderFileSystem(UnderFileSystemConfiguration.defaults(mConf));
+    mUfs.mObjects.put("dir/", 0L);
+    for (int i = 0; i < NUM_FILES; i++) {
+      mUfs.mObjects.put(String.format("dir/sub%d/file%d", i % 10, i), 1L);
+    }
+    mUfs.mObjects.put("other", 1L);
+  }
+
+  @Test
+  public void deleteDirectory() throws IOException {
+    assertTrue(mUfs.deleteDirectory(ROOT + "/dir", DeleteOptions.defaults().setRecursive(true)));
+    assertEquals(1, mUfs.mObjects.size());
+    assertTrue(mUfs.mObjects.containsKey("other"));
+  }
+
+  @Test
+  public void deleteDirectoryRetriesFailedKeys() throws IOException {
+    for (int i = 0; i < NUM_FILES; i += 7) {
+      mUfs.mFailuresLeft.put(String.format("dir/sub%d/file%d", i % 10, i), 1);
+    }
+    assertTrue(mUfs.deleteDirectory(ROOT + "/dir", DeleteOptions.defaults().setRecursive(true)));
+    assertEquals(1, mUfs.mObjects.size());
+  }
+
+  @Test
+  public void deleteDirectoryFailsAfterRetries() throws IOException {
+    mUfs.mFailuresLeft.put("dir/sub3/file3", 10);
+    assertFalse(mUfs.deleteDirectory(ROOT + "/dir", DeleteOptions.defaults().setRecursive(true)));
+    assertTrue(mUfs.mObjects.containsKey("dir/sub3/file3"));
+    // the directory is not deleted while it has children
+    assertTrue(mUfs.mObjects.containsKey("dir/"));
+  }
+
+  @Test
+  public void renameDirectory() throws IOException {
+    assertTrue(mUfs.renameDirectory(ROOT + "/dir", ROOT + "/renamed"));
+    assertEquals(NUM_FILES + 2, mUfs.mObjects.size());
+    assertTrue(mUfs.mObjects.containsKey("renamed/"));
+    for (int i = 0; i < NUM_FILES; i++) {
+      assertTrue(mUfs.mObjects.containsKey(String.format("renamed/sub%d/file%d", i % 10, i)));
+    }
+    assertTrue(mUfs.mObjects.subMap("dir/", "dir0").isEmpty());
+  }
+
+  /**
+   * An object store keeping the keys and lengths of its objects in memory, which lists the
+   * objects by chunks of 1000 keys.
+   */
+  private static class InMemoryObjectUnderFileSystem extends MockObjectUnderFileSystem {
+    private static final int CHUNK_SIZE = 1000;
+
+    private final NavigableMap<String, Long> mObjects = new ConcurrentSkipListMap<>();
+    /** The number of times the deletes of a key fail before it is deleted. */
+    private final Map<String, Integer> mFailuresLeft = new ConcurrentHashMap<>();
+
+    InMemoryObjectUnderFileSystem(UnderFileSystemConfiguration ufsConf) {
+      super(new AlluxioURI(ROOT), ufsConf);
+    }
+
+    @Override
+    public boolean createEmptyObject(String key) {
+      mObjects.put(key, 0L);
+      return true;
+    }
+
+    @Override
+    protected boolean copyObject(String src, String dst) {
+      Long length = mObjects.get(src);
+      if (length == null) {
+        return false;
+      }
+      mObjects.put(dst, length);
+      return true;
+    }
+
+    @Override
+    protected boolean deleteObject(String key) {
+      if (mFailuresLeft.computeIfPresent(key, (k, left) -> left - 1) != null) {
+        mFailuresLeft.remove(key, 0);
+        return false;
+      }
+      return mObjects.remove(key) != null;
+    }
+
+    @Override
+    protected ObjectPermissions getPermissions() {
+      return new ObjectPermissions("foo", "bar", (short) 0777);
+    }
+
+    @Nullable
+    @Override
+    protected ObjectStatus getObjectStatus(String key) {
+      Long length = mObjects.get(key);
+      return length == null ? null : new ObjectStatus(key, "", length, 0L);
+    }
+
+    @Override
+    protected String getFolderSuffix() {
+      return "/";
+    }
+
+    @Nullable
+    @Override
+    protected ObjectListingChunk getObjectListingChunk(String key, boolean recursive) {
+      String prefix = key.isEmpty() || key.endsWith("/") ? key : key + "/";
+      return listFrom(prefix, prefix);
+    }
+
+    @Nullable
+    private ObjectListingChunk listFrom(String prefix, String from) {
+      List<ObjectStatus> statuses = new ArrayList<>();
+      String last = null;
+      for (Map.Entry<String, Long> entry : mObjects.tailMap(from, true).entrySet()) {
+        if (!entry.getKey().startsWith(prefix) || statuses.size() == CHUNK_SIZE) {
+          break;
+        }
+        statuses.add(new ObjectStatus(entry.getKey(), "", entry.getValue(), 0L));
+        last = entry.getKey();
+      }
+      if (statuses.isEmpty()) {
+        return null;
+      }
+      String lastKey = last;
+      return new ObjectListingChunk() {
+        @Override
+        public ObjectStatus[] getObjectStatuses() {
+          return statuses.toArray(new ObjectStatus[0]);
+        }
+
+        @Override
+        public String[] getCommonPrefixes() {
+          return new String[0];
+        }
+
+        @Nullable
+        @Override
+        public ObjectListingChunk getNextChunk() {
+          return listFrom(prefix, lastKey + '\0');
+        }
+      };
+    }
+
+    @Override
+    protected String getRootKey() {
+      return ROOT;
+    }
+  }
+}
@@ -38,6 +38,8 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Semaphore;
@@ -126,6 +128,15 @@ public final class AsyncJournalWriter {
    * Invariant: {@code mWriteCounter >= mFlushCounter}
    */
   private long mWriteCounter;
+  /**
+   * Represents the count of entries submitted to the journal writer, which may not be committed
+   * yet. Only accessed by the flush thread.
+   *
+   * Invariant: {@code mWriteCounter >= mSubmitCounter >= mFlushCounter}
+   */
+  private long mSubmitCounter;
+  /** Whether a submitted flush failed after it was submitted, so it needs to be submitted again. */
+  private volatile boolean mSubmitFailed = false;
   /** Maximum number of nanoseconds for a batch flush. */
   private final long mFlushBatchTimeNs;
 
@@ -315,14 +326,22 @@ public final class AsyncJournalWriter {
           }
         }
 
+        if (mSubmitFailed) {
+          mSubmitFailed = false;
+          mSubmitCounter = mFlushCounter.get();
+        }
         // Either written new entries or previous flush had been failed.
-        if (mFlushCounter.get() < mWriteCounter) {
+        if (mSubmitCounter < mWriteCounter) {
+          CompletableFuture<Void> committed;
           try (Timer.Context ctx = MetricsSystem
               .timer(MetricKey.MASTER_JOURNAL_FLUSH_TIMER.getName()).time()) {
-            mJournalWriter.flush();
+            committed = mJournalWriter.flushAsync();
           }
           JournalUtils.sinkFlush(mJournalSinks);
-          mFlushCounter.set(mWriteCounter);
+          long submitCounter = mWriteCounter;
+          mSubmitCounter = submitCounter;
+          // completes synchronously unless the journal writer pipelines its flushes
+          committed.whenComplete((r, t) -> onCommitted(submitCounter, t));
         }
 
         // Notify tickets that have been served to wake up.
@@ -339,6 +358,7 @@ public final class AsyncJournalWriter {
         // by the future meaningless ratis.protocol.AlreadyClosedException
         SAMPLING_LOG.warn("Failed to flush journal entry: " + exc.getMessage(), exc);
         Metrics.JOURNAL_FLUSH_FAILURE.inc();
+        mSubmitCounter = mFlushCounter.get();
         // Release only tickets that have been flushed. Fail the rest.
         Iterator<FlushTicket> ticketIterator = mTicketSet.iterator();
         while (ticketIterator.hasNext()) {
@@ -354,6 +374,36 @@ public final class AsyncJournalWriter {
     }
   }
 
+  /**
+   * Called when the entries submitted up to the given counter are committed, or failed to be.
+   *
+   * @param submitCounter the count of entries submitted with the flush
+   * @param error the error of the flush, or null if it succeeded
+   */
+  private void onCommitted(long submitCounter, Throwable error) {
+    if (error == null) {
+      mFlushCounter.accumulateAndGet(submitCounter, Math::max);
+    } else {
+      SAMPLING_LOG.warn("Failed to flush journal entry: " + error.getMessage(), error);
+      Metrics.JOURNAL_FLUSH_FAILURE.inc();
+      mSubmitFailed = true;
+    }
+    Throwable cause = error instanceof CompletionException
+        && error.getCause() != null ? error.getCause() : error;
+    long flushCounter = mFlushCounter.get();
+    Iterator<FlushTicket> ticketIterator = mTicketSet.iterator();
+    while (ticketIterator.hasNext()) {
+      FlushTicket ticket = ticketIterator.next();
+      if (ticket.getTargetCounter() <= flushCounter) {
+        ticket.setCompleted();
+        ticketIterator.remove();
+      } else if (cause != null && ticket.getTargetCounter() <= submitCounter) {
+        ticket.setError(cause instanceof IOException ? cause : new IOException(cause));
+        ticketIterator.remove();
+      }
+    }
+  }
+
   /**
    * Submits a ticket to flush thread and waits until ticket is served.
    *
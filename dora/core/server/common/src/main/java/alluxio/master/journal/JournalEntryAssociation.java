@@ -14,6 +14,11 @@ package alluxio.master.journal;
 import alluxio.Constants;
 import alluxio.proto.journal.Journal.JournalEntry;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import javax.annotation.Nullable;
+
 /**
  * Association from journal entry to the master it applies to.
  */
@@ -46,6 +51,7 @@ public final class JournalEntryAssociation {
         || entry.hasUpdateInodeDirectory()
         || entry.hasUpdateInodeFile()
         || entry.hasLoadJob()
+        || entry.hasLoadManifest()
         || entry.hasCopyJob()
         || entry.hasMoveJob()) {
       return Constants.FILE_SYSTEM_MASTER_NAME;
@@ -67,5 +73,90 @@ public final class JournalEntryAssociation {
     throw new IllegalStateException("Unrecognized journal entry: " + entry);
   }
 
+  /**
+   * Entries without a common replay lane update independent states, so they may be applied
+   * concurrently as long as the entries of each lane are applied in order. The namespace is
+   * partitioned by inode: an entry creating an inode belongs to the lanes of the inode and of its
+   * parent, and an entry updating a single inode belongs to the lane of that inode.
+   *
+   * @param entry a journal entry
+   * @return the replay lanes of the given journal entry, or null if the entry must be applied
+   *         after all the previous entries and before all the next ones
+   */
+  @Nullable
+  public static List<String> getReplayLanesForEntry(JournalEntry entry) {
+    if (entry.hasAddMountPoint()
+        || entry.hasDeleteMountPoint()
+        || entry.hasUpdateUfsMode()) {
+      // the mount table changes how the paths of the entries of every lane resolve
+      return null;
+    }
+    if (entry.hasDeleteFile()
+        || entry.hasRename()) {
+      // these walk inodes which are not named by the entry, like the descendants or the parents
+      return null;
+    }
+    if (entry.hasInodeFile()) {
+      return getInodeLanes(entry.getInodeFile().getId(), entry.getInodeFile().getParentId());
+    }
+    if (entry.hasInodeDirectory()) {
+      if (entry.getInodeDirectory().getName().isEmpty()) {
+        // creating the root inode resets the whole namespace
+        return null;
+      }
+      return getInodeLanes(entry.getInodeDirectory().getId(),
+          entry.getInodeDirectory().getParentId());
+    }
+    if (entry.hasUpdateInode()) {
+      if (entry.getUpdateInode().hasParentId() || entry.getUpdateInode().hasName()) {
+        // moves the inode to another edge of the namespace
+        return null;
+      }
+      return getInodeLanes(entry.getUpdateInode().getId());
+    }
+    if (entry.hasAsyncPersistRequest()) {
+      return getInodeLanes(entry.getAsyncPersistRequest().getFileId());
+    }
+    if (entry.hasCompleteFile()) {
+      return getInodeLanes(entry.getCompleteFile().getId());
+    }
+    if (entry.hasInodeLastModificationTime()) {
+      return getInodeLanes(entry.getInodeLastModificationTime().getId());
+    }
+    if (entry.hasNewBlock()) {
+      return getInodeLanes(entry.getNewBlock().getId());
+    }
+    if (entry.hasPersistDirectory()) {
+      return getInodeLanes(entry.getPersistDirectory().getId());
+    }
+    if (entry.hasSetAcl()) {
+      return getInodeLanes(entry.getSetAcl().getId());
+    }
+    if (entry.hasSetAttribute()) {
+      return getInodeLanes(entry.getSetAttribute().getId());
+    }
+    if (entry.hasUpdateInodeDirectory()) {
+      return getInodeLanes(entry.getUpdateInodeDirectory().getId());
+    }
+    if (entry.hasUpdateInodeFile()) {
+      return getInodeLanes(entry.getUpdateInodeFile().getId());
+    }
+    if (entry.hasLoadJob()
+        || entry.hasLoadManifest()
+        || entry.hasCopyJob()
+        || entry.hasMoveJob()) {
+      return Collections.singletonList(Constants.FILE_SYSTEM_MASTER_NAME + ".jobs");
+    }
+    return Collections.singletonList(getMasterForEntry(entry));
+  }
+
+  private static List<String> getInodeLanes(long... inodeIds) {
+    List<String> lanes = new ArrayList<>(inodeIds.length);
+    for (long inodeId : inodeIds) {
+      lanes.add(Constants.FILE_SYSTEM_MASTER_NAME + ".inode." + inodeId);
+    }
+    return lanes;
+  }
+
   private JournalEntryAssociation() {} // Not intended for instantiation.
 }
@@ -16,6 +16,7 @@ import alluxio.proto.journal.Journal.JournalEntry;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface for a class that can write and flush journal entries.
@@ -33,4 +34,16 @@ public interface JournalWriter extends Closeable {
    * Flushes all the entries written to the underlying storage.
    */
   void flush() throws IOException, JournalClosedException;
+
+  /**
+   * Submits all the entries written to the underlying storage, without waiting for them to be
+   * persisted. By default, this flushes the entries and returns a completed future.
+   *
+   * @return a future completed once all the entries written so far are persisted, or completed
+   *         exceptionally if some of them failed to be persisted
+   */
+  default CompletableFuture<Void> flushAsync() throws IOException, JournalClosedException {
+    flush();
+    return CompletableFuture.completedFuture(null);
+  }
 }
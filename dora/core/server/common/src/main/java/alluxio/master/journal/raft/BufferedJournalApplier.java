@@ -12,6 +12,8 @@
 package alluxio.master.journal.raft;
 
 import alluxio.ProcessUtils;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.master.journal.AbstractCatchupThread;
 import alluxio.master.journal.CatchupFuture;
 import alluxio.master.journal.JournalEntryAssociation;
@@ -26,12 +28,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Map;
 import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.GuardedBy;
 import javax.annotation.concurrent.ThreadSafe;
 
@@ -43,6 +47,12 @@ import javax.annotation.concurrent.ThreadSafe;
  * when it wants new entries to be processed. These buffered entries will be applied to masters
  * when this applier is resumed.
  *
+ * When {@link PropertyKey#MASTER_JOURNAL_REPLAY_PARALLELISM} is above 1, entries are applied on
+ * {@link JournalReplayLanes}, partitioned by
+ * {@link JournalEntryAssociation#getReplayLanesForEntry}. Entries without lanes are applied once
+ * all the previous entries are applied, and {@link #awaitApplied()} must be called before reading
+ * the whole state of the masters.
+ *
  * TODO(ggezer): Extend with on-disk buffering.
  */
 @ThreadSafe
@@ -80,6 +90,10 @@ public class BufferedJournalApplier {
   /** Used to synchronize buffer state. */
   private final ReentrantLock mStateLock = new ReentrantLock(true);
 
+  /** Applies the entries concurrently, or null if they are applied by the caller. */
+  @Nullable
+  private final JournalReplayLanes mReplayLanes;
+
   /**
    * Creates a buffered applier over given journals.
    *
@@ -90,6 +104,8 @@ public class BufferedJournalApplier {
       Supplier<Set<JournalSink>> journalSinks) {
     mJournals = journals;
     mJournalSinks = journalSinks;
+    int parallelism = Configuration.getInt(PropertyKey.MASTER_JOURNAL_REPLAY_PARALLELISM);
+    mReplayLanes = parallelism > 1 ? new JournalReplayLanes(parallelism) : null;
   }
 
   /**
@@ -133,6 +149,8 @@ public class BufferedJournalApplier {
     try (LockResource stateLock = new LockResource(mStateLock)) {
       Preconditions.checkState(!mSuspended, "Already suspended");
       mSuspended = true;
+      // the state of the masters is read while suspended
+      awaitApplied();
       LOG.info("Suspended state machine at sequence: {}", mLastAppliedSequence);
     }
   }
@@ -179,6 +197,7 @@ public class BufferedJournalApplier {
           mStateLock.lock();
         }
       }
+      awaitApplied();
     } finally {
       mSuspended = false;
       mResumeInProgress = false;
@@ -225,11 +244,44 @@ public class BufferedJournalApplier {
     }
   }
 
+  /**
+   * Waits until all the entries processed so far are applied to the masters.
+   */
+  public void awaitApplied() {
+    if (mReplayLanes != null) {
+      mReplayLanes.await();
+    }
+  }
+
   /**
    * Applies the entry to master and updates last applied sequence.
    * Calls to it should be serialized.
    */
   private void applyToMaster(Journal.JournalEntry entry) {
+    if (mReplayLanes == null) {
+      applyNow(entry);
+    } else {
+      List<String> lanes;
+      try {
+        lanes = JournalEntryAssociation.getReplayLanesForEntry(entry);
+      } catch (Exception t) {
+        ProcessUtils.fatalError(LOG, t, "Unrecognized journal entry: %s", entry);
+        throw new IllegalStateException();
+      }
+      if (lanes == null) {
+        mReplayLanes.await();
+        applyNow(entry);
+      } else {
+        mReplayLanes.submit(lanes, () -> applyNow(entry));
+      }
+      // the sinks see the entries in order, possibly before they are applied
+      JournalUtils.sinkAppend(mJournalSinks, entry);
+    }
+    // Store last applied sequence.
+    mLastAppliedSequence = entry.getSequenceNumber();
+  }
+
+  private void applyNow(Journal.JournalEntry entry) {
     String masterName;
     try {
       masterName = JournalEntryAssociation.getMasterForEntry(entry);
@@ -241,13 +293,13 @@ public class BufferedJournalApplier {
       Journaled master = mJournals.get(masterName).getStateMachine();
       LOG.trace("Applying entry to master {}: {} ", masterName, entry);
       master.processJournalEntry(entry);
-      JournalUtils.sinkAppend(mJournalSinks, entry);
+      if (mReplayLanes == null) {
+        JournalUtils.sinkAppend(mJournalSinks, entry);
+      }
     } catch (Exception t) {
       JournalUtils.handleJournalReplayFailure(LOG, t,
           "Failed to apply journal entry to master %s. Entry: %s", masterName, entry);
     }
-    // Store last applied sequence.
-    mLastAppliedSequence = entry.getSequenceNumber();
   }
 
   /**
@@ -257,6 +309,10 @@ public class BufferedJournalApplier {
     try (LockResource stateLock = new LockResource(mStateLock)) {
       cancelCatchup();
       mSuspendBuffer.clear();
+      if (mReplayLanes != null) {
+        mReplayLanes.await();
+        mReplayLanes.close();
+      }
     }
   }
 
@@ -308,6 +364,7 @@ public class BufferedJournalApplier {
           }
         }
       }
+      awaitApplied();
     }
   }
 }
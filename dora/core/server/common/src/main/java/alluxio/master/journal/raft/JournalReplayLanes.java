@@ -0,0 +1,168 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal.raft;
+
+import alluxio.util.ThreadFactoryUtils;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Applies journal entries on a pool of threads, in order within each lane.
+ *
+ * Each lane is bound to one thread of the pool by its hash, so the entries of a lane are applied
+ * in the order they are submitted, while the entries of lanes bound to different threads are
+ * applied concurrently. An entry of several lanes bound to different threads is applied once the
+ * entries submitted before it on all those threads are applied, and holds those threads until it
+ * is applied. The number of entries submitted and not applied yet is bounded, so that a fast
+ * reader does not buffer a whole journal in memory.
+ *
+ * The entries must be submitted by a single thread, which keeps the order in which the threads
+ * of a multi-lane entry reach it consistent across threads.
+ */
+@ThreadSafe
+final class JournalReplayLanes implements Closeable {
+  /** The maximum number of entries submitted and not applied yet. */
+  private static final int MAX_PENDING_ENTRIES = 100_000;
+
+  private final ExecutorService[] mThreads;
+  private final Semaphore mPendingEntries;
+
+  /**
+   * @param parallelism the number of threads applying the entries
+   */
+  JournalReplayLanes(int parallelism) {
+    this(parallelism, MAX_PENDING_ENTRIES);
+  }
+
+  /**
+   * @param parallelism the number of threads applying the entries
+   * @param maxPendingEntries the maximum number of entries submitted and not applied yet
+   */
+  @VisibleForTesting
+  JournalReplayLanes(int parallelism, int maxPendingEntries) {
+    mPendingEntries = new Semaphore(maxPendingEntries);
+    mThreads = new ExecutorService[parallelism];
+    for (int i = 0; i < parallelism; i++) {
+      mThreads[i] = Executors.newSingleThreadExecutor(
+          ThreadFactoryUtils.build("journal-replay-lane-" + i + "-%d", true));
+    }
+  }
+
+  /**
+   * Submits an entry to apply after the entries previously submitted to any of its lanes. Blocks
+   * while too many entries are pending.
+   *
+   * @param lanes the lanes of the entry
+   * @param apply applies the entry
+   */
+  void submit(List<String> lanes, Runnable apply) {
+    Set<ExecutorService> threads = new LinkedHashSet<>();
+    for (String lane : lanes) {
+      threads.add(mThreads[Math.floorMod(lane.hashCode(), mThreads.length)]);
+    }
+    Iterator<ExecutorService> it = threads.iterator();
+    ExecutorService thread = it.next();
+    mPendingEntries.acquireUninterruptibly();
+    if (threads.size() == 1) {
+      thread.execute(() -> {
+        try {
+          apply.run();
+        } finally {
+          mPendingEntries.release();
+        }
+      });
+      return;
+    }
+    // the other threads reach the entry, then wait until it is applied
+    CountDownLatch reached = new CountDownLatch(threads.size() - 1);
+    CountDownLatch applied = new CountDownLatch(1);
+    while (it.hasNext()) {
+      it.next().execute(() -> {
+        reached.countDown();
+        awaitUninterruptibly(applied);
+      });
+    }
+    thread.execute(() -> {
+      try {
+        awaitUninterruptibly(reached);
+        apply.run();
+      } finally {
+        applied.countDown();
+        mPendingEntries.release();
+      }
+    });
+  }
+
+  private static void awaitUninterruptibly(CountDownLatch latch) {
+    boolean interrupted = false;
+    while (true) {
+      try {
+        latch.await();
+        break;
+      } catch (InterruptedException e) {
+        interrupted = true;
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Waits until all the entries submitted so far are applied.
+   */
+  void await() {
+    // the threads run their tasks in order, so a task completes after the ones submitted before
+    List<Future<?>> barriers = new ArrayList<>(mThreads.length);
+    for (ExecutorService thread : mThreads) {
+      barriers.add(thread.submit(() -> { }));
+    }
+    boolean interrupted = false;
+    for (Future<?> barrier : barriers) {
+      while (true) {
+        try {
+          barrier.get();
+          break;
+        } catch (InterruptedException e) {
+          // the state of the masters must be complete when this returns
+          interrupted = true;
+        } catch (ExecutionException e) {
+          throw new IllegalStateException(e.getCause());
+        }
+      }
+    }
+    if (interrupted) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  @Override
+  public void close() {
+    for (ExecutorService thread : mThreads) {
+      thread.shutdownNow();
+    }
+  }
+}
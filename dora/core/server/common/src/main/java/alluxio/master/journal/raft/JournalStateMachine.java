@@ -113,6 +113,8 @@ public class JournalStateMachine extends BaseStateMachine {
   private volatile boolean mIsLeader = false;
 
   private final ExecutorService mJournalPool = Executors.newCachedThreadPool();
+  private final boolean mIncrementalSnapshotReplication = Configuration.getBoolean(
+      PropertyKey.MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_INCREMENTAL);
 
   /**
    * This callback is used for interrupting someone who suspends the journal applier to work on
@@ -314,6 +316,7 @@ public class JournalStateMachine extends BaseStateMachine {
   @Override
   public void close() {
     mClosed = true;
+    mJournalApplier.close();
     MetricsSystem.removeMetrics(MetricKey.MASTER_EMBEDDED_JOURNAL_SNAPSHOT_LAST_INDEX.getName());
     MetricsSystem.removeMetrics(MetricKey.MASTER_JOURNAL_ENTRIES_SINCE_CHECKPOINT.getName());
     MetricsSystem.removeMetrics(MetricKey.MASTER_JOURNAL_LAST_CHECKPOINT_TIME.getName());
@@ -381,6 +384,7 @@ public class JournalStateMachine extends BaseStateMachine {
         LOG.info("Resuming journal applier.");
         mJournalApplier.resume();
       }
+      mJournalApplier.awaitApplied();
     } catch (IOException e) {
       throw new IllegalStateException("State machine pause failed", e);
     }
@@ -516,6 +520,8 @@ public class JournalStateMachine extends BaseStateMachine {
     }
     LOG.debug("Calling snapshot");
     Preconditions.checkState(!mSnapshotting, "Cannot call snapshot multiple times concurrently");
+    // the entries applied concurrently must be in the snapshot
+    mJournalApplier.awaitApplied();
     mSnapshotting = true;
     TermIndex last = getLastAppliedTermIndex();
 
@@ -533,6 +539,14 @@ public class JournalStateMachine extends BaseStateMachine {
           .map(journaled -> journaled.writeToCheckpoint(snapshotDir, mJournalPool))
           .toArray(CompletableFuture[]::new))
           .join();
+      if (mIncrementalSnapshotReplication) {
+        // the digests of the SST files shared with the previous snapshot are not recomputed
+        SnapshotInfo previous = mStorage.getLatestSnapshot();
+        File previousDir = previous == null ? null
+            : getSnapshotDir(previous.getTerm(), previous.getIndex());
+        SnapshotDigests.compute(snapshotDir.toPath(), previousDir == null
+            || previousDir.equals(snapshotDir) ? null : previousDir.toPath());
+      }
       mStorage.loadLatestSnapshot();
       mStorage.signalNewSnapshot();
 
@@ -680,6 +694,7 @@ public class JournalStateMachine extends BaseStateMachine {
         ProcessUtils.fatalError(LOG, e, "State-machine failed to catch up after suspension.");
       }
     }
+    mJournalApplier.awaitApplied();
     mIgnoreApplys = true;
     return mNextSequenceNumberToRead - 1;
   }
@@ -26,6 +26,7 @@ import com.google.protobuf.UnsafeByteOperations;
 import io.grpc.Context;
 import io.grpc.Status;
 import io.grpc.stub.StreamObserver;
+import org.apache.commons.io.FileUtils;
 import org.apache.ratis.server.protocol.TermIndex;
 import org.apache.ratis.statemachine.SnapshotInfo;
 import org.apache.ratis.statemachine.StateMachineStorage;
@@ -38,6 +39,7 @@ import java.io.OutputStream;
 import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.HashSet;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -110,14 +112,26 @@ public class RaftJournalServiceHandler extends RaftJournalServiceGrpc.RaftJourna
     long diskSize;
     LOG.info("Begin snapshot upload of {}", index);
     Instant start = Instant.now();
+    Path stagingPath = null;
     try (SnapshotGrpcOutputStream stream = new SnapshotGrpcOutputStream(responseObserver)) {
+      Path uploadPath = snapshotPath;
+      if (request.getLocalSstDigestsCount() > 0) {
+        // the requesting master has some of the SST files already, leave them out
+        stagingPath = SnapshotDigests.load(snapshotPath)
+            .stageWithout(snapshotPath, new HashSet<>(request.getLocalSstDigestsList()));
+        uploadPath = stagingPath;
+      }
       DirectoryMarshaller marshaller = DirectoryMarshaller.Factory.create();
-      diskSize = marshaller.write(snapshotPath, stream);
+      diskSize = marshaller.write(uploadPath, stream);
       totalBytesSent = stream.totalBytes();
     } catch (Exception e) {
       LOG.warn("Failed to upload snapshot {}", index, e);
       responseObserver.onError(Status.INTERNAL.withCause(e).asRuntimeException());
       return;
+    } finally {
+      if (stagingPath != null) {
+        FileUtils.deleteQuietly(stagingPath.toFile());
+      }
     }
     responseObserver.onCompleted();
     // update last duration and duration timer metrics
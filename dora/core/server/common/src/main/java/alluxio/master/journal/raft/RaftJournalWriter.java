@@ -11,13 +11,16 @@
 
 package alluxio.master.journal.raft;
 
+import alluxio.ProcessUtils;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.JournalClosedException;
 import alluxio.master.journal.JournalWriter;
 import alluxio.proto.journal.Journal.JournalEntry;
 import alluxio.util.FormatUtils;
+import alluxio.util.ThreadFactoryUtils;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import org.apache.ratis.protocol.Message;
 import org.apache.ratis.protocol.RaftClientReply;
@@ -26,16 +29,40 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
  * Class for writing entries to the Raft journal. Written entries are aggregated until flush is
  * called, then they are submitted as a single unit.
+ *
+ * When more than one batch may be in flight, the writer pipelines the batches instead: a batch
+ * is submitted as soon as it is large enough or flushed, without waiting for the previous ones
+ * to be committed, and {@link #flushAsync()} returns a future completed once the batches are
+ * committed. The size of the batches adapts to the rate at which entries are written, so that
+ * the batches in flight cover about one commit round-trip. Once a batch fails, nothing more is
+ * sent until all the batches in flight complete, then the failed batch is resubmitted together
+ * with all the batches after it, and the duplicates are skipped by sequence number when applied.
+ *
+ * The pipelining relies on the batches being appended in the order they are submitted, and on
+ * no batch being appended after one which is rejected. Remote requests are ordered by the sliding
+ * window of the Ratis client, which fails the requests after a failed one. Local requests are
+ * submitted to the server one after the other by the single writing thread. The writer checks
+ * this before resubmitting, see {@link #checkNoBatchAppendedAfterRejected}.
  */
 @NotThreadSafe
 public class RaftJournalWriter implements JournalWriter {
@@ -48,6 +75,10 @@ public class RaftJournalWriter implements JournalWriter {
   // journal entry size max is the hard limit set by underlying ratis
   // we use a smaller value to guarantee we don't pass the hard limit
   private static final long FLUSH_BATCH_SIZE = MASTER_EMBEDDED_JOURNAL_ENTRY_SIZE_MAX / 3;
+  // the smallest size the batches adapt to when pipelined
+  private static final long MIN_PIPELINED_BATCH_SIZE = 64 * 1024;
+  // the weight of the latest sample in the moving averages of the arrival rate and the latency
+  private static final double AVERAGE_WEIGHT = 0.2;
 
   private final AtomicLong mNextSequenceNumberToWrite;
   private final AtomicLong mLastSubmittedSequenceNumber = new AtomicLong(-1);
@@ -59,15 +90,67 @@ public class RaftJournalWriter implements JournalWriter {
   private JournalEntry.Builder mJournalEntryBuilder; // gets build across successive writes
   private final AtomicLong mCurrentJournalEntrySize = new AtomicLong(0);
 
+  private final int mMaxBatchesInFlight;
+  /** The batches submitted and not known to be committed yet, in the order of submission. */
+  private final Deque<Batch> mBatchesInFlight = new ArrayDeque<>();
+  /** Fails the pipelined batches which are not committed in time. */
+  @Nullable
+  private final ScheduledExecutorService mTimeoutScheduler;
+  private long mBatchSizeLimit = FLUSH_BATCH_SIZE;
+  private long mBatchStartNs;
+  private double mArrivalBytesPerNs;
+  private double mCommitLatencyNs;
+
+  /**
+   * A batch of journal entries submitted as a single unit.
+   */
+  private static final class Batch {
+    private final JournalEntry mEntry;
+    private final long mLastSequenceNumber;
+    private final long mSubmitNs = System.nanoTime();
+    private final CompletableFuture<Void> mCommitted = new CompletableFuture<>();
+    private volatile long mCommitNs;
+    /** Whether Ratis replied that the batch was appended, even after it timed out. */
+    private volatile boolean mAppended;
+    /** The failure replied by Ratis, if any; a batch which timed out has none. */
+    @Nullable
+    private volatile Throwable mRejection;
+
+    private Batch(JournalEntry entry, long lastSequenceNumber) {
+      mEntry = entry;
+      mLastSequenceNumber = lastSequenceNumber;
+    }
+  }
+
   /**
    * @param nextSequenceNumberToWrite the sequence number for the writer to begin writing at
    * @param client client for writing entries to the journal; the constructed journal writer owns
    *               this client and is responsible for closing it
    */
   public RaftJournalWriter(long nextSequenceNumberToWrite, RaftJournalAppender client) {
+    this(nextSequenceNumberToWrite, client,
+        Configuration.getInt(PropertyKey.MASTER_EMBEDDED_JOURNAL_WRITE_BATCHES_IN_FLIGHT));
+  }
+
+  /**
+   * @param nextSequenceNumberToWrite the sequence number for the writer to begin writing at
+   * @param client client for writing entries to the journal; the constructed journal writer owns
+   *               this client and is responsible for closing it
+   * @param maxBatchesInFlight the maximum number of batches submitted and not committed yet
+   */
+  @VisibleForTesting
+  RaftJournalWriter(long nextSequenceNumberToWrite, RaftJournalAppender client,
+      int maxBatchesInFlight) {
     LOG.debug("Journal writer created starting at SN#{}", nextSequenceNumberToWrite);
     mNextSequenceNumberToWrite = new AtomicLong(nextSequenceNumberToWrite);
     mClient = Objects.requireNonNull(client);
+    mMaxBatchesInFlight = Math.max(1, maxBatchesInFlight);
+    mTimeoutScheduler = isPipelined() ? Executors.newSingleThreadScheduledExecutor(
+        ThreadFactoryUtils.build("raft-journal-write-timeout-%d", true)) : null;
+  }
+
+  private boolean isPipelined() {
+    return mMaxBatchesInFlight > 1;
   }
 
   @Override
@@ -77,12 +160,18 @@ public class RaftJournalWriter implements JournalWriter {
     }
     Preconditions.checkState(entry.getAllFields().size() <= 2,
         "Raft journal entries should never set multiple fields, but found %s", entry);
-    if (mCurrentJournalEntrySize.get() > FLUSH_BATCH_SIZE) {
+    if (isPipelined()) {
+      if (mJournalEntryBuilder != null && mCurrentJournalEntrySize.get() > mBatchSizeLimit) {
+        resubmitFailedBatches();
+        submitBatch();
+      }
+    } else if (mCurrentJournalEntrySize.get() > FLUSH_BATCH_SIZE) {
       flush();
     }
     if (mJournalEntryBuilder == null) {
       mJournalEntryBuilder = JournalEntry.newBuilder();
       mCurrentJournalEntrySize.set(0);
+      mBatchStartNs = System.nanoTime();
     }
     LOG.trace("Writing entry {}: {}", mNextSequenceNumberToWrite, entry);
     mJournalEntryBuilder.addJournalEntries(entry.toBuilder()
@@ -102,6 +191,10 @@ public class RaftJournalWriter implements JournalWriter {
     if (mClosed) {
       throw new JournalClosedException("Cannot flush. Journal writer has been closed");
     }
+    if (isPipelined()) {
+      awaitCommitted(flushAsync());
+      return;
+    }
     if (mJournalEntryBuilder != null) {
       long flushSN = mNextSequenceNumberToWrite.get() - 1;
       try {
@@ -132,12 +225,186 @@ public class RaftJournalWriter implements JournalWriter {
     }
   }
 
+  @Override
+  public CompletableFuture<Void> flushAsync() throws IOException, JournalClosedException {
+    if (!isPipelined()) {
+      flush();
+      return CompletableFuture.completedFuture(null);
+    }
+    if (mClosed) {
+      throw new JournalClosedException("Cannot flush. Journal writer has been closed");
+    }
+    resubmitFailedBatches();
+    if (mJournalEntryBuilder != null) {
+      submitBatch();
+    }
+    // the batches are committed in order, so the last one completes after the others unless
+    // one of them fails
+    return CompletableFuture.allOf(mBatchesInFlight.stream()
+        .map(batch -> batch.mCommitted).toArray(CompletableFuture[]::new));
+  }
+
+  /**
+   * Submits the entries written since the last batch as a new batch, after waiting for a batch
+   * in flight to be committed if there are too many of them.
+   */
+  private void submitBatch() throws IOException {
+    removeCommittedBatches();
+    while (mBatchesInFlight.size() >= mMaxBatchesInFlight) {
+      awaitCommitted(mBatchesInFlight.peekFirst().mCommitted);
+      removeCommittedBatches();
+    }
+    long now = System.nanoTime();
+    mArrivalBytesPerNs = average(mArrivalBytesPerNs,
+        (double) mCurrentJournalEntrySize.get() / Math.max(1, now - mBatchStartNs));
+    // the batches in flight should hold about the entries written during a commit round-trip
+    mBatchSizeLimit = Math.max(Math.min(MIN_PIPELINED_BATCH_SIZE, FLUSH_BATCH_SIZE),
+        Math.min(FLUSH_BATCH_SIZE,
+            (long) (mArrivalBytesPerNs * mCommitLatencyNs / mMaxBatchesInFlight)));
+    Batch batch = new Batch(mJournalEntryBuilder.build(), mNextSequenceNumberToWrite.get() - 1);
+    mJournalEntryBuilder = null;
+    mBatchesInFlight.addLast(batch);
+    send(batch);
+  }
+
+  /**
+   * Resubmits the batches in flight if one of them failed. The batches in flight are drained
+   * first, so that no batch is sent while an earlier one may still be appended. Then the failed
+   * batch is resubmitted together with the batches after it, so that the entries are appended in
+   * order; the ones committed already are skipped by sequence number when applied.
+   */
+  private void resubmitFailedBatches() throws IOException {
+    removeCommittedBatches();
+    if (mBatchesInFlight.stream().noneMatch(batch -> batch.mCommitted.isCompletedExceptionally())) {
+      return;
+    }
+    for (Batch batch : mBatchesInFlight) {
+      awaitCompleted(batch.mCommitted);
+    }
+    removeCommittedBatches();
+    List<Batch> failed = new ArrayList<>(mBatchesInFlight);
+    mBatchesInFlight.clear();
+    checkNoBatchAppendedAfterRejected(failed);
+    LOG.debug("Resubmitting {} journal batches from SN#{}", failed.size(),
+        getFirstSequenceNumber(failed.get(0)));
+    for (Batch batch : failed) {
+      Batch retry = new Batch(batch.mEntry, batch.mLastSequenceNumber);
+      mBatchesInFlight.addLast(retry);
+      send(retry);
+    }
+  }
+
+  /**
+   * Checks that no batch was appended after a batch rejected by Ratis. Such a batch leaves a gap
+   * in the sequence numbers of the journal, which is fatal when the entries are applied, so it is
+   * fatal here as well rather than resubmitting the rejected batch after it. A batch which timed
+   * out may have been appended, so a later batch appended after it is no gap.
+   *
+   * @param batches the batches after the last committed one, in the order of submission
+   */
+  private static void checkNoBatchAppendedAfterRejected(List<Batch> batches) {
+    Batch rejected = null;
+    for (Batch batch : batches) {
+      if (rejected == null && batch.mRejection != null) {
+        rejected = batch;
+      } else if (rejected != null && batch.mAppended) {
+        ProcessUtils.fatalError(LOG, rejected.mRejection,
+            "Journal batch from SN#%s was appended after the batch from SN#%s was rejected, "
+                + "leaving a gap in the journal", getFirstSequenceNumber(batch),
+            getFirstSequenceNumber(rejected));
+      }
+    }
+  }
+
+  private static long getFirstSequenceNumber(Batch batch) {
+    return batch.mEntry.getJournalEntries(0).getSequenceNumber();
+  }
+
+  private void send(Batch batch) throws IOException {
+    Message message = Message.valueOf(UnsafeByteOperations.unsafeWrap(batch.mEntry.toByteArray()));
+    mLastSubmittedSequenceNumber.set(batch.mLastSequenceNumber);
+    LOG.trace("Submitting entry {} ({})", batch.mEntry, message);
+    ScheduledFuture<?> timeout = mTimeoutScheduler.schedule(
+        () -> batch.mCommitted.completeExceptionally(new IOException(String.format(
+            "Timed out after waiting %s milliseconds for journal entries to be processed",
+            MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT))),
+        MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT, TimeUnit.MILLISECONDS);
+    mClient.sendAsync(message).whenComplete((reply, t) -> {
+      timeout.cancel(false);
+      if (t != null) {
+        batch.mRejection =
+            t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+        batch.mCommitted.completeExceptionally(batch.mRejection);
+      } else if (reply.getException() != null) {
+        batch.mRejection = reply.getException();
+        batch.mCommitted.completeExceptionally(reply.getException());
+      } else {
+        batch.mAppended = true;
+        batch.mCommitNs = System.nanoTime();
+        mLastCommittedSequenceNumber.accumulateAndGet(batch.mLastSequenceNumber, Math::max);
+        batch.mCommitted.complete(null);
+      }
+    });
+  }
+
+  /**
+   * Removes the oldest batches in flight which are committed, updating the average latency of
+   * the commits.
+   */
+  private void removeCommittedBatches() {
+    Batch oldest;
+    while ((oldest = mBatchesInFlight.peekFirst()) != null && oldest.mCommitted.isDone()
+        && !oldest.mCommitted.isCompletedExceptionally()) {
+      mBatchesInFlight.pollFirst();
+      mCommitLatencyNs = average(mCommitLatencyNs, oldest.mCommitNs - oldest.mSubmitNs);
+    }
+  }
+
+  private static void awaitCommitted(CompletableFuture<Void> committed) throws IOException {
+    try {
+      committed.get(MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT, TimeUnit.MILLISECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(e);
+    } catch (ExecutionException e) {
+      if (e.getCause() instanceof IOException) {
+        throw (IOException) e.getCause();
+      }
+      throw new IOException(e.getCause());
+    } catch (TimeoutException e) {
+      throw new IOException(String.format(
+          "Timed out after waiting %s milliseconds for journal entries to be processed",
+          MASTER_EMBEDDED_JOURNAL_WRITE_TIMEOUT), e);
+    }
+  }
+
+  /**
+   * Waits until the given batch is committed or fails.
+   */
+  private static void awaitCompleted(CompletableFuture<Void> committed) throws IOException {
+    try {
+      awaitCommitted(committed);
+    } catch (IOException e) {
+      if (!committed.isDone()) {
+        throw e;
+      }
+      // the failure is handled by resubmitting the batch
+    }
+  }
+
+  private static double average(double average, double sample) {
+    return average == 0 ? sample : average + AVERAGE_WEIGHT * (sample - average);
+  }
+
   @Override
   public void close() {
     if (mClosed) {
       return;
     }
     mClosed = true;
+    if (mTimeoutScheduler != null) {
+      mTimeoutScheduler.shutdownNow();
+    }
     LOG.info("Closing journal writer. Last sequence numbers written/submitted/committed: {}/{}/{}",
         mNextSequenceNumberToWrite.get() - 1, mLastSubmittedSequenceNumber.get(),
         mLastCommittedSequenceNumber.get());
@@ -41,6 +41,7 @@ import java.io.File;
 import java.io.InputStream;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.Collections;
@@ -66,6 +67,8 @@ public class RaftSnapshotManager implements AutoCloseable {
 
   private final int mRequestInfoTimeout = (int)
       Configuration.getMs(PropertyKey.MASTER_JOURNAL_REQUEST_INFO_TIMEOUT);
+  private final boolean mIncremental = Configuration.getBoolean(
+      PropertyKey.MASTER_EMBEDDED_JOURNAL_SNAPSHOT_REPLICATION_INCREMENTAL);
 
   private final SnapshotDirStateMachineStorage mStorage;
   private final ExecutorService mExecutor;
@@ -227,7 +230,15 @@ public class RaftSnapshotManager implements AutoCloseable {
     RaftJournalServiceClient client = mClients.get(address);
     try {
       client.connect();
-      Iterator<SnapshotData> it = client.requestLatestSnapshotData(snapshotMetadata);
+      SnapshotMetadata request = snapshotMetadata;
+      Path localSnapshotDir = mIncremental ? getLatestSnapshotDir() : null;
+      SnapshotDigests localDigests = null;
+      if (localSnapshotDir != null) {
+        localDigests = SnapshotDigests.load(localSnapshotDir);
+        request = snapshotMetadata.toBuilder()
+            .addAllLocalSstDigests(localDigests.getDigests()).build();
+      }
+      Iterator<SnapshotData> it = client.requestLatestSnapshotData(request);
       long totalBytesRead;
       long snapshotDiskSize;
       try (SnapshotGrpcInputStream stream = new SnapshotGrpcInputStream(it)) {
@@ -235,6 +246,12 @@ public class RaftSnapshotManager implements AutoCloseable {
         snapshotDiskSize = marshaller.read(mStorage.getTmpDir().toPath(), stream);
         totalBytesRead = stream.totalBytes();
       }
+      if (localDigests != null) {
+        long linkedBytes =
+            localDigests.linkMissingFiles(mStorage.getTmpDir().toPath(), localSnapshotDir);
+        LOG.info("Reused {} bytes of SST files of the local snapshot for {}", linkedBytes, index);
+        snapshotDiskSize += linkedBytes;
+      }
 
       File finalSnapshotDestination = new File(mStorage.getSnapshotDir(),
           SimpleStateMachineStorage.getSnapshotFileName(snapshotMetadata.getSnapshotTerm(),
@@ -274,6 +291,20 @@ public class RaftSnapshotManager implements AutoCloseable {
     }
   }
 
+  /**
+   * @return the directory of the latest local snapshot, or null if there is none
+   */
+  @Nullable
+  private Path getLatestSnapshotDir() {
+    SnapshotInfo snapshot = mStorage.getLatestSnapshot();
+    if (snapshot == null) {
+      return null;
+    }
+    File dir = new File(mStorage.getSnapshotDir(),
+        SimpleStateMachineStorage.getSnapshotFileName(snapshot.getTerm(), snapshot.getIndex()));
+    return dir.isDirectory() ? dir.toPath() : null;
+  }
+
   @Override
   public void close() {
     mClients.values().forEach(AbstractClient::close);
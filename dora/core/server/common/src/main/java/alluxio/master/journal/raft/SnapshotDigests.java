@@ -0,0 +1,214 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal.raft;
+
+import com.google.common.hash.Hashing;
+import com.google.common.io.MoreFiles;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.annotation.Nullable;
+
+/**
+ * The digests of the RocksDB SST files of a snapshot directory, which let a master download only
+ * the SST files of a snapshot it does not have already.
+ *
+ * SST files are immutable, and the snapshots link the SST files of the metastores rather than
+ * copying them, so consecutive snapshots share most of their SST files. The digests are stored in
+ * {@link #FILE_NAME} at the root of the snapshot directory. When they are computed, the digest of
+ * a file which links to the same file as in the previous snapshot is taken from the previous
+ * snapshot, so only the SST files written since then are read.
+ */
+final class SnapshotDigests {
+  private static final Logger LOG = LoggerFactory.getLogger(SnapshotDigests.class);
+
+  /** The name of the file holding the digests in a snapshot directory. */
+  static final String FILE_NAME = "sst-digests";
+  private static final String SST_SUFFIX = ".sst";
+
+  /** The digests of the SST files by path relative to the snapshot directory. */
+  private final Map<String, String> mDigests;
+
+  private SnapshotDigests(Map<String, String> digests) {
+    mDigests = digests;
+  }
+
+  /**
+   * Computes the digests of the SST files of a snapshot directory and writes them in it.
+   *
+   * @param dir the snapshot directory
+   * @param previousDir the directory of the previous snapshot, or null
+   * @return the digests
+   */
+  static SnapshotDigests compute(Path dir, @Nullable Path previousDir) throws IOException {
+    SnapshotDigests previous = previousDir == null ? null : read(previousDir);
+    Map<String, String> digests = new HashMap<>();
+    long hashedBytes = 0;
+    for (Path file : listSstFiles(dir)) {
+      String relativePath = dir.relativize(file).toString();
+      String digest = null;
+      if (previous != null && previous.mDigests.containsKey(relativePath)) {
+        Path previousFile = previousDir.resolve(relativePath);
+        if (Files.exists(previousFile) && Files.isSameFile(previousFile, file)) {
+          digest = previous.mDigests.get(relativePath);
+        }
+      }
+      if (digest == null) {
+        digest = MoreFiles.asByteSource(file).hash(Hashing.sha256()).toString();
+        hashedBytes += Files.size(file);
+      }
+      digests.put(relativePath, digest);
+    }
+    SnapshotDigests snapshotDigests = new SnapshotDigests(digests);
+    snapshotDigests.write(dir);
+    LOG.debug("Computed the digests of {} SST files in {}, reading {} bytes", digests.size(), dir,
+        hashedBytes);
+    return snapshotDigests;
+  }
+
+  /**
+   * @param dir the snapshot directory
+   * @return the digests written in the snapshot directory, or computed if there are none
+   */
+  static SnapshotDigests load(Path dir) throws IOException {
+    SnapshotDigests digests = read(dir);
+    return digests != null ? digests : compute(dir, null);
+  }
+
+  /**
+   * @param dir the snapshot directory
+   * @return the digests written in the snapshot directory, or null if there are none
+   */
+  @Nullable
+  static SnapshotDigests read(Path dir) throws IOException {
+    Path file = dir.resolve(FILE_NAME);
+    if (!Files.exists(file)) {
+      return null;
+    }
+    Map<String, String> digests = new HashMap<>();
+    for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+      int separator = line.indexOf(' ');
+      if (separator > 0) {
+        digests.put(line.substring(separator + 1), line.substring(0, separator));
+      }
+    }
+    return new SnapshotDigests(digests);
+  }
+
+  private void write(Path dir) throws IOException {
+    Path tmp = dir.resolve(FILE_NAME + "." + UUID.randomUUID());
+    try (BufferedWriter writer = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+      for (Map.Entry<String, String> entry : mDigests.entrySet()) {
+        writer.write(entry.getValue());
+        writer.write(' ');
+        writer.write(entry.getKey());
+        writer.newLine();
+      }
+    }
+    Files.move(tmp, dir.resolve(FILE_NAME), StandardCopyOption.REPLACE_EXISTING,
+        StandardCopyOption.ATOMIC_MOVE);
+  }
+
+  /**
+   * @return the digests of the SST files
+   */
+  Set<String> getDigests() {
+    return Collections.unmodifiableSet(new HashSet<>(mDigests.values()));
+  }
+
+  /**
+   * Links the files of a snapshot directory into a staging directory, except the SST files
+   * with the given digests. Linking is cheap and leaves the snapshot as it is.
+   *
+   * @param dir the snapshot directory
+   * @param excludedDigests the digests of the SST files to leave out
+   * @return the staging directory, to delete once used
+   */
+  Path stageWithout(Path dir, Set<String> excludedDigests) throws IOException {
+    Path staging = dir.resolveSibling(".staging-" + dir.getFileName() + "-" + UUID.randomUUID());
+    List<Path> paths;
+    try (Stream<Path> stream = Files.walk(dir)) {
+      paths = stream.collect(Collectors.toList());
+    }
+    for (Path path : paths) {
+      String relativePath = dir.relativize(path).toString();
+      Path target = staging.resolve(relativePath);
+      if (Files.isDirectory(path)) {
+        Files.createDirectories(target);
+      } else if (!excludedDigests.contains(mDigests.get(relativePath))) {
+        Files.createLink(target, path);
+      }
+    }
+    return staging;
+  }
+
+  /**
+   * Completes a downloaded snapshot directory with the SST files it lists and which were not sent
+   * because the local snapshot has them.
+   *
+   * @param dir the downloaded snapshot directory
+   * @param localDir the local snapshot directory
+   * @return the number of bytes of the files added to the downloaded snapshot directory
+   */
+  long linkMissingFiles(Path dir, Path localDir) throws IOException {
+    SnapshotDigests downloaded = read(dir);
+    if (downloaded == null) {
+      // the other master sent the whole snapshot
+      return 0;
+    }
+    Map<String, String> localFiles = new HashMap<>();
+    mDigests.forEach((relativePath, digest) -> localFiles.put(digest, relativePath));
+    long bytes = 0;
+    for (Map.Entry<String, String> entry : downloaded.mDigests.entrySet()) {
+      Path target = dir.resolve(entry.getKey());
+      if (Files.exists(target)) {
+        continue;
+      }
+      String localFile = localFiles.get(entry.getValue());
+      if (localFile == null) {
+        throw new IOException(String.format("SST file %s with digest %s is neither in the "
+            + "downloaded snapshot nor in %s", entry.getKey(), entry.getValue(), localDir));
+      }
+      Path source = localDir.resolve(localFile);
+      Files.createDirectories(target.getParent());
+      try {
+        Files.createLink(target, source);
+      } catch (IOException | UnsupportedOperationException e) {
+        Files.copy(source, target);
+      }
+      bytes += Files.size(target);
+    }
+    return bytes;
+  }
+
+  private static List<Path> listSstFiles(Path dir) throws IOException {
+    try (Stream<Path> stream = Files.walk(dir)) {
+      return stream.filter(path -> path.getFileName().toString().endsWith(SST_SUFFIX)
+          && Files.isRegularFile(path)).collect(Collectors.toList());
+    }
+  }
+}
@@ -0,0 +1,121 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.s3;
+
+import alluxio.AlluxioURI;
+import alluxio.client.file.URIStatus;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.Consumer;
+import javax.annotation.concurrent.NotThreadSafe;
+
+/**
+ * Collects the page of a bucket listing requested by a list objects call, as the objects are
+ * being listed.
+ *
+ * Objects which do not match the prefix or are not after the resume point of the request
+ * (the marker, continuation token or start-after key) are dropped right away, and only the
+ * first max-keys + 1 objects in key order are kept, the extra one telling whether the
+ * result is truncated. When the objects are listed in key order, the listing can stop as soon
+ * as the page is {@link #isCompleteInKeyOrder() complete}.
+ *
+ * The page is only equivalent to the full listing if every object maps to its own key in the
+ * result, i.e. when no delimiter is used, or when the objects are the direct children of the
+ * directory named by the prefix.
+ */
+@NotThreadSafe
+public class ListBucketPage implements Consumer<URIStatus> {
+  private static final Comparator<URIStatus> PATH_ORDER =
+      Comparator.comparing(URIStatus::getPath);
+
+  private final String mBucketPrefix;
+  private final String mPrefix;
+  private final String mResumeKey;
+  private final int mCapacity;
+  /** The smallest objects seen so far, with the largest one at the head. */
+  private final PriorityQueue<URIStatus> mObjects;
+  /** Whether an object after all the keys starting with the prefix was seen. */
+  private boolean mPastPrefix = false;
+
+  /**
+   * @param bucketName the bucket name
+   * @param options the list bucket options
+   */
+  public ListBucketPage(String bucketName, ListBucketOptions options) throws S3Exception {
+    mBucketPrefix = AlluxioURI.SEPARATOR + bucketName + AlluxioURI.SEPARATOR;
+    mPrefix = options.getPrefix() == null ? "" : options.getPrefix();
+    String resumeKey;
+    if (options.getListType() != null && options.getListType() == 2) {
+      resumeKey = options.getContinuationToken() == null
+          ? "" : ListBucketResult.decodeToken(options.getContinuationToken());
+      if (options.getStartAfter() != null && options.getStartAfter().compareTo(resumeKey) > 0) {
+        resumeKey = options.getStartAfter();
+      }
+    } else {
+      resumeKey = options.getMarker() == null ? "" : options.getMarker();
+    }
+    mResumeKey = resumeKey;
+    mCapacity = Math.max(options.getMaxKeys(), 0) + 1;
+    mObjects = new PriorityQueue<>(Math.min(mCapacity, 1024), PATH_ORDER.reversed());
+  }
+
+  @Override
+  public void accept(URIStatus status) {
+    String path = status.getPath();
+    if (!path.startsWith(mBucketPrefix)) {
+      return;
+    }
+    String key = path.substring(mBucketPrefix.length());
+    if (!key.startsWith(mPrefix)) {
+      mPastPrefix |= key.compareTo(mPrefix) > 0;
+      return;
+    }
+    if (key.compareTo(mResumeKey) <= 0) {
+      return;
+    }
+    if (mObjects.size() < mCapacity) {
+      mObjects.add(status);
+    } else if (PATH_ORDER.compare(status, mObjects.peek()) < 0) {
+      mObjects.poll();
+      mObjects.add(status);
+    }
+  }
+
+  /**
+   * @return the key after which the page starts, empty to start from the first key
+   */
+  public String getResumeKey() {
+    return mResumeKey;
+  }
+
+  /**
+   * Tells whether the page is complete, given that the objects are accepted in key order: the
+   * page is full, or the keys went past the ones starting with the prefix.
+   *
+   * @return whether no object accepted after the last one can be in the page
+   */
+  public boolean isCompleteInKeyOrder() {
+    return mObjects.size() == mCapacity || mPastPrefix;
+  }
+
+  /**
+   * @return the collected objects sorted by path, at most max-keys + 1 of them
+   */
+  public List<URIStatus> getObjects() {
+    List<URIStatus> objects = new ArrayList<>(mObjects);
+    objects.sort(PATH_ORDER);
+    return objects;
+  }
+}
@@ -12,7 +12,11 @@
 package alluxio.master.journal;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import alluxio.proto.journal.Block.BlockContainerIdGeneratorEntry;
 import alluxio.proto.journal.Block.BlockInfoEntry;
@@ -92,6 +96,9 @@ public class JournalEntryAssociationTest {
       JournalEntry.newBuilder().setLoadJob(alluxio.proto.journal.Job.LoadJobEntry.newBuilder()
           .setLoadPath("/test").setState(alluxio.proto.journal.Job.PJobState.CREATED)
           .setBandwidth(1).setPartialListing(false).setVerify(true).setJobId("1").build()).build(),
+      JournalEntry.newBuilder().setLoadManifest(
+          alluxio.proto.journal.Job.LoadManifestEntry.newBuilder().setLoadPath("/test").build())
+          .build(),
       JournalEntry.newBuilder().setCopyJob(alluxio.proto.journal.Job.CopyJobEntry.newBuilder()
           .setSrc("/src").setDst("/dst").setState(alluxio.proto.journal.Job.PJobState.CREATED)
           .setBandwidth(1).setPartialListing(false).setVerify(true).setJobId("2").build()).build(),
@@ -116,6 +123,51 @@ public class JournalEntryAssociationTest {
     }
   }
 
+  @Test
+  public void testReplayLanes() {
+    List<String> jobLanes = JournalEntryAssociation.getReplayLanesForEntry(JournalEntry.newBuilder()
+        .setLoadManifest(alluxio.proto.journal.Job.LoadManifestEntry.newBuilder()
+            .setLoadPath("/test").build()).build());
+    for (JournalEntry entry : ENTRIES) {
+      List<String> lanes = JournalEntryAssociation.getReplayLanesForEntry(entry);
+      if (entry.hasAddMountPoint() || entry.hasDeleteMountPoint() || entry.hasUpdateUfsMode()
+          || entry.hasDeleteFile() || entry.hasRename()) {
+        assertNull(lanes);
+      } else if (entry.hasLoadJob() || entry.hasLoadManifest() || entry.hasCopyJob()
+          || entry.hasMoveJob()) {
+        assertEquals(jobLanes, lanes);
+      } else {
+        assertNotNull(lanes);
+        assertFalse(lanes.isEmpty());
+      }
+    }
+  }
+
+  @Test
+  public void testInodeReplayLanes() {
+    List<String> create = JournalEntryAssociation.getReplayLanesForEntry(JournalEntry.newBuilder()
+        .setInodeFile(InodeFileEntry.newBuilder().setId(2).setParentId(1).setName("f")).build());
+    List<String> update = JournalEntryAssociation.getReplayLanesForEntry(JournalEntry.newBuilder()
+        .setUpdateInodeFile(UpdateInodeFileEntry.newBuilder().setId(2)).build());
+    List<String> parent = JournalEntryAssociation.getReplayLanesForEntry(JournalEntry.newBuilder()
+        .setUpdateInode(UpdateInodeEntry.newBuilder().setId(1).setLastModificationTimeMs(1))
+        .build());
+    List<String> other = JournalEntryAssociation.getReplayLanesForEntry(JournalEntry.newBuilder()
+        .setSetAttribute(SetAttributeEntry.newBuilder().setId(3)).build());
+    // a creation is ordered with the updates of the inode and of its parent
+    assertEquals(2, create.size());
+    assertTrue(create.containsAll(update));
+    assertTrue(create.containsAll(parent));
+    assertFalse(create.containsAll(other));
+    assertNotEquals(update, other);
+    // the root and the entries moving an inode are applied alone
+    assertNull(JournalEntryAssociation.getReplayLanesForEntry(JournalEntry.newBuilder()
+        .setInodeDirectory(InodeDirectoryEntry.newBuilder().setId(0).setParentId(-1).setName(""))
+        .build()));
+    assertNull(JournalEntryAssociation.getReplayLanesForEntry(JournalEntry.newBuilder()
+        .setUpdateInode(UpdateInodeEntry.newBuilder().setId(2).setParentId(3)).build()));
+  }
+
   @Test
   public void testFullCoverage() {
     int expectedNumFields = JournalEntry.getDescriptor().getFields().size();
@@ -0,0 +1,113 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.s3;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.client.file.URIStatus;
+import alluxio.wire.FileInfo;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+public class ListBucketPageTest {
+  private static final String BUCKET = "bucket";
+
+  @Test
+  public void pagesMatchFullListing() throws Exception {
+    List<URIStatus> objects = new ArrayList<>();
+    for (int i = 0; i < 200; i++) {
+      objects.add(object(String.format("dir%d/file%03d", i % 3, i)));
+    }
+    Collections.shuffle(objects, new Random(0));
+    for (String prefix : new String[] {null, "dir1/", "dir2/file1"}) {
+      for (int maxKeys : new int[] {1, 7, 1000}) {
+        ListBucketOptions options = ListBucketOptions.defaults()
+            .setListType(2).setPrefix(prefix).setMaxKeys(maxKeys);
+        List<String> pagedKeys = new ArrayList<>();
+        ListBucketResult result;
+        do {
+          ListBucketPage page = new ListBucketPage(BUCKET, options);
+          objects.forEach(page);
+          assertTrue(page.getObjects().size() <= maxKeys + 1);
+          result = new ListBucketResult(BUCKET, page.getObjects(), options);
+          assertEquals(result.getContents().size(), (int) result.getKeyCount());
+          result.getContents().forEach(content -> pagedKeys.add(content.getKey()));
+          options.setContinuationToken(result.getNextContinuationToken());
+        } while (result.isTruncated());
+
+        ListBucketResult full = new ListBucketResult(BUCKET, new ArrayList<>(objects),
+            ListBucketOptions.defaults().setListType(2).setPrefix(prefix).setMaxKeys(1000));
+        assertFalse(full.isTruncated());
+        assertEquals(full.getContents().stream().map(ListBucketResult.Content::getKey)
+            .collect(Collectors.toList()), pagedKeys);
+      }
+    }
+  }
+
+  @Test
+  public void resumeFromStartAfter() throws Exception {
+    ListBucketOptions options = ListBucketOptions.defaults()
+        .setListType(2).setStartAfter("b").setMaxKeys(1);
+    ListBucketPage page = new ListBucketPage(BUCKET, options);
+    for (String key : new String[] {"d", "a", "b", "c"}) {
+      page.accept(object(key));
+    }
+    page.accept(new URIStatus(new FileInfo().setPath("/other/c")));
+    ListBucketResult result = new ListBucketResult(BUCKET, page.getObjects(), options);
+    assertEquals(1, result.getContents().size());
+    assertEquals("c", result.getContents().get(0).getKey());
+    assertTrue(result.isTruncated());
+  }
+
+  @Test
+  public void completeInKeyOrder() throws Exception {
+    String[] keys = {"a", "b1", "b2", "b3", "c"};
+    // full with max-keys + 1 objects
+    ListBucketPage page = new ListBucketPage(BUCKET,
+        ListBucketOptions.defaults().setListType(2).setPrefix("b").setMaxKeys(2));
+    assertEquals(4, acceptUntilComplete(page, keys));
+    // past the prefix
+    page = new ListBucketPage(BUCKET,
+        ListBucketOptions.defaults().setListType(2).setPrefix("b").setMaxKeys(10));
+    assertEquals(5, acceptUntilComplete(page, keys));
+    assertTrue(page.isCompleteInKeyOrder());
+    assertEquals(3, page.getObjects().size());
+    // neither
+    page = new ListBucketPage(BUCKET, ListBucketOptions.defaults().setListType(2).setMaxKeys(10));
+    assertEquals(5, acceptUntilComplete(page, keys));
+    assertFalse(page.isCompleteInKeyOrder());
+  }
+
+  private static int acceptUntilComplete(ListBucketPage page, String[] keys) {
+    int accepted = 0;
+    for (String key : keys) {
+      if (page.isCompleteInKeyOrder()) {
+        break;
+      }
+      page.accept(object(key));
+      accepted++;
+    }
+    return accepted;
+  }
+
+  private static URIStatus object(String key) {
+    return new URIStatus(new FileInfo().setPath("/" + BUCKET + "/" + key).setLength(1));
+  }
+}
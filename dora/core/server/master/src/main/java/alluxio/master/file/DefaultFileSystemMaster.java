@@ -212,6 +212,7 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.Spliterators;
@@ -883,6 +884,13 @@ public class DefaultFileSystemMaster extends CoreMaster
               FileSystemMasterCommonPOptions.newBuilder()
                   .setTtl(context.getOptions().getCommonOptions().getTtl())
                   .setTtlAction(context.getOptions().getCommonOptions().getTtlAction())));
+      if (mInodeTree.isOptimisticReadEnabled()) {
+        Optional<FileInfo> fileInfo =
+            getFileInfoOptimistically(path, lmCtx, ufsAccessed, auditContext);
+        if (fileInfo.isPresent()) {
+          return fileInfo.get();
+        }
+      }
       /**
        * See the comments in {@link #getFileIdInternal(AlluxioURI, boolean)} for an explanation
        * on why the loop here is required.
@@ -936,6 +944,79 @@ public class DefaultFileSystemMaster extends CoreMaster
     }
   }
 
+  /**
+   * Gets the {@link FileInfo} of an existing path without locking it, see
+   * {@link InodeTree#readInodePathOptimistically}. The permission check and the file info are
+   * taken from the same snapshot of the inodes, and only used if no write raced with them.
+   *
+   * @return the file info, or empty if the path must be locked to get it, e.g. because it does
+   *         not exist, metadata needs to be loaded, or the read raced with a write
+   */
+  private Optional<FileInfo> getFileInfoOptimistically(AlluxioURI path,
+      LoadMetadataContext lmCtx, boolean ufsAccessed, FileSystemMasterAuditContext auditContext)
+      throws AccessControlException, InvalidPathException, UnavailableException {
+    int depth = PathUtils.getPathComponents(path.getPath()).length;
+    boolean loadDirectChildren =
+        lmCtx.getOptions().getLoadDescendantType() != LoadDescendantPType.NONE;
+    Optional<OptimisticFileInfo> read = mInodeTree.readInodePathOptimistically(path, inodes -> {
+      Inode inode = inodes.get(inodes.size() - 1);
+      if (inodes.size() != depth || (inode.isDirectory() && loadDirectChildren)) {
+        return null;
+      }
+      AccessControlException denied = null;
+      try {
+        mPermissionChecker.checkParentPermission(Mode.Bits.EXECUTE, path,
+            new ArrayList<>(inodes.subList(0, inodes.size() - 1)));
+      } catch (AccessControlException e) {
+        denied = e;
+      } catch (InvalidPathException e) {
+        return null;
+      }
+      return new OptimisticFileInfo(inode, generateFileInfo(inode, path), denied);
+    });
+    if (!read.isPresent()) {
+      return Optional.empty();
+    }
+    auditContext.setSrcInode(read.get().mInode);
+    if (read.get().mDenied != null) {
+      auditContext.setAllowed(false);
+      throw read.get().mDenied;
+    }
+    FileInfo fileInfo = read.get().mFileInfo;
+    if (!fileInfo.isFolder()) {
+      setFileBlockInfos(fileInfo, path, false);
+      if (needsBlockInfoRehydration(fileInfo)) {
+        return Optional.empty();
+      }
+    }
+    setMountInfo(fileInfo, path, null);
+    Metrics.FILE_INFOS_GOT.inc();
+    if (ufsAccessed) {
+      MountTable.Resolution resolution = mMountTable.resolve(path);
+      Metrics.getUfsOpsSavedCounter(resolution.getUfsMountPointUri(),
+          Metrics.UFSOps.GET_FILE_INFO).dec();
+    }
+    auditContext.setSucceeded(true);
+    return Optional.of(fileInfo);
+  }
+
+  /**
+   * The result of reading a path optimistically for {@link #getFileInfoOptimistically}.
+   */
+  private static final class OptimisticFileInfo {
+    private final Inode mInode;
+    private final FileInfo mFileInfo;
+    @Nullable
+    private final AccessControlException mDenied;
+
+    OptimisticFileInfo(Inode inode, FileInfo fileInfo,
+        @Nullable AccessControlException denied) {
+      mInode = inode;
+      mFileInfo = fileInfo;
+      mDenied = denied;
+    }
+  }
+
   @Override
   public long getMountIdFromUfsPath(AlluxioURI ufsPath) {
     return getMountTable().reverseResolve(ufsPath).getMountInfo().getMountId();
@@ -953,32 +1034,14 @@ public class DefaultFileSystemMaster extends CoreMaster
   private FileInfo getFileInfoInternal(LockedInodePath inodePath, Counter counter,
       boolean excludeMountInfo)
       throws FileDoesNotExistException, UnavailableException {
-    int inMemoryPercentage;
-    int inAlluxioPercentage;
     Inode inode = inodePath.getInode();
     AlluxioURI uri = inodePath.getUri();
-    FileInfo fileInfo = inode.generateClientFileInfo(uri.toString());
-    if (fileInfo.isFolder()) {
-      fileInfo.setLength(inode.asDirectory().getChildCount());
-    }
+    FileInfo fileInfo = generateFileInfo(inode, uri);
     if (inode.isFile()) {
-      InodeFile inodeFile = inode.asFile();
-      List<BlockInfo> blockInfos = mBlockMaster.getBlockInfoList(inodeFile.getBlockIds());
-      inMemoryPercentage = getFileInMemoryPercentageInternal(inodeFile, blockInfos);
-      inAlluxioPercentage = getFileInAlluxioPercentageInternal(inodeFile, blockInfos);
-      fileInfo.setInMemoryPercentage(inMemoryPercentage);
-      fileInfo.setInAlluxioPercentage(inAlluxioPercentage);
-
-      List<FileBlockInfo> fileBlockInfos = new ArrayList<>(blockInfos.size());
-      for (BlockInfo blockInfo : blockInfos) {
-        fileBlockInfos.add(generateFileBlockInfo(inodePath, blockInfo, excludeMountInfo));
-      }
-      fileInfo.setFileBlockInfos(fileBlockInfos);
+      setFileBlockInfos(fileInfo, uri, excludeMountInfo);
     }
     // Rehydrate missing block-infos for persisted files.
-    if (fileInfo.isCompleted()
-          && fileInfo.getBlockIds().size() > fileInfo.getFileBlockInfos().size()
-          && inode.isPersisted()) {
+    if (needsBlockInfoRehydration(fileInfo)) {
       List<Long> missingBlockIds = fileInfo.getBlockIds().stream()
           .filter((bId) -> fileInfo.getFileBlockInfo(bId) != null).collect(Collectors.toList());
 
@@ -997,29 +1060,71 @@ public class DefaultFileSystemMaster extends CoreMaster
             String.format("Hydration failed for file: %s", inodePath.getUri()), e);
       }
     }
-    fileInfo.setXAttr(inode.getXAttr());
     if (!excludeMountInfo) {
-      MountTable.Resolution resolution;
-      try {
-        resolution = mMountTable.resolve(uri);
-      } catch (InvalidPathException e) {
-        throw new FileDoesNotExistException(e.getMessage(), e);
-      }
-      AlluxioURI resolvedUri = resolution.getUri();
-      fileInfo.setUfsPath(resolvedUri.toString());
-      fileInfo.setMountId(resolution.getMountId());
-      if (counter == null) {
-        Metrics.getUfsOpsSavedCounter(resolution.getUfsMountPointUri(),
-            Metrics.UFSOps.GET_FILE_INFO).inc();
-      } else {
-        counter.inc();
-      }
+      setMountInfo(fileInfo, uri, counter);
     }
 
     Metrics.FILE_INFOS_GOT.inc();
     return fileInfo;
   }
 
+  /**
+   * Generates the {@link FileInfo} of an inode without the block and mount information. It only
+   * reads the inode, so it can be used on an inode read without locking it.
+   */
+  private static FileInfo generateFileInfo(Inode inode, AlluxioURI uri) {
+    FileInfo fileInfo = inode.generateClientFileInfo(uri.toString());
+    if (fileInfo.isFolder()) {
+      fileInfo.setLength(inode.asDirectory().getChildCount());
+    }
+    fileInfo.setXAttr(inode.getXAttr());
+    return fileInfo;
+  }
+
+  /**
+   * Sets the block information of a file from the blocks of the {@link FileInfo}.
+   */
+  private void setFileBlockInfos(FileInfo fileInfo, AlluxioURI uri, boolean excludeMountInfo)
+      throws UnavailableException {
+    List<BlockInfo> blockInfos = mBlockMaster.getBlockInfoList(fileInfo.getBlockIds());
+    fileInfo.setInMemoryPercentage(
+        getFileInMemoryPercentageInternal(fileInfo.getLength(), blockInfos));
+    fileInfo.setInAlluxioPercentage(
+        getFileInAlluxioPercentageInternal(fileInfo.getLength(), blockInfos));
+
+    List<FileBlockInfo> fileBlockInfos = new ArrayList<>(blockInfos.size());
+    for (BlockInfo blockInfo : blockInfos) {
+      fileBlockInfos.add(generateFileBlockInfo(uri, fileInfo.getBlockSizeBytes(),
+          fileInfo.isPersisted(), blockInfo, excludeMountInfo));
+    }
+    fileInfo.setFileBlockInfos(fileBlockInfos);
+  }
+
+  private static boolean needsBlockInfoRehydration(FileInfo fileInfo) {
+    return fileInfo.isCompleted()
+        && fileInfo.getBlockIds().size() > fileInfo.getFileBlockInfos().size()
+        && fileInfo.isPersisted();
+  }
+
+  private void setMountInfo(FileInfo fileInfo, AlluxioURI uri, @Nullable Counter counter)
+      throws FileDoesNotExistException {
+    MountTable.Resolution resolution;
+    try {
+      resolution = mMountTable.resolve(uri);
+    } catch (InvalidPathException e) {
+      throw new FileDoesNotExistException(e.getMessage(), e);
+    }
+    AlluxioURI resolvedUri = resolution.getUri();
+    fileInfo.setUfsPath(resolvedUri.toString());
+    fileInfo.setMountId(resolution.getMountId());
+    if (counter == null) {
+      Metrics.getUfsOpsSavedCounter(resolution.getUfsMountPointUri(),
+          Metrics.UFSOps.GET_FILE_INFO).inc();
+    } else {
+      counter.inc();
+    }
+  }
+
   @Override
   public PersistenceState getPersistenceState(long fileId) throws FileDoesNotExistException {
     try (LockedInodePath inodePath = mInodeTree.lockFullInodePath(
@@ -2378,20 +2483,26 @@ public class DefaultFileSystemMaster extends CoreMaster
       boolean excludeMountInfo)
       throws FileDoesNotExistException {
     InodeFile file = inodePath.getInodeFile();
+    return generateFileBlockInfo(inodePath.getUri(), file.getBlockSizeBytes(), file.isPersisted(),
+        blockInfo, excludeMountInfo);
+  }
+
+  private FileBlockInfo generateFileBlockInfo(AlluxioURI uri, long blockSizeBytes,
+      boolean persisted, BlockInfo blockInfo, boolean excludeMountInfo) {
     FileBlockInfo fileBlockInfo = new FileBlockInfo();
     fileBlockInfo.setBlockInfo(blockInfo);
     fileBlockInfo.setUfsLocations(new ArrayList<>());
 
     // The sequence number part of the block id is the block index.
-    long offset = file.getBlockSizeBytes() * BlockId.getSequenceNumber(blockInfo.getBlockId());
+    long offset = blockSizeBytes * BlockId.getSequenceNumber(blockInfo.getBlockId());
     fileBlockInfo.setOffset(offset);
 
     if (!excludeMountInfo && fileBlockInfo.getBlockInfo().getLocations().isEmpty()
-        && file.isPersisted()) {
+        && persisted) {
       // No alluxio locations, but there is a checkpoint in the under storage system. Add the
       // locations from the under storage system.
       long blockId = fileBlockInfo.getBlockInfo().getBlockId();
-      List<String> locations = mUfsBlockLocationCache.get(blockId, inodePath.getUri(),
+      List<String> locations = mUfsBlockLocationCache.get(blockId, uri,
           fileBlockInfo.getOffset());
       if (locations != null) {
         fileBlockInfo.setUfsLocations(locations);
@@ -2542,18 +2653,18 @@ public class DefaultFileSystemMaster extends CoreMaster
     }
     InodeFile inodeFile = inode.asFile();
 
-    return getFileInMemoryPercentageInternal(inodeFile,
+    return getFileInMemoryPercentageInternal(inodeFile.getLength(),
         mBlockMaster.getBlockInfoList(inodeFile.getBlockIds()));
   }
 
   /**
    * Gets the File in-memory percentage of a File Inode.
    *
-   * @param blockInfos the inode
+   * @param length the length of the file
+   * @param blockInfos the blocks of the file
    * @return the in memory percentage
    */
-  private int getFileInMemoryPercentageInternal(InodeFile inodeFile, List<BlockInfo> blockInfos) {
-    long length = inodeFile.getLength();
+  private int getFileInMemoryPercentageInternal(long length, List<BlockInfo> blockInfos) {
     if (length == 0) {
       return 100;
     }
@@ -2580,18 +2691,18 @@ public class DefaultFileSystemMaster extends CoreMaster
     }
     InodeFile inodeFile = inode.asFile();
 
-    return getFileInAlluxioPercentageInternal(inodeFile,
+    return getFileInAlluxioPercentageInternal(inodeFile.getLength(),
         mBlockMaster.getBlockInfoList(inodeFile.getBlockIds()));
   }
 
   /**
    * Gets the File in-Alluxio percentage of a File Inode.
    *
-   * @param inodeFile the File inode
+   * @param length the length of the file
+   * @param blockInfos the blocks of the file
    * @return the in alluxio percentage
    */
-  private int getFileInAlluxioPercentageInternal(InodeFile inodeFile, List<BlockInfo> blockInfos) {
-    long length = inodeFile.getLength();
+  private int getFileInAlluxioPercentageInternal(long length, List<BlockInfo> blockInfos) {
     if (length == 0) {
       return 100;
     }
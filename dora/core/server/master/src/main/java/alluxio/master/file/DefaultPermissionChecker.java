@@ -11,6 +11,7 @@
 
 package alluxio.master.file;
 
+import alluxio.AlluxioURI;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AccessControlException;
@@ -86,6 +87,23 @@ public class DefaultPermissionChecker implements PermissionChecker {
     checkInodeList(user, groups, bits, inodePath.getUri().getPath(), inodeList, false);
   }
 
+  @Override
+  public void checkParentPermission(Mode.Bits bits, AlluxioURI uri, List<InodeView> parentInodes)
+      throws AccessControlException, InvalidPathException {
+    if (!mPermissionCheckEnabled) {
+      return;
+    }
+
+    // root "/" has no parent, so return without checking
+    if (PathUtils.isRoot(uri.getPath())) {
+      return;
+    }
+
+    String user = AuthenticatedClientUser.getClientUser(Configuration.global());
+    List<String> groups = getGroups(user);
+    checkInodeList(user, groups, bits, uri.getPath(), parentInodes, false);
+  }
+
   @Override
   public void checkPermission(Mode.Bits bits, LockedInodePath inodePath)
       throws AccessControlException {
@@ -11,11 +11,15 @@
 
 package alluxio.master.file;
 
+import alluxio.AlluxioURI;
 import alluxio.exception.AccessControlException;
 import alluxio.exception.InvalidPathException;
+import alluxio.master.file.meta.InodeView;
 import alluxio.master.file.meta.LockedInodePath;
 import alluxio.security.authorization.Mode;
 
+import java.util.List;
+
 /**
  * interface to provide permission check logic.
  */
@@ -34,6 +38,20 @@ public interface PermissionChecker {
   void checkParentPermission(Mode.Bits bits, LockedInodePath inodePath)
       throws AccessControlException, InvalidPathException;
 
+  /**
+   * Checks whether a user has permission to perform a specific action on the parent of the given
+   * path, like {@link #checkParentPermission(Mode.Bits, LockedInodePath)}, given the existing
+   * inodes of the parent path instead of the locked path.
+   *
+   * @param bits bits that capture the action {@link Mode.Bits} by user
+   * @param uri the path to check permission on
+   * @param parentInodes the existing inodes of the parent of the path, starting from the root
+   * @throws AccessControlException if permission checking fails
+   * @throws InvalidPathException if the path is invalid
+   */
+  void checkParentPermission(Mode.Bits bits, AlluxioURI uri, List<InodeView> parentInodes)
+      throws AccessControlException, InvalidPathException;
+
   /**
    * Checks whether a user has permission to perform a specific action on a path. This check will
    * pass if the path is invalid.
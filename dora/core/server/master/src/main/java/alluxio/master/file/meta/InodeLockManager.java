@@ -29,9 +29,11 @@ import com.google.common.util.concurrent.Striped;
 
 import java.io.Closeable;
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLongArray;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
 
@@ -41,6 +43,13 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * use. As a result, we save memory when the inode tree contains many millions of files.
  */
 public class InodeLockManager implements Closeable {
+  private static final int NUM_STAMP_STRIPES = 1 << 16;
+  /** The increment of a stamp for each writer, the writers are counted in the low bits. */
+  private static final long STAMP_WRITER = 1L;
+  private static final long STAMP_WRITERS_MASK = (1L << 16) - 1;
+  /** The increment of a stamp for each released write lock, counted in the high bits. */
+  private static final long STAMP_VERSION = 1L << 16;
+
   /**
    * Pool for supplying inode locks. To lock an inode, its inode id must be searched in this
    * pool to get the appropriate read lock.
@@ -76,6 +85,16 @@ public class InodeLockManager implements Closeable {
    */
   private final Striped<Lock> mParentUpdateLocks = Striped.lock(1_000);
 
+  /**
+   * Version stamps of the inodes and edges, for reading them without taking their locks. See
+   * {@link #startOptimisticRead()}.
+   *
+   * Inodes and edges are hashed to stripes. While an inode or an edge of a stripe is write locked,
+   * or has its parent update lock taken, the stamp of the stripe counts the writer; once the lock
+   * is released, its version is incremented.
+   */
+  private final AtomicLongArray mStamps = new AtomicLongArray(NUM_STAMP_STRIPES);
+
   /**
    * Cache for supplying inode persistence locks. Before a thread can persist an inode, it must
    * acquire the persisting lock for the inode. The cache maps inode ids to AtomicBooleans used to
@@ -160,7 +179,7 @@ public class InodeLockManager implements Closeable {
    * @see #tryLockInode(Long, LockMode)
    */
   public RWLockResource lockInode(InodeView inode, LockMode mode, boolean useTryLock) {
-    return mInodeLocks.get(inode.getId(), mode, useTryLock);
+    return lockInodeInternal(inode.getId(), mode, useTryLock);
   }
 
   /**
@@ -171,7 +190,17 @@ public class InodeLockManager implements Closeable {
    * @return a lock resource which must be closed to release the lock
    */
   public RWLockResource lockInode(Long inodeId, LockMode mode) {
-    return mInodeLocks.get(inodeId, mode, false);
+    return lockInodeInternal(inodeId, mode, false);
+  }
+
+  private RWLockResource lockInodeInternal(long inodeId, LockMode mode, boolean useTryLock) {
+    if (mode == LockMode.READ) {
+      return mInodeLocks.get(inodeId, mode, useTryLock);
+    }
+    int stripe = inodeStripe(inodeId);
+    RWLockResource lock = mInodeLocks.get(inodeId, mode, useTryLock, () -> endWrite(stripe));
+    beginWrite(stripe);
+    return lock;
   }
 
   /**
@@ -182,7 +211,13 @@ public class InodeLockManager implements Closeable {
    * @return either an empty optional, or a lock resource which must be closed to release the lock
    */
   public Optional<RWLockResource> tryLockInode(Long inodeId, LockMode mode) {
-    return mInodeLocks.tryGet(inodeId, mode);
+    if (mode == LockMode.READ) {
+      return mInodeLocks.tryGet(inodeId, mode);
+    }
+    int stripe = inodeStripe(inodeId);
+    Optional<RWLockResource> lock = mInodeLocks.tryGet(inodeId, mode, () -> endWrite(stripe));
+    lock.ifPresent(l -> beginWrite(stripe));
+    return lock;
   }
 
   /**
@@ -197,7 +232,13 @@ public class InodeLockManager implements Closeable {
    * @see #tryLockEdge(Edge, LockMode)
    */
   public RWLockResource lockEdge(Edge edge, LockMode mode, boolean useTryLock) {
-    return mEdgeLocks.get(edge, mode, useTryLock);
+    if (mode == LockMode.READ) {
+      return mEdgeLocks.get(edge, mode, useTryLock);
+    }
+    int stripe = edgeStripe(edge);
+    RWLockResource lock = mEdgeLocks.get(edge, mode, useTryLock, () -> endWrite(stripe));
+    beginWrite(stripe);
+    return lock;
   }
 
   /**
@@ -208,7 +249,13 @@ public class InodeLockManager implements Closeable {
    * @return either an empty optional, or a lock resource which must be closed to release the lock
    */
   public Optional<RWLockResource> tryLockEdge(Edge edge, LockMode mode) {
-    return mEdgeLocks.tryGet(edge, mode);
+    if (mode == LockMode.READ) {
+      return mEdgeLocks.tryGet(edge, mode);
+    }
+    int stripe = edgeStripe(edge);
+    Optional<RWLockResource> lock = mEdgeLocks.tryGet(edge, mode, () -> endWrite(stripe));
+    lock.ifPresent(l -> beginWrite(stripe));
+    return lock;
   }
 
   /**
@@ -234,7 +281,45 @@ public class InodeLockManager implements Closeable {
    * @return a lock resource which must be closed to release the lock
    */
   public LockResource lockUpdate(long inodeId) {
-    return new LockResource(mParentUpdateLocks.get(inodeId));
+    int stripe = inodeStripe(inodeId);
+    LockResource lock =
+        new LockResource(mParentUpdateLocks.get(inodeId), true, false, () -> endWrite(stripe));
+    beginWrite(stripe);
+    return lock;
+  }
+
+  /**
+   * Starts reading inodes and edges without locking them. Each inode and edge must be recorded
+   * with the returned {@link OptimisticRead} before it is read, and what was read may only be
+   * used once {@link OptimisticRead#validate()} confirmed that none of them was written meanwhile.
+   *
+   * @return the optimistic read
+   */
+  public OptimisticRead startOptimisticRead() {
+    return new OptimisticRead();
+  }
+
+  private void beginWrite(int stripe) {
+    // the stamp is incremented after locking and before the inode or the edge is modified
+    mStamps.getAndAdd(stripe, STAMP_WRITER);
+  }
+
+  private void endWrite(int stripe) {
+    mStamps.getAndAdd(stripe, STAMP_VERSION - STAMP_WRITER);
+  }
+
+  private static int inodeStripe(long inodeId) {
+    return stripe(Long.hashCode(inodeId));
+  }
+
+  private static int edgeStripe(Edge edge) {
+    // edges and inodes share the stripes, which only makes conflicts slightly more likely
+    return stripe(edge.hashCode() * 31 + 17);
+  }
+
+  private static int stripe(int hash) {
+    // spreads the bits like HashMap, so that consecutive ids do not fill adjacent stripes only
+    return (hash ^ (hash >>> 16)) & (NUM_STAMP_STRIPES - 1);
   }
 
   @Override
@@ -242,4 +327,69 @@ public class InodeLockManager implements Closeable {
     mInodeLocks.close();
     mEdgeLocks.close();
   }
+
+  /**
+   * A read of inodes and edges which does not lock them, in the manner of
+   * {@link java.util.concurrent.locks.StampedLock#tryOptimisticRead()}. The stamps of the inodes
+   * and edges are recorded before they are read, and validated once everything has been read.
+   * This class is not thread safe.
+   */
+  public final class OptimisticRead {
+    private int[] mStripes = new int[16];
+    private long[] mReadStamps = new long[16];
+    private int mSize = 0;
+    /** Written before validating, so that the reads are ordered before the checks of the stamps. */
+    private volatile boolean mValidating = false;
+
+    private OptimisticRead() {}
+
+    /**
+     * Records the stamp of an inode before reading it.
+     *
+     * @param inodeId the id of the inode about to be read
+     * @return false if the inode is being written, in which case the read should be abandoned
+     */
+    public boolean readInode(long inodeId) {
+      return record(inodeStripe(inodeId));
+    }
+
+    /**
+     * Records the stamp of an edge before reading it.
+     *
+     * @param edge the edge about to be read
+     * @return false if the edge is being written, in which case the read should be abandoned
+     */
+    public boolean readEdge(Edge edge) {
+      return record(edgeStripe(edge));
+    }
+
+    /**
+     * @return whether none of the recorded inodes and edges was written since it was recorded, in
+     *         which case what was read is consistent with the state of the inode tree
+     */
+    public boolean validate() {
+      mValidating = true;
+      for (int i = 0; i < mSize; i++) {
+        if (mStamps.get(mStripes[i]) != mReadStamps[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private boolean record(int stripe) {
+      long stamp = mStamps.get(stripe);
+      if ((stamp & STAMP_WRITERS_MASK) != 0) {
+        return false;
+      }
+      if (mSize == mStripes.length) {
+        mStripes = Arrays.copyOf(mStripes, mSize * 2);
+        mReadStamps = Arrays.copyOf(mReadStamps, mSize * 2);
+      }
+      mStripes[mSize] = stripe;
+      mReadStamps[mSize] = stamp;
+      mSize++;
+      return true;
+    }
+  }
 }
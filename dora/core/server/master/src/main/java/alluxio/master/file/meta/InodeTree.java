@@ -37,6 +37,7 @@ import alluxio.master.journal.NoopJournalContext;
 import alluxio.master.metastore.DelegatingReadOnlyInodeStore;
 import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.ReadOnlyInodeStore;
+import alluxio.master.metastore.ReadOption;
 import alluxio.proto.journal.File.DeleteFileEntry;
 import alluxio.proto.journal.File.NewBlockEntry;
 import alluxio.proto.journal.File.RenameEntry;
@@ -57,6 +58,7 @@ import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.MkdirsOptions;
 import alluxio.util.CommonUtils;
 import alluxio.util.interfaces.Scoped;
+import alluxio.util.io.PathUtils;
 import alluxio.wire.OperationId;
 
 import com.google.common.base.Preconditions;
@@ -188,6 +190,10 @@ public class InodeTree implements DelegatingJournaled {
 
   private final ReadOnlyInodeStore mInodeStore;
 
+  /** Whether read-only path lookups first try to traverse the tree without locking it. */
+  private final boolean mOptimisticReads =
+      Configuration.getBoolean(PropertyKey.MASTER_METASTORE_INODE_OPTIMISTIC_READ_ENABLED);
+
   /**
    * Class for managing the persistent state of the inode tree. All metadata changes must go
    * through this class by calling {@link InodeTreePersistentState#applyAndJournal(context, entry)}.
@@ -463,11 +469,31 @@ public class InodeTree implements DelegatingJournaled {
     return inodePath;
   }
 
+  /**
+   * @return whether read-only path lookups should first try
+   *         {@link #readInodePathOptimistically(AlluxioURI, Function)}
+   */
+  public boolean isOptimisticReadEnabled() {
+    return mOptimisticReads;
+  }
+
   /**
    * @param uri the {@link AlluxioURI} to check for existence
    * @return whether the inode exists
    */
   public boolean inodePathExists(AlluxioURI uri) {
+    if (mOptimisticReads) {
+      try {
+        int depth = PathUtils.getPathComponents(uri.getPath()).length;
+        Optional<Boolean> exists =
+            readInodePathOptimistically(uri, inodes -> inodes.size() == depth);
+        if (exists.isPresent()) {
+          return exists.get();
+        }
+      } catch (InvalidPathException e) {
+        return false;
+      }
+    }
     try (LockedInodePath inodePath
              = lockInodePath(uri, LockPattern.READ, NoopJournalContext.INSTANCE)
     ) {
@@ -477,6 +503,67 @@ public class InodeTree implements DelegatingJournaled {
     }
   }
 
+  /**
+   * Reads the existing inodes of a path without locking them. The inodes and the edges leading to
+   * them are read optimistically, and the result of the reader is only returned if none of them
+   * was written concurrently, which is validated after the reader returns. Otherwise, the caller
+   * should fall back to {@link #lockInodePath(AlluxioURI, LockPattern, JournalContext)}.
+   *
+   * The reader may see inodes in the middle of a write, so it must not have side effects and must
+   * copy what it needs out of the inodes instead of retaining them.
+   *
+   * @param uri the uri to read
+   * @param reader the function to apply to the existing inodes of the path, starting from the root
+   * @param <T> the type of the result
+   * @return the result of the reader, or empty if the path could not be read without locking it
+   * @throws InvalidPathException if the path is invalid
+   */
+  public <T> Optional<T> readInodePathOptimistically(AlluxioURI uri,
+      Function<List<Inode>, T> reader) throws InvalidPathException {
+    String[] components = PathUtils.getPathComponents(uri.getPath());
+    ReadOption readOption = ReadOption.newBuilder().setSkipCache(true).build();
+    InodeLockManager.OptimisticRead read = mInodeLockManager.startOptimisticRead();
+    T result;
+    try {
+      InodeDirectory root = getRoot();
+      if (root == null || !read.readInode(root.getId())) {
+        return Optional.empty();
+      }
+      List<Inode> inodes = new ArrayList<>(components.length);
+      inodes.add(root);
+      Inode last = root;
+      for (int i = 1; i < components.length; i++) {
+        if (!last.isDirectory()) {
+          // let the locking traversal report the invalid path
+          return Optional.empty();
+        }
+        // the cache is not populated, as it requires the inodes to be locked
+        if (!read.readEdge(new Edge(last.getId(), components[i]))) {
+          return Optional.empty();
+        }
+        Optional<Long> childId = mInodeStore.getChildId(last.getId(), components[i], readOption);
+        if (!childId.isPresent()) {
+          break;
+        }
+        if (!read.readInode(childId.get())) {
+          return Optional.empty();
+        }
+        Optional<Inode> child = mInodeStore.get(childId.get(), readOption);
+        if (!child.isPresent()) {
+          return Optional.empty();
+        }
+        last = child.get();
+        inodes.add(last);
+      }
+      result = reader.apply(inodes);
+    } catch (RuntimeException e) {
+      // a concurrent write may leave the inodes inconsistent while they are read
+      LOG.debug("Failed to read {} optimistically", uri, e);
+      return Optional.empty();
+    }
+    return read.validate() ? Optional.ofNullable(result) : Optional.empty();
+  }
+
   /**
    * Locks a path and throws an exception if the path does not exist.
    *
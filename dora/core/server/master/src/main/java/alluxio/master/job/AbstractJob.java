@@ -89,6 +89,11 @@ public abstract class AbstractJob<T extends Task<?>> implements Job<T> {
     return mJobId;
   }
 
+  @Override
+  public Optional<String> getUser() {
+    return mUser;
+  }
+
   /**
    * Get end time.
    *
@@ -169,6 +169,7 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
    * Get bandwidth.
    * @return the allocated bandwidth
    */
+  @Override
   public OptionalLong getBandwidth() {
     return mBandwidth;
   }
@@ -525,6 +526,12 @@ public class CopyJob extends AbstractJob<CopyJob.CopyTask> {
     }
   }
 
+  @Override
+  public boolean canRunTasksOnAnyWorker() {
+    // the routes of a task are not tied to the worker it was assigned to
+    return true;
+  }
+
   @Override
   public boolean hasFailure() {
     return !mFailedFiles.isEmpty();
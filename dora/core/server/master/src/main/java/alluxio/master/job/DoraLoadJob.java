@@ -28,14 +28,18 @@ import alluxio.grpc.LoadFileResponse;
 import alluxio.grpc.TaskStatus;
 import alluxio.grpc.UfsReadOptions;
 import alluxio.job.JobDescription;
+import alluxio.master.scheduler.Scheduler;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.proto.journal.Journal;
+import alluxio.scheduler.job.JobMetaStore;
 import alluxio.scheduler.job.JobState;
+import alluxio.scheduler.job.LoadManifest;
 import alluxio.scheduler.job.Task;
 import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.util.FormatUtils;
+import alluxio.wire.WorkerIdentity;
 import alluxio.wire.WorkerInfo;
 
 import com.codahale.metrics.Counter;
@@ -74,6 +78,7 @@ import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.stream.Collectors;
+import javax.annotation.Nullable;
 import javax.annotation.concurrent.NotThreadSafe;
 
 /**
@@ -88,6 +93,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   private static final int RETRY_BLOCK_CAPACITY = 1000;
   private static final double RETRY_THRESHOLD = 0.8 * RETRY_BLOCK_CAPACITY;
   private static final int BATCH_SIZE = Configuration.getInt(PropertyKey.JOB_BATCH_SIZE);
+  private static final long CHECKPOINT_INTERVAL_MS =
+      Configuration.getMs(PropertyKey.MASTER_DORA_LOAD_JOB_CHECKPOINT_INTERVAL);
 
   // Job configurations
   private final String mLoadPath;
@@ -126,6 +133,18 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       PropertyKey.DORA_READ_VIRTUAL_BLOCK_SIZE);
   private Iterator<LoadSubTask> mCurrentSubTaskIterator;
   private final int mNumReplica;
+  // the workers the subtasks are placed on, only replaced when the set of workers changes
+  private volatile Set<WorkerInfo> mPlacementWorkers = Collections.emptySet();
+  private Set<WorkerIdentity> mPlacementWorkerIds = Collections.emptySet();
+  private final AtomicLong mRunSubTasksCount = new AtomicLong();
+  private final AtomicLong mPlacedSubTasksCount = new AtomicLong();
+  // incremental load
+  private boolean mIncremental = false;
+  @Nullable
+  private String mListingCheckpoint;
+  @Nullable
+  private volatile IncrementalLoadTracker mIncrementalTracker;
+  private long mLastCheckpointMs = System.currentTimeMillis();
 
   /**
    * Constructor.
@@ -165,6 +184,20 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     LOG.info("DoraLoadJob for {} created.", path);
   }
 
+  /**
+   * Makes the job incremental: the files which are unchanged since they were last loaded by an
+   * incremental job of the same path are skipped, and the files loaded are recorded in the
+   * manifest of the path as the job goes.
+   *
+   * @param listingCheckpoint the ufs path up to which the listing of a previous run of the job
+   *                          is done, which the ufs status iterator of this job lists after, or
+   *                          null if it lists from the start
+   */
+  public void setIncremental(@Nullable String listingCheckpoint) {
+    mIncremental = true;
+    mListingCheckpoint = listingCheckpoint;
+  }
+
   /**
    * Prepare next set of tasks waiting to be kicked off.
    * it is made sure only one thread should be calling this.
@@ -192,6 +225,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       String path = subTask.getUfsPath();
       try {
         mUfs.getStatus(path);
+        placeSubTask(subTask);
         batchBuilder.add(subTask);
         ++numSubTasks;
       } catch (IOException | AlluxioRuntimeException e) {
@@ -202,6 +236,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         // get the file status again, and we simply ignore that file.
         if (!(e instanceof FileNotFoundException || e instanceof NotFoundRuntimeException)) {
           mRetrySubTasks.offer(subTask);
+        } else if (mIncrementalTracker != null) {
+          mIncrementalTracker.onFileFailed(path);
         }
       }
     }
@@ -212,6 +248,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
         }
         else {
           mCurrentSubTaskIterator = initSubTaskIterator(workers);
+          continue;
         }
       }
       batchBuilder.add(mCurrentSubTaskIterator.next());
@@ -228,8 +265,11 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
   }
 
   private Iterator<LoadSubTask> initSubTaskIterator(Set<WorkerInfo> workers) {
-
-    return createSubTasks(mUfsStatusIterator.next(), workers).listIterator();
+    UfsStatus ufsStatus = mUfsStatusIterator.next();
+    if (mIncrementalTracker != null && mIncrementalTracker.skipIfUnchanged(ufsStatus)) {
+      return Collections.emptyIterator();
+    }
+    return createSubTasks(ufsStatus, workers).listIterator();
   }
 
   private Map<WorkerInfo, DoraLoadTask> aggregateSubTasks(List<LoadSubTask> subTasks) {
@@ -273,6 +313,9 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     List<LoadSubTask> subTasksWithWorker = assignSubtasksToWorkers(subTasks, workers, mNumReplica);
     mTotalByteCount.addAndGet(subTasksWithWorker.stream().mapToLong(LoadSubTask::getLength).sum());
     mProcessingSubTasksCount.addAndGet(subTasksWithWorker.size());
+    if (mIncrementalTracker != null) {
+      mIncrementalTracker.onListed(ufsStatus, subTasksWithWorker.size());
+    }
     return subTasksWithWorker;
   }
 
@@ -281,14 +324,115 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     ImmutableList.Builder<LoadSubTask> replicaSubTasks = new ImmutableList.Builder<>();
     for (LoadSubTask subTask : subTasks) {
       List<WorkerInfo> pickedWorkers =
-          mWorkerAssignPolicy.pickWorkers(subTask.asString(), workers, numReplica);
+          mWorkerAssignPolicy.pickWorkers(subTask.getPlacementKey(), workers, numReplica);
       for (int i = 0; i < numReplica; i++) {
-        replicaSubTasks.add(subTask.copy().setWorkerInfo(pickedWorkers.get(i)));
+        replicaSubTasks.add(subTask.copy().setWorkerInfo(pickedWorkers.get(i)).setReplicaIndex(i));
       }
     }
     return replicaSubTasks.build();
   }
 
+  /**
+   * Places the pending subtasks again when the workers change, so that they are still loaded on
+   * the workers the clients read them from.
+   *
+   * @param workers the current workers
+   */
+  private void updatePlacement(Set<WorkerInfo> workers) {
+    Set<WorkerIdentity> workerIds =
+        workers.stream().map(WorkerInfo::getIdentity).collect(Collectors.toSet());
+    if (workerIds.equals(mPlacementWorkerIds)) {
+      return;
+    }
+    mPlacementWorkers = workers;
+    mPlacementWorkerIds = workerIds;
+    if (workers.isEmpty()) {
+      return;
+    }
+    int replaced = 0;
+    // the tasks which could not be submitted are bound to the workers of the previous placement
+    for (DoraLoadTask task : mRetryTaskList) {
+      mRetrySubTasks.addAll(task.getSubTasks());
+      replaced += task.getSubTasks().size();
+    }
+    mRetryTaskList.clear();
+    if (mCurrentSubTaskIterator != null && mCurrentSubTaskIterator.hasNext()) {
+      List<LoadSubTask> pending = new ArrayList<>();
+      mCurrentSubTaskIterator.forEachRemaining(pending::add);
+      pending.forEach(this::placeSubTask);
+      mCurrentSubTaskIterator = pending.iterator();
+      replaced += pending.size();
+    }
+    // the subtasks to retry are placed when they are picked up again
+    if (replaced > 0) {
+      LOG.info("Workers of job {} changed to {}, placing {} pending subtasks again",
+          mJobId, workers.size(), replaced);
+    }
+  }
+
+  /**
+   * Assigns a subtask to the worker of its replica on the hash ring of the current workers.
+   *
+   * @param subTask the subtask
+   */
+  private void placeSubTask(LoadSubTask subTask) {
+    Set<WorkerInfo> workers = mPlacementWorkers;
+    List<WorkerInfo> owners = mWorkerAssignPolicy.pickWorkers(subTask.getPlacementKey(),
+        workers, Math.min(mNumReplica, workers.size()));
+    if (owners.isEmpty()) {
+      return;
+    }
+    int replicaIndex = subTask.getReplicaIndex();
+    if (replicaIndex < 0) {
+      // a subtask rebuilt from a failure is a replica of the worker it failed on
+      replicaIndex = Math.max(0, indexOf(owners, subTask.getWorkerInfo()));
+      subTask.setReplicaIndex(replicaIndex);
+    }
+    subTask.setWorkerInfo(owners.get(Math.min(replicaIndex, owners.size() - 1)));
+  }
+
+  private static int indexOf(List<WorkerInfo> workers, @Nullable WorkerInfo worker) {
+    if (worker != null) {
+      for (int i = 0; i < workers.size(); i++) {
+        if (workers.get(i).getIdentity().equals(worker.getIdentity())) {
+          return i;
+        }
+      }
+    }
+    return -1;
+  }
+
+  /**
+   * Records how many subtasks of a completed task ran on a worker which owns them on the hash
+   * ring of the current workers, i.e. where the clients will read them.
+   *
+   * @param task the completed task
+   */
+  private void recordPlacement(DoraLoadTask task) {
+    Set<WorkerInfo> workers = mPlacementWorkers;
+    WorkerInfo worker = task.getMyRunningWorker();
+    if (workers.isEmpty() || worker == null) {
+      return;
+    }
+    int numReplica = Math.min(mNumReplica, workers.size());
+    String lastKey = null;
+    boolean placed = false;
+    long placedCount = 0;
+    for (LoadSubTask subTask : task.getSubTasks()) {
+      // the subtasks of a file are next to each other and share the same placement key
+      if (!subTask.getPlacementKey().equals(lastKey)) {
+        lastKey = subTask.getPlacementKey();
+        placed = indexOf(mWorkerAssignPolicy.pickWorkers(lastKey, workers, numReplica),
+            worker) >= 0;
+      }
+      if (placed) {
+        placedCount++;
+      }
+    }
+    mRunSubTasksCount.addAndGet(task.getSubTasks().size());
+    mPlacedSubTasksCount.addAndGet(placedCount);
+  }
+
   /**
    * Get load file path.
    * @return file path
@@ -306,6 +450,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
    * Get bandwidth.
    * @return the allocated bandwidth
    */
+  @Override
   public OptionalLong getBandwidth() {
     return mBandwidth;
   }
@@ -320,10 +465,26 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     mFailedReason = Optional.of(reason);
     JOB_LOAD_FAIL.inc();
     LOG.info("Load Job {} fails with status: {}", mJobId, this);
+    if (mIncrementalTracker != null) {
+      // keep the files loaded so far so that the next run does not load them again, the job
+      // has failed whether or not they can be kept
+      try {
+        getJobMetaStore().ifPresent(store -> store.updateLoadManifest(
+            mLoadPath, mIncrementalTracker.drainLoadedFiles(), true));
+      } catch (RuntimeException e) {
+        LOG.warn("Failed to update the load manifest of {} for failed job {}", mLoadPath, mJobId,
+            e);
+      }
+    }
   }
 
   @Override
   public void setJobSuccess() {
+    if (mIncrementalTracker != null) {
+      // the listing is complete, so the manifest no longer keeps the files which were deleted
+      getJobMetaStore().ifPresent(store -> store.updateLoadManifest(
+          mLoadPath, mIncrementalTracker.getManifest(), false));
+    }
     setJobState(JobState.SUCCEEDED, true);
     JOB_LOAD_SUCCESS.inc();
     LOG.info("Load Job {} succeeds with status {}", mJobId, this);
@@ -376,6 +537,9 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     mFailedFiles.put(fileUfsPath,
         format("Status code: %s, message: %s", type, message));
     LOAD_FAIL_COUNT.inc();
+    if (mIncrementalTracker != null) {
+      mIncrementalTracker.onFileFailed(fileUfsPath);
+    }
   }
 
   @Override
@@ -432,6 +596,13 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     List<DoraLoadTask> list = new ArrayList<>();
     if (mPreparingTasks.compareAndSet(false, true)) {
       try {
+        if (mIncremental && mIncrementalTracker == null) {
+          mIncrementalTracker = new IncrementalLoadTracker(getJobMetaStore()
+              .flatMap(store -> store.getLoadManifest(mLoadPath))
+              .orElse(LoadManifest.empty()), mListingCheckpoint);
+        }
+        checkpointIfNeeded();
+        updatePlacement(workers);
         Iterator<DoraLoadTask> it = mRetryTaskList.iterator();
         if (it.hasNext()) {
           DoraLoadTask task = it.next();
@@ -441,7 +612,7 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
           it.remove();
           return Collections.unmodifiableList(list);
         }
-        list = prepareNextTasks(workers);
+        list = prepareNextTasks(mPlacementWorkers);
         return Collections.unmodifiableList(list);
       } finally {
         mPreparingTasks.compareAndSet(true, false);
@@ -450,6 +621,29 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     return list;
   }
 
+  /**
+   * Journals the files loaded since the last checkpoint of an incremental job, and the position of
+   * its listing, so that a job restarted by a failover goes on from there.
+   */
+  private void checkpointIfNeeded() {
+    long now = System.currentTimeMillis();
+    if (mIncrementalTracker == null || now - mLastCheckpointMs < CHECKPOINT_INTERVAL_MS) {
+      return;
+    }
+    mLastCheckpointMs = now;
+    getJobMetaStore().ifPresent(store -> {
+      LoadManifest loaded = mIncrementalTracker.drainLoadedFiles();
+      if (loaded.size() > 0) {
+        store.updateLoadManifest(mLoadPath, loaded, true);
+      }
+      store.updateJob(this);
+    });
+  }
+
+  private static Optional<JobMetaStore> getJobMetaStore() {
+    return Optional.ofNullable(Scheduler.getInstance()).map(Scheduler::getJobMetaStore);
+  }
+
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
@@ -490,6 +684,14 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     mUser.ifPresent(jobEntry::setUser);
     mBandwidth.ifPresent(jobEntry::setBandwidth);
     mEndTime.ifPresent(jobEntry::setEndTime);
+    if (mIncremental) {
+      jobEntry.setIncremental(true);
+      Optional<String> checkpoint = mIncrementalTracker == null
+          ? Optional.ofNullable(mListingCheckpoint) : mIncrementalTracker.getCheckpoint();
+      if (mUfs.isObjectStorage()) {
+        checkpoint.ifPresent(jobEntry::setListingCheckpoint);
+      }
+    }
     return Journal.JournalEntry
         .newBuilder()
         .setLoadJob(jobEntry.build())
@@ -514,6 +716,13 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
                                           .orElse(0L);
       // what if timeout ? job needs to proactively check or task needs to be aware
       LoadFileResponse response = doraLoadTask.getResponseFuture().get();
+      recordPlacement(doraLoadTask);
+      // the number of subtasks of each file which succeeded, for incremental jobs
+      Map<String, Integer> succeededSubTasks = new HashMap<>();
+      if (mIncrementalTracker != null) {
+        doraLoadTask.getSubTasks().forEach(
+            subTask -> succeededSubTasks.merge(subTask.getUfsPath(), 1, Integer::sum));
+      }
       if (response.getStatus() != TaskStatus.SUCCESS) {
         LOG.warn(format("[DistributedLoad] Get failure from worker:%s, failed files:%s",
             doraLoadTask.getMyRunningWorker(), response.getFailuresList()));
@@ -522,7 +731,9 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
             totalLoadedBytes -= failure.getSubtask().getLoadDataSubtask().getLength();
           }
           String status = Status.fromCodeValue(failure.getCode()).toString();
-          LoadSubTask subTask = LoadSubTask.from(failure, mVirtualBlockSize);
+          LoadSubTask subTask = LoadSubTask.from(failure, mVirtualBlockSize)
+              .setWorkerInfo(doraLoadTask.getMyRunningWorker());
+          succeededSubTasks.computeIfPresent(subTask.getUfsPath(), (path, count) -> count - 1);
           if (!isHealthy() || !failure.getRetryable() || !addSubTaskToRetry(subTask, status,
               failure.getMessage())) {
             addFileFailure(
@@ -544,6 +755,9 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       LOAD_FILE_COUNT.inc(totalLoadedInodes);
       mSkippedBlocksCount.addAndGet(response.getNumSkipped());
       mSkippedByteCount.addAndGet(response.getBytesSkipped());
+      if (mIncrementalTracker != null) {
+        succeededSubTasks.forEach(mIncrementalTracker::onSubTasksSucceeded);
+      }
       return response.getStatus() != TaskStatus.FAILURE;
     }
     catch (ExecutionException e) {
@@ -615,6 +829,11 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       mSubTasks.add(subTask);
     }
 
+    @Override
+    public long getEstimatedBytes() {
+      return mSubTasks.stream().mapToLong(LoadSubTask::getLength).sum();
+    }
+
     @Override
     protected ListenableFuture<LoadFileResponse> run(BlockWorkerClient workerClient) {
       LOG.debug("Start running task:{} on worker:{}", this, getMyRunningWorker());
@@ -666,6 +885,8 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
     private final Map<String, String> mFailedFilesWithReasons;
     private final boolean mSkipIfExists;
     private final boolean mMetadataOnly;
+    private final Double mPlacementAccuracy;
+    private final Long mUnchangedFileCount;
 
     /**
      * Constructor.
@@ -706,6 +927,11 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
       mSkippedByteCount = job.mSkippedByteCount.get();
       mSkipIfExists = job.mSkipIfExists;
       mMetadataOnly = job.mLoadMetadataOnly;
+      long runSubTasks = job.mRunSubTasksCount.get();
+      mPlacementAccuracy = runSubTasks > 0
+          ? (double) job.mPlacedSubTasksCount.get() / runSubTasks * 100 : null;
+      mUnchangedFileCount = job.mIncrementalTracker == null
+          ? null : job.mIncrementalTracker.getUnchangedFileCount();
     }
 
     public String getReport(JobProgressReportFormat format)
@@ -756,6 +982,12 @@ public class DoraLoadJob extends AbstractJob<DoraLoadJob.DoraLoadTask> {
             mTotalByteCount == null
                 ? "" : format(" out of %s", FormatUtils.getSizeFromBytes(mTotalByteCount))));
       }
+      if (mPlacementAccuracy != null) {
+        progress.append(format("\tPlacement Accuracy: %.2f%%%n", mPlacementAccuracy));
+      }
+      if (mUnchangedFileCount != null) {
+        progress.append(format("\tFiles Unchanged: %d%n", mUnchangedFileCount));
+      }
       progress.append(format("\tFiles Failed: %s%n", mFailedFileCount));
       if (mVerbose && mFailedFilesWithReasons != null) {
         mFailedFilesWithReasons.forEach((fileName, reason) ->
@@ -12,45 +12,55 @@
 package alluxio.master.job;
 
 import alluxio.client.block.BlockWorkerInfo;
-import alluxio.client.file.dora.ConsistentHashPolicy;
+import alluxio.client.file.dora.WorkerPlacement;
 import alluxio.conf.Configuration;
 import alluxio.exception.runtime.ResourceExhaustedRuntimeException;
 import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.wire.WorkerIdentity;
 import alluxio.wire.WorkerInfo;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 import javax.annotation.Nullable;
 
 /**
  * Policy which employs Hash-Based algorithm to select worker from given workers set.
+ * The workers are picked by the same {@link WorkerPlacement} as the clients, so that an object
+ * keyed by a ufs path is assigned to the workers the clients read the path from.
  */
 public class HashBasedWorkerAssignPolicy implements WorkerAssignPolicy {
-  ConsistentHashPolicy mWorkerLocationPolicy = new ConsistentHashPolicy(Configuration.global());
+  private final WorkerPlacement mPlacement = new WorkerPlacement(Configuration.global());
+  // the workers of the last call, jobs usually pick workers for many objects from the same set
+  @Nullable
+  private Set<WorkerInfo> mLastWorkerInfos;
+  private List<BlockWorkerInfo> mCandidates;
+  private Map<WorkerIdentity, WorkerInfo> mIdentityToWorker;
 
   @Override
-  public List<WorkerInfo> pickWorkers(String object, @Nullable Set<WorkerInfo> workerInfos,
-      int count) {
+  public synchronized List<WorkerInfo> pickWorkers(String object,
+      @Nullable Set<WorkerInfo> workerInfos, int count) {
     if (workerInfos == null) {
       return Collections.emptyList();
     }
-    List<BlockWorkerInfo> candidates = workerInfos.stream()
-        .map(w -> new BlockWorkerInfo(w.getIdentity(),
-            w.getAddress(), w.getCapacityBytes(), w.getUsedBytes()))
-        .collect(Collectors.toList());
+    if (workerInfos != mLastWorkerInfos) {
+      mCandidates = workerInfos.stream()
+          .map(w -> new BlockWorkerInfo(w.getIdentity(),
+              w.getAddress(), w.getCapacityBytes(), w.getUsedBytes()))
+          .collect(Collectors.toList());
+      mIdentityToWorker = new HashMap<>();
+      workerInfos.forEach(w -> mIdentityToWorker.put(w.getIdentity(), w));
+      mLastWorkerInfos = workerInfos;
+    }
     try {
-      List<BlockWorkerInfo> blockWorkerInfo = mWorkerLocationPolicy
-              .getPreferredWorkers(candidates, object, count);
-      ArrayList workers = new ArrayList<>();
-      for (int i = 0; i < count; i++) {
-        int finalI = i;
-        WorkerInfo returnWorker = workerInfos.stream().filter(workerInfo ->
-              workerInfo.getIdentity().equals(blockWorkerInfo.get(finalI).getIdentity()))
-                                             .findFirst().get();
-        workers.add(returnWorker);
+      List<BlockWorkerInfo> picked = mPlacement.getWorkers(mCandidates, object, count);
+      List<WorkerInfo> workers = new ArrayList<>(picked.size());
+      for (BlockWorkerInfo worker : picked) {
+        workers.add(mIdentityToWorker.get(worker.getIdentity()));
       }
       return workers;
     } catch (ResourceExhaustedException e) {
@@ -0,0 +1,165 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.job;
+
+import alluxio.scheduler.job.LoadManifest;
+import alluxio.underfs.UfsStatus;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Tracks the files of an incremental load job. The files unchanged since the last load of the
+ * path are skipped, and the files loaded are recorded for the manifest of the path.
+ *
+ * A file is loaded once all its subtasks succeeded. The listing checkpoint only moves past the
+ * files which are loaded or unchanged in listing order, and stops for good at the first file which
+ * fails, so that a job resumed from the checkpoint does not skip the files which were not loaded.
+ */
+@ThreadSafe
+public final class IncrementalLoadTracker {
+  private final LoadManifest mPreviousManifest;
+  private final boolean mResumed;
+  /** The files being loaded, in listing order. */
+  private final LinkedHashMap<String, ListedFile> mLoadingFiles = new LinkedHashMap<>();
+  /** The files loaded since the last time they were drained. */
+  private LoadManifest.Builder mLoadedFiles = new LoadManifest.Builder();
+  /** The files listed by the job which are unchanged or loaded. */
+  private final LoadManifest.Builder mListedFiles = new LoadManifest.Builder();
+  @Nullable
+  private String mCheckpoint;
+  private boolean mCheckpointFrozen = false;
+  private long mUnchangedFileCount = 0;
+
+  /**
+   * @param previousManifest the manifest of the previous loads of the path
+   * @param checkpoint the listing checkpoint the job resumes from, or null if it starts over
+   */
+  public IncrementalLoadTracker(LoadManifest previousManifest, @Nullable String checkpoint) {
+    mPreviousManifest = previousManifest;
+    mResumed = checkpoint != null;
+    mCheckpoint = checkpoint;
+  }
+
+  /**
+   * @param status the status of a listed file
+   * @return whether the file is unchanged since it was last loaded, in which case it is skipped
+   */
+  public synchronized boolean skipIfUnchanged(UfsStatus status) {
+    if (!mPreviousManifest.contains(status)) {
+      return false;
+    }
+    mUnchangedFileCount++;
+    mListedFiles.add(status);
+    mLoadingFiles.put(status.getUfsFullPath().toString(), new ListedFile(status, 0));
+    advanceCheckpoint();
+    return true;
+  }
+
+  /**
+   * @param status the status of a listed file which is loaded
+   * @param numSubTasks the number of subtasks loading the file
+   */
+  public synchronized void onListed(UfsStatus status, int numSubTasks) {
+    Preconditions.checkArgument(numSubTasks > 0, "a loaded file has at least one subtask");
+    mLoadingFiles.put(status.getUfsFullPath().toString(), new ListedFile(status, numSubTasks));
+  }
+
+  /**
+   * @param ufsPath the ufs path of the file
+   * @param count the number of subtasks of the file which succeeded
+   */
+  public synchronized void onSubTasksSucceeded(String ufsPath, int count) {
+    ListedFile file = mLoadingFiles.get(ufsPath);
+    if (file == null || count <= 0 || file.mRemainingSubTasks == 0) {
+      return;
+    }
+    file.mRemainingSubTasks = Math.max(0, file.mRemainingSubTasks - count);
+    if (file.mRemainingSubTasks == 0) {
+      mLoadedFiles.add(file.mStatus);
+      mListedFiles.add(file.mStatus);
+      advanceCheckpoint();
+    }
+  }
+
+  /**
+   * @param ufsPath the ufs path of a file which could not be loaded
+   */
+  public synchronized void onFileFailed(String ufsPath) {
+    if (mLoadingFiles.remove(ufsPath) != null) {
+      mCheckpointFrozen = true;
+      advanceCheckpoint();
+    }
+  }
+
+  private void advanceCheckpoint() {
+    Iterator<Map.Entry<String, ListedFile>> it = mLoadingFiles.entrySet().iterator();
+    while (it.hasNext()) {
+      Map.Entry<String, ListedFile> entry = it.next();
+      if (entry.getValue().mRemainingSubTasks > 0) {
+        return;
+      }
+      if (!mCheckpointFrozen) {
+        mCheckpoint = entry.getKey();
+      }
+      it.remove();
+    }
+  }
+
+  /**
+   * @return the last ufs path in listing order up to which all the files were loaded
+   */
+  public synchronized Optional<String> getCheckpoint() {
+    return Optional.ofNullable(mCheckpoint);
+  }
+
+  /**
+   * @return the files loaded since the last call
+   */
+  public synchronized LoadManifest drainLoadedFiles() {
+    LoadManifest loaded = mLoadedFiles.build();
+    mLoadedFiles = new LoadManifest.Builder();
+    return loaded;
+  }
+
+  /**
+   * @return the manifest of the path once the job is done, which only keeps the files of the
+   *         previous manifest which are still listed unless the listing was resumed
+   */
+  public synchronized LoadManifest getManifest() {
+    LoadManifest listed = mListedFiles.build();
+    return mResumed ? mPreviousManifest.merge(listed) : listed;
+  }
+
+  /**
+   * @return the number of files skipped because they are unchanged
+   */
+  public synchronized long getUnchangedFileCount() {
+    return mUnchangedFileCount;
+  }
+
+  private static final class ListedFile {
+    private final UfsStatus mStatus;
+    private int mRemainingSubTasks;
+
+    ListedFile(UfsStatus status, int remainingSubTasks) {
+      mStatus = status;
+      mRemainingSubTasks = remainingSubTasks;
+    }
+  }
+}
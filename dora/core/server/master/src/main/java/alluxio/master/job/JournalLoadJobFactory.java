@@ -69,15 +69,22 @@ public class JournalLoadJobFactory implements JobFactory {
         fileFilterRegx = Optional.of(regxPatternStr);
       }
     }
+    // only object stores list in the order of the keys, so the checkpoint of other ufses is
+    // neither journaled nor used, and the manifest alone avoids loading the files again
+    String listingCheckpoint = mJobEntry.getIncremental() && mJobEntry.hasListingCheckpoint()
+        && ufs.isObjectStorage() ? mJobEntry.getListingCheckpoint() : null;
     Iterable<UfsStatus> iterable = new UfsStatusIterable(ufs, path,
         Optional.ofNullable(AuthenticatedClientUser.getOrNull()).map(User::getName),
-        predicate);
+        predicate, listingCheckpoint);
     Optional<String> user =
         mJobEntry.hasUser() ? Optional.of(mJobEntry.getUser()) : Optional.empty();
     DoraLoadJob job = new DoraLoadJob(path, user, mJobEntry.getJobId(),
         mJobEntry.hasBandwidth() ? OptionalLong.of(mJobEntry.getBandwidth()) : OptionalLong.empty(),
         mJobEntry.getPartialListing(), mJobEntry.getVerify(), mJobEntry.getLoadMetadataOnly(),
         mJobEntry.getSkipIfExists(), fileFilterRegx, iterable.iterator(), ufs, 1);
+    if (mJobEntry.getIncremental()) {
+      job.setIncremental(listingCheckpoint);
+    }
     job.setJobState(JobState.fromProto(mJobEntry.getState()), false);
     if (mJobEntry.hasEndTime()) {
       job.setEndTime(mJobEntry.getEndTime());
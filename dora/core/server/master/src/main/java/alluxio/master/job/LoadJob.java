@@ -171,6 +171,7 @@ public class LoadJob extends AbstractJob<LoadJob.LoadTask> {
    * Get bandwidth.
    * @return the allocated bandwidth
    */
+  @Override
   public OptionalLong getBandwidth() {
     return mBandwidth;
   }
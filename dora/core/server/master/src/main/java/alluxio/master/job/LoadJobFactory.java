@@ -82,9 +82,13 @@ public class LoadJobFactory implements JobFactory {
     Iterable<UfsStatus> iterable = new UfsStatusIterable(ufs, path,
         Optional.ofNullable(AuthenticatedClientUser.getOrNull()).map(User::getName),
         predicate);
-    return new DoraLoadJob(path, user, UUID.randomUUID().toString(), bandwidth, partialListing,
-        verificationEnabled, options.getLoadMetadataOnly(), options.getSkipIfExists(),
-        fileFilterRegx, iterable.iterator(), ufs, 1);
+    DoraLoadJob job = new DoraLoadJob(path, user, UUID.randomUUID().toString(), bandwidth,
+        partialListing, verificationEnabled, options.getLoadMetadataOnly(),
+        options.getSkipIfExists(), fileFilterRegx, iterable.iterator(), ufs, 1);
+    if (options.getIncremental()) {
+      job.setIncremental(null);
+    }
+    return job;
   }
 }
 
@@ -23,6 +23,7 @@ public abstract class LoadSubTask implements ShardKey {
   protected UfsStatus mUfsStatus;
   protected ShardKey mHashKey;
   private WorkerInfo mWorkerInfo;
+  private int mReplicaIndex = -1;
 
   LoadSubTask(UfsStatus ufsStatus) {
     mUfsStatus = ufsStatus;
@@ -45,6 +46,14 @@ public abstract class LoadSubTask implements ShardKey {
     return mUfsStatus.getUfsFullPath().toString();
   }
 
+  /**
+   * @return the key placing the subtask on the workers, the same for all the subtasks of a file
+   *         since clients read a file through the workers of its ufs path
+   */
+  public String getPlacementKey() {
+    return getUfsPath();
+  }
+
   /**
    * @return whether it's load metadata task or it's load data task
    */
@@ -68,6 +77,23 @@ public abstract class LoadSubTask implements ShardKey {
     return this;
   }
 
+  /**
+   * @return the index of the replica of the subtask among the workers of its placement key, or
+   *         -1 if unknown
+   */
+  public int getReplicaIndex() {
+    return mReplicaIndex;
+  }
+
+  /**
+   * @param replicaIndex the index of the replica among the workers of the placement key
+   * @return the subtask
+   */
+  public LoadSubTask setReplicaIndex(int replicaIndex) {
+    mReplicaIndex = replicaIndex;
+    return this;
+  }
+
   /**
    * @param loadFailure      the subtask failure from worker
    * @param virtualBlockSize the virtual block size
@@ -169,6 +169,7 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
    * Get bandwidth.
    * @return the allocated bandwidth
    */
+  @Override
   public OptionalLong getBandwidth() {
     return mBandwidth;
   }
@@ -515,6 +516,12 @@ public class MoveJob extends AbstractJob<MoveJob.MoveTask> {
     }
   }
 
+  @Override
+  public boolean canRunTasksOnAnyWorker() {
+    // the routes of a task are not tied to the worker it was assigned to
+    return true;
+  }
+
   @Override
   public boolean hasFailure() {
     return !mFailedFiles.isEmpty();
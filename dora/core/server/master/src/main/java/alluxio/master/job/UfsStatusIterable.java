@@ -20,6 +20,7 @@ import alluxio.security.authentication.AuthenticatedClientUser;
 import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.options.ListOptions;
+import alluxio.util.CommonUtils;
 
 import com.google.common.collect.Iterators;
 
@@ -27,6 +28,7 @@ import java.io.IOException;
 import java.util.Iterator;
 import java.util.Optional;
 import java.util.function.Predicate;
+import javax.annotation.Nullable;
 
 /**
  * Iterable for listing {@link UfsStatus} from {@link UnderFileSystem}.
@@ -37,6 +39,8 @@ public class UfsStatusIterable implements Iterable<UfsStatus> {
   private final String mPath;
   private final Optional<String> mUser;
   private final Predicate<UfsStatus> mFilter;
+  @Nullable
+  private final String mStartAfter;
   private AlluxioURI mRootUri;
 
   /**
@@ -49,10 +53,26 @@ public class UfsStatusIterable implements Iterable<UfsStatus> {
    */
   public UfsStatusIterable(UnderFileSystem fs, String path, Optional<String> user,
       Predicate<UfsStatus> filter) {
+    this(fs, path, user, filter, null);
+  }
+
+  /**
+   * Creates a new instance of {@link UfsStatusIterable} listing the files after a given one.
+   * Only object stores list in the order of the keys, other ufses ignore the start point.
+   *
+   * @param fs   under file system
+   * @param path path to list
+   * @param user user to list as
+   * @param filter filter to apply to the listing
+   * @param startAfter the ufs path to list after, or null to list from the start
+   */
+  public UfsStatusIterable(UnderFileSystem fs, String path, Optional<String> user,
+      Predicate<UfsStatus> filter, @Nullable String startAfter) {
     mUfs = requireNonNull(fs, "fileSystem is null");
     mPath = requireNonNull(path, "path is null");
     mUser = requireNonNull(user, "user is null");
     mFilter = filter;
+    mStartAfter = fs.isObjectStorage() ? startAfter : null;
     mRootUri = new AlluxioURI(mPath);
   }
 
@@ -65,19 +85,41 @@ public class UfsStatusIterable implements Iterable<UfsStatus> {
         rootUfsStatus.setUfsFullPath(mRootUri);
         return Iterators.filter(Iterators.singletonIterator(rootUfsStatus), mFilter::test);
       }
-      Iterator<UfsStatus> statuses =
-          mUfs.listStatusIterable(mPath, ListOptions.defaults().setRecursive(true), null, 0);
+      Iterator<UfsStatus> statuses = listStatus();
       if (statuses == null) {
         throw new InternalRuntimeException("Get null when listing directory: " + mPath);
       }
       else {
-        return Iterators.transform(Iterators.filter(statuses, mFilter::test), (it) -> {
-          it.setUfsFullPath(mRootUri.join(it.getName()));
-          return it;
-        });
+        Iterator<UfsStatus> files =
+            Iterators.transform(Iterators.filter(statuses, mFilter::test), (it) -> {
+              it.setUfsFullPath(mRootUri.join(it.getName()));
+              return it;
+            });
+        if (mStartAfter == null) {
+          return files;
+        }
+        // in case the ufs listed from the start
+        return Iterators.filter(files,
+            it -> it.getUfsFullPath().toString().compareTo(mStartAfter) > 0);
       }
     } catch (IOException e) {
       throw AlluxioRuntimeException.from(e);
     }
   }
+
+  private Iterator<UfsStatus> listStatus() throws IOException {
+    ListOptions options = ListOptions.defaults().setRecursive(true);
+    if (mStartAfter == null) {
+      return mUfs.listStatusIterable(mPath, options, null, 0);
+    }
+    // the object stores take the key of the object to start after
+    String startAfterKey = CommonUtils.stripPrefixIfPresent(
+        new AlluxioURI(mStartAfter).getPath(), AlluxioURI.SEPARATOR);
+    try {
+      return mUfs.listStatusIterable(mPath, options, startAfterKey, 0);
+    } catch (UnsupportedOperationException e) {
+      // not every object store can start a listing after a key
+      return mUfs.listStatusIterable(mPath, options, null, 0);
+    }
+  }
 }
@@ -120,6 +120,10 @@ public final class CachingInodeStore implements InodeStore, Closeable {
   @VisibleForTesting
   final ListingCache mListingCache;
 
+  // Serialized copies of inodes evicted from the inode cache, or null if disabled.
+  @Nullable
+  private final OffHeapInodeCache mOffHeapInodeCache;
+
   // Starts true, but becomes permanently false if we ever need to spill metadata to the backing
   // store. When true, we can optimize lookups for non-existent inodes because we don't need to
   // check the backing store. We can also optimize getChildren by skipping the range query on the
@@ -157,6 +161,8 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     mInodeCache = new InodeCache(cacheConf);
     mEdgeCache = new EdgeCache(cacheConf);
     mListingCache = new ListingCache(cacheConf);
+    long offHeapSize = conf.getBytes(PropertyKey.MASTER_METASTORE_INODE_CACHE_OFF_HEAP_SIZE);
+    mOffHeapInodeCache = offHeapSize > 0 ? new OffHeapInodeCache(offHeapSize) : null;
     if (conf.getBoolean(PropertyKey.MASTER_METRICS_HEAP_ENABLED)) {
       MetricsSystem.registerCachedGaugeIfAbsent(MetricKey.MASTER_INODE_HEAP_SIZE.getName(),
           () -> {
@@ -202,9 +208,22 @@ public final class CachingInodeStore implements InodeStore, Closeable {
   public void clear() {
     mInodeCache.clear();
     mEdgeCache.clear();
+    clearOffHeapInodeCache();
     mBackingStore.clear();
   }
 
+  private void clearOffHeapInodeCache() {
+    if (mOffHeapInodeCache != null) {
+      mOffHeapInodeCache.clear();
+    }
+  }
+
+  private void invalidateOffHeapInode(long id) {
+    if (mOffHeapInodeCache != null) {
+      mOffHeapInodeCache.invalidate(id);
+    }
+  }
+
   @Override
   public void addChild(long parentId, String childName, Long childId) {
     mEdgeCache.put(new Edge(parentId, childName), childId);
@@ -259,6 +278,9 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     closer.register(mBackingStore);
     closer.register(mInodeCache);
     closer.register(mEdgeCache);
+    if (mOffHeapInodeCache != null) {
+      closer.register(mOffHeapInodeCache);
+    }
     try {
       closer.close();
     } catch (IOException e) {
@@ -305,6 +327,7 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       mInodeCache.clear();
       mEdgeCache.clear();
       mListingCache.clear();
+      clearOffHeapInodeCache();
       mBackingStore.restoreFromCheckpoint(directory, executorService).join();
       mBackingStoreEmpty = false;
     }, executorService);
@@ -315,6 +338,7 @@ public final class CachingInodeStore implements InodeStore, Closeable {
     mInodeCache.clear();
     mEdgeCache.clear();
     mListingCache.clear();
+    clearOffHeapInodeCache();
     mBackingStore.restoreFromCheckpoint(input);
     mBackingStoreEmpty = false;
   }
@@ -326,6 +350,10 @@ public final class CachingInodeStore implements InodeStore, Closeable {
    * synchronization for operations on the same inode id. All inodes modifications must hold at
    * least an mLockManager read lock on the modified inode. This allows the cache to flush inodes
    * asynchronously by acquiring a write lock before serializing the inode.
+   * <p>
+   * When the off-heap inode cache is enabled, evicted inodes are copied to it, and inodes are
+   * loaded from it before the backing store. Since it holds copies of the backing store, inodes
+   * are invalidated there before being written to the backing store.
    */
   @VisibleForTesting
   class InodeCache extends Cache<Long, MutableInode<?>> {
@@ -358,22 +386,45 @@ public final class CachingInodeStore implements InodeStore, Closeable {
       if (mBackingStoreEmpty) {
         return Optional.empty();
       }
+      if (mOffHeapInodeCache != null) {
+        Optional<MutableInode<?>> inode = mOffHeapInodeCache.get(id);
+        if (inode.isPresent()) {
+          return inode;
+        }
+      }
       return mBackingStore.getMutable(id, ReadOption.defaults());
     }
 
     @Override
     protected void writeToBackingStore(Long key, MutableInode<?> value) {
       mBackingStoreEmpty = false;
+      invalidateOffHeapInode(key);
       mBackingStore.writeInode(value);
     }
 
     @Override
     protected void removeFromBackingStore(Long key) {
       if (!mBackingStoreEmpty) {
+        invalidateOffHeapInode(key);
         mBackingStore.remove(key);
       }
     }
 
+    @Override
+    protected void onEvict(Long id, @Nullable MutableInode<?> inode) {
+      if (mOffHeapInodeCache == null || inode == null) {
+        return;
+      }
+      // Like flushing, serializing the inode requires that it is not being modified
+      Optional<RWLockResource> lockOpt = mLockManager.tryLockInode(id, LockMode.WRITE);
+      if (!lockOpt.isPresent()) {
+        return;
+      }
+      try (LockResource lr = lockOpt.get()) {
+        mOffHeapInodeCache.put(inode);
+      }
+    }
+
     @Override
     protected void flushEntries(List<Entry> entries) {
       mBackingStoreEmpty = false;
@@ -386,6 +437,7 @@ public final class CachingInodeStore implements InodeStore, Closeable {
             continue;
           }
           try (LockResource lr = lockOpt.get()) {
+            invalidateOffHeapInode(inodeId);
             if (entry.mValue == null) {
               if (useBatch) {
                 batch.removeInode(inodeId);
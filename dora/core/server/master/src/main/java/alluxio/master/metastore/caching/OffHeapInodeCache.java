@@ -0,0 +1,208 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import alluxio.master.file.meta.MutableInode;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.proto.meta.InodeMeta;
+import alluxio.util.io.BufferUtils;
+
+import com.codahale.metrics.Counter;
+import com.google.common.base.Preconditions;
+import com.google.protobuf.InvalidProtocolBufferException;
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import javax.annotation.concurrent.GuardedBy;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A cache of serialized inodes in direct memory, between the on-heap inode cache of the
+ * {@link CachingInodeStore} and its backing store.
+ * <p>
+ * Inodes are appended to a ring of fixed-size segments. When the current segment is full, the
+ * oldest segment is reused and the inodes written to it are dropped, so the memory used is bounded
+ * by bytes no matter how large the inodes are. Only the position of each inode is kept on the heap,
+ * and inodes are deserialized when they are read.
+ * <p>
+ * The cache only holds copies of inodes which are in the backing store. An inode must be
+ * invalidated before it is changed or removed in the backing store.
+ */
+@ThreadSafe
+final class OffHeapInodeCache implements Closeable {
+  private static final Logger LOG = LoggerFactory.getLogger(OffHeapInodeCache.class);
+  private static final int NUM_SEGMENTS = 16;
+
+  private final int mSegmentSize;
+  /** Maps inode ids to their positions, with the segment in the high bits. */
+  private final Map<Long, Long> mPositions = new ConcurrentHashMap<>();
+  /** Held to read a segment, and exclusively to reuse it. */
+  private final ReentrantReadWriteLock mSegmentLock = new ReentrantReadWriteLock();
+  private final ByteBuffer[] mSegments = new ByteBuffer[NUM_SEGMENTS];
+  /** The ids of the inodes written to each segment, to drop them when the segment is reused. */
+  @GuardedBy("this")
+  private final LongArrayList[] mSegmentIds = new LongArrayList[NUM_SEGMENTS];
+  @GuardedBy("this")
+  private int mCurrentSegment = 0;
+  private final Counter mHits =
+      MetricsSystem.counter(MetricKey.MASTER_INODE_OFF_HEAP_CACHE_HITS.getName());
+
+  /**
+   * @param size the number of bytes of direct memory to use
+   */
+  OffHeapInodeCache(long size) {
+    Preconditions.checkArgument(size >= NUM_SEGMENTS, "Off-heap inode cache size %s is too small",
+        size);
+    mSegmentSize = (int) Math.min(Integer.MAX_VALUE, size / NUM_SEGMENTS);
+    for (int i = 0; i < NUM_SEGMENTS; i++) {
+      mSegmentIds[i] = new LongArrayList();
+    }
+    MetricsSystem.registerGaugeIfAbsent(MetricKey.MASTER_INODE_OFF_HEAP_CACHE_SIZE.getName(),
+        this::getUsedBytes);
+  }
+
+  /**
+   * @param id an inode id
+   * @return the inode, or empty if it is not cached
+   */
+  Optional<MutableInode<?>> get(long id) {
+    byte[] bytes;
+    mSegmentLock.readLock().lock();
+    try {
+      Long position = mPositions.get(id);
+      if (position == null) {
+        return Optional.empty();
+      }
+      ByteBuffer segment = mSegments[(int) (position >>> 32)].duplicate();
+      segment.position((int) (long) position);
+      bytes = new byte[segment.getInt()];
+      segment.get(bytes);
+    } finally {
+      mSegmentLock.readLock().unlock();
+    }
+    try {
+      MutableInode<?> inode = MutableInode.fromProto(InodeMeta.Inode.parseFrom(bytes));
+      mHits.inc();
+      return Optional.of(inode);
+    } catch (InvalidProtocolBufferException e) {
+      LOG.warn("Failed to deserialize inode {} from the off-heap inode cache", id, e);
+      mPositions.remove(id);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Caches an inode, which must be the same as in the backing store.
+   *
+   * @param inode the inode to cache
+   */
+  synchronized void put(MutableInode<?> inode) {
+    byte[] bytes = inode.toProto().toByteArray();
+    int length = Integer.BYTES + bytes.length;
+    if (length > mSegmentSize) {
+      mPositions.remove(inode.getId());
+      return;
+    }
+    ByteBuffer segment = mSegments[mCurrentSegment];
+    if (segment == null || segment.remaining() < length) {
+      mCurrentSegment = (mCurrentSegment + 1) % NUM_SEGMENTS;
+      segment = resetSegment(mCurrentSegment);
+    }
+    long position = ((long) mCurrentSegment << 32) | segment.position();
+    segment.putInt(bytes.length).put(bytes);
+    mSegmentIds[mCurrentSegment].add(inode.getId());
+    // publishing the position makes the bytes visible to the readers
+    mPositions.put(inode.getId(), position);
+  }
+
+  /**
+   * Drops an inode from the cache.
+   *
+   * @param id the id of the inode to drop
+   */
+  void invalidate(long id) {
+    mPositions.remove(id);
+  }
+
+  /**
+   * Drops all the inodes from the cache.
+   */
+  synchronized void clear() {
+    mSegmentLock.writeLock().lock();
+    try {
+      mPositions.clear();
+      for (int i = 0; i < NUM_SEGMENTS; i++) {
+        if (mSegments[i] != null) {
+          mSegments[i].clear();
+        }
+        mSegmentIds[i].clear();
+      }
+    } finally {
+      mSegmentLock.writeLock().unlock();
+    }
+  }
+
+  @GuardedBy("this")
+  private ByteBuffer resetSegment(int index) {
+    mSegmentLock.writeLock().lock();
+    try {
+      for (long id : mSegmentIds[index]) {
+        // the inode may have been written again to a newer segment
+        mPositions.computeIfPresent(id,
+            (k, position) -> position >>> 32 == index ? null : position);
+      }
+      mSegmentIds[index].clear();
+      if (mSegments[index] == null) {
+        mSegments[index] = ByteBuffer.allocateDirect(mSegmentSize);
+      }
+      mSegments[index].clear();
+      return mSegments[index];
+    } finally {
+      mSegmentLock.writeLock().unlock();
+    }
+  }
+
+  private long getUsedBytes() {
+    long used = 0;
+    for (ByteBuffer segment : mSegments) {
+      if (segment != null) {
+        used += segment.position();
+      }
+    }
+    return used;
+  }
+
+  @Override
+  public synchronized void close() {
+    mSegmentLock.writeLock().lock();
+    try {
+      mPositions.clear();
+      for (int i = 0; i < NUM_SEGMENTS; i++) {
+        if (mSegments[i] != null) {
+          BufferUtils.cleanDirectBuffer(mSegments[i]);
+          mSegments[i] = null;
+        }
+        mSegmentIds[i].clear();
+      }
+    } finally {
+      mSegmentLock.writeLock().unlock();
+    }
+  }
+}
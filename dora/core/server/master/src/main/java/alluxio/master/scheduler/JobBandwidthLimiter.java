@@ -0,0 +1,142 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.scheduler;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.scheduler.job.Job;
+import alluxio.scheduler.job.Task;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Limits the UFS bandwidth used by the tasks the scheduler starts, both for each job with a
+ * bandwidth and for all the jobs together.
+ *
+ * A task is only started if both budgets are available for the bytes it is expected to read.
+ * A task may overdraw a budget, so a task larger than the budget of a second still runs and
+ * delays the next ones accordingly.
+ */
+@ThreadSafe
+public final class JobBandwidthLimiter {
+  private final Ticker mTicker;
+  @Nullable
+  private final Budget mGlobalBudget;
+  private final Cache<Job<?>, Budget> mJobBudgets = CacheBuilder.newBuilder().weakKeys().build();
+
+  /**
+   * @param conf the configuration
+   */
+  public JobBandwidthLimiter(AlluxioConfiguration conf) {
+    this(conf, Ticker.systemTicker());
+  }
+
+  @VisibleForTesting
+  JobBandwidthLimiter(AlluxioConfiguration conf, Ticker ticker) {
+    mTicker = ticker;
+    mGlobalBudget = conf.isSet(PropertyKey.MASTER_SCHEDULER_UFS_BANDWIDTH)
+        ? new Budget(conf.getBytes(PropertyKey.MASTER_SCHEDULER_UFS_BANDWIDTH), mTicker.read())
+        : null;
+  }
+
+  /**
+   * @return whether the global budget is used up, so that no task may start for now
+   */
+  public synchronized boolean isGlobalBudgetExhausted() {
+    return mGlobalBudget != null && !mGlobalBudget.isAvailable(mTicker.read());
+  }
+
+  /**
+   * Takes the bandwidth for a task from the budget of its job and the global budget. Nothing is
+   * taken unless both budgets are available.
+   *
+   * @param task the task to start
+   * @return whether the task may start now
+   */
+  public synchronized boolean tryAcquire(Task<?> task) {
+    long bytes = task.getEstimatedBytes();
+    if (bytes <= 0) {
+      return true;
+    }
+    long nowNanos = mTicker.read();
+    if (mGlobalBudget != null && !mGlobalBudget.isAvailable(nowNanos)) {
+      return false;
+    }
+    Budget jobBudget = getJobBudget(task.getJob(), nowNanos);
+    if (jobBudget != null && !jobBudget.isAvailable(nowNanos)) {
+      return false;
+    }
+    if (mGlobalBudget != null) {
+      mGlobalBudget.take(bytes, nowNanos);
+    }
+    if (jobBudget != null) {
+      jobBudget.take(bytes, nowNanos);
+    }
+    return true;
+  }
+
+  @Nullable
+  private Budget getJobBudget(Job<?> job, long nowNanos) {
+    OptionalLong bandwidth = job.getBandwidth();
+    if (!bandwidth.isPresent()) {
+      return null;
+    }
+    try {
+      Budget budget = mJobBudgets.get(job, () -> new Budget(bandwidth.getAsLong(), nowNanos));
+      // the bandwidth of a job can be updated while it is running
+      budget.setBytesPerSecond(bandwidth.getAsLong());
+      return budget;
+    } catch (ExecutionException e) {
+      // the loader does not throw
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * A budget of bytes refilled at a fixed rate. Unused budget is kept for up to a second, like a
+   * bursty rate limiter. It is guarded by the lock of the limiter.
+   */
+  private static final class Budget {
+    private static final long SECOND_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private double mBytesPerSecond;
+    /** The time from which the budget is available again. */
+    private long mAvailableNanos;
+
+    Budget(long bytesPerSecond, long nowNanos) {
+      setBytesPerSecond(bytesPerSecond);
+      mAvailableNanos = nowNanos;
+    }
+
+    void setBytesPerSecond(long bytesPerSecond) {
+      mBytesPerSecond = Math.max(1, bytesPerSecond);
+    }
+
+    boolean isAvailable(long nowNanos) {
+      return nowNanos - mAvailableNanos >= 0;
+    }
+
+    void take(long bytes, long nowNanos) {
+      long fromNanos = Math.max(mAvailableNanos, nowNanos - SECOND_NANOS);
+      mAvailableNanos = fromNanos + (long) (bytes / mBytesPerSecond * SECOND_NANOS);
+    }
+  }
+}
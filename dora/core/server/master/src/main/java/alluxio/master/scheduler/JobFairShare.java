@@ -0,0 +1,138 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.scheduler;
+
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.scheduler.job.Job;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Shares the task slots of the workers between the jobs of the scheduler.
+ *
+ * Jobs of the priority users come first. Within the same priority, every user gets a share of the
+ * slots proportional to its weight, which is split evenly between its jobs, and jobs using the
+ * smallest part of their share come first. This way a large job cannot starve the jobs submitted
+ * after it, while a job alone in the scheduler can still use all the slots.
+ */
+@ThreadSafe
+public final class JobFairShare {
+  private static final String UNKNOWN_USER = "";
+  private static final double DEFAULT_WEIGHT = 1.0;
+
+  private final Map<String, Double> mUserWeights;
+  private final Set<String> mPriorityUsers;
+
+  /**
+   * @param conf the configuration
+   */
+  public JobFairShare(AlluxioConfiguration conf) {
+    ImmutableMap.Builder<String, Double> weights = ImmutableMap.builder();
+    if (conf.isSet(PropertyKey.MASTER_SCHEDULER_FAIR_SHARE_WEIGHTS)) {
+      for (String entry : conf.getList(PropertyKey.MASTER_SCHEDULER_FAIR_SHARE_WEIGHTS)) {
+        String[] userAndWeight = entry.trim().split(":");
+        Preconditions.checkArgument(userAndWeight.length == 2,
+            "Invalid fair share weight %s, expected <user>:<weight>", entry);
+        double weight = Double.parseDouble(userAndWeight[1].trim());
+        Preconditions.checkArgument(weight > 0, "Fair share weight of %s should be positive",
+            userAndWeight[0]);
+        weights.put(userAndWeight[0].trim(), weight);
+      }
+    }
+    mUserWeights = weights.build();
+    mPriorityUsers = conf.isSet(PropertyKey.MASTER_SCHEDULER_PRIORITY_USERS)
+        ? ImmutableSet.copyOf(conf.getList(PropertyKey.MASTER_SCHEDULER_PRIORITY_USERS))
+        : ImmutableSet.of();
+  }
+
+  /**
+   * Orders the jobs by the order in which they should get the free slots.
+   *
+   * @param jobToTasks the jobs with their queued and running tasks
+   * @return the jobs, the ones which should get slots first at the front
+   */
+  public List<Job<?>> order(Map<Job<?>, ? extends Collection<?>> jobToTasks) {
+    Shares shares = new Shares(jobToTasks);
+    List<Job<?>> jobs = new ArrayList<>(jobToTasks.keySet());
+    jobs.sort(Comparator.<Job<?>, Boolean>comparing(job -> !isPriority(job))
+        .thenComparingDouble(shares::getUsage));
+    return jobs;
+  }
+
+  /**
+   * Decides whether a queued task of a job should give its slot to a task of another job.
+   *
+   * @param job the job which needs a slot
+   * @param victim the job of the queued task
+   * @param jobToTasks the jobs with their queued and running tasks
+   * @return whether the queued task of the victim should be preempted
+   */
+  public boolean shouldPreempt(Job<?> job, Job<?> victim,
+      Map<Job<?>, ? extends Collection<?>> jobToTasks) {
+    if (job.equals(victim) || (isPriority(victim) && !isPriority(job))) {
+      return false;
+    }
+    if (isPriority(job) && !isPriority(victim)) {
+      return true;
+    }
+    Shares shares = new Shares(jobToTasks);
+    // only preempt if the job still uses less of its share than the victim afterwards, so that
+    // the two jobs do not keep taking the slot from each other
+    return shares.getUsage(job) + 1 / shares.getShare(job) < shares.getUsage(victim);
+  }
+
+  private boolean isPriority(Job<?> job) {
+    return mPriorityUsers.contains(getUser(job));
+  }
+
+  private static String getUser(Job<?> job) {
+    return job.getUser().orElse(UNKNOWN_USER);
+  }
+
+  /**
+   * The shares of the jobs at a point in time.
+   */
+  private final class Shares {
+    private final Map<Job<?>, ? extends Collection<?>> mJobToTasks;
+    private final Map<String, Integer> mUserToJobCount = new HashMap<>();
+
+    Shares(Map<Job<?>, ? extends Collection<?>> jobToTasks) {
+      mJobToTasks = jobToTasks;
+      for (Job<?> job : jobToTasks.keySet()) {
+        mUserToJobCount.merge(getUser(job), 1, Integer::sum);
+      }
+    }
+
+    double getShare(Job<?> job) {
+      String user = getUser(job);
+      return mUserWeights.getOrDefault(user, DEFAULT_WEIGHT)
+          / mUserToJobCount.getOrDefault(user, 1);
+    }
+
+    double getUsage(Job<?> job) {
+      Collection<?> tasks = mJobToTasks.get(job);
+      return (tasks == null ? 0 : tasks.size()) / getShare(job);
+    }
+  }
+}
@@ -25,11 +25,17 @@ import alluxio.proto.journal.Journal;
 import alluxio.resource.CloseableIterator;
 import alluxio.scheduler.job.Job;
 import alluxio.scheduler.job.JobMetaStore;
+import alluxio.scheduler.job.LoadManifest;
 
 import com.google.common.collect.Iterators;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -39,6 +45,10 @@ public class JournaledJobMetaStore implements JobMetaStore, Journaled {
   private static final Logger LOG = LoggerFactory.getLogger(JournaledJobMetaStore.class);
   private final DefaultFileSystemMaster mFileSystemMaster;
   private final Set<Job<?>> mExistingJobs = new ConcurrentHashSet<>();
+  // the manifests of the incremental load jobs, by load path
+  private final Map<String, LoadManifest> mLoadManifests = new HashMap<>();
+  // the manifests being replayed from the journal, which are built when first needed
+  private final Map<String, LoadManifest.Builder> mReplayingLoadManifests = new HashMap<>();
   private static final boolean RESTORE_JOB_FROM_JOURNAL = Configuration.getBoolean(
       PropertyKey.MASTER_SCHEDULER_RESTORE_JOB_FROM_JOURNAL);
 
@@ -53,12 +63,24 @@ public class JournaledJobMetaStore implements JobMetaStore, Journaled {
 
   @Override
   public CloseableIterator<Journal.JournalEntry> getJournalEntryIterator() {
-    return CloseableIterator.noopCloseable(
-        Iterators.transform(mExistingJobs.iterator(), Job::toJournalEntry));
+    Map<String, LoadManifest> manifests;
+    synchronized (this) {
+      new ArrayList<>(mReplayingLoadManifests.keySet()).forEach(this::buildReplayedManifest);
+      manifests = new HashMap<>(mLoadManifests);
+    }
+    Iterator<Journal.JournalEntry> manifestEntries = Iterators.concat(
+        Iterators.transform(manifests.entrySet().iterator(),
+            e -> e.getValue().toJournalEntries(e.getKey(), false)));
+    return CloseableIterator.noopCloseable(Iterators.concat(
+        Iterators.transform(mExistingJobs.iterator(), Job::toJournalEntry), manifestEntries));
   }
 
   @Override
   public boolean processJournalEntry(Journal.JournalEntry entry) {
+    if (entry.hasLoadManifest()) {
+      replayManifestEntry(entry.getLoadManifest());
+      return true;
+    }
     if (!RESTORE_JOB_FROM_JOURNAL) {
       return false;
     }
@@ -77,9 +99,34 @@ public class JournaledJobMetaStore implements JobMetaStore, Journaled {
     return true;
   }
 
+  private synchronized void replayManifestEntry(
+      alluxio.proto.journal.Job.LoadManifestEntry entry) {
+    String loadPath = entry.getLoadPath();
+    LoadManifest.Builder builder = mReplayingLoadManifests.get(loadPath);
+    if (!entry.getAppend()) {
+      mLoadManifests.remove(loadPath);
+      builder = null;
+    }
+    if (builder == null) {
+      builder = new LoadManifest.Builder();
+      mReplayingLoadManifests.put(loadPath, builder);
+    }
+    builder.add(entry);
+  }
+
+  private void buildReplayedManifest(String loadPath) {
+    LoadManifest.Builder builder = mReplayingLoadManifests.remove(loadPath);
+    if (builder != null) {
+      // the files replayed after the manifest was built win over the ones of the manifest
+      mLoadManifests.merge(loadPath, builder.build(), LoadManifest::merge);
+    }
+  }
+
   @Override
-  public void resetState() {
+  public synchronized void resetState() {
     mExistingJobs.clear();
+    mLoadManifests.clear();
+    mReplayingLoadManifests.clear();
   }
 
   @Override
@@ -103,4 +150,28 @@ public class JournaledJobMetaStore implements JobMetaStore, Journaled {
   public Set<Job<?>> getJobs() {
     return mExistingJobs;
   }
+
+  @Override
+  public synchronized Optional<LoadManifest> getLoadManifest(String loadPath) {
+    buildReplayedManifest(loadPath);
+    return Optional.ofNullable(mLoadManifests.get(loadPath));
+  }
+
+  @Override
+  public void updateLoadManifest(String loadPath, LoadManifest manifest, boolean append) {
+    try (JournalContext context = mFileSystemMaster.createJournalContext()) {
+      manifest.toJournalEntries(loadPath, append).forEachRemaining(context::append);
+      synchronized (this) {
+        buildReplayedManifest(loadPath);
+        if (append) {
+          mLoadManifests.merge(loadPath, manifest, LoadManifest::merge);
+        } else {
+          mLoadManifests.put(loadPath, manifest);
+        }
+      }
+    } catch (UnavailableException e) {
+      throw new UnavailableRuntimeException(
+          "There is an ongoing backup running, please submit later", e);
+    }
+  }
 }
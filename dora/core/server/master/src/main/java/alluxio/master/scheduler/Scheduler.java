@@ -70,7 +70,8 @@ import javax.annotation.concurrent.ThreadSafe;
  *  2. The scheduler will pull the task from the job and assign the task to a worker.
  *  3. The worker will execute the task and report the result to the job.
  *  4. The job will update the progress. And schedule the next task if the job is not done.
- *  5. One worker would have one task running for one job description at a time.
+ *  5. Each worker runs up to a window of tasks at a time, which grows while its tasks succeed
+ *     quickly and shrinks when they fail or slow down, see {@link TaskConcurrencyWindow}.
  */
 @ThreadSafe
 @SuppressFBWarnings({"SE_NO_SERIALVERSIONID"})
@@ -78,7 +79,12 @@ public final class Scheduler {
 
   private static final Logger LOG = LoggerFactory.getLogger(Scheduler.class);
   private static final int CAPACITY = 100;
-  private static final int MAX_TASK_PER_WORKER = 10;
+  private static final int MAX_TASK_PER_WORKER =
+      Configuration.getInt(PropertyKey.MASTER_SCHEDULER_WORKER_TASK_QUEUE_SIZE);
+  private static final int MAX_CONCURRENT_TASK_PER_WORKER =
+      Configuration.getInt(PropertyKey.MASTER_SCHEDULER_WORKER_MAX_CONCURRENT_TASKS);
+  private static final boolean TASK_STEALING_ENABLED =
+      Configuration.getBoolean(PropertyKey.MASTER_SCHEDULER_TASK_STEALING_ENABLED);
   private static final long WORKER_UPDATE_INTERVAL = Configuration.getMs(
       PropertyKey.MASTER_WORKER_INFO_CACHE_REFRESH_TIME);
   private final long mSchedulerInitialDelay = Configuration.getMs(
@@ -95,6 +101,8 @@ public final class Scheduler {
   private volatile boolean mRunning = false;
   private final FileSystemContext mFileSystemContext;
   private final WorkerInfoHub mWorkerInfoHub;
+  private final JobFairShare mFairShare;
+  private final JobBandwidthLimiter mBandwidthLimiter;
 
   /**
    * Constructor.
@@ -110,6 +118,8 @@ public final class Scheduler {
     MetricsSystem.registerCachedGaugeIfAbsent(
         MetricKey.MASTER_JOB_SCHEDULER_RUNNING_COUNT.getName(), mJobToRunningTasks::size);
     mWorkerInfoHub = new WorkerInfoHub(this, workerProvider);
+    mFairShare = new JobFairShare(Configuration.global());
+    mBandwidthLimiter = new JobBandwidthLimiter(Configuration.global());
     // the scheduler won't be instantiated twice
     sInstance.compareAndSet(null, this);
   }
@@ -176,6 +186,7 @@ public final class Scheduler {
       mExistingJobs.clear();
       mJobToRunningTasks.clear();
       mWorkerInfoHub.mWorkerToTaskQ.clear();
+      mWorkerInfoHub.mWorkerToWindow.clear();
       mRunning = false;
     }
   }
@@ -307,7 +318,8 @@ public final class Scheduler {
     if (Thread.currentThread().isInterrupted()) {
       return;
     }
-    mJobToRunningTasks.forEach((k, v) -> processJob(k));
+    // the jobs using the least of their fair share get the free slots of the workers first
+    mFairShare.order(mJobToRunningTasks).forEach(this::processJob);
     // kickstart the head task from each q of the worker if it's not running
     mWorkerInfoHub.kickStartTasks();
   }
@@ -345,7 +357,9 @@ public final class Scheduler {
       // enqueue the worker task q
       for (Task task : tasks) {
         boolean taskEnqueued = getWorkerInfoHub().enqueueTaskForWorker(
-            task.getMyRunningWorker(), task);
+            task.getMyRunningWorker(), task)
+            || (getWorkerInfoHub().preemptPendingTask(task.getMyRunningWorker(), job)
+            && getWorkerInfoHub().enqueueTaskForWorker(task.getMyRunningWorker(), task));
         if (!taskEnqueued) {
           job.onTaskSubmitFailure(task);
         }
@@ -516,55 +530,206 @@ public final class Scheduler {
     private final Map<WorkerInfoIdentity, BoundedPriorityBlockingQueue<Task>> mWorkerToTaskQ
         = new ConcurrentHashMap<>();
 
+    private final Map<WorkerInfoIdentity, TaskConcurrencyWindow> mWorkerToWindow
+        = new ConcurrentHashMap<>();
+
     /**
      * Kick stark tasks for each worker task q.
      */
     public void kickStartTasks() {
-      // Kick off one task for each worker
-      mWorkerToTaskQ.forEach((workerInfo, tasksQ) -> {
-        LOG.debug("Kick start task for worker:{}, taskQ size:{}",
-            workerInfo.mWorkerInfo.getAddress().getHost(),
-            tasksQ.size());
-        CloseableResource<BlockWorkerClient> blkWorkerClientResource
-            = mActiveWorkers.get(workerInfo);
-        if (blkWorkerClientResource == null) {
-          LOG.warn("Didn't find corresponding BlockWorkerClient for workerInfo:{}",
-              workerInfo);
+      if (TASK_STEALING_ENABLED) {
+        stealTasks();
+      }
+      mWorkerToTaskQ.keySet().forEach(this::kickStartTasks);
+    }
+
+    /**
+     * Starts the queued tasks of a worker until the concurrency window of the worker is full.
+     */
+    private void kickStartTasks(WorkerInfoIdentity workerInfo) {
+      BoundedPriorityBlockingQueue<Task> tasksQ = mWorkerToTaskQ.get(workerInfo);
+      if (tasksQ == null) {
+        return;
+      }
+      LOG.debug("Kick start task for worker:{}, taskQ size:{}",
+          workerInfo.mWorkerInfo.getAddress().getHost(),
+          tasksQ.size());
+      CloseableResource<BlockWorkerClient> blkWorkerClientResource
+          = mActiveWorkers.get(workerInfo);
+      if (blkWorkerClientResource == null) {
+        LOG.warn("Didn't find corresponding BlockWorkerClient for workerInfo:{}",
+            workerInfo);
+        return;
+      }
+      TaskConcurrencyWindow window = getConcurrencyWindow(workerInfo);
+      List<Task> pendingTasks = getPendingTasks(tasksQ);
+      int runningTasks = tasksQ.size() - pendingTasks.size();
+      for (Task task : pendingTasks) {
+        if (runningTasks >= window.getWindow()) {
+          LOG.debug("{} tasks already running on worker:{}", runningTasks, workerInfo);
           return;
         }
-        Task task = tasksQ.peek();
-        // only make sure 1 task is running at the time
-        if (task == null || task.getResponseFuture() != null) {
-          LOG.debug("head task is {}", (task == null) ? "NULL" : "already running");
+        if (mBandwidthLimiter.isGlobalBudgetExhausted()) {
+          LOG.debug("UFS bandwidth budget exhausted, delaying tasks of worker:{}", workerInfo);
           return;
         }
+        if (!mBandwidthLimiter.tryAcquire(task)) {
+          // only the job of this task is over its bandwidth, the other jobs may still start
+          LOG.debug("UFS bandwidth budget of job exhausted, delaying task {}", task);
+          continue;
+        }
+        if (startTask(workerInfo, tasksQ, task, blkWorkerClientResource, window)) {
+          runningTasks++;
+        }
+      }
+    }
+
+    /**
+     * Starts a task on a worker. A task which fails to start is removed from the worker and given
+     * back to its job to be scheduled again.
+     *
+     * @return whether the task started
+     */
+    private boolean startTask(WorkerInfoIdentity workerInfo,
+        BoundedPriorityBlockingQueue<Task> tasksQ, Task task,
+        CloseableResource<BlockWorkerClient> blkWorkerClientResource,
+        TaskConcurrencyWindow window) {
+      long startTimeMs = System.currentTimeMillis();
+      try {
         task.execute(blkWorkerClientResource.get(), workerInfo.mWorkerInfo);
-        task.getResponseFuture().addListener(() -> {
-          Job job = task.getJob();
-          try {
-            job.processResponse(task); // retry on failure logic inside
-            // TODO(lucy) currently processJob is only called in the single
-            // threaded scheduler thread context, in future once tasks are
-            // completed, they should be able to call processJob to resume
-            // their own job to schedule next set of tasks to run.
-          } catch (Exception e) {
-            // Unknown exception. This should not happen, but if it happens we don't
-            // want to lose the worker thread, thus catching it here. Any exception
-            // surfaced here should be properly handled.
-            LOG.error("Unexpected exception thrown in response future listener.", e);
-            job.failJob(new InternalRuntimeException(e));
-          } finally {
-            tasksQ.remove(task);
-            mJobToRunningTasks.compute(job, (k, v) -> {
-              if (v == null) {
-                return null;
-              }
-              v.remove(task);
-              return v;
-            });
+      } catch (Exception e) {
+        LOG.warn("Failed to start task {} on worker:{}, scheduling it again", task, workerInfo, e);
+        window.onTaskCompleted(false, startTimeMs, System.currentTimeMillis());
+        tasksQ.remove(task);
+        mJobToRunningTasks.computeIfPresent(task.getJob(), (k, v) -> {
+          v.remove(task);
+          return v;
+        });
+        task.getJob().onTaskSubmitFailure(task);
+        return false;
+      }
+      task.getResponseFuture().addListener(() -> {
+        Job job = task.getJob();
+        boolean succeeded = false;
+        try {
+          succeeded = job.processResponse(task); // retry on failure logic inside
+          // TODO(lucy) currently processJob is only called in the single
+          // threaded scheduler thread context, in future once tasks are
+          // completed, they should be able to call processJob to resume
+          // their own job to schedule next set of tasks to run.
+        } catch (Exception e) {
+          // Unknown exception. This should not happen, but if it happens we don't
+          // want to lose the worker thread, thus catching it here. Any exception
+          // surfaced here should be properly handled.
+          LOG.error("Unexpected exception thrown in response future listener.", e);
+          job.failJob(new InternalRuntimeException(e));
+        } finally {
+          window.onTaskCompleted(succeeded, startTimeMs, System.currentTimeMillis());
+          tasksQ.remove(task);
+          mJobToRunningTasks.compute(job, (k, v) -> {
+            if (v == null) {
+              return null;
+            }
+            v.remove(task);
+            return v;
+          });
+        }
+        // keep the worker busy with its queued tasks rather than waiting for the next round
+        if (mRunning) {
+          kickStartTasks(workerInfo);
+        }
+      }, mSchedulerExecutor);
+      return true;
+    }
+
+    /**
+     * Moves queued tasks which can run on any worker from the busiest workers to the workers
+     * with no queued task and room in their concurrency window.
+     */
+    private void stealTasks() {
+      for (WorkerInfoIdentity thief : mActiveWorkers.keySet()) {
+        BoundedPriorityBlockingQueue<Task> thiefQ = mWorkerToTaskQ.computeIfAbsent(thief,
+            k -> new BoundedPriorityBlockingQueue<>(MAX_TASK_PER_WORKER));
+        if (!getPendingTasks(thiefQ).isEmpty()) {
+          continue;
+        }
+        int freeSlots = getConcurrencyWindow(thief).getWindow() - thiefQ.size();
+        for (; freeSlots > 0; freeSlots--) {
+          WorkerInfoIdentity victim = pickWorkerToStealFrom(thief);
+          if (victim == null) {
+            break;
           }
-        }, mSchedulerExecutor);
-      });
+          BoundedPriorityBlockingQueue<Task> victimQ = mWorkerToTaskQ.get(victim);
+          List<Task> stealableTasks = getStealableTasks(victimQ);
+          // take the least urgent task, the victim is about to run the others
+          Task task = stealableTasks.get(stealableTasks.size() - 1);
+          if (!victimQ.remove(task)) {
+            break;
+          }
+          // the task leaves the bookkeeping of the victim before it is assigned to the thief,
+          // and enters it again once it is queued on either worker
+          mJobToRunningTasks.computeIfPresent(task.getJob(), (k, v) -> {
+            v.remove(task);
+            return v;
+          });
+          task.setMyRunningWorker(thief.mWorkerInfo);
+          if (!enqueueTaskForWorker(thief.mWorkerInfo, task)) {
+            task.setMyRunningWorker(victim.mWorkerInfo);
+            if (!enqueueTaskForWorker(victim.mWorkerInfo, task)) {
+              task.getJob().onTaskSubmitFailure(task);
+            }
+            break;
+          }
+          LOG.debug("Moved task {} from worker:{} to idle worker:{}", task, victim, thief);
+        }
+      }
+    }
+
+    /**
+     * @return the worker other than the thief with the most pending tasks that can run on any
+     *         worker, or null if there is no such worker
+     */
+    @Nullable
+    private WorkerInfoIdentity pickWorkerToStealFrom(WorkerInfoIdentity thief) {
+      WorkerInfoIdentity victim = null;
+      int victimTasks = 0;
+      for (Map.Entry<WorkerInfoIdentity, BoundedPriorityBlockingQueue<Task>> entry
+          : mWorkerToTaskQ.entrySet()) {
+        if (entry.getKey().equals(thief)) {
+          continue;
+        }
+        int stealableTasks = getStealableTasks(entry.getValue()).size();
+        if (stealableTasks > victimTasks) {
+          victim = entry.getKey();
+          victimTasks = stealableTasks;
+        }
+      }
+      return victim;
+    }
+
+    private List<Task> getStealableTasks(BoundedPriorityBlockingQueue<Task> tasksQ) {
+      return getPendingTasks(tasksQ).stream()
+          .filter(task -> task.getJob().canRunTasksOnAnyWorker())
+          .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the tasks of the queue which are not running yet, in priority order
+     */
+    private List<Task> getPendingTasks(BoundedPriorityBlockingQueue<Task> tasksQ) {
+      return tasksQ.stream()
+          .filter(task -> task.getResponseFuture() == null)
+          .sorted()
+          .collect(Collectors.toList());
+    }
+
+    /**
+     * @param workerInfo the worker
+     * @return the concurrency window of the worker
+     */
+    public TaskConcurrencyWindow getConcurrencyWindow(WorkerInfoIdentity workerInfo) {
+      return mWorkerToWindow.computeIfAbsent(workerInfo,
+          k -> new TaskConcurrencyWindow(MAX_CONCURRENT_TASK_PER_WORKER));
     }
 
     /**
@@ -591,6 +756,44 @@ public final class Scheduler {
       return true;
     }
 
+    /**
+     * Removes a queued task which has not started from the queue of a worker, to make room for a
+     * task of a job which is using less of its fair share. The preempted task is given back to
+     * its job to be scheduled again.
+     *
+     * @param workerInfo the worker
+     * @param job the job which needs a slot on the worker
+     * @return whether a task was preempted
+     */
+    public boolean preemptPendingTask(@Nullable WorkerInfo workerInfo, Job<?> job) {
+      if (workerInfo == null) {
+        return false;
+      }
+      BoundedPriorityBlockingQueue<Task> tasksQ =
+          mWorkerToTaskQ.get(new WorkerInfoIdentity(workerInfo));
+      if (tasksQ == null) {
+        return false;
+      }
+      List<Task> pendingTasks = getPendingTasks(tasksQ);
+      // preempt the least urgent tasks first
+      for (int i = pendingTasks.size() - 1; i >= 0; i--) {
+        Task victim = pendingTasks.get(i);
+        Job<?> victimJob = victim.getJob();
+        if (mFairShare.shouldPreempt(job, victimJob, mJobToRunningTasks)
+            && tasksQ.remove(victim)) {
+          mJobToRunningTasks.computeIfPresent(victimJob, (k, v) -> {
+            v.remove(victim);
+            return v;
+          });
+          victimJob.onTaskSubmitFailure(victim);
+          LOG.debug("Preempted task {} on worker:{} for job {}", victim,
+              workerInfo.getAddress(), job.getJobId());
+          return true;
+        }
+      }
+      return false;
+    }
+
     /**
      * @return the worker to task queue
      */
@@ -667,6 +870,7 @@ public final class Scheduler {
     public Map<Job, List<String>> mRunningJobToTasksStat = new HashMap<>();
     public Map<Job, String> mExistingJobAndProgresses = new HashMap<>();
     public Map<String, String> mWorkerQInfos = new HashMap<>();
+    public Map<String, String> mWorkerConcurrencyInfos = new HashMap<>();
   }
 
   /**
@@ -691,6 +895,11 @@ public final class Scheduler {
               .collect(Collectors.toList()));
       schedulerStats.mWorkerQInfos.put(entry.getKey().toString(), tasks);
     }
+    for (Map.Entry<WorkerInfoIdentity, TaskConcurrencyWindow> entry :
+        mWorkerInfoHub.mWorkerToWindow.entrySet()) {
+      schedulerStats.mWorkerConcurrencyInfos.put(entry.getKey().toString(),
+          entry.getValue().toString());
+    }
     return schedulerStats;
   }
 }
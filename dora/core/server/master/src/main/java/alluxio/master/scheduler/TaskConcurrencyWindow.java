@@ -0,0 +1,110 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.scheduler;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The number of tasks the scheduler runs concurrently on a worker, adjusted with additive
+ * increase and multiplicative decrease (AIMD) from the results of the tasks.
+ *
+ * The window grows by one task every time a full window of tasks succeeds, and is halved when a
+ * task fails or takes much longer than the recent tasks of the worker, which means tasks are
+ * piling up on the worker. Like TCP congestion control, the window is halved at most once for
+ * the tasks that were already running when it was last halved.
+ */
+@ThreadSafe
+public final class TaskConcurrencyWindow {
+  /** The weight of the latest task in the moving averages. */
+  private static final double EWMA_WEIGHT = 0.2;
+  /** A task taking more than this many times the average latency is considered slow. */
+  private static final double SLOW_TASK_LATENCY_RATIO = 3.0;
+
+  private final int mMaxWindow;
+  private double mWindow = 1;
+  private long mLastDecreaseMs = Long.MIN_VALUE;
+  private double mAvgLatencyMs = -1;
+  private double mErrorRate = 0;
+  private long mCompletedTasks = 0;
+
+  /**
+   * @param maxWindow the maximum number of tasks running concurrently on the worker
+   */
+  public TaskConcurrencyWindow(int maxWindow) {
+    Preconditions.checkArgument(maxWindow > 0, "maxWindow should be positive");
+    mMaxWindow = maxWindow;
+  }
+
+  /**
+   * @return the number of tasks which may run concurrently on the worker
+   */
+  public synchronized int getWindow() {
+    return (int) mWindow;
+  }
+
+  /**
+   * Updates the window with the result of a task.
+   *
+   * @param succeeded whether the task succeeded
+   * @param startTimeMs the time the task was started
+   * @param endTimeMs the time the task completed
+   */
+  public synchronized void onTaskCompleted(boolean succeeded, long startTimeMs, long endTimeMs) {
+    long latencyMs = Math.max(0, endTimeMs - startTimeMs);
+    boolean slow = mAvgLatencyMs > 0 && latencyMs > SLOW_TASK_LATENCY_RATIO * mAvgLatencyMs;
+    mAvgLatencyMs = mAvgLatencyMs < 0
+        ? latencyMs : EWMA_WEIGHT * latencyMs + (1 - EWMA_WEIGHT) * mAvgLatencyMs;
+    mErrorRate = EWMA_WEIGHT * (succeeded ? 0 : 1) + (1 - EWMA_WEIGHT) * mErrorRate;
+    mCompletedTasks++;
+    if (succeeded && !slow) {
+      mWindow = Math.min(mMaxWindow, mWindow + 1 / Math.floor(mWindow));
+    } else if (startTimeMs >= mLastDecreaseMs) {
+      mWindow = Math.max(1, mWindow / 2);
+      mLastDecreaseMs = endTimeMs;
+    }
+  }
+
+  /**
+   * @return the moving average of the task latency in milliseconds, or -1 if no task completed
+   */
+  public synchronized double getAverageLatencyMs() {
+    return mAvgLatencyMs;
+  }
+
+  /**
+   * @return the moving average of the ratio of failed tasks
+   */
+  public synchronized double getErrorRate() {
+    return mErrorRate;
+  }
+
+  /**
+   * @return the estimated number of tasks the worker completes per second with the current window
+   */
+  public synchronized double getThroughput() {
+    return mAvgLatencyMs <= 0 ? 0 : Math.floor(mWindow) * 1000 / mAvgLatencyMs;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add("window", getWindow())
+        .add("maxWindow", mMaxWindow)
+        .add("avgLatencyMs", mAvgLatencyMs)
+        .add("errorRate", mErrorRate)
+        .add("completedTasks", mCompletedTasks)
+        .toString();
+  }
+}
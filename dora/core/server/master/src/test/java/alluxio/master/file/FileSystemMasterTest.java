@@ -312,6 +312,27 @@ public final class FileSystemMasterTest extends FileSystemMasterTestBase {
     assertEquals(Lists.newArrayList(blockId), fileInfo.getBlockIds());
   }
 
+  /**
+   * Tests that {@link FileSystemMaster#getFileInfo(AlluxioURI, GetStatusContext)} returns the
+   * same file info as the locking lookup when the path is read optimistically.
+   */
+  @Test
+  public void getFileInfoOptimistically() throws Exception {
+    stopServices();
+    Configuration.set(PropertyKey.MASTER_METASTORE_INODE_OPTIMISTIC_READ_ENABLED, true);
+    startServices();
+    createFileWithSingleBlock(NESTED_FILE_URI);
+    long fileId = mFileSystemMaster.getFileId(NESTED_FILE_URI);
+    long dirId = mFileSystemMaster.getFileId(NESTED_URI);
+
+    assertEquals(mFileSystemMaster.getFileInfo(fileId),
+        mFileSystemMaster.getFileInfo(NESTED_FILE_URI, GET_STATUS_CONTEXT));
+    assertEquals(mFileSystemMaster.getFileInfo(dirId),
+        mFileSystemMaster.getFileInfo(NESTED_URI, GET_STATUS_CONTEXT));
+    mThrown.expect(FileDoesNotExistException.class);
+    mFileSystemMaster.getFileInfo(NESTED_FILE_URI.join("DNE"), GET_STATUS_CONTEXT);
+  }
+
   @Test
   public void getPath() throws Exception {
     AlluxioURI rootUri = new AlluxioURI("/");
@@ -12,10 +12,12 @@
 package alluxio.master.file.meta;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import alluxio.concurrent.LockMode;
 import alluxio.master.file.contexts.CreateFileContext;
 import alluxio.resource.LockResource;
+import alluxio.resource.RWLockResource;
 import alluxio.util.CommonUtils;
 
 import org.junit.Test;
@@ -42,6 +44,46 @@ public class InodeLockManagerTest {
     edgeLockTest(LockMode.READ, LockMode.READ, false);
   }
 
+  @Test
+  public void optimisticReadOfInode() throws Exception {
+    InodeLockManager lockManager = new InodeLockManager();
+    InodeLockManager.OptimisticRead read = lockManager.startOptimisticRead();
+    assertTrue(read.readInode(1));
+    try (LockResource lr = lockManager.lockInode(1L, LockMode.READ)) {
+      assertTrue(read.validate());
+    }
+    try (LockResource lr = lockManager.lockInode(1L, LockMode.WRITE)) {
+      // the inode cannot be read while it is write locked
+      assertFalse(lockManager.startOptimisticRead().readInode(1));
+    }
+    assertFalse(read.validate());
+    read = lockManager.startOptimisticRead();
+    assertTrue(read.readInode(1));
+    lockManager.lockUpdate(1).close();
+    assertFalse(read.validate());
+    read = lockManager.startOptimisticRead();
+    assertTrue(read.readInode(1));
+    lockManager.tryLockInode(1L, LockMode.WRITE).get().close();
+    assertFalse(read.validate());
+  }
+
+  @Test
+  public void optimisticReadOfEdges() throws Exception {
+    InodeLockManager lockManager = new InodeLockManager();
+    InodeLockManager.OptimisticRead read = lockManager.startOptimisticRead();
+    for (int i = 0; i < 100; i++) {
+      assertTrue(read.readEdge(new Edge(i, "name")));
+    }
+    assertTrue(read.validate());
+    try (RWLockResource lr = lockManager.lockEdge(new Edge(50, "name"), LockMode.WRITE, false)) {
+      lr.downgrade();
+      // a downgraded lock still counts as a writer until it is released
+      assertFalse(lockManager.startOptimisticRead().readEdge(new Edge(50, "name")));
+    }
+    assertFalse(read.validate());
+    assertTrue(lockManager.startOptimisticRead().readEdge(new Edge(50, "name")));
+  }
+
   private void inodeLockTest(LockMode take, LockMode tryToTake, boolean expectBlocking)
       throws Exception {
     InodeLockManager lockManager = new InodeLockManager();
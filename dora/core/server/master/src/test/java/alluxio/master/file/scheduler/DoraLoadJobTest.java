@@ -15,6 +15,8 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 
 import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.file.dora.ConsistentHashPolicy;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.runtime.ResourceExhaustedRuntimeException;
@@ -46,6 +48,7 @@ import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 public class DoraLoadJobTest {
   @Rule
@@ -138,6 +141,53 @@ public class DoraLoadJobTest {
     });
   }
 
+  @Test
+  public void testSubTasksPlacedWhereClientsRead() throws Exception {
+    String testPath = createByteFileInUfs("loadPlacement", 5 * Constants.MB);
+    Iterator<UfsStatus> iterator = new UfsStatusIterable(mLocalUfs, testPath, Optional.empty(),
+        Predicates.alwaysTrue()).iterator();
+    DoraLoadJob loadJob =
+        new DoraLoadJob(testPath, Optional.of("user"), "1", OptionalLong.empty(), false, true,
+            false, false, Optional.empty(), iterator, mLocalUfs, 1);
+    Set<WorkerInfo> workers = createWorkers(1, 5);
+    List<DoraLoadJob.DoraLoadTask> tasks = loadJob.getNextTasks(workers);
+    // the metadata and all the virtual blocks of the file go to the worker clients read it from
+    assertEquals(1, tasks.size());
+    assertEquals(4, tasks.get(0).getSubTasks().size());
+    List<BlockWorkerInfo> blockWorkers = workers.stream()
+        .map(w -> new BlockWorkerInfo(w.getIdentity(), w.getAddress(), 0, 0))
+        .collect(Collectors.toList());
+    BlockWorkerInfo clientWorker = new ConsistentHashPolicy(Configuration.global())
+        .getPreferredWorkers(blockWorkers, testPath, 1).get(0);
+    assertEquals(clientWorker.getIdentity(), tasks.get(0).getMyRunningWorker().getIdentity());
+  }
+
+  @Test
+  public void testReplanOnWorkerChange() throws IOException {
+    String testPath = createByteFileInUfs("loadReplan", 3 * Constants.MB);
+    Iterator<UfsStatus> iterator = new UfsStatusIterable(mLocalUfs, testPath, Optional.empty(),
+        Predicates.alwaysTrue()).iterator();
+    DoraLoadJob loadJob =
+        new DoraLoadJob(testPath, Optional.of("user"), "1", OptionalLong.empty(), false, true,
+            false, false, Optional.empty(), iterator, mLocalUfs, 1);
+    List<DoraLoadJob.DoraLoadTask> tasks = loadJob.getNextTasks(createWorkers(1, 1));
+    assertEquals(1, tasks.size());
+    assertEquals(1, tasks.get(0).getMyRunningWorker().getId());
+    // the task cannot be submitted before the worker leaves
+    loadJob.onTaskSubmitFailure(tasks.get(0));
+    tasks = loadJob.getNextTasks(createWorkers(2, 1));
+    assertEquals(1, tasks.size());
+    assertEquals(3, tasks.get(0).getSubTasks().size());
+    assertEquals(2, tasks.get(0).getMyRunningWorker().getId());
+  }
+
+  private static Set<WorkerInfo> createWorkers(int firstId, int count) {
+    return IntStream.range(firstId, firstId + count)
+        .mapToObj(id -> new WorkerInfo().setId(id).setAddress(
+            new WorkerNetAddress().setHost("worker" + id).setRpcPort(1234)))
+        .collect(Collectors.toSet());
+  }
+
   protected String createByteFileInUfs(String fileName, int length) throws IOException {
     if (fileName.startsWith("/")) {
       fileName = fileName.substring(1);
@@ -12,12 +12,20 @@
 package alluxio.master.file.scheduler;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 import alluxio.conf.Configuration;
 import alluxio.master.job.UfsStatusIterable;
+import alluxio.underfs.UfsDirectoryStatus;
+import alluxio.underfs.UfsFileStatus;
 import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
+import alluxio.underfs.options.ListOptions;
 
 import com.google.common.base.Predicates;
 import org.apache.commons.compress.utils.Lists;
@@ -28,8 +36,11 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 public class UfsStatusIterableTest {
   private String mLocalUfsRoot;
@@ -59,4 +70,61 @@ public class UfsStatusIterableTest {
     ArrayList<UfsStatus> array = Lists.newArrayList(iterator);
     assertEquals(4, array.size());
   }
+
+  @Test
+  public void startAfterOnLocalFiles() throws IOException {
+    // only object stores list in key order, so the start point is ignored
+    mTemporaryFolder.newFile("a");
+    mTemporaryFolder.newFile("b");
+
+    UfsStatusIterable ufsStatusIterable = new UfsStatusIterable(mLocalUfs, mLocalUfsRoot,
+        Optional.empty(), Predicates.alwaysTrue(), mLocalUfsRoot + "/a");
+    assertEquals(2, Lists.newArrayList(ufsStatusIterable.iterator()).size());
+  }
+
+  @Test
+  public void startAfterOnObjectStore() throws IOException {
+    UnderFileSystem ufs = mockObjectStore();
+    when(ufs.listStatusIterable(eq("s3://bucket/dir"), any(ListOptions.class), eq("dir/b"),
+        eq(0))).thenReturn(files("c", "d"));
+
+    UfsStatusIterable ufsStatusIterable = new UfsStatusIterable(ufs, "s3://bucket/dir",
+        Optional.empty(), Predicates.alwaysTrue(), "s3://bucket/dir/b");
+    assertEquals(Arrays.asList("s3://bucket/dir/c", "s3://bucket/dir/d"),
+        fullPaths(ufsStatusIterable.iterator()));
+  }
+
+  @Test
+  public void startAfterOnObjectStoreListingFromTheStart() throws IOException {
+    UnderFileSystem ufs = mockObjectStore();
+    when(ufs.listStatusIterable(eq("s3://bucket/dir"), any(ListOptions.class), eq("dir/b"),
+        eq(0))).thenThrow(new UnsupportedOperationException());
+    when(ufs.listStatusIterable(eq("s3://bucket/dir"), any(ListOptions.class), isNull(),
+        eq(0))).thenReturn(files("a", "b", "c"));
+
+    UfsStatusIterable ufsStatusIterable = new UfsStatusIterable(ufs, "s3://bucket/dir",
+        Optional.empty(), Predicates.alwaysTrue(), "s3://bucket/dir/b");
+    assertEquals(Arrays.asList("s3://bucket/dir/c"), fullPaths(ufsStatusIterable.iterator()));
+  }
+
+  private static UnderFileSystem mockObjectStore() throws IOException {
+    UnderFileSystem ufs = mock(UnderFileSystem.class);
+    when(ufs.isObjectStorage()).thenReturn(true);
+    when(ufs.getStatus("s3://bucket/dir"))
+        .thenReturn(new UfsDirectoryStatus("dir", "owner", "group", (short) 0755));
+    return ufs;
+  }
+
+  private static Iterator<UfsStatus> files(String... names) {
+    return Arrays.stream(names)
+        .map(name -> (UfsStatus) new UfsFileStatus(name, "hash", 1L, 0L, "owner", "group",
+            (short) 0644))
+        .iterator();
+  }
+
+  private static List<String> fullPaths(Iterator<UfsStatus> statuses) {
+    return Lists.newArrayList(statuses).stream()
+        .map(status -> status.getUfsFullPath().toString())
+        .collect(Collectors.toList());
+  }
 }
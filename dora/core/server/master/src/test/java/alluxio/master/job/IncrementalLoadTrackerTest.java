@@ -0,0 +1,126 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.job;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.AlluxioURI;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.scheduler.job.LoadManifest;
+import alluxio.underfs.UfsFileStatus;
+import alluxio.underfs.UfsStatus;
+
+import org.junit.Test;
+
+import java.util.Iterator;
+import java.util.Optional;
+
+public class IncrementalLoadTrackerTest {
+  @Test
+  public void manifestDetectsChanges() {
+    LoadManifest manifest = new LoadManifest.Builder()
+        .add(file("s3://bucket/a", "hash1", 10))
+        .add(file("s3://bucket/b", "hash2", 20))
+        .add(file("s3://bucket/b", "hash3", 20))
+        .build();
+    assertEquals(2, manifest.size());
+    assertTrue(manifest.contains(file("s3://bucket/a", "hash1", 10)));
+    assertFalse(manifest.contains(file("s3://bucket/a", "hash1", 11)));
+    // the last fingerprint added wins
+    assertFalse(manifest.contains(file("s3://bucket/b", "hash2", 20)));
+    assertTrue(manifest.contains(file("s3://bucket/b", "hash3", 20)));
+    assertFalse(manifest.contains(file("s3://bucket/c", "hash1", 10)));
+
+    LoadManifest merged = manifest.merge(new LoadManifest.Builder()
+        .add(file("s3://bucket/a", "hash4", 10))
+        .add(file("s3://bucket/c", "hash5", 30))
+        .build());
+    assertEquals(3, merged.size());
+    assertTrue(merged.contains(file("s3://bucket/a", "hash4", 10)));
+    assertTrue(merged.contains(file("s3://bucket/b", "hash3", 20)));
+    assertTrue(merged.contains(file("s3://bucket/c", "hash5", 30)));
+  }
+
+  @Test
+  public void manifestJournalEntries() {
+    Iterator<JournalEntry> entries = LoadManifest.empty().toJournalEntries("/load", false);
+    assertTrue(entries.next().getLoadManifest().hasLoadPath());
+    assertFalse(entries.hasNext());
+    assertFalse(LoadManifest.empty().toJournalEntries("/load", true).hasNext());
+
+    LoadManifest manifest = new LoadManifest.Builder()
+        .add(file("s3://bucket/a", "hash1", 10))
+        .add(file("s3://bucket/b", "hash2", 20))
+        .build();
+    LoadManifest.Builder replayed = new LoadManifest.Builder();
+    manifest.toJournalEntries("/load", false)
+        .forEachRemaining(entry -> replayed.add(entry.getLoadManifest()));
+    LoadManifest restored = replayed.build();
+    assertEquals(2, restored.size());
+    assertTrue(restored.contains(file("s3://bucket/a", "hash1", 10)));
+    assertTrue(restored.contains(file("s3://bucket/b", "hash2", 20)));
+  }
+
+  @Test
+  public void skipUnchangedFiles() {
+    LoadManifest previous = new LoadManifest.Builder()
+        .add(file("s3://bucket/a", "hash1", 10))
+        .add(file("s3://bucket/deleted", "hash2", 20))
+        .build();
+    IncrementalLoadTracker tracker = new IncrementalLoadTracker(previous, null);
+    assertTrue(tracker.skipIfUnchanged(file("s3://bucket/a", "hash1", 10)));
+    UfsStatus changed = file("s3://bucket/b", "hash3", 30);
+    assertFalse(tracker.skipIfUnchanged(changed));
+    tracker.onListed(changed, 2);
+    assertEquals(Optional.of("s3://bucket/a"), tracker.getCheckpoint());
+
+    tracker.onSubTasksSucceeded("s3://bucket/b", 1);
+    assertEquals(0, tracker.drainLoadedFiles().size());
+    tracker.onSubTasksSucceeded("s3://bucket/b", 1);
+    assertEquals(Optional.of("s3://bucket/b"), tracker.getCheckpoint());
+    assertEquals(1, tracker.drainLoadedFiles().size());
+    assertEquals(0, tracker.drainLoadedFiles().size());
+
+    // a complete listing drops the files which were deleted
+    LoadManifest manifest = tracker.getManifest();
+    assertEquals(2, manifest.size());
+    assertTrue(manifest.contains(changed));
+    assertEquals(1, tracker.getUnchangedFileCount());
+  }
+
+  @Test
+  public void checkpointStopsAtFailedFile() {
+    IncrementalLoadTracker tracker = new IncrementalLoadTracker(LoadManifest.empty(), "s3://b/0");
+    UfsStatus first = file("s3://b/1", "hash1", 10);
+    UfsStatus second = file("s3://b/2", "hash2", 10);
+    UfsStatus third = file("s3://b/3", "hash3", 10);
+    tracker.onListed(first, 1);
+    tracker.onListed(second, 1);
+    tracker.onListed(third, 1);
+    tracker.onSubTasksSucceeded("s3://b/3", 1);
+    assertEquals(Optional.of("s3://b/0"), tracker.getCheckpoint());
+    tracker.onSubTasksSucceeded("s3://b/1", 1);
+    assertEquals(Optional.of("s3://b/1"), tracker.getCheckpoint());
+    tracker.onFileFailed("s3://b/2");
+    assertEquals(Optional.of("s3://b/1"), tracker.getCheckpoint());
+    assertEquals(2, tracker.drainLoadedFiles().size());
+  }
+
+  private static UfsStatus file(String path, String contentHash, long length) {
+    UfsStatus status = new UfsFileStatus(path.substring(path.lastIndexOf('/') + 1), contentHash,
+        length, 0L, "owner", "group", (short) 0644);
+    status.setUfsFullPath(new AlluxioURI(path));
+    return status;
+  }
+}
@@ -0,0 +1,184 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal.raft;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Unit tests for {@link JournalReplayLanes}.
+ */
+public final class JournalReplayLanesTest {
+  // with two threads, the lanes "a" and "b" are bound to different threads
+  private static final String LANE_A = "a";
+  private static final String LANE_B = "b";
+
+  private JournalReplayLanes mLanes;
+
+  @After
+  public void after() {
+    if (mLanes != null) {
+      mLanes.close();
+    }
+  }
+
+  @Test
+  public void appliesEachLaneInOrder() {
+    mLanes = new JournalReplayLanes(4);
+    Map<String, List<Integer>> applied = new HashMap<>();
+    for (int lane = 0; lane < 8; lane++) {
+      applied.put("lane" + lane, Collections.synchronizedList(new ArrayList<>()));
+    }
+    for (int i = 0; i < 10_000; i++) {
+      String lane = "lane" + i % 8;
+      int entry = i;
+      mLanes.submit(ImmutableList.of(lane), () -> applied.get(lane).add(entry));
+    }
+    mLanes.await();
+    for (int lane = 0; lane < 8; lane++) {
+      List<Integer> entries = applied.get("lane" + lane);
+      assertEquals(10_000 / 8, entries.size());
+      for (int i = 0; i < entries.size(); i++) {
+        assertEquals(lane + 8 * i, (int) entries.get(i));
+      }
+    }
+  }
+
+  @Test
+  public void appliesEntryOfSeveralThreadsOnceAfterEarlierEntries() throws Exception {
+    mLanes = new JournalReplayLanes(2);
+    assertNotEquals(Math.floorMod(LANE_A.hashCode(), 2), Math.floorMod(LANE_B.hashCode(), 2));
+    List<String> applied = Collections.synchronizedList(new ArrayList<>());
+    CountDownLatch releaseA = new CountDownLatch(1);
+    CountDownLatch releaseB = new CountDownLatch(1);
+    mLanes.submit(ImmutableList.of(LANE_A), () -> {
+      awaitLatch(releaseA);
+      applied.add("a1");
+    });
+    mLanes.submit(ImmutableList.of(LANE_B), () -> {
+      awaitLatch(releaseB);
+      applied.add("b1");
+    });
+    AtomicInteger applies = new AtomicInteger();
+    mLanes.submit(ImmutableList.of(LANE_A, LANE_B), () -> {
+      applies.incrementAndGet();
+      applied.add("ab");
+    });
+    mLanes.submit(ImmutableList.of(LANE_A), () -> applied.add("a2"));
+    mLanes.submit(ImmutableList.of(LANE_B), () -> applied.add("b2"));
+
+    // the entry of both lanes waits for the earlier entries of each of its threads
+    releaseA.countDown();
+    CommonUtils.waitFor("the first entry of lane a", () -> applied.contains("a1"),
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertFalse(applied.contains("ab"));
+    assertFalse(applied.contains("a2"));
+    releaseB.countDown();
+    mLanes.await();
+
+    assertEquals(1, applies.get());
+    assertEquals(5, applied.size());
+    assertTrue(applied.indexOf("ab") > applied.indexOf("a1"));
+    assertTrue(applied.indexOf("ab") > applied.indexOf("b1"));
+    assertTrue(applied.indexOf("ab") < applied.indexOf("a2"));
+    assertTrue(applied.indexOf("ab") < applied.indexOf("b2"));
+  }
+
+  @Test
+  public void awaitAfterBarrierEntries() throws Exception {
+    mLanes = new JournalReplayLanes(2);
+    AtomicInteger applied = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    for (int i = 0; i < 100; i++) {
+      mLanes.submit(ImmutableList.of(i % 2 == 0 ? LANE_A : LANE_B), () -> {
+        awaitLatch(release);
+        applied.incrementAndGet();
+      });
+    }
+    // an entry without lanes is applied by the submitting thread once the lanes are drained
+    Thread barrier = new Thread(() -> {
+      mLanes.await();
+      assertEquals(100, applied.get());
+      applied.incrementAndGet();
+    });
+    barrier.start();
+    CommonUtils.waitFor("the barrier to wait for the lanes",
+        () -> barrier.getState() == Thread.State.WAITING,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(0, applied.get());
+    release.countDown();
+    barrier.join(TimeUnit.SECONDS.toMillis(10));
+    assertFalse(barrier.isAlive());
+    assertEquals(101, applied.get());
+
+    // the lanes are used again after the barrier
+    for (int i = 0; i < 100; i++) {
+      mLanes.submit(ImmutableList.of(LANE_A, LANE_B), applied::incrementAndGet);
+    }
+    mLanes.await();
+    assertEquals(201, applied.get());
+  }
+
+  @Test
+  public void blocksSubmitAtMaxPendingEntries() throws Exception {
+    mLanes = new JournalReplayLanes(2, 2);
+    AtomicInteger applied = new AtomicInteger();
+    CountDownLatch release = new CountDownLatch(1);
+    mLanes.submit(ImmutableList.of(LANE_A), () -> {
+      awaitLatch(release);
+      applied.incrementAndGet();
+    });
+    mLanes.submit(ImmutableList.of(LANE_B), () -> {
+      awaitLatch(release);
+      applied.incrementAndGet();
+    });
+    Thread submitter = new Thread(
+        () -> mLanes.submit(ImmutableList.of(LANE_A), applied::incrementAndGet));
+    submitter.start();
+    CommonUtils.waitFor("the submit to block on the pending entries",
+        () -> submitter.getState() == Thread.State.WAITING,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertEquals(0, applied.get());
+    release.countDown();
+    submitter.join(TimeUnit.SECONDS.toMillis(10));
+    assertFalse(submitter.isAlive());
+    mLanes.await();
+    assertEquals(3, applied.get());
+  }
+
+  private static void awaitLatch(CountDownLatch latch) {
+    try {
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(e);
+    }
+  }
+}
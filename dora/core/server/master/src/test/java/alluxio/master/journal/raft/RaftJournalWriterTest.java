@@ -11,6 +11,10 @@
 
 package alluxio.master.journal.raft;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.atLeast;
 import static org.mockito.Mockito.mock;
@@ -21,6 +25,8 @@ import static org.mockito.Mockito.when;
 
 import alluxio.proto.journal.File;
 import alluxio.proto.journal.Journal;
+import alluxio.util.CommonUtils;
+import alluxio.util.WaitForOptions;
 
 import org.apache.ratis.protocol.ClientId;
 import org.apache.ratis.protocol.Message;
@@ -34,6 +40,8 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.lang.reflect.Modifier;
 import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
@@ -44,6 +52,7 @@ import java.util.concurrent.TimeUnit;
 public class RaftJournalWriterTest {
   private RaftJournalAppender mClient;
   private RaftJournalWriter mRaftJournalWriter;
+  private RaftClientReply mReply;
 
   @Before
   public void setupRaftJournalWriter() throws IOException  {
@@ -88,6 +97,7 @@ public class RaftJournalWriterTest {
       }
     };
     when(mClient.sendAsync(any())).thenReturn(future);
+    mReply = reply;
 
     mRaftJournalWriter = new RaftJournalWriter(1, mClient);
   }
@@ -139,4 +149,80 @@ public class RaftJournalWriterTest {
     mRaftJournalWriter.write(Journal.JournalEntry.getDefaultInstance());
     verify(mClient, atLeast(totalMessageBytes / flushBatchSize)).sendAsync(any());
   }
+
+  @Test
+  public void pipelinedFlush() throws Exception {
+    RaftJournalAppender client = mock(RaftJournalAppender.class);
+    List<CompletableFuture<RaftClientReply>> replies = new ArrayList<>();
+    when(client.sendAsync(any())).thenAnswer(invocation -> {
+      CompletableFuture<RaftClientReply> future = new CompletableFuture<>();
+      replies.add(future);
+      return future;
+    });
+    RaftJournalWriter writer = new RaftJournalWriter(1, client, 4);
+    List<CompletableFuture<Void>> flushes = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      writer.write(Journal.JournalEntry.getDefaultInstance());
+      flushes.add(writer.flushAsync());
+    }
+    // the batches are submitted without waiting for the previous ones to be committed
+    verify(client, times(3)).sendAsync(any());
+    assertFalse(flushes.get(0).isDone());
+
+    // after a failed batch, nothing is sent until the batches sent after it complete
+    replies.get(0).completeExceptionally(new IOException("failed"));
+    assertTrue(flushes.get(0).isCompletedExceptionally());
+    CompletableFuture<CompletableFuture<Void>> resubmit = new CompletableFuture<>();
+    Thread resubmitThread = new Thread(() -> {
+      try {
+        resubmit.complete(writer.flushAsync());
+      } catch (Exception e) {
+        resubmit.completeExceptionally(e);
+      }
+    });
+    resubmitThread.start();
+    CommonUtils.waitFor("the resubmission to wait for the batches in flight",
+        () -> resubmitThread.getState() == Thread.State.TIMED_WAITING,
+        WaitForOptions.defaults().setTimeoutMs(10000));
+    assertFalse(resubmit.isDone());
+    verify(client, times(3)).sendAsync(any());
+
+    // Ratis fails the batches sent after a failed one, and they are all resubmitted in order
+    replies.get(1).completeExceptionally(new IOException("failed"));
+    replies.get(2).completeExceptionally(new IOException("failed"));
+    CompletableFuture<Void> retry = resubmit.get(10, TimeUnit.SECONDS);
+    verify(client, times(6)).sendAsync(any());
+    assertFalse(retry.isDone());
+    for (int i = 3; i < replies.size(); i++) {
+      replies.get(i).complete(mReply);
+    }
+    assertTrue(retry.isDone());
+    assertFalse(retry.isCompletedExceptionally());
+    writer.flush();
+    assertEquals(6, replies.size());
+    writer.close();
+  }
+
+  @Test
+  public void pipelinedBatchAppendedAfterRejectedIsFatal() throws Exception {
+    RaftJournalAppender client = mock(RaftJournalAppender.class);
+    List<CompletableFuture<RaftClientReply>> replies = new ArrayList<>();
+    when(client.sendAsync(any())).thenAnswer(invocation -> {
+      CompletableFuture<RaftClientReply> future = new CompletableFuture<>();
+      replies.add(future);
+      return future;
+    });
+    RaftJournalWriter writer = new RaftJournalWriter(1, client, 4);
+    for (int i = 0; i < 2; i++) {
+      writer.write(Journal.JournalEntry.getDefaultInstance());
+      writer.flushAsync();
+    }
+    // resubmitting the rejected batch would append its entries after the later ones
+    replies.get(0).completeExceptionally(new IOException("rejected"));
+    replies.get(1).complete(mReply);
+    writer.write(Journal.JournalEntry.getDefaultInstance());
+    assertThrows(RuntimeException.class, writer::flushAsync);
+    verify(client, times(2)).sendAsync(any());
+    writer.close();
+  }
 }
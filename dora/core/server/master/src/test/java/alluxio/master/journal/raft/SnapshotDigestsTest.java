@@ -0,0 +1,70 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.journal.raft;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashSet;
+
+/**
+ * Unit tests for {@link SnapshotDigests}.
+ */
+public class SnapshotDigestsTest {
+  @Rule
+  public TemporaryFolder mFolder = new TemporaryFolder();
+
+  @Test
+  public void transferOnlyNewSstFiles() throws Exception {
+    Path root = mFolder.getRoot().toPath();
+    Path previous = Files.createDirectories(root.resolve("snapshot-1"));
+    write(previous.resolve("inodes/000001.sst"), "old");
+    write(previous.resolve("inodes/MANIFEST-000002"), "manifest1");
+    SnapshotDigests previousDigests = SnapshotDigests.compute(previous, null);
+
+    // the next snapshot links the unchanged SST file and adds a new one
+    Path current = Files.createDirectories(root.resolve("snapshot-2/inodes"));
+    Files.createLink(current.resolve("000001.sst"), previous.resolve("inodes/000001.sst"));
+    write(current.resolve("000003.sst"), "new");
+    write(current.resolve("MANIFEST-000004"), "manifest2");
+    current = current.getParent();
+    SnapshotDigests currentDigests = SnapshotDigests.compute(current, previous);
+    assertEquals(2, currentDigests.getDigests().size());
+    assertTrue(currentDigests.getDigests().containsAll(previousDigests.getDigests()));
+
+    // another master having the previous snapshot only receives the new files
+    Path staging = currentDigests.stageWithout(current,
+        new HashSet<>(previousDigests.getDigests()));
+    assertFalse(Files.exists(staging.resolve("inodes/000001.sst")));
+    assertTrue(Files.exists(staging.resolve("inodes/000003.sst")));
+    assertTrue(Files.exists(staging.resolve("inodes/MANIFEST-000004")));
+    assertTrue(Files.exists(staging.resolve(SnapshotDigests.FILE_NAME)));
+
+    assertEquals(3, previousDigests.linkMissingFiles(staging, previous));
+    assertArrayEquals("old".getBytes(StandardCharsets.UTF_8),
+        Files.readAllBytes(staging.resolve("inodes/000001.sst")));
+  }
+
+  private static void write(Path file, String content) throws Exception {
+    Files.createDirectories(file.getParent());
+    Files.write(file, content.getBytes(StandardCharsets.UTF_8));
+  }
+}
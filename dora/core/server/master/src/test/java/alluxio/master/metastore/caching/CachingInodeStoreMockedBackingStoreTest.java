@@ -36,6 +36,7 @@ import alluxio.master.metastore.InodeStore;
 import alluxio.master.metastore.ReadOption;
 import alluxio.master.metastore.heap.HeapInodeStore;
 import alluxio.resource.CloseableIterator;
+import alluxio.util.CommonUtils;
 
 import com.google.common.collect.ImmutableMap;
 import io.netty.util.ResourceLeakDetector;
@@ -205,6 +206,28 @@ public class CachingInodeStoreMockedBackingStoreTest {
     verify(mBackingStore, Mockito.atLeastOnce()).getMutable(anyLong(), any(ReadOption.class));
   }
 
+  @Test
+  public void offHeapInodeCache() throws Exception {
+    mConf.set(PropertyKey.MASTER_METASTORE_INODE_CACHE_OFF_HEAP_SIZE, "1MB");
+    mStore.close();
+    mStore = new CachingInodeStore(mBackingStore, new InodeLockManager());
+    for (long id = 100; id < 100 + CACHE_SIZE * 2; id++) {
+      mStore.writeNewInode(MutableInodeFile.create(id, TEST_INODE_ID, "child" + id, 0,
+          CreateFileContext.defaults()));
+    }
+    CommonUtils.waitFor("inodes to be evicted",
+        () -> mStore.mInodeCache.getCacheMap().size() < CACHE_SIZE);
+    for (long id = 100; id < 100 + CACHE_SIZE * 2; id++) {
+      assertEquals("child" + id, mStore.getMutable(id).get().getName());
+      // an evicted inode written again must not be served from its stale off-heap copy
+      mStore.writeInode(MutableInodeFile.create(id, TEST_INODE_ID, "renamed" + id, 0,
+          CreateFileContext.defaults()));
+    }
+    for (long id = 100; id < 100 + CACHE_SIZE * 2; id++) {
+      assertEquals("renamed" + id, mStore.getMutable(id).get().getName());
+    }
+  }
+
   @Test
   public void edgeIndexTest() throws Exception {
     // Run many concurrent operations, then check that the edge cache's indices are accurate.
@@ -0,0 +1,89 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.metastore.caching;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.Constants;
+import alluxio.master.file.contexts.CreateFileContext;
+import alluxio.master.file.meta.MutableInode;
+import alluxio.master.file.meta.MutableInodeFile;
+
+import com.google.common.base.Strings;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Optional;
+
+/**
+ * Unit tests for {@link OffHeapInodeCache}.
+ */
+public class OffHeapInodeCacheTest {
+  private final OffHeapInodeCache mCache = new OffHeapInodeCache(64 * Constants.KB);
+
+  @After
+  public void after() {
+    mCache.close();
+  }
+
+  @Test
+  public void putGetInvalidate() {
+    mCache.put(inode(1, "one"));
+    mCache.put(inode(2, "two"));
+    Optional<MutableInode<?>> inode = mCache.get(1);
+    assertTrue(inode.isPresent());
+    assertEquals("one", inode.get().getName());
+    assertEquals(1, inode.get().getId());
+
+    mCache.put(inode(1, "renamed"));
+    assertEquals("renamed", mCache.get(1).get().getName());
+    mCache.invalidate(1);
+    assertFalse(mCache.get(1).isPresent());
+    assertEquals("two", mCache.get(2).get().getName());
+
+    mCache.clear();
+    assertFalse(mCache.get(2).isPresent());
+  }
+
+  @Test
+  public void reuseOldestSegment() {
+    int numInodes = 5000;
+    for (int id = 0; id < numInodes; id++) {
+      mCache.put(inode(id, "file" + id));
+    }
+    // the latest inodes are kept while the oldest ones are dropped to stay within the size
+    assertFalse(mCache.get(0).isPresent());
+    assertEquals("file" + (numInodes - 1), mCache.get(numInodes - 1).get().getName());
+    int cached = 0;
+    for (int id = 0; id < numInodes; id++) {
+      if (mCache.get(id).isPresent()) {
+        cached++;
+      }
+    }
+    assertTrue(cached > 0);
+    assertTrue(cached < numInodes);
+  }
+
+  @Test
+  public void skipLargeInode() {
+    mCache.put(inode(1, "small"));
+    mCache.put(inode(1, Strings.repeat("x", 8 * Constants.KB)));
+    // the previous copy of the inode must not be served either
+    assertFalse(mCache.get(1).isPresent());
+  }
+
+  private static MutableInodeFile inode(long id, String name) {
+    return MutableInodeFile.create(id, 0, name, 0, CreateFileContext.defaults());
+  }
+}
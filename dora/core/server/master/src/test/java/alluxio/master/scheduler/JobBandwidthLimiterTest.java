@@ -0,0 +1,108 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.scheduler;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.Constants;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.scheduler.job.Job;
+import alluxio.scheduler.job.Task;
+
+import com.google.common.base.Ticker;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+public class JobBandwidthLimiterTest {
+  private long mNowNanos = 0;
+  private JobBandwidthLimiter mLimiter;
+
+  @Before
+  public void before() {
+    InstancedConfiguration conf = new InstancedConfiguration(Configuration.copyProperties());
+    conf.set(PropertyKey.MASTER_SCHEDULER_UFS_BANDWIDTH, "2MB");
+    mLimiter = new JobBandwidthLimiter(conf, new Ticker() {
+      @Override
+      public long read() {
+        return mNowNanos;
+      }
+    });
+  }
+
+  @Test
+  public void jobLimitKeepsGlobalBudget() {
+    Job<?> limited = job(OptionalLong.of(Constants.MB));
+    Job<?> unlimited = job(OptionalLong.empty());
+    assertTrue(mLimiter.tryAcquire(task(limited, Constants.MB)));
+    advanceMs(600);
+    // the job is over its own bandwidth, but the other jobs still have the global budget
+    assertFalse(mLimiter.tryAcquire(task(limited, Constants.MB)));
+    assertFalse(mLimiter.isGlobalBudgetExhausted());
+    assertTrue(mLimiter.tryAcquire(task(unlimited, Constants.MB)));
+    assertTrue(mLimiter.isGlobalBudgetExhausted());
+  }
+
+  @Test
+  public void globalLimitKeepsJobBudget() {
+    Job<?> limited = job(OptionalLong.of(Constants.MB));
+    Job<?> unlimited = job(OptionalLong.empty());
+    assertTrue(mLimiter.tryAcquire(task(unlimited, 2 * Constants.MB)));
+    assertTrue(mLimiter.isGlobalBudgetExhausted());
+    // a task denied by the global budget does not use up the budget of its job
+    assertFalse(mLimiter.tryAcquire(task(limited, 4 * Constants.MB)));
+    advanceMs(1000);
+    assertFalse(mLimiter.isGlobalBudgetExhausted());
+    assertTrue(mLimiter.tryAcquire(task(limited, 4 * Constants.MB)));
+  }
+
+  @Test
+  public void largeTaskDelaysNextTasks() {
+    Job<?> limited = job(OptionalLong.of(Constants.MB));
+    assertTrue(mLimiter.tryAcquire(task(limited, 3 * Constants.MB)));
+    advanceMs(2900);
+    assertFalse(mLimiter.tryAcquire(task(limited, Constants.MB)));
+    advanceMs(100);
+    assertTrue(mLimiter.tryAcquire(task(limited, Constants.MB)));
+  }
+
+  @Test
+  public void tasksWithoutEstimateAreNotLimited() {
+    Job<?> unlimited = job(OptionalLong.empty());
+    assertTrue(mLimiter.tryAcquire(task(unlimited, 10 * Constants.MB)));
+    assertTrue(mLimiter.tryAcquire(task(unlimited, 0)));
+  }
+
+  private void advanceMs(long ms) {
+    mNowNanos += TimeUnit.MILLISECONDS.toNanos(ms);
+  }
+
+  private static Job<?> job(OptionalLong bandwidth) {
+    Job<?> job = mock(Job.class);
+    when(job.getBandwidth()).thenReturn(bandwidth);
+    return job;
+  }
+
+  private static Task<?> task(Job<?> job, long estimatedBytes) {
+    Task<?> task = mock(Task.class);
+    when(task.getJob()).thenReturn(job);
+    when(task.getEstimatedBytes()).thenReturn(estimatedBytes);
+    return task;
+  }
+}
@@ -0,0 +1,86 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.scheduler.job.Job;
+
+import com.google.common.collect.ImmutableList;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+public class JobFairShareTest {
+  private JobFairShare mFairShare;
+  private final Map<Job<?>, List<Integer>> mJobToTasks = new HashMap<>();
+
+  @Before
+  public void before() {
+    InstancedConfiguration conf = new InstancedConfiguration(Configuration.copyProperties());
+    conf.set(PropertyKey.MASTER_SCHEDULER_FAIR_SHARE_WEIGHTS, "etl:3, adhoc:1");
+    conf.set(PropertyKey.MASTER_SCHEDULER_PRIORITY_USERS, "oncall");
+    mFairShare = new JobFairShare(conf);
+  }
+
+  @Test
+  public void smallJobGoesFirst() {
+    Job<?> large = job("adhoc", 10);
+    Job<?> small = job("adhoc", 1);
+    assertEquals(ImmutableList.of(small, large), mFairShare.order(mJobToTasks));
+    assertTrue(mFairShare.shouldPreempt(small, large, mJobToTasks));
+    assertFalse(mFairShare.shouldPreempt(large, small, mJobToTasks));
+    assertFalse(mFairShare.shouldPreempt(large, large, mJobToTasks));
+  }
+
+  @Test
+  public void weightedShares() {
+    // etl has three times the share of adhoc, split between its two jobs
+    Job<?> etl1 = job("etl", 4);
+    Job<?> etl2 = job("etl", 1);
+    Job<?> adhoc = job("adhoc", 2);
+    assertEquals(ImmutableList.of(etl2, adhoc, etl1), mFairShare.order(mJobToTasks));
+    assertTrue(mFairShare.shouldPreempt(etl2, adhoc, mJobToTasks));
+    // a job does not take a slot if it would then use more of its share than the victim
+    assertFalse(mFairShare.shouldPreempt(etl1, adhoc, mJobToTasks));
+    assertFalse(mFairShare.shouldPreempt(adhoc, etl1, mJobToTasks));
+  }
+
+  @Test
+  public void priorityUsers() {
+    Job<?> oncall = job("oncall", 100);
+    Job<?> other = job(null, 0);
+    assertEquals(ImmutableList.of(oncall, other), mFairShare.order(mJobToTasks));
+    assertTrue(mFairShare.shouldPreempt(oncall, other, mJobToTasks));
+    assertFalse(mFairShare.shouldPreempt(other, oncall, mJobToTasks));
+  }
+
+  private Job<?> job(String user, int numTasks) {
+    Job<?> job = mock(Job.class);
+    when(job.getUser()).thenReturn(Optional.ofNullable(user));
+    mJobToTasks.put(job, new ArrayList<>(Collections.nCopies(numTasks, 0)));
+    return job;
+  }
+}
@@ -0,0 +1,74 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.master.scheduler;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class TaskConcurrencyWindowTest {
+  @Test
+  public void additiveIncrease() {
+    TaskConcurrencyWindow window = new TaskConcurrencyWindow(4);
+    assertEquals(1, window.getWindow());
+    long now = 0;
+    // one full window of successful tasks grows the window by one
+    window.onTaskCompleted(true, now, now += 100);
+    assertEquals(2, window.getWindow());
+    window.onTaskCompleted(true, now, now += 100);
+    assertEquals(2, window.getWindow());
+    window.onTaskCompleted(true, now, now += 100);
+    assertEquals(3, window.getWindow());
+    for (int i = 0; i < 100; i++) {
+      window.onTaskCompleted(true, now, now += 100);
+    }
+    assertEquals(4, window.getWindow());
+    assertEquals(100, window.getAverageLatencyMs(), 0.01);
+    assertEquals(40, window.getThroughput(), 0.01);
+  }
+
+  @Test
+  public void multiplicativeDecreaseOncePerWindow() {
+    TaskConcurrencyWindow window = new TaskConcurrencyWindow(8);
+    long now = 0;
+    for (int i = 0; i < 100; i++) {
+      window.onTaskCompleted(true, now, now += 100);
+    }
+    assertEquals(8, window.getWindow());
+    long start = now;
+    window.onTaskCompleted(false, start, now += 100);
+    assertEquals(4, window.getWindow());
+    // the tasks started before the decrease do not decrease the window again
+    window.onTaskCompleted(false, start, now += 100);
+    assertEquals(4, window.getWindow());
+    window.onTaskCompleted(false, now, now += 100);
+    assertEquals(2, window.getWindow());
+    assertTrue(window.getErrorRate() > 0);
+  }
+
+  @Test
+  public void slowTasksDecrease() {
+    TaskConcurrencyWindow window = new TaskConcurrencyWindow(8);
+    long now = 0;
+    for (int i = 0; i < 100; i++) {
+      window.onTaskCompleted(true, now, now += 100);
+    }
+    assertEquals(8, window.getWindow());
+    window.onTaskCompleted(true, now, now += 1000);
+    assertEquals(4, window.getWindow());
+    for (int i = 0; i < 10; i++) {
+      window.onTaskCompleted(false, now, now += 100);
+    }
+    assertEquals(1, window.getWindow());
+  }
+}
@@ -0,0 +1,355 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.block.stream.BlockWorkerClient;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.PageId;
+import alluxio.client.file.dora.WorkerPlacement;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.status.ResourceExhaustedException;
+import alluxio.grpc.GrpcUtils;
+import alluxio.grpc.LoadDataSubTask;
+import alluxio.grpc.LoadFailure;
+import alluxio.grpc.LoadFileRequest;
+import alluxio.grpc.LoadFileResponse;
+import alluxio.grpc.LoadSubTask;
+import alluxio.grpc.UfsFileStatus;
+import alluxio.grpc.UfsReadOptions;
+import alluxio.grpc.UfsStatus;
+import alluxio.membership.CacheHandoffProgress;
+import alluxio.membership.MembershipManager;
+import alluxio.resource.CloseableResource;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.util.concurrent.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Hands off the cache of a worker which leaves the cluster to the workers which take over its
+ * files, so that the reads of these files do not all go to the UFS once it is gone.
+ *
+ * The worker tracks the files it recently served. When it is decommissioned, it finds the owner
+ * of each of these files on the ring without itself, and asks the owner to load the cached pages
+ * of the file from it, through the load RPC with this worker as the main worker. The most
+ * recently served files are handed off first, and the bytes handed off are rate limited so that
+ * the handoff does not starve the reads this worker still serves in the meantime.
+ */
+@ThreadSafe
+final class CacheHandoff {
+  private static final Logger LOG = LoggerFactory.getLogger(CacheHandoff.class);
+  private static final long BYTES_PER_PERMIT = Constants.KB;
+  /** The max bytes of pages handed off to a worker in one load request. */
+  private static final long BATCH_BYTES = 64 * Constants.MB;
+  /** The max number of load requests in flight. */
+  private static final int MAX_IN_FLIGHT_BATCHES = 16;
+  private static final String TAG = "cache-handoff";
+
+  private final AlluxioConfiguration mConf;
+  private final CacheManager mCacheManager;
+  private final MembershipManager mMembershipManager;
+  private final FileSystemContext mFsContext;
+  private final long mPageSize;
+  private final long mBandwidth;
+  private final long mTimeoutMs;
+  /** The files recently served, by ufs path. */
+  private final Cache<String, ServedFile> mServedFiles;
+
+  /**
+   * @param conf the configuration
+   * @param cacheManager the cache manager
+   * @param membershipManager the membership manager
+   * @param fsContext the file system context
+   */
+  CacheHandoff(AlluxioConfiguration conf, CacheManager cacheManager,
+      MembershipManager membershipManager, FileSystemContext fsContext) {
+    mConf = conf;
+    mCacheManager = cacheManager;
+    mMembershipManager = membershipManager;
+    mFsContext = fsContext;
+    mPageSize = conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE);
+    mBandwidth = conf.getBytes(PropertyKey.WORKER_DECOMMISSION_HANDOFF_BANDWIDTH);
+    mTimeoutMs = conf.getMs(PropertyKey.WORKER_DECOMMISSION_HANDOFF_TIMEOUT);
+    mServedFiles = CacheBuilder.newBuilder()
+        .maximumSize(conf.getInt(PropertyKey.WORKER_DECOMMISSION_HANDOFF_MAX_FILES))
+        .build();
+  }
+
+  /**
+   * Records that a file is served by this worker.
+   *
+   * @param ufsPath the ufs path of the file
+   * @param length the length of the file
+   */
+  void recordAccess(String ufsPath, long length) {
+    if (length <= 0) {
+      return;
+    }
+    ServedFile file = mServedFiles.getIfPresent(ufsPath);
+    if (file != null && file.mLength == length) {
+      file.mLastAccessNs = System.nanoTime();
+    } else {
+      mServedFiles.put(ufsPath, new ServedFile(ufsPath, length, System.nanoTime()));
+    }
+  }
+
+  /**
+   * Hands off the cached pages of the recently served files to their owners on the ring without
+   * this worker, and publishes the progress through the membership service.
+   *
+   * @param self this worker
+   * @return the progress at the end of the handoff
+   */
+  CacheHandoffProgress run(WorkerInfo self) throws IOException {
+    List<BlockWorkerInfo> others = mMembershipManager.getLiveMembers().stream()
+        .filter(w -> !w.getIdentity().equals(self.getIdentity()))
+        .map(w -> new BlockWorkerInfo(w.getIdentity(), w.getAddress(), w.getCapacityBytes(),
+            w.getUsedBytes()))
+        .collect(Collectors.toList());
+    if (others.isEmpty()) {
+      LOG.warn("No other live worker to hand off the cache of {} to", self.getIdentity());
+      return new CacheHandoffProgress(CacheHandoffProgress.State.DRAINED, 0, 0, 0,
+          System.currentTimeMillis());
+    }
+    Map<WorkerNetAddress, List<LoadSubTask>> plan =
+        plan(others, GrpcUtils.toProto(self.getAddress()));
+    Progress progress = new Progress(self,
+        plan.values().stream().flatMap(List::stream).mapToLong(LoadSubTask::getLength).sum());
+    LOG.info("Handing off {} bytes of cached pages of {} to {} workers",
+        progress.mTotalBytes, self.getIdentity(), plan.size());
+    progress.publish(CacheHandoffProgress.State.DRAINING);
+
+    long deadlineMs = System.currentTimeMillis() + mTimeoutMs;
+    RateLimiter rateLimiter =
+        RateLimiter.create(Math.max(1, (double) mBandwidth / BYTES_PER_PERMIT));
+    Map<WorkerNetAddress, CloseableResource<BlockWorkerClient>> clients = new HashMap<>();
+    Deque<Batch> inFlight = new ArrayDeque<>();
+    try {
+      for (Batch batch : toBatches(plan)) {
+        if (inFlight.size() >= MAX_IN_FLIGHT_BATCHES) {
+          complete(inFlight.poll(), deadlineMs, progress);
+        }
+        if (System.currentTimeMillis() >= deadlineMs) {
+          LOG.warn("Timed out handing off the cache of {}", self.getIdentity());
+          break;
+        }
+        rateLimiter.acquire((int) Math.max(1,
+            Math.min(Integer.MAX_VALUE, batch.mBytes / BYTES_PER_PERMIT)));
+        CloseableResource<BlockWorkerClient> client = clients.get(batch.mWorker);
+        if (client == null) {
+          client = mFsContext.acquireBlockWorkerClient(batch.mWorker);
+          clients.put(batch.mWorker, client);
+        }
+        batch.mFuture = client.get().loadFile(LoadFileRequest.newBuilder()
+            .addAllSubtasks(batch.mSubTasks).setSkipIfExists(true)
+            .setOptions(UfsReadOptions.newBuilder().setTag(TAG).setPositionShort(false))
+            .build());
+        inFlight.add(batch);
+      }
+      while (!inFlight.isEmpty()) {
+        complete(inFlight.poll(), deadlineMs, progress);
+      }
+    } finally {
+      inFlight.forEach(batch -> {
+        if (batch.mFuture != null) {
+          batch.mFuture.cancel(true);
+        }
+      });
+      clients.values().forEach(CloseableResource::close);
+    }
+    return progress.publish(CacheHandoffProgress.State.DRAINED);
+  }
+
+  /**
+   * Plans the handoff of the cached pages of the recently served files.
+   *
+   * @param others the other live workers
+   * @param self the address of this worker, which the new owners load the pages from
+   * @return the subtasks loading the cached pages, by new owner, the most recent files first
+   */
+  @VisibleForTesting
+  Map<WorkerNetAddress, List<LoadSubTask>> plan(List<BlockWorkerInfo> others,
+      alluxio.grpc.WorkerNetAddress self) {
+    WorkerPlacement placement = new WorkerPlacement(mConf);
+    List<ServedFile> files = new ArrayList<>(mServedFiles.asMap().values());
+    files.sort(Comparator.comparingLong((ServedFile file) -> file.mLastAccessNs).reversed());
+    Map<WorkerNetAddress, List<LoadSubTask>> plan = new HashMap<>();
+    for (ServedFile file : files) {
+      List<LoadSubTask> subTasks = toSubTasks(file, self);
+      if (subTasks.isEmpty()) {
+        continue;
+      }
+      WorkerNetAddress owner;
+      try {
+        owner = placement.getWorkers(others, file.mUfsPath, 1).get(0).getNetAddress();
+      } catch (ResourceExhaustedException e) {
+        // not expected with at least one other worker
+        LOG.warn("Failed to find the new owner of {}", file.mUfsPath, e);
+        continue;
+      }
+      plan.computeIfAbsent(owner, w -> new ArrayList<>()).addAll(subTasks);
+    }
+    return plan;
+  }
+
+  /**
+   * @return one subtask per range of consecutive cached pages of the file
+   */
+  private List<LoadSubTask> toSubTasks(ServedFile file, alluxio.grpc.WorkerNetAddress self) {
+    String fileId = new AlluxioURI(file.mUfsPath).hash();
+    List<PageId> pages = mCacheManager.getCachedPageIdsByFileId(fileId, file.mLength);
+    List<LoadSubTask> subTasks = new ArrayList<>();
+    if (pages.isEmpty()) {
+      return subTasks;
+    }
+    UfsStatus status = UfsStatus.newBuilder().setUfsFullPath(file.mUfsPath)
+        .setName(new AlluxioURI(file.mUfsPath).getName()).setIsDirectory(false)
+        .setUfsFileStatus(UfsFileStatus.newBuilder().setContentLength(file.mLength))
+        .build();
+    long[] indexes = pages.stream().mapToLong(PageId::getPageIndex).sorted().toArray();
+    int start = 0;
+    for (int i = 1; i <= indexes.length; i++) {
+      if (i < indexes.length && indexes[i] == indexes[i - 1] + 1) {
+        continue;
+      }
+      long offset = indexes[start] * mPageSize;
+      long end = Math.min((indexes[i - 1] + 1) * mPageSize, file.mLength);
+      subTasks.add(LoadSubTask.newBuilder().setLoadDataSubtask(LoadDataSubTask.newBuilder()
+          .setUfsPath(file.mUfsPath).setOffsetInFile(offset).setLength(end - offset)
+          .setUfsStatus(status).setMainWorker(self)).build());
+      start = i;
+    }
+    return subTasks;
+  }
+
+  private static List<Batch> toBatches(Map<WorkerNetAddress, List<LoadSubTask>> plan) {
+    // interleave the workers, so that the hottest files of every worker are handed off first
+    List<List<Batch>> batchesByWorker = new ArrayList<>();
+    plan.forEach((worker, subTasks) -> {
+      List<Batch> batches = new ArrayList<>();
+      Batch batch = null;
+      for (LoadSubTask subTask : subTasks) {
+        if (batch == null || batch.mBytes >= BATCH_BYTES) {
+          batch = new Batch(worker);
+          batches.add(batch);
+        }
+        batch.mSubTasks.add(subTask);
+        batch.mBytes += subTask.getLength();
+      }
+      batchesByWorker.add(batches);
+    });
+    List<Batch> batches = new ArrayList<>();
+    for (int i = 0; ; i++) {
+      boolean added = false;
+      for (List<Batch> workerBatches : batchesByWorker) {
+        if (i < workerBatches.size()) {
+          batches.add(workerBatches.get(i));
+          added = true;
+        }
+      }
+      if (!added) {
+        return batches;
+      }
+    }
+  }
+
+  private void complete(Batch batch, long deadlineMs, Progress progress) {
+    long failedBytes = batch.mBytes;
+    try {
+      LoadFileResponse response = batch.mFuture.get(
+          Math.max(0, deadlineMs - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+      failedBytes = response.getFailuresList().stream()
+          .map(LoadFailure::getSubtask).mapToLong(LoadSubTask::getLength).sum();
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException | TimeoutException e) {
+      LOG.warn("Failed to hand off {} bytes to {}", batch.mBytes, batch.mWorker, e);
+      batch.mFuture.cancel(true);
+    } finally {
+      batch.mFuture = null;
+    }
+    progress.mHandedOffBytes += batch.mBytes - failedBytes;
+    progress.mFailedBytes += failedBytes;
+    progress.publish(CacheHandoffProgress.State.DRAINING);
+  }
+
+  private static final class ServedFile {
+    private final String mUfsPath;
+    private final long mLength;
+    private volatile long mLastAccessNs;
+
+    ServedFile(String ufsPath, long length, long lastAccessNs) {
+      mUfsPath = ufsPath;
+      mLength = length;
+      mLastAccessNs = lastAccessNs;
+    }
+  }
+
+  private static final class Batch {
+    private final WorkerNetAddress mWorker;
+    private final List<LoadSubTask> mSubTasks = new ArrayList<>();
+    private long mBytes = 0;
+    private Future<LoadFileResponse> mFuture;
+
+    Batch(WorkerNetAddress worker) {
+      mWorker = worker;
+    }
+  }
+
+  private final class Progress {
+    private final WorkerInfo mSelf;
+    private final long mTotalBytes;
+    private long mHandedOffBytes = 0;
+    private long mFailedBytes = 0;
+
+    Progress(WorkerInfo self, long totalBytes) {
+      mSelf = self;
+      mTotalBytes = totalBytes;
+    }
+
+    CacheHandoffProgress publish(CacheHandoffProgress.State state) {
+      CacheHandoffProgress progress = new CacheHandoffProgress(state, mTotalBytes,
+          mHandedOffBytes, mFailedBytes, System.currentTimeMillis());
+      try {
+        mMembershipManager.updateHandoffProgress(mSelf, progress);
+      } catch (IOException e) {
+        LOG.warn("Failed to publish the cache handoff progress {}", progress, e);
+      }
+      return progress;
+    }
+  }
+}
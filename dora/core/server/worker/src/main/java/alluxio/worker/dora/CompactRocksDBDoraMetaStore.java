@@ -0,0 +1,386 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.Constants;
+import alluxio.conf.PropertyKey;
+import alluxio.master.metastore.rocks.RocksExclusiveLockHandle;
+import alluxio.master.metastore.rocks.RocksSharedLockHandle;
+import alluxio.proto.meta.DoraMeta;
+import alluxio.rocks.RocksStore;
+import alluxio.util.io.FileUtils;
+import alluxio.util.io.PathUtils;
+
+import com.google.common.base.Preconditions;
+import com.google.common.primitives.Longs;
+import org.rocksdb.BlockBasedTableConfig;
+import org.rocksdb.BloomFilter;
+import org.rocksdb.ColumnFamilyDescriptor;
+import org.rocksdb.ColumnFamilyHandle;
+import org.rocksdb.ColumnFamilyOptions;
+import org.rocksdb.CompressionType;
+import org.rocksdb.DBOptions;
+import org.rocksdb.Filter;
+import org.rocksdb.HashLinkedListMemTableConfig;
+import org.rocksdb.ReadOptions;
+import org.rocksdb.RocksDB;
+import org.rocksdb.RocksDBException;
+import org.rocksdb.RocksIterator;
+import org.rocksdb.RocksObject;
+import org.rocksdb.WriteBatch;
+import org.rocksdb.WriteOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Dora Meta Store in RocksDB using a compact encoding.
+ *
+ * Keys are the interned id of the parent directory (8 bytes, big endian) followed by the
+ * name of the file, so the long shared prefixes of UFS paths are stored once in a separate
+ * dictionary column instead of in every key. Values are encoded with
+ * {@link DoraMetaValueCodec}. The file status column uses a fixed length prefix extractor on
+ * the directory id, together with a bloom filter, so that point lookups skip SST files that do
+ * not contain the directory and the files of a directory are adjacent.
+ *
+ * Metadata written by {@link RocksDBDoraMetaStore} is migrated into this store the first time
+ * it is opened, after which the legacy database is removed.
+ */
+@ThreadSafe
+public class CompactRocksDBDoraMetaStore implements DoraMetaStore {
+  private static final Logger LOG = LoggerFactory.getLogger(CompactRocksDBDoraMetaStore.class);
+  private static final String DORA_META_DB_NAME = "DoraMetaCompact";
+  private static final String DORA_META_FILE_STATUS_COLUMN = "CompactFileStatusCF";
+  private static final String DORA_META_PREFIX_COLUMN = "PathPrefixCF";
+  private static final String DORA_META_STORE_NAME = "CompactDoraMetaStore";
+  private static final int MIGRATION_BATCH_SIZE = 1000;
+  /** The length of the directory id in a key, which is also the RocksDB prefix length. */
+  static final int PREFIX_ID_LENGTH = Long.BYTES;
+
+  // These are fields instead of constants because they depend on the call to RocksDB.loadLibrary().
+  private final WriteOptions mWriteOption;
+  private final ReadOptions mReadOption;
+  private final RocksStore mRocksStore;
+
+  // The TTL (in seconds) for metadata. It must be greater than 0, or -1.
+  // -1 means never expiring.
+  private final long mMetaTTL;
+
+  private final List<RocksObject> mToClose = new ArrayList<>();
+
+  private final AtomicReference<ColumnFamilyHandle> mFileStatusColumn = new AtomicReference<>();
+  private final AtomicReference<ColumnFamilyHandle> mPrefixColumn = new AtomicReference<>();
+
+  /** Interned parent directories, loaded from the prefix column on start. */
+  private final Map<String, Long> mPrefixIds = new ConcurrentHashMap<>();
+  private long mNextPrefixId = 0;
+
+  /**
+   * Creates and initializes a compact rocks dora meta store.
+   *
+   * @param baseDir the base directory in which to store metadata
+   * @param metaTTL The TTL for this metastore
+   */
+  public CompactRocksDBDoraMetaStore(String baseDir, long metaTTL) {
+    RocksDB.loadLibrary();
+
+    Preconditions.checkState(metaTTL > 0 || metaTTL == -1);
+
+    // the rocksDB objects must be initialized after RocksDB.loadLibrary() is called
+    mWriteOption = new WriteOptions().setDisableWAL(false);
+    mToClose.add(mWriteOption);
+    mReadOption = new ReadOptions();
+    mToClose.add(mReadOption);
+    String dbPath = PathUtils.concatPath(baseDir, DORA_META_DB_NAME);
+    String backupPath = PathUtils.concatPath(baseDir, DORA_META_DB_NAME + "-backup");
+    DBOptions opts = new DBOptions();
+    mToClose.add(opts);
+    opts.setAllowConcurrentMemtableWrite(false) // not supported for hash mem tables
+        .setCreateMissingColumnFamilies(true)
+        .setCreateIfMissing(true)
+        .setMaxOpenFiles(-1);
+
+    BlockBasedTableConfig tableConfig = RocksStore.checkSetTableConfig(
+        PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_CACHE_SIZE,
+        PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_BLOOM_FILTER,
+        PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_INDEX,
+        PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_BLOCK_INDEX, mToClose)
+        .orElseGet(BlockBasedTableConfig::new);
+    // The bloom filter is always on for this store. It covers both whole keys and the
+    // directory prefix, which lets a lookup in a directory that is not in an SST skip it.
+    Filter filter = new BloomFilter(10);
+    mToClose.add(filter);
+    tableConfig.setFilterPolicy(filter).setWholeKeyFiltering(true);
+
+    List<ColumnFamilyDescriptor> columns = new ArrayList<>();
+    columns.add(new ColumnFamilyDescriptor(DORA_META_FILE_STATUS_COLUMN.getBytes(),
+        new ColumnFamilyOptions()
+            .useFixedLengthPrefixExtractor(PREFIX_ID_LENGTH)
+            .setMemtablePrefixBloomSizeRatio(0.1)
+            .setMemTableConfig(new HashLinkedListMemTableConfig())
+            .setCompressionType(CompressionType.NO_COMPRESSION)
+            .setTableFormatConfig(tableConfig)));
+    columns.add(new ColumnFamilyDescriptor(DORA_META_PREFIX_COLUMN.getBytes(),
+        new ColumnFamilyOptions()
+            .setCompressionType(CompressionType.LZ4_COMPRESSION)));
+    mToClose.addAll(columns.stream().map(
+        ColumnFamilyDescriptor::getOptions).collect(Collectors.toList()));
+
+    mRocksStore = new RocksStore(DORA_META_STORE_NAME, dbPath, backupPath, opts, columns,
+        Arrays.asList(mFileStatusColumn, mPrefixColumn), false);
+    mMetaTTL = metaTTL;
+    loadPrefixes();
+    migrateFromLegacyStore(baseDir);
+  }
+
+  @Override
+  public Optional<DoraMeta.FileStatus> getDoraMeta(String path) {
+    byte[] key = getKey(path, false);
+    if (key == null) {
+      return Optional.empty();
+    }
+    byte[] status;
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock()) {
+      status = db().get(mFileStatusColumn.get(), mReadOption, key);
+    } catch (RocksDBException e) {
+      throw new RuntimeException(e);
+    }
+    if (status == null) {
+      return Optional.empty();
+    }
+    try {
+      DoraMeta.FileStatus fs = DoraMetaValueCodec.decode(path, status);
+      if (mMetaTTL != -1) {
+        if (System.nanoTime() - fs.getTs() > mMetaTTL * Constants.SECOND_NANO) {
+          // The Metadata is out of date.
+          removeDoraMeta(path);
+          return Optional.empty();
+        }
+      }
+      return Optional.of(fs);
+    } catch (Exception e) {
+      removeDoraMeta(path);
+      LOG.error("Cannot parse get result for {} : {}", path, e);
+      return Optional.empty();
+    }
+  }
+
+  @Override
+  public void putDoraMeta(String path, DoraMeta.FileStatus meta) {
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock()) {
+      db().put(mFileStatusColumn.get(), mWriteOption, getKey(path, true),
+          DoraMetaValueCodec.encode(path, meta));
+    } catch (RocksDBException e) {
+      LOG.error("Cannot put {} : {}", path, e);
+    }
+  }
+
+  @Override
+  public void putDoraMetas(Map<String, DoraMeta.FileStatus> metas) {
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock();
+         WriteBatch batch = new WriteBatch()) {
+      for (Map.Entry<String, DoraMeta.FileStatus> entry : metas.entrySet()) {
+        batch.put(mFileStatusColumn.get(), getKey(entry.getKey(), true),
+            DoraMetaValueCodec.encode(entry.getKey(), entry.getValue()));
+      }
+      db().write(mWriteOption, batch);
+    } catch (RocksDBException e) {
+      LOG.error("Cannot put {} entries : {}", metas.size(), e);
+    }
+  }
+
+  @Override
+  public void removeDoraMeta(String path) {
+    byte[] key = getKey(path, false);
+    if (key == null) {
+      return;
+    }
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock()) {
+      db().delete(mFileStatusColumn.get(), mWriteOption, key);
+    } catch (RocksDBException e) {
+      LOG.error("Cannot remove {} : {}", path, e);
+    }
+  }
+
+  @Override
+  public void clear() {
+  }
+
+  @Override
+  public void close() {
+    try (RocksExclusiveLockHandle lock = mRocksStore.lockForClosing()) {
+      LOG.info("Closing " + DORA_META_DB_NAME + " and recycling all RocksDB JNI objects");
+      // Close the elements in the reverse order they were added
+      Collections.reverse(mToClose);
+      mToClose.forEach(RocksObject::close);
+      mRocksStore.close();
+    }
+    LOG.info(DORA_META_DB_NAME + " closed");
+  }
+
+  @Override
+  public Optional<Long> size() {
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock()) {
+      String res = db().getProperty(mFileStatusColumn.get(), "rocksdb.estimate-num-keys");
+      return Optional.of(Long.parseLong(res));
+    } catch (RocksDBException e) {
+      LOG.error("Cannot getProperty for rocksdb.estimate-num-keys:", e);
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * @return the number of interned parent directories
+   */
+  public int getPrefixCount() {
+    return mPrefixIds.size();
+  }
+
+  /**
+   * Builds the key of a path.
+   *
+   * @param path the full ufs path
+   * @param create whether to intern the parent directory if it is not known yet
+   * @return the key, or null if the parent directory is unknown and create is false
+   */
+  private byte[] getKey(String path, boolean create) {
+    int split = splitIndex(path);
+    String prefix = path.substring(0, split);
+    Long id = mPrefixIds.get(prefix);
+    if (id == null) {
+      if (!create) {
+        return null;
+      }
+      id = internPrefix(prefix);
+    }
+    byte[] name = path.substring(split).getBytes(StandardCharsets.UTF_8);
+    return ByteBuffer.allocate(PREFIX_ID_LENGTH + name.length).putLong(id).put(name).array();
+  }
+
+  private synchronized long internPrefix(String prefix) {
+    Long existing = mPrefixIds.get(prefix);
+    if (existing != null) {
+      return existing;
+    }
+    long id = mNextPrefixId;
+    // persist the id before publishing it so a key never refers to an unknown prefix
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock()) {
+      db().put(mPrefixColumn.get(), mWriteOption, prefix.getBytes(StandardCharsets.UTF_8),
+          Longs.toByteArray(id));
+    } catch (RocksDBException e) {
+      throw new RuntimeException(e);
+    }
+    mNextPrefixId++;
+    mPrefixIds.put(prefix, id);
+    return id;
+  }
+
+  private synchronized void loadPrefixes() {
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock();
+         RocksIterator iter = db().newIterator(mPrefixColumn.get())) {
+      for (iter.seekToFirst(); iter.isValid(); iter.next()) {
+        long id = Longs.fromByteArray(iter.value());
+        mPrefixIds.put(new String(iter.key(), StandardCharsets.UTF_8), id);
+        mNextPrefixId = Math.max(mNextPrefixId, id + 1);
+      }
+    }
+    LOG.info("Loaded {} path prefixes from {}", mPrefixIds.size(), DORA_META_DB_NAME);
+  }
+
+  /**
+   * Copies all the entries of the legacy {@link RocksDBDoraMetaStore} under the same base
+   * directory into this store, then deletes the legacy database. Metadata is only a cache
+   * of the UFS, so an entry that cannot be migrated is dropped rather than failing the start.
+   *
+   * @param baseDir the base directory of the metastore
+   */
+  private void migrateFromLegacyStore(String baseDir) {
+    String legacyPath = PathUtils.concatPath(baseDir, RocksDBDoraMetaStore.DORA_META_DB_NAME);
+    if (!new File(legacyPath).exists()) {
+      return;
+    }
+    LOG.info("Migrating dora metadata from {} to the compact format", legacyPath);
+    List<ColumnFamilyDescriptor> legacyColumns = Arrays.asList(
+        new ColumnFamilyDescriptor(RocksDB.DEFAULT_COLUMN_FAMILY),
+        new ColumnFamilyDescriptor(
+            RocksDBDoraMetaStore.DORA_META_FILE_STATUS_COLUMN.getBytes()));
+    List<ColumnFamilyHandle> legacyHandles = new ArrayList<>();
+    long migrated = 0;
+    long dropped = 0;
+    try (DBOptions legacyOpts = new DBOptions();
+         RocksDB legacy = RocksDB.openReadOnly(
+             legacyOpts, legacyPath, legacyColumns, legacyHandles)) {
+      try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock();
+           RocksIterator iter = legacy.newIterator(legacyHandles.get(1));
+           WriteBatch batch = new WriteBatch()) {
+        for (iter.seekToFirst(); iter.isValid(); iter.next()) {
+          String path = new String(iter.key());
+          try {
+            DoraMeta.FileStatus status = DoraMeta.FileStatus.parseFrom(iter.value());
+            batch.put(mFileStatusColumn.get(), getKey(path, true),
+                DoraMetaValueCodec.encode(path, status));
+            migrated++;
+          } catch (IOException e) {
+            LOG.warn("Dropping unparsable legacy metadata of {}", path, e);
+            dropped++;
+          }
+          if (batch.count() >= MIGRATION_BATCH_SIZE) {
+            db().write(mWriteOption, batch);
+            batch.clear();
+          }
+        }
+        db().write(mWriteOption, batch);
+      } finally {
+        legacyHandles.forEach(ColumnFamilyHandle::close);
+      }
+      legacyColumns.forEach(column -> column.getOptions().close());
+    } catch (RocksDBException e) {
+      LOG.error("Failed to migrate legacy dora metadata from {}, it will be discarded",
+          legacyPath, e);
+    }
+    try {
+      FileUtils.deletePathRecursively(legacyPath);
+      FileUtils.deletePathRecursively(legacyPath + "-backup");
+    } catch (IOException e) {
+      LOG.warn("Failed to delete legacy dora metadata at {}", legacyPath, e);
+    }
+    LOG.info("Migrated {} dora metadata entries to the compact format, dropped {}",
+        migrated, dropped);
+  }
+
+  /**
+   * @param path a full ufs path
+   * @return the index at which the path is split into its parent directory and its name
+   */
+  static int splitIndex(String path) {
+    // a trailing separator belongs to the name, so directories share their parent's prefix
+    return path.lastIndexOf('/', path.length() - 2) + 1;
+  }
+
+  private RocksDB db() {
+    return mRocksStore.getDb();
+  }
+}
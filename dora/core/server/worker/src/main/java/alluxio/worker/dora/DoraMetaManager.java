@@ -14,11 +14,14 @@ package alluxio.worker.dora;
 import alluxio.AlluxioURI;
 import alluxio.Constants;
 import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.CacheUsage;
 import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.file.FileId;
 import alluxio.grpc.FileInfo;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.proto.meta.DoraMeta;
 import alluxio.proto.meta.DoraMeta.FileStatus;
 import alluxio.underfs.Fingerprint;
@@ -28,6 +31,7 @@ import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
 import alluxio.underfs.options.GetStatusOptions;
 import alluxio.underfs.options.ListOptions;
+import alluxio.util.io.PathUtils;
 import alluxio.util.logging.SamplingLogger;
 
 import com.github.benmanes.caffeine.cache.Cache;
@@ -42,6 +46,7 @@ import java.io.Closeable;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.time.Duration;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 
@@ -74,6 +79,10 @@ public class DoraMetaManager implements Closeable {
           v.mUfsStatuses == null ? 0 : v.mUfsStatuses.length)
       .expireAfterWrite(Configuration.getDuration(PropertyKey.DORA_UFS_LIST_STATUS_CACHE_TTL))
       .build();
+  /** Whether cached listings also fill the metastore with the metadata of the listed files. */
+  private final boolean mPrefetchEnabled;
+  /** Whether a metastore miss lists the parent directory to prefetch all its siblings. */
+  private final boolean mPrefetchSiblingsEnabled;
 
   /**
    * Creates a dora meta manager.
@@ -89,9 +98,19 @@ public class DoraMetaManager implements Closeable {
     String dbDir = mConf.getString(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_DIR);
     Duration duration = mConf.getDuration(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_TTL);
     long ttl = (duration.isNegative() || duration.isZero()) ? -1 : duration.getSeconds();
-    mMetaStore = new RocksDBDoraMetaStore(dbDir, ttl);
+    if (mConf.getBoolean(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_COMPACT_ENCODING_ENABLED)) {
+      mMetaStore = new CompactRocksDBDoraMetaStore(dbDir, ttl);
+    } else {
+      mMetaStore = new RocksDBDoraMetaStore(dbDir, ttl);
+    }
     mCacheManager = cacheManger;
     mUfsManager = ufsManager;
+    // listings carry neither xattrs nor real content hashes, so they cannot replace getStatus
+    mPrefetchEnabled = mConf.getBoolean(PropertyKey.DORA_WORKER_METASTORE_PREFETCH_ENABLED)
+        && !mConf.getBoolean(PropertyKey.UNDERFS_XATTR_CHANGE_ENABLED)
+        && !mConf.getBoolean(PropertyKey.USER_FILE_METADATA_LOAD_REAL_CONTENT_HASH);
+    mPrefetchSiblingsEnabled = mPrefetchEnabled && mListStatusCache != null
+        && mConf.getBoolean(PropertyKey.DORA_WORKER_METASTORE_PREFETCH_SIBLINGS_ENABLED);
   }
 
   protected UnderFileSystem getUfsInstance(String ufsUriStr) {
@@ -146,6 +165,32 @@ public class DoraMetaManager implements Closeable {
     return fileStatus;
   }
 
+  /**
+   * Gets file meta from UFS and loads it into metastore if exists, like
+   * {@link #loadFromUfs(String)}. If sibling prefetch is enabled and the parent directory
+   * is not in the listing cache, the parent directory is listed instead, which fills the
+   * metastore with the metadata of the file and all its siblings. This turns the getStatus
+   * calls that query engines issue on every file of a directory into a single listing.
+   *
+   * @param path the full ufs path
+   * @return the file status, or empty optional if not found
+   */
+  public Optional<FileStatus> loadFromUfsWithSiblings(String path) throws IOException {
+    if (!mPrefetchSiblingsEnabled || new AlluxioURI(path).isRoot()) {
+      return loadFromUfs(path);
+    }
+    String parent = getPathParent(path);
+    if (mListStatusCache.getIfPresent(parent) == null) {
+      listFromUfsThenCache(parent, false);
+      Optional<FileStatus> status = mMetaStore.getDoraMeta(path);
+      if (status.isPresent()) {
+        return status;
+      }
+    }
+    // the listing is cached but did not refresh this file, or the file is not listed
+    return loadFromUfs(path);
+  }
+
   /**
    * Gets file meta from the metastore.
    * @param path the full ufs path
@@ -161,17 +206,49 @@ public class DoraMetaManager implements Closeable {
    * @param status the file meta
    */
   public void put(String path, FileStatus status) {
+    invalidateCachedFileIfChanged(path, status);
+    mMetaStore.putDoraMeta(path, status);
+  }
+
+  /**
+   * Puts meta of the files in a directory listing into the metastore in one batch, and
+   * invalidates the data cache of the files whose content changed.
+   *
+   * @param path the full ufs path of the listed directory
+   * @param ufsStatuses the listing result, with names relative to the directory
+   */
+  private void putListing(String path, UfsStatus[] ufsStatuses) {
+    String ufsType = getUfsInstance(path).getUnderFSType();
+    Optional<CacheUsage> cacheUsage = mCacheManager.getUsage();
+    Map<String, FileStatus> statuses = new HashMap<>(ufsStatuses.length);
+    for (UfsStatus ufsStatus : ufsStatuses) {
+      if (ufsStatus.getName().isEmpty()) {
+        // the listed path is a file itself, which is stored by getStatus instead
+        continue;
+      }
+      String childPath = PathUtils.concatPath(path, ufsStatus.getName());
+      FileStatus status = PagedDoraWorker.buildFileStatusFromUfsStatus(
+          cacheUsage, ufsType, ufsStatus, childPath, null);
+      invalidateCachedFileIfChanged(childPath, status);
+      statuses.put(childPath, status);
+    }
+    if (statuses.isEmpty()) {
+      return;
+    }
+    mMetaStore.putDoraMetas(statuses);
+    MetricsSystem.counter(MetricKey.WORKER_METADATA_PREFETCHED.getName()).inc(statuses.size());
+  }
+
+  private void invalidateCachedFileIfChanged(String path, FileStatus status) {
     Optional<FileStatus> existingStatus = mMetaStore.getDoraMeta(path);
     if (!existingStatus.isPresent()
         || existingStatus.get().getFileInfo().getFolder()
         || existingStatus.get().getFileInfo().getLength() == 0) {
-      mMetaStore.putDoraMeta(path, status);
       return;
     }
     if (shouldInvalidatePageCache(existingStatus.get().getFileInfo(), status.getFileInfo())) {
       invalidateCachedFile(path);
     }
-    mMetaStore.putDoraMeta(path, status);
   }
 
   /**
@@ -249,6 +326,9 @@ public class DoraMetaManager implements Closeable {
       ListStatusResult cached = mListStatusCache.get(path, (k) -> {
         try {
           Optional<UfsStatus[]> listResults = listFromUfs(path, false);
+          if (mPrefetchEnabled && listResults.isPresent()) {
+            putListing(path, listResults.get());
+          }
           return listResults.map(
                   ufsStatuses -> new ListStatusResult(
                       System.nanoTime(), ufsStatuses,
@@ -13,6 +13,7 @@ package alluxio.worker.dora;
 
 import alluxio.proto.meta.DoraMeta.FileStatus;
 
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -36,6 +37,14 @@ public interface DoraMetaStore {
    */
   void putDoraMeta(String path, FileStatus meta);
 
+  /**
+   * Adds dora metadata of multiple files to the dora meta store in one batch.
+   * Existing metadata of any of the files is updated to the given metadata.
+   *
+   * @param metas the metadata of the files, keyed by the full path of each file
+   */
+  void putDoraMetas(Map<String, FileStatus> metas);
+
   /**
    * Removes a dora meta, or does nothing if the dora meta does not exist.
    *
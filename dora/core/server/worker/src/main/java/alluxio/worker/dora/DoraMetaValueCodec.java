@@ -0,0 +1,274 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.grpc.FileInfo;
+import alluxio.proto.meta.DoraMeta.FileStatus;
+
+import com.google.common.base.Preconditions;
+import com.google.protobuf.InvalidProtocolBufferException;
+
+import java.nio.ByteBuffer;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Compact binary encoding of {@link FileStatus} values for the Dora worker metastore.
+ *
+ * The hot fields read on every getStatus (timestamp, id, length, block size, modification time,
+ * mode and the boolean flags) are stored in a fixed layout after a presence bitmap.
+ * The path, ufs path and name are not stored at all when they can be derived from the key,
+ * which is the case for every entry built from a UFS status. The remaining cold fields
+ * are kept as a serialized {@link FileInfo} with the hot fields cleared.
+ *
+ * Layout (big endian):
+ * <pre>
+ *   byte    format version
+ *   short   presence bits
+ *   long    ts, fileId, length, blockSizeBytes, lastModificationTimeMs (each if present)
+ *   int     mode (if present)
+ *   byte    boolean values (if any boolean field is present)
+ *   int     residual length, followed by the residual FileInfo bytes
+ * </pre>
+ * Decoding always yields a message equal to the encoded one.
+ */
+@ThreadSafe
+public final class DoraMetaValueCodec {
+  /** The format version written as the first byte of every value. */
+  public static final byte FORMAT_VERSION = 1;
+
+  private static final int HAS_FILE_INFO = 1;
+  private static final int HAS_TS = 1 << 1;
+  private static final int HAS_FILE_ID = 1 << 2;
+  private static final int HAS_LENGTH = 1 << 3;
+  private static final int HAS_BLOCK_SIZE = 1 << 4;
+  private static final int HAS_MTIME = 1 << 5;
+  private static final int HAS_MODE = 1 << 6;
+  private static final int HAS_FOLDER = 1 << 7;
+  private static final int HAS_COMPLETED = 1 << 8;
+  private static final int HAS_PERSISTED = 1 << 9;
+  private static final int HAS_CACHEABLE = 1 << 10;
+  private static final int PATH_IS_KEY = 1 << 11;
+  private static final int UFS_PATH_IS_KEY = 1 << 12;
+  private static final int NAME_IS_BASENAME = 1 << 13;
+  private static final int HAS_BOOLEANS = HAS_FOLDER | HAS_COMPLETED | HAS_PERSISTED
+      | HAS_CACHEABLE;
+
+  private static final int FOLDER_VALUE = 1;
+  private static final int COMPLETED_VALUE = 1 << 1;
+  private static final int PERSISTED_VALUE = 1 << 2;
+  private static final int CACHEABLE_VALUE = 1 << 3;
+
+  private DoraMetaValueCodec() {} // prevent instantiation
+
+  /**
+   * Encodes a file status.
+   *
+   * @param path the full ufs path the status is stored under
+   * @param status the file status
+   * @return the encoded bytes
+   */
+  public static byte[] encode(String path, FileStatus status) {
+    int bits = 0;
+    int size = Byte.BYTES + Short.BYTES + Integer.BYTES;
+    if (status.hasTs()) {
+      bits |= HAS_TS;
+      size += Long.BYTES;
+    }
+    byte[] residual = new byte[0];
+    int booleans = 0;
+    FileInfo info = status.getFileInfo();
+    if (status.hasFileInfo()) {
+      bits |= HAS_FILE_INFO;
+      FileInfo.Builder cold = info.toBuilder();
+      if (info.hasFileId()) {
+        bits |= HAS_FILE_ID;
+        size += Long.BYTES;
+        cold.clearFileId();
+      }
+      if (info.hasLength()) {
+        bits |= HAS_LENGTH;
+        size += Long.BYTES;
+        cold.clearLength();
+      }
+      if (info.hasBlockSizeBytes()) {
+        bits |= HAS_BLOCK_SIZE;
+        size += Long.BYTES;
+        cold.clearBlockSizeBytes();
+      }
+      if (info.hasLastModificationTimeMs()) {
+        bits |= HAS_MTIME;
+        size += Long.BYTES;
+        cold.clearLastModificationTimeMs();
+      }
+      if (info.hasMode()) {
+        bits |= HAS_MODE;
+        size += Integer.BYTES;
+        cold.clearMode();
+      }
+      if (info.hasFolder()) {
+        bits |= HAS_FOLDER;
+        booleans |= info.getFolder() ? FOLDER_VALUE : 0;
+        cold.clearFolder();
+      }
+      if (info.hasCompleted()) {
+        bits |= HAS_COMPLETED;
+        booleans |= info.getCompleted() ? COMPLETED_VALUE : 0;
+        cold.clearCompleted();
+      }
+      if (info.hasPersisted()) {
+        bits |= HAS_PERSISTED;
+        booleans |= info.getPersisted() ? PERSISTED_VALUE : 0;
+        cold.clearPersisted();
+      }
+      if (info.hasCacheable()) {
+        bits |= HAS_CACHEABLE;
+        booleans |= info.getCacheable() ? CACHEABLE_VALUE : 0;
+        cold.clearCacheable();
+      }
+      if ((bits & HAS_BOOLEANS) != 0) {
+        size += Byte.BYTES;
+      }
+      if (info.hasPath() && info.getPath().equals(path)) {
+        bits |= PATH_IS_KEY;
+        cold.clearPath();
+      }
+      if (info.hasUfsPath() && info.getUfsPath().equals(path)) {
+        bits |= UFS_PATH_IS_KEY;
+        cold.clearUfsPath();
+      }
+      if (info.hasName() && info.getName().equals(baseName(path))) {
+        bits |= NAME_IS_BASENAME;
+        cold.clearName();
+      }
+      residual = cold.build().toByteArray();
+    }
+    size += residual.length;
+
+    ByteBuffer buf = ByteBuffer.allocate(size);
+    buf.put(FORMAT_VERSION);
+    buf.putShort((short) bits);
+    if ((bits & HAS_TS) != 0) {
+      buf.putLong(status.getTs());
+    }
+    if ((bits & HAS_FILE_ID) != 0) {
+      buf.putLong(info.getFileId());
+    }
+    if ((bits & HAS_LENGTH) != 0) {
+      buf.putLong(info.getLength());
+    }
+    if ((bits & HAS_BLOCK_SIZE) != 0) {
+      buf.putLong(info.getBlockSizeBytes());
+    }
+    if ((bits & HAS_MTIME) != 0) {
+      buf.putLong(info.getLastModificationTimeMs());
+    }
+    if ((bits & HAS_MODE) != 0) {
+      buf.putInt(info.getMode());
+    }
+    if ((bits & HAS_BOOLEANS) != 0) {
+      buf.put((byte) booleans);
+    }
+    buf.putInt(residual.length);
+    buf.put(residual);
+    return buf.array();
+  }
+
+  /**
+   * Decodes a file status written by {@link #encode(String, FileStatus)}.
+   *
+   * @param path the full ufs path the status is stored under
+   * @param value the encoded bytes
+   * @return the decoded file status
+   * @throws InvalidProtocolBufferException if the value is malformed
+   */
+  public static FileStatus decode(String path, byte[] value)
+      throws InvalidProtocolBufferException {
+    ByteBuffer buf = ByteBuffer.wrap(value);
+    byte version = buf.get();
+    if (version != FORMAT_VERSION) {
+      throw new InvalidProtocolBufferException(
+          String.format("Unknown dora meta format version %d for %s", version, path));
+    }
+    int bits = buf.getShort() & 0xFFFF;
+    FileStatus.Builder status = FileStatus.newBuilder();
+    if ((bits & HAS_TS) != 0) {
+      status.setTs(buf.getLong());
+    }
+    if ((bits & HAS_FILE_INFO) == 0) {
+      Preconditions.checkState(buf.getInt() == 0, "Unexpected residual for %s", path);
+      return status.build();
+    }
+    // the residual is at the tail, so read the fixed fields first
+    long fileId = (bits & HAS_FILE_ID) != 0 ? buf.getLong() : 0;
+    long length = (bits & HAS_LENGTH) != 0 ? buf.getLong() : 0;
+    long blockSize = (bits & HAS_BLOCK_SIZE) != 0 ? buf.getLong() : 0;
+    long mtime = (bits & HAS_MTIME) != 0 ? buf.getLong() : 0;
+    int mode = (bits & HAS_MODE) != 0 ? buf.getInt() : 0;
+    int booleans = (bits & HAS_BOOLEANS) != 0 ? buf.get() : 0;
+    int residualLength = buf.getInt();
+    if (residualLength != buf.remaining()) {
+      throw new InvalidProtocolBufferException(
+          String.format("Truncated dora meta value for %s", path));
+    }
+    FileInfo.Builder info = FileInfo.newBuilder();
+    if (residualLength > 0) {
+      info.mergeFrom(value, buf.position(), residualLength);
+    }
+    if ((bits & HAS_FILE_ID) != 0) {
+      info.setFileId(fileId);
+    }
+    if ((bits & HAS_LENGTH) != 0) {
+      info.setLength(length);
+    }
+    if ((bits & HAS_BLOCK_SIZE) != 0) {
+      info.setBlockSizeBytes(blockSize);
+    }
+    if ((bits & HAS_MTIME) != 0) {
+      info.setLastModificationTimeMs(mtime);
+    }
+    if ((bits & HAS_MODE) != 0) {
+      info.setMode(mode);
+    }
+    if ((bits & HAS_FOLDER) != 0) {
+      info.setFolder((booleans & FOLDER_VALUE) != 0);
+    }
+    if ((bits & HAS_COMPLETED) != 0) {
+      info.setCompleted((booleans & COMPLETED_VALUE) != 0);
+    }
+    if ((bits & HAS_PERSISTED) != 0) {
+      info.setPersisted((booleans & PERSISTED_VALUE) != 0);
+    }
+    if ((bits & HAS_CACHEABLE) != 0) {
+      info.setCacheable((booleans & CACHEABLE_VALUE) != 0);
+    }
+    if ((bits & PATH_IS_KEY) != 0) {
+      info.setPath(path);
+    }
+    if ((bits & UFS_PATH_IS_KEY) != 0) {
+      info.setUfsPath(path);
+    }
+    if ((bits & NAME_IS_BASENAME) != 0) {
+      info.setName(baseName(path));
+    }
+    return status.setFileInfo(info).build();
+  }
+
+  /**
+   * @param path a full ufs path
+   * @return the last component of the path, ignoring a trailing separator
+   */
+  static String baseName(String path) {
+    int end = path.endsWith("/") ? path.length() - 1 : path.length();
+    int start = path.lastIndexOf('/', end - 1) + 1;
+    return path.substring(start, Math.max(start, end));
+  }
+}
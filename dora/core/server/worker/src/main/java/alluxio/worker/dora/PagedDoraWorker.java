@@ -14,11 +14,13 @@ package alluxio.worker.dora;
 import static alluxio.client.file.cache.CacheUsage.PartitionDescriptor.file;
 
 import alluxio.AlluxioURI;
+import alluxio.CloseableSupplier;
 import alluxio.Constants;
 import alluxio.DefaultStorageTierAssoc;
 import alluxio.PositionReader;
 import alluxio.Server;
 import alluxio.StorageTierAssoc;
+import alluxio.client.file.CacheContext;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.cache.CacheManager;
@@ -35,6 +37,7 @@ import alluxio.exception.AccessControlException;
 import alluxio.exception.FileAlreadyExistsException;
 import alluxio.exception.runtime.AlluxioRuntimeException;
 import alluxio.exception.runtime.FailedPreconditionRuntimeException;
+import alluxio.exception.runtime.NotFoundRuntimeException;
 import alluxio.exception.runtime.UnavailableRuntimeException;
 import alluxio.exception.status.FailedPreconditionException;
 import alluxio.grpc.Command;
@@ -67,8 +70,10 @@ import alluxio.heartbeat.FixedIntervalSupplier;
 import alluxio.heartbeat.HeartbeatContext;
 import alluxio.heartbeat.HeartbeatExecutor;
 import alluxio.heartbeat.HeartbeatThread;
+import alluxio.membership.CacheHandoffProgress;
 import alluxio.membership.MasterMembershipManager;
 import alluxio.membership.MembershipManager;
+import alluxio.membership.WorkerLoadHints;
 import alluxio.metrics.MetricKey;
 import alluxio.metrics.MetricsSystem;
 import alluxio.proto.dataserver.Protocol;
@@ -87,9 +92,11 @@ import alluxio.underfs.UnderFileSystem;
 import alluxio.underfs.UnderFileSystemConfiguration;
 import alluxio.underfs.options.CreateOptions;
 import alluxio.underfs.options.DeleteOptions;
+import alluxio.underfs.options.ListOptions;
 import alluxio.underfs.options.MkdirsOptions;
 import alluxio.util.CommonUtils;
 import alluxio.util.ModeUtils;
+import alluxio.util.ThreadFactoryUtils;
 import alluxio.util.executor.ExecutorServiceFactories;
 import alluxio.wire.FileInfo;
 import alluxio.wire.WorkerIdentity;
@@ -109,6 +116,7 @@ import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
 import com.google.common.io.Closer;
 import com.google.common.util.concurrent.Futures;
 import com.google.common.util.concurrent.ListenableFuture;
@@ -125,18 +133,24 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiConsumer;
 import javax.annotation.Nullable;
 import javax.inject.Named;
 
@@ -156,6 +170,11 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   protected final UfsManager mUfsManager;
   protected final DoraMetaManager mMetaManager;
   private final MembershipManager mMembershipManager;
+  @Nullable
+  private final PeerCacheLocator mPeerCacheLocator;
+  @Nullable
+  private final CacheHandoff mCacheHandoff;
+  private final AtomicBoolean mDecommissioned = new AtomicBoolean(false);
   private final UfsInputStreamCache mUfsStreamCache;
   private final long mPageSize;
   protected final AlluxioConfiguration mConf;
@@ -172,6 +191,13 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
   private final ConcurrentHashSet<PageId> mLoadingPages = new ConcurrentHashSet<>();
   private final ExecutorService mCacheDataExecutor = Executors.newFixedThreadPool(
       Configuration.getInt(PropertyKey.WORKER_PRELOAD_DATA_THREAD_POOL_SIZE));
+  /** Fetches the pages of the large files missing in the cache, null if disabled. */
+  @Nullable
+  private final ExecutorService mParallelFetchExecutor;
+  private final long mParallelFetchMinFileSize;
+  /** Reads the parts of the large files copied by the worker, null if disabled. */
+  @Nullable
+  private final ExecutorService mCopyPartExecutor;
 
   /**
    * Constructor.
@@ -210,6 +236,19 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     mCacheManager = cacheManager;
     mMetaManager = mResourceCloser.register(metaManager);
     mMembershipManager = membershipManager;
+    mPeerCacheLocator = mConf.getBoolean(PropertyKey.WORKER_PEER_FILL_ENABLED)
+        ? new PeerCacheLocator(mConf, membershipManager, mWorkerId::get) : null;
+    mCacheHandoff = mConf.getBoolean(PropertyKey.WORKER_DECOMMISSION_HANDOFF_ENABLED)
+        ? new CacheHandoff(mConf, cacheManager, membershipManager, fileSystemContext) : null;
+    mParallelFetchExecutor = mConf.getInt(PropertyKey.WORKER_UFS_PARALLEL_FETCH_PARALLELISM) > 1
+        ? Executors.newFixedThreadPool(mConf.getInt(PropertyKey.WORKER_UFS_PARALLEL_FETCH_THREADS),
+            ThreadFactoryUtils.build("dora-parallel-fetch-%d", true))
+        : null;
+    mParallelFetchMinFileSize = mConf.getBytes(PropertyKey.WORKER_UFS_PARALLEL_FETCH_MIN_FILE_SIZE);
+    mCopyPartExecutor = mConf.getInt(PropertyKey.WORKER_COPY_PARALLELISM) > 1
+        ? Executors.newFixedThreadPool(mConf.getInt(PropertyKey.WORKER_COPY_PART_THREADS),
+            ThreadFactoryUtils.build("dora-copy-part-%d", true))
+        : null;
     mOpenFileHandleContainer = new DoraOpenFileHandleContainer();
     mMkdirsRecursive = MkdirsOptions.defaults(mConf).setCreateParent(true);
     mMkdirsNonRecursive = MkdirsOptions.defaults(mConf).setCreateParent(false);
@@ -272,6 +311,13 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
               () -> new FixedIntervalSupplier(Configuration.getMs(
                   PropertyKey.WORKER_BLOCK_HEARTBEAT_INTERVAL_MS)),
               mConf, ServerUserState.global()));
+    } else if (mConf.getBoolean(PropertyKey.WORKER_LOAD_HINTS_PUBLISH_ENABLED)) {
+      getExecutorService()
+          .submit(new HeartbeatThread(HeartbeatContext.WORKER_LOAD_HINTS_SYNC,
+              mResourceCloser.register(new LoadHintsSync()),
+              () -> new FixedIntervalSupplier(
+                  mConf.getMs(PropertyKey.WORKER_LOAD_HINTS_PUBLISH_INTERVAL)),
+              mConf, ServerUserState.global()));
     }
   }
 
@@ -305,8 +351,26 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     }
   }
 
-  private void decommission() {
-    // TO BE IMPLEMENTED
+  @Override
+  public void decommission() {
+    Preconditions.checkNotNull(mAddress, "worker not started");
+    if (!mDecommissioned.compareAndSet(false, true)) {
+      return;
+    }
+    WorkerInfo worker = new WorkerInfo().setIdentity(mWorkerId.get()).setAddress(mAddress);
+    if (mCacheHandoff != null) {
+      try {
+        CacheHandoffProgress progress = mCacheHandoff.run(worker);
+        LOG.info("Handed off the cache of worker {}: {}", worker.getIdentity(), progress);
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Failed to hand off the cache of worker {}", worker.getIdentity(), e);
+      }
+    }
+    try {
+      mMembershipManager.decommission(worker);
+    } catch (IOException e) {
+      LOG.warn("Failed to decommission worker {}", worker.getIdentity(), e);
+    }
   }
 
   private void registerToMaster() throws IOException {
@@ -354,6 +418,12 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     } catch (Exception e) {
       throw new IOException(e);
     } finally {
+      if (mParallelFetchExecutor != null) {
+        mParallelFetchExecutor.shutdownNow();
+      }
+      if (mCopyPartExecutor != null) {
+        mCopyPartExecutor.shutdownNow();
+      }
       super.close();
     }
   }
@@ -388,6 +458,33 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     return ufsStatuses.orElse(null);
   }
 
+  @Nullable
+  @Override
+  public Iterator<UfsStatus> listStatusIterable(String path, boolean recursive,
+      @Nullable String startAfter, int batchSize) throws IOException {
+    UnderFileSystem ufs = getUfsInstance(path);
+    ListOptions options = ListOptions.defaults().setRecursive(recursive);
+    if (!ufs.isObjectStorage()) {
+      // only the object storages list in key order and in batches
+      UfsStatus[] statuses = ufs.listStatus(path, options);
+      if (statuses == null) {
+        return null;
+      }
+      Arrays.sort(statuses, Comparator.comparing(UfsStatus::getName));
+      return Iterators.forArray(statuses);
+    }
+    // the object storages take the key of the object to start after
+    String startAfterKey = startAfter == null ? null
+        : CommonUtils.stripPrefixIfPresent(new AlluxioURI(startAfter).getPath(),
+            AlluxioURI.SEPARATOR);
+    try {
+      return ufs.listStatusIterable(path, options, startAfterKey, batchSize);
+    } catch (UnsupportedOperationException e) {
+      // not every object storage can start a listing after a key
+      return ufs.listStatusIterable(path, options, null, 0);
+    }
+  }
+
   @Override
   public FileInfo getFileInfo(String ufsFullPath, GetStatusPOptions options)
       throws IOException, AccessControlException {
@@ -421,7 +518,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
         LOG.debug("File {} is being written to.", ufsFullPath);
         status = Optional.empty();
       } else {
-        status = mMetaManager.loadFromUfs(ufsFullPath);
+        status = mMetaManager.loadFromUfsWithSiblings(ufsFullPath);
         MetricsSystem.counter(MetricKey.WORKER_GET_FILE_INFO_EXTERNAL_REQUESTS.getName()).inc();
       }
     } else {
@@ -452,12 +549,43 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
     return cachedPercentage;
   }
 
+  @Override
+  public void forEachCachedFile(String pathPrefix, BiConsumer<String, Long> action) {
+    mCacheManager.forEachCachedFile(pathPrefix, action);
+  }
+
   @Override
   public BlockReader createFileReader(String fileId, long offset, boolean positionShort,
       Protocol.OpenUfsBlockOptions options) throws IOException, AccessControlException {
-    UnderFileSystem ufs = getUfsInstance(options.getUfsPath());
-    return PagedFileReader.create(mConf, mCacheManager, ufs, fileId,
-        options.getUfsPath(), options.getBlockSize(), offset);
+    String ufsPath = options.getUfsPath();
+    long fileSize = options.getBlockSize();
+    if (options.getCacheOnly()) {
+      // a peer filling its cache from this worker only reads the pages this worker caches
+      return PagedFileReader.create(mConf, mCacheManager,
+          new CloseableSupplier<PositionReader>(() -> {
+            throw new NotFoundRuntimeException(
+                String.format("Page of %s is not cached by this worker", ufsPath));
+          }), fileId, fileSize, offset);
+    }
+    if (mCacheHandoff != null) {
+      mCacheHandoff.recordAccess(ufsPath, fileSize);
+    }
+    UnderFileSystem ufs = getUfsInstance(ufsPath);
+    CloseableSupplier<PositionReader> ufsReader =
+        new CloseableSupplier<>(() -> ufs.openPositionRead(ufsPath, fileSize));
+    Executor fetchExecutor = fileSize >= mParallelFetchMinFileSize ? mParallelFetchExecutor : null;
+    // the ufs path is recorded with the cached pages for the cache report
+    CacheContext cacheContext = CacheContext.defaults().setFilePath(ufsPath);
+    if (mPeerCacheLocator == null) {
+      return PagedFileReader.create(mConf, mCacheManager, ufsReader, fileId, fileSize, offset,
+          fetchExecutor, cacheContext);
+    }
+    // the previous owners are only looked up on the first miss
+    return PagedFileReader.create(mConf, mCacheManager, new CloseableSupplier<>(() -> {
+      List<WorkerNetAddress> peers = mPeerCacheLocator.getPreviousOwners(ufsPath);
+      return peers.isEmpty() ? ufsReader.get()
+          : new PeerFillPositionReader(mFsContext, peers, ufsPath, fileSize, mPageSize, ufsReader);
+    }), fileId, fileSize, offset, fetchExecutor, cacheContext);
   }
 
   @Override
@@ -468,18 +596,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
 
   private boolean isAllPageCached(alluxio.grpc.UfsStatus status, long offset, long length) {
     String fileId = new AlluxioURI(status.getUfsFullPath()).hash();
-    List<PageId> cachedPages = mCacheManager.getCachedPageIdsByFileId(fileId,
-        status.getUfsFileStatus().getContentLength());
-    // Ceiling
-    int numOfPagesInBlock = (int) ((length + mPageSize - 1) / mPageSize);
-    for (long pageIndex = offset / mPageSize; pageIndex < numOfPagesInBlock;
-         pageIndex++) {
-      PageId pageId = new PageId(fileId, pageIndex);
-      if (!cachedPages.contains(pageId)) {
-        return false;
-      }
-    }
-    return true;
+    return mCacheManager.isCached(fileId, offset, length);
   }
 
   @Override
@@ -584,6 +701,9 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
               AuthenticatedClientUser.set(options.getUser());
             }
             long fileLength = subTask.getUfsStatus().getUfsFileStatus().getContentLength();
+            if (mCacheHandoff != null) {
+              mCacheHandoff.recordAccess(subTask.getUfsPath(), fileLength);
+            }
             if (subTask.hasMainWorker()) {
               WorkerNetAddress address = GrpcUtils.fromProto(subTask.getMainWorker());
               if (mAddress != address) {
@@ -702,6 +822,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       PositionReader reader, int chunkSize) throws IOException {
     ByteBuffer buf = ByteBuffer.allocateDirect(chunkSize);
     String fileId = new AlluxioURI(filePath).hash();
+    CacheContext cacheContext = CacheContext.defaults().setFilePath(filePath);
     while (lengthToLoad > 0) {
       long currentPageIndex = offset / mPageSize;
       PageId pageId = new PageId(fileId.toString(), currentPageIndex);
@@ -712,7 +833,7 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
             "Read " + lengthRead + " bytes, expected to read " + lengthToRead + " bytes");
       }
       buf.flip();
-      mCacheManager.put(pageId, buf);
+      mCacheManager.put(pageId, buf, cacheContext);
       offset += lengthRead;
       lengthToLoad -= lengthRead;
       buf.clear();
@@ -748,7 +869,10 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
               errors.add(builder.build());
               return;
             }
-            CopyHandler.copy(route, writeOptions, srcFs, dstFs);
+            CopyHandler.copy(route, writeOptions, srcFs, dstFs, srcUfs, dstUfs,
+                mCopyPartExecutor);
+            // the destination is written to the UFS directly, drop what is cached of it
+            mMetaManager.removeFromMetaStore(route.getDst());
           } catch (Throwable t) {
             boolean permissionCheckSucceeded = !(t instanceof AccessControlException);
             LOG.error("Failed to copy {} to {}", route.getSrc(), route.getDst(), t);
@@ -808,7 +932,10 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
               throw new FailedPreconditionRuntimeException("File " + route.getDst()
                   + " is already in UFS");
             }
-            CopyHandler.copy(route, writeOptions, srcFs, dstFs);
+            CopyHandler.copy(route, writeOptions, srcFs, dstFs, srcUfs, dstUfs,
+                mCopyPartExecutor);
+            // the destination is written to the UFS directly, drop what is cached of it
+            mMetaManager.removeFromMetaStore(route.getDst());
             try {
               DeleteHandler.delete(new AlluxioURI(route.getSrc()), srcFs);
             } catch (Exception e) {
@@ -1099,13 +1226,46 @@ public class PagedDoraWorker extends AbstractWorker implements DoraWorker {
       }
 
       LOG.debug("received master command: {}", cmdFromMaster.getCommandType());
-      // only handles re-register command
+      // only handles re-register and decommission commands
       if (cmdFromMaster.getCommandType() == CommandType.Register) {
         try {
           register();
         } catch (IOException e) {
           LOG.warn("failed to re-register to master during heartbeat", e);
         }
+      } else if (cmdFromMaster.getCommandType() == CommandType.Decommissioned) {
+        // the master keeps sending the command, the worker leaves once
+        decommission();
+      }
+    }
+
+    @Override
+    public void close() {
+      // do nothing
+    }
+  }
+
+  /**
+   * Publishes the load hints of this worker through the membership service, for clients
+   * that select workers with bounded loads.
+   */
+  private class LoadHintsSync implements HeartbeatExecutor {
+    @Override
+    public void heartbeat(long timeLimitMs) throws InterruptedException {
+      WorkerLoadHints hints = new WorkerLoadHints(
+          MetricsSystem.counter(MetricKey.WORKER_ACTIVE_RPC_READ_COUNT.getName()).getCount(),
+          MetricsSystem.meter(MetricKey.WORKER_BYTES_READ_REMOTE_THROUGHPUT.getName())
+              .getOneMinuteRate(),
+          mCacheManager.getUsage()
+              .filter(usage -> usage.capacity() > 0)
+              .map(usage -> (double) usage.used() / usage.capacity())
+              .orElse(0.0),
+          CommonUtils.getCurrentMs());
+      try {
+        mMembershipManager.updateLoadHints(
+            new WorkerInfo().setIdentity(mWorkerId.get()).setAddress(mAddress), hints);
+      } catch (IOException | RuntimeException e) {
+        LOG.warn("Failed to publish load hints {}: {}", hints, e.toString());
       }
     }
 
@@ -42,6 +42,8 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Executor;
+import javax.annotation.Nullable;
 
 /**
  * Paged file reader.
@@ -68,11 +70,72 @@ public class PagedFileReader extends BlockReader implements PositionReader {
   public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
                                        UnderFileSystem ufs, String fileId,
                                        String ufsPath, long fileSize, long startPosition) {
-    FileId fileIdField = FileId.of(fileId);
-    return new PagedFileReader(LocalCachePositionReader.create(cacheManager,
+    return create(conf, cacheManager,
         new CloseableSupplier<>(() -> ufs.openPositionRead(ufsPath, fileSize)),
+        fileId, fileSize, startPosition, null, CacheContext.defaults().setFilePath(ufsPath));
+  }
+
+  /**
+   * Creates a new {@link PagedFileReader} reading the pages missing in the cache from the given
+   * fallback reader.
+   *
+   * @param conf
+   * @param cacheManager
+   * @param fallbackReader the reader of the pages missing in the cache
+   * @param fileId
+   * @param fileSize
+   * @param startPosition
+   * @return a new {@link PagedFileReader}
+   */
+  public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
+      CloseableSupplier<PositionReader> fallbackReader, String fileId, long fileSize,
+      long startPosition) {
+    return create(conf, cacheManager, fallbackReader, fileId, fileSize, startPosition, null);
+  }
+
+  /**
+   * Creates a new {@link PagedFileReader} fetching the pages missing in the cache from the given
+   * fallback reader in parallel.
+   *
+   * @param conf
+   * @param cacheManager
+   * @param fallbackReader the reader of the pages missing in the cache
+   * @param fileId
+   * @param fileSize
+   * @param startPosition
+   * @param fetchExecutor the executor fetching the missing pages, or null to read them one at a
+   *        time
+   * @return a new {@link PagedFileReader}
+   */
+  public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
+      CloseableSupplier<PositionReader> fallbackReader, String fileId, long fileSize,
+      long startPosition, @Nullable Executor fetchExecutor) {
+    return create(conf, cacheManager, fallbackReader, fileId, fileSize, startPosition,
+        fetchExecutor, CacheContext.defaults());
+  }
+
+  /**
+   * Creates a new {@link PagedFileReader} caching the pages it reads with the given context.
+   *
+   * @param conf
+   * @param cacheManager
+   * @param fallbackReader the reader of the pages missing in the cache
+   * @param fileId
+   * @param fileSize
+   * @param startPosition
+   * @param fetchExecutor the executor fetching the missing pages, or null to read them one at a
+   *        time
+   * @param cacheContext the context of the cached pages
+   * @return a new {@link PagedFileReader}
+   */
+  public static PagedFileReader create(AlluxioConfiguration conf, CacheManager cacheManager,
+      CloseableSupplier<PositionReader> fallbackReader, String fileId, long fileSize,
+      long startPosition, @Nullable Executor fetchExecutor, CacheContext cacheContext) {
+    FileId fileIdField = FileId.of(fileId);
+    return new PagedFileReader(LocalCachePositionReader.create(cacheManager, fallbackReader,
         fileIdField, fileSize, conf.getBytes(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE),
-        CacheContext.defaults()), fileSize, startPosition);
+        cacheContext, fetchExecutor,
+        conf.getInt(PropertyKey.WORKER_UFS_PARALLEL_FETCH_PARALLELISM)), fileSize, startPosition);
   }
 
   /**
@@ -48,7 +48,7 @@ public class PagedFileWriter extends BlockWriter {
   PagedFileWriter(PagedDoraWorker worker, String ufsPath,
                   CacheManager cacheManager, String fileId, long pageSize) {
     mWorker = Preconditions.checkNotNull(worker);
-    mTempCacheContext = CacheContext.defaults().setTemporary(true);
+    mTempCacheContext = CacheContext.defaults().setTemporary(true).setFilePath(ufsPath);
     mCacheManager = Preconditions.checkNotNull(cacheManager);
     mFileId = Preconditions.checkNotNull(fileId);
     mPageSize = pageSize;
@@ -0,0 +1,188 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.file.dora.HashRing;
+import alluxio.conf.AlluxioConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.membership.MembershipManager;
+import alluxio.wire.WorkerIdentity;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.annotations.VisibleForTesting;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Finds the workers which owned a file on the consistent hash ring before the recent changes of
+ * the worker membership. After a worker joins or another one leaves, the files which move to
+ * this worker are still cached by their previous owners, which can serve the pages this worker
+ * misses much faster than the UFS.
+ *
+ * The locator keeps the rings of the memberships it saw during the retention period, starting
+ * with the ring of the first membership seen without this worker. The membership is refreshed at
+ * most once per worker list refresh interval of the clients, which is also how fast the clients
+ * see the membership changes.
+ */
+@ThreadSafe
+final class PeerCacheLocator {
+  private static final Logger LOG = LoggerFactory.getLogger(PeerCacheLocator.class);
+  /** The max number of previous rings kept, in case the membership changes a lot. */
+  private static final int MAX_RING_HISTORY = 4;
+
+  private final MembershipManager mMembershipManager;
+  private final Supplier<WorkerIdentity> mSelf;
+  private final int mNumVirtualNodes;
+  private final long mRefreshIntervalMs;
+  private final long mRetentionMs;
+  private final Clock mClock;
+  private volatile long mNextRefreshMs = 0;
+
+  /** The rings replaced by a membership change, newest first. */
+  private final Deque<PreviousRing> mHistory = new ArrayDeque<>();
+  @Nullable
+  private HashRing mCurrentRing;
+  /** The addresses of the live workers, by identity. */
+  private Map<WorkerIdentity, WorkerNetAddress> mLiveWorkers = Collections.emptyMap();
+
+  /**
+   * @param conf the configuration
+   * @param membershipManager the membership manager
+   * @param self the identity of this worker
+   */
+  PeerCacheLocator(AlluxioConfiguration conf, MembershipManager membershipManager,
+      Supplier<WorkerIdentity> self) {
+    this(conf, membershipManager, self, Clock.systemUTC());
+  }
+
+  @VisibleForTesting
+  PeerCacheLocator(AlluxioConfiguration conf, MembershipManager membershipManager,
+      Supplier<WorkerIdentity> self, Clock clock) {
+    mMembershipManager = membershipManager;
+    mSelf = self;
+    mNumVirtualNodes = conf.getInt(PropertyKey.USER_CONSISTENT_HASH_VIRTUAL_NODE_COUNT_PER_WORKER);
+    mRefreshIntervalMs = conf.getMs(PropertyKey.USER_WORKER_LIST_REFRESH_INTERVAL);
+    mRetentionMs = conf.getMs(PropertyKey.WORKER_PEER_FILL_RING_HISTORY_RETENTION);
+    mClock = clock;
+  }
+
+  /**
+   * Finds the live workers other than this one which owned a file before the recent membership
+   * changes, the owner before the latest change first.
+   *
+   * @param ufsPath the ufs path of the file
+   * @return the addresses of the previous owners, empty if the membership did not change lately
+   */
+  List<WorkerNetAddress> getPreviousOwners(String ufsPath) {
+    long now = mClock.millis();
+    if (now >= mNextRefreshMs) {
+      mNextRefreshMs = now + mRefreshIntervalMs;
+      try {
+        update(mMembershipManager.getLiveMembers(), now);
+      } catch (IOException e) {
+        LOG.warn("Failed to get the live workers, using the last known ones", e);
+      }
+    }
+    WorkerIdentity self = mSelf.get();
+    synchronized (this) {
+      expire(now);
+      if (mHistory.isEmpty()) {
+        return Collections.emptyList();
+      }
+      List<WorkerNetAddress> owners = new ArrayList<>(mHistory.size());
+      for (PreviousRing previous : mHistory) {
+        WorkerIdentity owner = previous.mRing.get(ufsPath, 1).getIdentity();
+        WorkerNetAddress address = mLiveWorkers.get(owner);
+        if (address != null && !owner.equals(self) && !owners.contains(address)) {
+          owners.add(address);
+        }
+      }
+      return owners;
+    }
+  }
+
+  /**
+   * Updates the rings with a new membership.
+   *
+   * @param liveMembers the live workers
+   * @param now the current time in ms
+   */
+  @VisibleForTesting
+  synchronized void update(List<WorkerInfo> liveMembers, long now) {
+    if (liveMembers.isEmpty()) {
+      return;
+    }
+    List<BlockWorkerInfo> workers = liveMembers.stream()
+        .map(w -> new BlockWorkerInfo(w.getIdentity(), w.getAddress(), w.getCapacityBytes(),
+            w.getUsedBytes()))
+        .collect(Collectors.toList());
+    mLiveWorkers = liveMembers.stream()
+        .collect(Collectors.toMap(WorkerInfo::getIdentity, WorkerInfo::getAddress,
+            (first, second) -> first, HashMap::new));
+    if (mCurrentRing == null) {
+      mCurrentRing = HashRing.build(workers, mNumVirtualNodes);
+      // the first membership seen by a worker which just joined already includes it, while the
+      // files it now owns were owned by the other workers, so start with the ring without it
+      WorkerIdentity self = mSelf.get();
+      List<BlockWorkerInfo> others = workers.stream()
+          .filter(w -> !w.getIdentity().equals(self))
+          .collect(Collectors.toList());
+      if (!others.isEmpty() && others.size() < workers.size()) {
+        mHistory.addFirst(new PreviousRing(HashRing.build(others, mNumVirtualNodes), now));
+      }
+      return;
+    }
+    HashRing ring = mCurrentRing.update(workers);
+    if (ring != mCurrentRing) {
+      LOG.debug("Worker membership changed, keeping the previous ring for peer cache fill");
+      mHistory.addFirst(new PreviousRing(mCurrentRing, now));
+      while (mHistory.size() > MAX_RING_HISTORY) {
+        mHistory.removeLast();
+      }
+      mCurrentRing = ring;
+    }
+  }
+
+  private void expire(long now) {
+    Iterator<PreviousRing> it = mHistory.descendingIterator();
+    while (it.hasNext() && now - it.next().mReplacedMs > mRetentionMs) {
+      it.remove();
+    }
+  }
+
+  private static final class PreviousRing {
+    private final HashRing mRing;
+    private final long mReplacedMs;
+
+    PreviousRing(HashRing ring, long replacedMs) {
+      mRing = ring;
+      mReplacedMs = replacedMs;
+    }
+  }
+}
@@ -0,0 +1,107 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import alluxio.CloseableSupplier;
+import alluxio.PositionReader;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.dora.netty.NettyDataReader;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
+import alluxio.proto.dataserver.Protocol;
+import alluxio.wire.WorkerNetAddress;
+
+import com.codahale.metrics.Counter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The fallback reader of the pages a worker misses, which reads them from the workers which
+ * previously owned the file before reading the UFS.
+ *
+ * The peers are asked to only serve the pages they cache. A peer which fails a read is not asked
+ * again by this reader, so a file which none of the peers caches costs one round trip per peer.
+ */
+@ThreadSafe
+final class PeerFillPositionReader implements PositionReader {
+  private static final Logger LOG = LoggerFactory.getLogger(PeerFillPositionReader.class);
+  private static final Counter BYTES_READ_PEER_FILL =
+      MetricsSystem.counter(MetricKey.WORKER_BYTES_READ_PEER_FILL.getName());
+
+  private final List<PeerReader> mPeers = new CopyOnWriteArrayList<>();
+  private final CloseableSupplier<PositionReader> mUfsReader;
+
+  /**
+   * @param context the file system context
+   * @param peers the previous owners of the file
+   * @param ufsPath the ufs path of the file
+   * @param fileSize the size of the file
+   * @param chunkSize the chunk size of the reads
+   * @param ufsReader the reader of the file from the UFS
+   */
+  PeerFillPositionReader(FileSystemContext context, List<WorkerNetAddress> peers,
+      String ufsPath, long fileSize, long chunkSize, CloseableSupplier<PositionReader> ufsReader) {
+    Protocol.OpenUfsBlockOptions openOptions = Protocol.OpenUfsBlockOptions.newBuilder()
+        .setUfsPath(ufsPath).setMountId(0).setNoCache(false).setOffsetInFile(0)
+        .setBlockSize(fileSize).setCacheOnly(true).build();
+    Protocol.ReadRequest.Builder builder = Protocol.ReadRequest.newBuilder().setBlockId(-1)
+        .setOpenUfsBlockOptions(openOptions).setChunkSize(chunkSize);
+    for (WorkerNetAddress peer : peers) {
+      mPeers.add(new PeerReader(peer, new NettyDataReader(context, peer, builder)));
+    }
+    mUfsReader = ufsReader;
+  }
+
+  @Override
+  public int readInternal(long position, ReadTargetBuffer buffer, int length)
+      throws IOException {
+    for (PeerReader peer : mPeers) {
+      int offset = buffer.offset();
+      try {
+        int bytesRead = peer.mReader.read(position, buffer, length);
+        if (bytesRead > 0) {
+          BYTES_READ_PEER_FILL.inc(bytesRead);
+          return bytesRead;
+        }
+      } catch (IOException | RuntimeException e) {
+        LOG.debug("Failed to read {} bytes at {} from peer {}, not asking it again",
+            length, position, peer.mAddress, e);
+      }
+      // discard what a failed read may have written
+      buffer.offset(offset);
+      mPeers.remove(peer);
+    }
+    return mUfsReader.get().read(position, buffer, length);
+  }
+
+  @Override
+  public void close() throws IOException {
+    mPeers.clear();
+    mUfsReader.close();
+  }
+
+  private static final class PeerReader {
+    private final WorkerNetAddress mAddress;
+    private final PositionReader mReader;
+
+    PeerReader(WorkerNetAddress address, PositionReader reader) {
+      mAddress = address;
+      mReader = reader;
+    }
+  }
+}
@@ -31,6 +31,7 @@ import org.rocksdb.ReadOptions;
 import org.rocksdb.RocksDB;
 import org.rocksdb.RocksDBException;
 import org.rocksdb.RocksObject;
+import org.rocksdb.WriteBatch;
 import org.rocksdb.WriteOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,6 +40,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.stream.Collectors;
@@ -50,8 +52,8 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 public class RocksDBDoraMetaStore implements DoraMetaStore {
   private static final Logger LOG = LoggerFactory.getLogger(RocksDBDoraMetaStore.class);
-  private static final String DORA_META_DB_NAME = "DoraMeta";
-  private static final String DORA_META_FILE_STATUS_COLUMN = "FileStatusCF";
+  static final String DORA_META_DB_NAME = "DoraMeta";
+  static final String DORA_META_FILE_STATUS_COLUMN = "FileStatusCF";
   private static final String DORA_META_STORE_NAME = "DoraMetaStore";
 
   // These are fields instead of constants because they depend on the call to RocksDB.loadLibrary().
@@ -163,6 +165,20 @@ public class RocksDBDoraMetaStore implements DoraMetaStore {
     }
   }
 
+  @Override
+  public void putDoraMetas(Map<String, DoraMeta.FileStatus> metas) {
+    try (RocksSharedLockHandle lock = mRocksStore.checkAndAcquireSharedLock();
+         WriteBatch batch = new WriteBatch()) {
+      for (Map.Entry<String, DoraMeta.FileStatus> entry : metas.entrySet()) {
+        batch.put(mFileStatusColumn.get(), entry.getKey().getBytes(),
+            entry.getValue().toByteString().toByteArray());
+      }
+      db().write(mWriteOption, batch);
+    } catch (RocksDBException e) {
+      LOG.error("Cannot put {} entries : {}", metas.size(), e);
+    }
+  }
+
   /**
    * Removes the metadata from the RocksDB. It is not an error if the record specified by the key
    * is not found.
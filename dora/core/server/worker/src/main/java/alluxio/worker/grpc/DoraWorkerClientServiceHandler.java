@@ -13,6 +13,7 @@ package alluxio.worker.grpc;
 
 import static java.util.Objects.requireNonNull;
 
+import alluxio.AlluxioURI;
 import alluxio.RpcUtils;
 import alluxio.annotation.SuppressFBWarnings;
 import alluxio.conf.Configuration;
@@ -23,6 +24,7 @@ import alluxio.exception.runtime.NotFoundRuntimeException;
 import alluxio.grpc.BlockWorkerGrpc;
 import alluxio.grpc.CacheDataRequest;
 import alluxio.grpc.CacheDataResponse;
+import alluxio.grpc.CachedFileStatus;
 import alluxio.grpc.CompleteFilePRequest;
 import alluxio.grpc.CompleteFilePResponse;
 import alluxio.grpc.CopyRequest;
@@ -35,6 +37,8 @@ import alluxio.grpc.DeletePRequest;
 import alluxio.grpc.DeletePResponse;
 import alluxio.grpc.ExistsPRequest;
 import alluxio.grpc.ExistsPResponse;
+import alluxio.grpc.GetCacheReportRequest;
+import alluxio.grpc.GetCacheReportResponse;
 import alluxio.grpc.GetStatusPRequest;
 import alluxio.grpc.GetStatusPResponse;
 import alluxio.grpc.GrpcUtils;
@@ -69,6 +73,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
@@ -392,4 +397,36 @@ public class DoraWorkerClientServiceHandler extends BlockWorkerGrpc.BlockWorkerI
       responseObserver.onError(AlluxioRuntimeException.from(e).toGrpcStatusRuntimeException());
     }
   }
+
+  @Override
+  public void getCacheReport(GetCacheReportRequest request,
+      StreamObserver<GetCacheReportResponse> responseObserver) {
+    LOG.debug("getCacheReport is called for {}", request.getPath());
+    try {
+      String path = request.getPath();
+      String dir = path.endsWith(AlluxioURI.SEPARATOR) ? path : path + AlluxioURI.SEPARATOR;
+      List<CachedFileStatus> batch = new ArrayList<>(LIST_STATUS_BATCH_SIZE);
+      // the files are read from the page index of the cache, the ufs is not listed
+      mWorker.forEachCachedFile(path, (ufsPath, cachedBytes) -> {
+        boolean inReport = ufsPath.equals(path) || (ufsPath.startsWith(dir)
+            && (request.getRecursive() || ufsPath.indexOf(AlluxioURI.SEPARATOR, dir.length()) < 0));
+        if (!inReport || cachedBytes == 0) {
+          return;
+        }
+        batch.add(CachedFileStatus.newBuilder()
+            .setUfsPath(ufsPath).setCachedBytes(cachedBytes).build());
+        if (batch.size() == LIST_STATUS_BATCH_SIZE) {
+          responseObserver.onNext(GetCacheReportResponse.newBuilder().addAllFiles(batch).build());
+          batch.clear();
+        }
+      });
+      if (!batch.isEmpty()) {
+        responseObserver.onNext(GetCacheReportResponse.newBuilder().addAllFiles(batch).build());
+      }
+      responseObserver.onCompleted();
+    } catch (Exception e) {
+      LOG.error(String.format("Failed to get cache report of %s: ", request.getPath()), e);
+      responseObserver.onError(AlluxioRuntimeException.from(e).toGrpcStatusRuntimeException());
+    }
+  }
 }
@@ -16,6 +16,8 @@ import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
 import alluxio.exception.AccessControlException;
 import alluxio.exception.status.PermissionDeniedException;
+import alluxio.metrics.MetricKey;
+import alluxio.metrics.MetricsSystem;
 import alluxio.network.netty.FileTransferType;
 import alluxio.network.protocol.databuffer.CompositeDataBuffer;
 import alluxio.network.protocol.databuffer.DataBuffer;
@@ -25,6 +27,7 @@ import alluxio.worker.block.io.BlockReader;
 import alluxio.worker.dora.DoraWorker;
 import alluxio.worker.dora.PagedFileReader;
 
+import com.codahale.metrics.Counter;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import org.slf4j.Logger;
@@ -43,6 +46,9 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
 
   private static final long UFS_BLOCK_OPEN_TIMEOUT_MS =
       Configuration.getMs(PropertyKey.WORKER_UFS_BLOCK_OPEN_TIMEOUT_MS);
+  private static final Counter RPC_READ_COUNT =
+      MetricsSystem.counterWithTags(MetricKey.WORKER_ACTIVE_RPC_READ_COUNT.getName(),
+          MetricKey.WORKER_ACTIVE_RPC_READ_COUNT.isClusterAggregated());
   private final DoraWorker mWorker;
 
   /**
@@ -138,11 +144,13 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
       mReader = reader;
       mReadRequest = request;
       mTransferType = transferType;
+      RPC_READ_COUNT.inc();
     }
 
     @Override
     public DataBuffer createDataBuffer(Channel channel, long offset, int len)
         throws Exception {
+      MetricsSystem.meter(MetricKey.WORKER_BYTES_READ_REMOTE_THROUGHPUT.getName()).mark(len);
       if (mTransferType == FileTransferType.TRANSFER) {
         if (mReader instanceof PagedFileReader) {
           PagedFileReader pagedFileReader = (PagedFileReader) mReader;
@@ -172,6 +180,7 @@ public class FileReadHandler extends AbstractReadHandler<BlockReadRequest> {
 
     @Override
     public void close() throws IOException {
+      RPC_READ_COUNT.dec();
       try {
         mReader.close();
       } catch (Exception e) {
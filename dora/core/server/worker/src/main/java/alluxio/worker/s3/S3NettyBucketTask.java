@@ -13,6 +13,7 @@ package alluxio.worker.s3;
 
 import alluxio.AlluxioURI;
 import alluxio.Constants;
+import alluxio.client.file.DoraCacheFileSystem;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.URIStatus;
 import alluxio.conf.Configuration;
@@ -31,12 +32,16 @@ import alluxio.s3.DeleteObjectsRequest;
 import alluxio.s3.DeleteObjectsResult;
 import alluxio.s3.ListAllMyBucketsResult;
 import alluxio.s3.ListBucketOptions;
+import alluxio.s3.ListBucketPage;
 import alluxio.s3.ListBucketResult;
 import alluxio.s3.NettyRestUtils;
 import alluxio.s3.S3AuditContext;
 import alluxio.s3.S3Constants;
 import alluxio.s3.S3ErrorCode;
 import alluxio.s3.S3Exception;
+import alluxio.underfs.UfsStatus;
+import alluxio.util.io.PathUtils;
+import alluxio.wire.FileInfo;
 
 import com.fasterxml.jackson.dataformat.xml.XmlMapper;
 import com.google.common.net.InetAddresses;
@@ -53,6 +58,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.regex.Matcher;
 import java.util.stream.Collectors;
@@ -149,10 +155,46 @@ public class S3NettyBucketTask extends S3NettyBaseTask {
   } // end of ListBucketsTask
 
   private static class ListObjectsTask extends S3NettyBucketTask {
+    /** The maximum number of objects fetched from the UFS at a time. */
+    private static final int LIST_OBJECTS_BATCH_SIZE = 1000;
+
     protected ListObjectsTask(S3NettyHandler handler, OpType opType) {
       super(handler, opType);
     }
 
+    /**
+     * Lists the objects under a path into the page. With a dora worker, the UFS is listed in key
+     * order from the resume point of the page, and the listing stops once the page is complete.
+     */
+    private void listObjects(FileSystem userFs, String path, boolean recursive,
+        ListBucketPage page, int maxKeys) throws IOException, AlluxioException, S3Exception {
+      if (mHandler.getDoraWorker() == null
+          || !(mHandler.getFsClient() instanceof DoraCacheFileSystem)) {
+        ListStatusPOptions options = ListStatusPOptions.newBuilder()
+            .setRecursive(recursive).build();
+        userFs.iterateStatus(new AlluxioURI(path), options, page);
+        return;
+      }
+      String startAfter = page.getResumeKey().isEmpty() ? null
+          : mHandler.getUfsPath(new AlluxioURI(AlluxioURI.SEPARATOR + mHandler.getBucket()
+              + AlluxioURI.SEPARATOR + page.getResumeKey())).toString();
+      Iterator<UfsStatus> statuses = mHandler.getDoraWorker().listStatusIterable(
+          mHandler.getUfsPath(new AlluxioURI(path)).toString(), recursive, startAfter,
+          Math.min(maxKeys + 1, LIST_OBJECTS_BATCH_SIZE));
+      if (statuses == null) {
+        throw new FileDoesNotExistException(path);
+      }
+      while (!page.isCompleteInKeyOrder() && statuses.hasNext()) {
+        UfsStatus status = statuses.next();
+        Long lastModifiedTime = status.getLastModifiedTime();
+        page.accept(new URIStatus(new FileInfo()
+            .setPath(PathUtils.concatPath(path, status.getName()))
+            .setFolder(status.isDirectory())
+            .setLength(status.isFile() ? status.asUfsFileStatus().getContentLength() : 0)
+            .setLastModificationTimeMs(lastModifiedTime == null ? 0 : lastModifiedTime)));
+      }
+    }
+
     private String normalizeS3Prefix(String prefix, char delimiter) {
       if (prefix != null) {
         int pos = prefix.lastIndexOf(delimiter);
@@ -215,7 +257,8 @@ public class S3NettyBucketTask extends S3NettyBaseTask {
               .setContinuationToken(continuationTokenParam)
               .setStartAfter(startAfterParam);
 
-          List<URIStatus> children;
+          // only the requested page is kept while the objects are being listed
+          ListBucketPage page = new ListBucketPage(mHandler.getBucket(), listBucketOptions);
           try {
             // TODO(czhu): allow non-"/" delimiters by parsing the prefix & delimiter pair to
             //             determine what directory to list the contents of
@@ -226,25 +269,24 @@ public class S3NettyBucketTask extends S3NettyBaseTask {
               } else {
                 path = parsePathWithDelimiter(path, prefixParam, delimiterParam);
               }
-              children = userFs.listStatus(new AlluxioURI(path));
+              listObjects(userFs, path, false, page, maxKeys);
             } else {
               if (prefixParam != null) {
                 path = parsePathWithDelimiter(path, prefixParam, AlluxioURI.SEPARATOR);
               }
-              ListStatusPOptions options = ListStatusPOptions.newBuilder()
-                  .setRecursive(true).build();
-              children = userFs.listStatus(new AlluxioURI(path), options);
+              listObjects(userFs, path, true, page, maxKeys);
             }
           } catch (FileDoesNotExistException e) {
             // Since we've called S3RestUtils.checkPathIsAlluxioDirectory() on the bucket path
             // already, this indicates that the prefix was unable to be found in the Alluxio FS
-            children = new ArrayList<>();
+            return new ListBucketResult(
+                mHandler.getBucket(), new ArrayList<>(), listBucketOptions);
           } catch (IOException | AlluxioException e) {
             throw NettyRestUtils.toBucketS3Exception(e, mHandler.getBucket(), auditContext);
           }
           return new ListBucketResult(
               mHandler.getBucket(),
-              children,
+              page.getObjects(),
               listBucketOptions);
         } // end try-with-resources block
       });
@@ -13,8 +13,11 @@ package alluxio.worker.task;
 
 import alluxio.AlluxioURI;
 import alluxio.Constants;
+import alluxio.PositionReader;
 import alluxio.client.file.FileSystem;
 import alluxio.client.file.URIStatus;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
 import alluxio.exception.runtime.AlluxioRuntimeException;
 import alluxio.exception.runtime.InternalRuntimeException;
 import alluxio.grpc.Bits;
@@ -22,28 +25,63 @@ import alluxio.grpc.CreateDirectoryPOptions;
 import alluxio.grpc.CreateFilePOptions;
 import alluxio.grpc.ErrorType;
 import alluxio.grpc.GetStatusPOptions;
+import alluxio.grpc.OpenFilePOptions;
 import alluxio.grpc.PMode;
 import alluxio.grpc.Route;
 import alluxio.grpc.WriteOptions;
 import alluxio.grpc.WritePType;
 import alluxio.underfs.Fingerprint;
+import alluxio.underfs.MultipartUploader;
+import alluxio.underfs.UnderFileSystem;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.util.concurrent.Uninterruptibles;
 import io.grpc.Status;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
 import org.apache.commons.io.IOUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 /**
  * CopyHandler is responsible for copying files.
+ *
+ * A file written through to the UFS it is read from is copied by the UFS itself if it supports
+ * server-side copy and {@link PropertyKey#WORKER_COPY_SERVER_SIDE_ENABLED} is set. A large file
+ * written through to a UFS that supports multipart upload is read and uploaded as parts in
+ * parallel on the given executor. Other files are copied with a single stream. The MD5 of the
+ * copied data, or of each uploaded part, is computed along the way, so that the content can be
+ * verified against the content hash of the destination without reading the destination back.
  */
 public final class CopyHandler {
   private static final Logger LOG = LoggerFactory.getLogger(CopyHandler.class);
   private static final GetStatusPOptions GET_STATUS_OPTIONS =
       GetStatusPOptions.getDefaultInstance().toBuilder().setIncludeRealContentHash(true).build();
+  /** The maximum number of parts of a multipart upload, as limited by S3. */
+  private static final int MAX_PARTS = 10000;
+  /** The content hash of a multipart upload, the MD5 of the part MD5s and the part count. */
+  private static final Pattern MULTIPART_CONTENT_HASH = Pattern.compile("[0-9a-fA-F]{32}-\\d+");
+  private static final int PART_SIZE = (int) Math.min(Integer.MAX_VALUE,
+      Configuration.getBytes(PropertyKey.WORKER_COPY_PART_SIZE));
+  private static final int PARALLELISM = Configuration.getInt(PropertyKey.WORKER_COPY_PARALLELISM);
+  private static final boolean SERVER_SIDE_COPY_ENABLED =
+      Configuration.getBoolean(PropertyKey.WORKER_COPY_SERVER_SIDE_ENABLED);
 
   /**
    * Copies a file from source to destination.
@@ -55,6 +93,25 @@ public final class CopyHandler {
    */
   public static void copy(Route route, WriteOptions writeOptions,
       FileSystem srcFs, FileSystem dstFs) {
+    copy(route, writeOptions, srcFs, dstFs, null, null, null);
+  }
+
+  /**
+   * Copies a file from source to destination.
+   *
+   * @param route        the route
+   * @param writeOptions the write options
+   * @param srcFs        the source file system
+   * @param dstFs        the destination file system
+   * @param srcUfs       the UFS of the source, used for server-side copy if the destination is
+   *                     in the same UFS
+   * @param dstUfs       the UFS of the destination, used to upload the parts of large files
+   * @param partExecutor the executor copying the parts of large files, or null to copy every
+   *                     file with a single stream
+   */
+  public static void copy(Route route, WriteOptions writeOptions,
+      FileSystem srcFs, FileSystem dstFs, @Nullable UnderFileSystem srcUfs,
+      @Nullable UnderFileSystem dstUfs, @Nullable ExecutorService partExecutor) {
     AlluxioURI src = new AlluxioURI(route.getSrc());
     AlluxioURI dst = new AlluxioURI(route.getDst());
     URIStatus sourceStatus;
@@ -73,36 +130,193 @@ public final class CopyHandler {
         throw AlluxioRuntimeException.from(e);
       }
     }
-    long copiedLength = copyFile(src, dst, srcFs, dstFs, writeOptions.getWriteType());
-    if (writeOptions.getCheckContent()) {
-      if (!checkLengthAndContentHash(sourceStatus, dst, dstFs, copiedLength)) {
-        try {
-          dstFs.delete(dst);
-        } catch (Exception e) {
-          LOG.warn("Failed to delete dst file {} after content mismatch", dst, e);
-        }
-        throw new AlluxioRuntimeException(Status.FAILED_PRECONDITION, String.format(
-            "Copied file %s does not match source %s, there might be concurrent updates to src",
-            route.getDst(), route.getSrc()), null, ErrorType.User, true);
+    boolean matched;
+    WritePType writeType = writeOptions.getWriteType();
+    if (canCopyServerSide(src, dst, srcUfs, writeType)) {
+      copyServerSide(src, dst, srcUfs);
+      matched = !writeOptions.getCheckContent()
+          || checkServerSideCopy(sourceStatus, src, dst, srcFs, dstFs);
+    } else {
+      CopiedFile copied;
+      if (canCopyParts(sourceStatus, dstUfs, writeType, partExecutor)) {
+        copied = copyParts(sourceStatus, src, dst, srcFs, dstUfs, partExecutor);
+      } else {
+        copied = copyFile(src, dst, srcFs, dstFs, writeType);
+      }
+      matched = !writeOptions.getCheckContent()
+          || checkLengthAndContentHash(sourceStatus, src, dst, srcFs, dstFs, copied);
+    }
+    if (!matched) {
+      try {
+        dstFs.delete(dst);
+      } catch (Exception e) {
+        LOG.warn("Failed to delete dst file {} after content mismatch", dst, e);
       }
+      throw new AlluxioRuntimeException(Status.FAILED_PRECONDITION, String.format(
+          "Copied file %s does not match source %s, there might be concurrent updates to src",
+          route.getDst(), route.getSrc()), null, ErrorType.User, true);
     }
   }
 
-  private static long copyFile(AlluxioURI src, AlluxioURI dst, FileSystem srcFs, FileSystem dstFs,
-      WritePType writeType) {
-    long copiedLength;
+  private static boolean canCopyServerSide(AlluxioURI src, AlluxioURI dst,
+      @Nullable UnderFileSystem srcUfs, WritePType writeType) {
+    // the data copied by the UFS does not pass through the worker, so it cannot be cached
+    return SERVER_SIDE_COPY_ENABLED && writeType == WritePType.THROUGH && srcUfs != null
+        && Objects.equals(src.getRootPath(), dst.getRootPath())
+        && srcUfs.supportsServerSideCopy();
+  }
+
+  private static boolean canCopyParts(URIStatus sourceStatus, @Nullable UnderFileSystem dstUfs,
+      WritePType writeType, @Nullable ExecutorService partExecutor) {
+    // the parts are uploaded to the UFS directly, so they cannot be cached
+    return partExecutor != null && PARALLELISM > 1 && writeType == WritePType.THROUGH
+        && dstUfs != null && dstUfs.supportsMultipartUpload()
+        && sourceStatus.getLength() >= 2L * PART_SIZE;
+  }
+
+  private static void copyServerSide(AlluxioURI src, AlluxioURI dst, UnderFileSystem ufs) {
+    boolean copied;
+    try {
+      copied = ufs.copyFile(src.toString(), dst.toString());
+    } catch (Exception e) {
+      throw new InternalRuntimeException(
+          String.format("Exception copying %s to %s on the server side", src, dst), e);
+    }
+    if (!copied) {
+      throw new InternalRuntimeException(
+          String.format("Failed to copy %s to %s on the server side", src, dst));
+    }
+  }
+
+  private static CopiedFile copyFile(AlluxioURI src, AlluxioURI dst, FileSystem srcFs,
+      FileSystem dstFs, WritePType writeType) {
     CreateFilePOptions createOptions =
         CreateFilePOptions.getDefaultInstance().toBuilder().setRecursive(true).setMode(
             PMode.newBuilder().setOwnerBits(Bits.ALL).setGroupBits(Bits.ALL)
                  .setOtherBits(Bits.NONE)).setWriteType(writeType).setIsAtomicWrite(true).build();
-    try (InputStream in = srcFs.openFile(src);
+    MessageDigest md5 = DigestUtils.getMd5Digest();
+    long copiedLength;
+    try (InputStream in = new DigestInputStream(srcFs.openFile(src), md5);
         OutputStream out = dstFs.createFile(dst, createOptions)) {
       copiedLength = IOUtils.copyLarge(in, out, new byte[Constants.MB * 8]);
     } catch (Exception e) {
       throw new InternalRuntimeException(
           String.format("Exception transmitting i/o stream from %s to %s", src, dst), e);
     }
-    return copiedLength;
+    return new CopiedFile(copiedLength, Hex.encodeHexString(md5.digest()), null);
+  }
+
+  /**
+   * Copies the file as a multipart upload to the destination UFS. Each part is read from the
+   * source and uploaded on the part executor, with up to {@link #PARALLELISM} parts in flight.
+   */
+  private static CopiedFile copyParts(URIStatus sourceStatus, AlluxioURI src, AlluxioURI dst,
+      FileSystem srcFs, UnderFileSystem dstUfs, ExecutorService partExecutor) {
+    long length = sourceStatus.getLength();
+    int partSize = getPartSize(length);
+    int numParts = (int) ((length + partSize - 1) / partSize);
+    // the MD5s of the parts in part order, to compute the content hash of the upload
+    MessageDigest partMd5s = DigestUtils.getMd5Digest();
+    Deque<Future<byte[]>> parts = new ArrayDeque<>(PARALLELISM);
+    AtomicBoolean aborted = new AtomicBoolean(false);
+    MultipartUploader uploader = null;
+    boolean completed = false;
+    try (PositionReader reader =
+             srcFs.openPositionRead(sourceStatus, OpenFilePOptions.getDefaultInstance())) {
+      MultipartUploader partUploader = dstUfs.createMultipartUploader(dst.toString());
+      uploader = partUploader;
+      uploader.startUpload();
+      try {
+        for (int part = 0; part < numParts; part++) {
+          if (parts.size() == PARALLELISM) {
+            partMd5s.update(parts.poll().get());
+          }
+          long offset = (long) part * partSize;
+          int partLength = (int) Math.min(partSize, length - offset);
+          int partNumber = part + 1;
+          parts.add(partExecutor.submit(() -> aborted.get() ? null
+              : copyPart(reader, partUploader, offset, partLength, partNumber)));
+        }
+        while (!parts.isEmpty()) {
+          partMd5s.update(parts.poll().get());
+        }
+      } finally {
+        // the reader must not be used by the remaining parts once it is closed, skip the parts
+        // not started yet and wait for the running ones
+        aborted.set(true);
+        for (Future<byte[]> part : parts) {
+          try {
+            Uninterruptibles.getUninterruptibly(part);
+          } catch (ExecutionException e) {
+            // the copy has failed already
+          }
+        }
+      }
+      uploader.complete();
+      completed = true;
+    } catch (ExecutionException e) {
+      throw new InternalRuntimeException(
+          String.format("Exception copying a part of %s to %s", src, dst), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new InternalRuntimeException(
+          String.format("Interrupted copying %s to %s", src, dst), e);
+    } catch (Exception e) {
+      throw new InternalRuntimeException(
+          String.format("Exception transmitting i/o stream from %s to %s", src, dst), e);
+    } finally {
+      if (!completed && uploader != null) {
+        try {
+          uploader.abort();
+        } catch (Exception e) {
+          LOG.warn("Failed to abort the upload of {}", dst, e);
+        }
+      }
+    }
+    return new CopiedFile(length, null,
+        Hex.encodeHexString(partMd5s.digest()) + "-" + numParts);
+  }
+
+  /**
+   * @return the part size, large enough for the file to fit in {@link #MAX_PARTS} parts
+   */
+  private static int getPartSize(long length) {
+    return (int) Math.min(Integer.MAX_VALUE,
+        Math.max(PART_SIZE, (length + MAX_PARTS - 1) / MAX_PARTS));
+  }
+
+  /**
+   * Reads a part of the file and uploads it.
+   *
+   * @return the MD5 of the part
+   */
+  private static byte[] copyPart(PositionReader reader, MultipartUploader uploader, long offset,
+      int length, int partNumber) throws IOException, InterruptedException {
+    byte[] data = readPart(reader, offset, length);
+    byte[] md5 = DigestUtils.md5(data);
+    try {
+      uploader.putPart(ByteBuffer.wrap(data), partNumber).get();
+    } catch (ExecutionException e) {
+      throw new IOException(String.format("Failed to upload part %d", partNumber), e.getCause());
+    }
+    return md5;
+  }
+
+  @VisibleForTesting
+  static byte[] readPart(PositionReader reader, long offset, int length)
+      throws IOException {
+    byte[] data = new byte[length];
+    int totalRead = 0;
+    while (totalRead < length) {
+      int read = reader.read(offset + totalRead, data, totalRead, length - totalRead);
+      if (read <= 0) {
+        throw new IOException(String.format(
+            "Unexpected end of file at position %d, the file might be truncated",
+            offset + totalRead));
+      }
+      totalRead += read;
+    }
+    return data;
   }
 
   private static String parseContentHash(URIStatus sourceStatus) {
@@ -119,24 +333,84 @@ public final class CopyHandler {
     return contentHash;
   }
 
-  private static boolean checkLengthAndContentHash(URIStatus sourceStatus, AlluxioURI dst,
-      FileSystem dstFs, long dstLen) {
-    if (sourceStatus.getLength() != dstLen) {
+  private static boolean isMultipartContentHash(String contentHash) {
+    return MULTIPART_CONTENT_HASH.matcher(contentHash).matches();
+  }
+
+  private static URIStatus getStatus(FileSystem fs, AlluxioURI path) {
+    try {
+      return fs.getStatus(path, GET_STATUS_OPTIONS);
+    } catch (Exception e) {
+      throw AlluxioRuntimeException.from(e);
+    }
+  }
+
+  private static boolean checkLengthAndContentHash(URIStatus sourceStatus, AlluxioURI src,
+      AlluxioURI dst, FileSystem srcFs, FileSystem dstFs, CopiedFile copied) {
+    if (sourceStatus.getLength() != copied.mLength) {
       return false;
     }
     //if length==0, we can skip checksum
     if ((sourceStatus.getLength() == 0)) {
       return true;
     }
-    else {
-      String srcContentHash = parseContentHash(sourceStatus);
-      URIStatus dstStatus;
-      try {
-        dstStatus = dstFs.getStatus(dst, GET_STATUS_OPTIONS);
-      } catch (Exception e) {
-        throw AlluxioRuntimeException.from(e);
+    URIStatus dstStatus = getStatus(dstFs, dst);
+    if (dstStatus.getLength() != copied.mLength) {
+      return false;
+    }
+    String srcContentHash = parseContentHash(sourceStatus);
+    String dstContentHash = parseContentHash(dstStatus);
+    if (srcContentHash.equals(dstContentHash)) {
+      return true;
+    }
+    // check that the destination holds the data read. The part size of a multipart upload done
+    // by the output stream of the UFS is not known, in which case only the length is checked.
+    if (copied.mMultipartContentHash != null) {
+      if (!copied.mMultipartContentHash.equalsIgnoreCase(dstContentHash)) {
+        return false;
       }
-      return srcContentHash.equals(parseContentHash(dstStatus));
+    } else if (!isMultipartContentHash(dstContentHash)
+        && !copied.mMd5.equalsIgnoreCase(dstContentHash)) {
+      return false;
+    }
+    // and that the data read is the source
+    return (copied.mMd5 != null && srcContentHash.equalsIgnoreCase(copied.mMd5))
+        || srcContentHash.equals(parseContentHash(getStatus(srcFs, src)));
+  }
+
+  private static boolean checkServerSideCopy(URIStatus sourceStatus, AlluxioURI src,
+      AlluxioURI dst, FileSystem srcFs, FileSystem dstFs) {
+    URIStatus dstStatus = getStatus(dstFs, dst);
+    if (sourceStatus.getLength() != dstStatus.getLength()) {
+      return false;
+    }
+    if (sourceStatus.getLength() == 0) {
+      return true;
+    }
+    String srcContentHash = parseContentHash(sourceStatus);
+    String dstContentHash = parseContentHash(dstStatus);
+    if (srcContentHash.equals(dstContentHash)) {
+      return true;
+    }
+    // large objects are copied in parts, the destination must then have the content hash of a
+    // multipart upload, and the source must not have been updated during the copy
+    return isMultipartContentHash(dstContentHash)
+        && srcContentHash.equals(parseContentHash(getStatus(srcFs, src)));
+  }
+
+  private static final class CopiedFile {
+    private final long mLength;
+    /** The MD5 of the copied data, or null if it was uploaded as parts. */
+    @Nullable
+    private final String mMd5;
+    /** The content hash of the multipart upload of the data, or null if it was streamed. */
+    @Nullable
+    private final String mMultipartContentHash;
+
+    CopiedFile(long length, @Nullable String md5, @Nullable String multipartContentHash) {
+      mLength = length;
+      mMd5 = md5;
+      mMultipartContentHash = multipartContentHash;
     }
   }
 }
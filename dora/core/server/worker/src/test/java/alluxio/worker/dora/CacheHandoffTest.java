@@ -0,0 +1,131 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.cache.CacheManager;
+import alluxio.client.file.cache.PageId;
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.grpc.GrpcUtils;
+import alluxio.grpc.LoadDataSubTask;
+import alluxio.grpc.LoadSubTask;
+import alluxio.membership.MembershipManager;
+import alluxio.wire.WorkerIdentityTestUtils;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class CacheHandoffTest {
+  private static final long PAGE_SIZE = Constants.KB;
+
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+  private final CacheManager mCacheManager = mock(CacheManager.class);
+  private final List<BlockWorkerInfo> mWorkers = new ArrayList<>();
+  private final WorkerNetAddress mSelf = new WorkerNetAddress().setHost("self");
+  private CacheHandoff mHandoff;
+
+  @Before
+  public void before() {
+    mConf.set(PropertyKey.WORKER_PAGE_STORE_PAGE_SIZE, PAGE_SIZE);
+    for (int i = 0; i < 3; i++) {
+      mWorkers.add(new BlockWorkerInfo(WorkerIdentityTestUtils.ofLegacyId(i),
+          new WorkerNetAddress().setHost("worker" + i), 0, 0));
+    }
+    when(mCacheManager.getCachedPageIdsByFileId(anyString(), anyLong()))
+        .thenReturn(Collections.emptyList());
+    mHandoff = new CacheHandoff(mConf, mCacheManager, mock(MembershipManager.class),
+        mock(FileSystemContext.class));
+  }
+
+  @Test
+  public void planRangesOfCachedPages() {
+    String path = "s3://bucket/file";
+    cachePages(path, 0, 1, 2, 5, 7);
+    // the last page of the file is partial
+    mHandoff.recordAccess(path, 7 * PAGE_SIZE + 10);
+    Map<WorkerNetAddress, List<LoadSubTask>> plan =
+        mHandoff.plan(mWorkers, GrpcUtils.toProto(mSelf));
+    assertEquals(1, plan.size());
+    List<LoadDataSubTask> subTasks = plan.values().iterator().next().stream()
+        .map(LoadSubTask::getLoadDataSubtask).collect(Collectors.toList());
+    assertEquals(3, subTasks.size());
+    assertRange(subTasks.get(0), 0, 3 * PAGE_SIZE);
+    assertRange(subTasks.get(1), 5 * PAGE_SIZE, PAGE_SIZE);
+    assertRange(subTasks.get(2), 7 * PAGE_SIZE, 10);
+    for (LoadDataSubTask subTask : subTasks) {
+      assertEquals(path, subTask.getUfsPath());
+      assertEquals(mSelf.getHost(), subTask.getMainWorker().getHost());
+      assertEquals(7 * PAGE_SIZE + 10,
+          subTask.getUfsStatus().getUfsFileStatus().getContentLength());
+    }
+  }
+
+  @Test
+  public void planHottestFilesFirst() throws Exception {
+    List<String> paths = new ArrayList<>();
+    for (int i = 0; i < 20; i++) {
+      String path = "s3://bucket/file" + i;
+      paths.add(path);
+      cachePages(path, 0);
+      mHandoff.recordAccess(path, PAGE_SIZE);
+      Thread.sleep(1);
+    }
+    // a file which is not cached anymore is not handed off
+    mHandoff.recordAccess("s3://bucket/evicted", PAGE_SIZE);
+    Map<WorkerNetAddress, List<LoadSubTask>> plan =
+        mHandoff.plan(mWorkers, GrpcUtils.toProto(mSelf));
+    int numSubTasks = 0;
+    for (List<LoadSubTask> subTasks : plan.values()) {
+      int lastIndex = Integer.MAX_VALUE;
+      for (LoadSubTask subTask : subTasks) {
+        int index = paths.indexOf(subTask.getLoadDataSubtask().getUfsPath());
+        assertTrue(index >= 0 && index < lastIndex);
+        lastIndex = index;
+        numSubTasks++;
+      }
+    }
+    assertEquals(paths.size(), numSubTasks);
+  }
+
+  private void cachePages(String path, long... indexes) {
+    String fileId = new AlluxioURI(path).hash();
+    when(mCacheManager.getCachedPageIdsByFileId(eq(fileId), anyLong()))
+        .thenReturn(Arrays.stream(indexes).mapToObj(index -> new PageId(fileId, index))
+            .collect(Collectors.toList()));
+  }
+
+  private static void assertRange(LoadDataSubTask subTask, long offset, long length) {
+    assertEquals(offset, subTask.getOffsetInFile());
+    assertEquals(length, subTask.getLength());
+  }
+}
@@ -0,0 +1,150 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import alluxio.grpc.FileInfo;
+import alluxio.proto.meta.DoraMeta;
+import alluxio.underfs.UfsDirectoryStatus;
+import alluxio.underfs.UfsFileStatus;
+
+import com.google.protobuf.ByteString;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.Optional;
+
+public class CompactRocksDBDoraMetaStoreTest {
+  private static final String PREFIX = "s3://bucket/warehouse/db/table/partition=1/";
+
+  @Rule
+  public TemporaryFolder mTemporaryFolder = new TemporaryFolder();
+
+  private String mBaseDir;
+  private CompactRocksDBDoraMetaStore mMetaStore;
+
+  @Before
+  public void before() {
+    mBaseDir = mTemporaryFolder.getRoot().getAbsolutePath();
+    mMetaStore = new CompactRocksDBDoraMetaStore(mBaseDir, -1);
+  }
+
+  @After
+  public void after() {
+    if (mMetaStore != null) {
+      mMetaStore.close();
+    }
+  }
+
+  private static DoraMeta.FileStatus fileStatus(String path, boolean folder) {
+    FileInfo info = PagedDoraWorker.buildFileInfoFromUfsStatus(Optional.empty(), "s3",
+        folder
+            ? new UfsDirectoryStatus(path, "owner", "group", (short) 0755)
+            : new UfsFileStatus(path, "hash", 1024, 1000L, "owner", "group",
+                (short) 0644, 64),
+        path, null);
+    return DoraMeta.FileStatus.newBuilder().setFileInfo(info).setTs(System.nanoTime()).build();
+  }
+
+  @Test
+  public void encodeRoundTrip() throws Exception {
+    String path = PREFIX + "part-0000.parquet";
+    DoraMeta.FileStatus status = fileStatus(path, false);
+    byte[] encoded = DoraMetaValueCodec.encode(path, status);
+    assertEquals(status, DoraMetaValueCodec.decode(path, encoded));
+    assertTrue(encoded.length < status.getSerializedSize());
+
+    DoraMeta.FileStatus dir = fileStatus(PREFIX + "sub/", true);
+    assertEquals(dir, DoraMetaValueCodec.decode(PREFIX + "sub/",
+        DoraMetaValueCodec.encode(PREFIX + "sub/", dir)));
+  }
+
+  @Test
+  public void encodeRoundTripNotDerivedFromKey() throws Exception {
+    DoraMeta.FileStatus status = DoraMeta.FileStatus.newBuilder()
+        .setFileInfo(FileInfo.newBuilder()
+            .setPath("/alluxio/path")
+            .setName("another-name")
+            .setFolder(false)
+            .setCacheable(false)
+            .putXattr("key", ByteString.copyFromUtf8("value"))
+            .addBlockIds(1))
+        .build();
+    String path = PREFIX + "file";
+    assertEquals(status, DoraMetaValueCodec.decode(path,
+        DoraMetaValueCodec.encode(path, status)));
+
+    DoraMeta.FileStatus empty = DoraMeta.FileStatus.getDefaultInstance();
+    assertEquals(empty, DoraMetaValueCodec.decode(path, DoraMetaValueCodec.encode(path, empty)));
+  }
+
+  @Test
+  public void putGetRemove() {
+    for (int i = 0; i < 100; i++) {
+      String path = PREFIX + "file" + i;
+      mMetaStore.putDoraMeta(path, fileStatus(path, false));
+    }
+    mMetaStore.putDoraMeta(PREFIX, fileStatus(PREFIX, true));
+    // all the files share one parent, and the directory itself is under its own parent
+    assertEquals(2, mMetaStore.getPrefixCount());
+
+    String path = PREFIX + "file7";
+    Optional<DoraMeta.FileStatus> status = mMetaStore.getDoraMeta(path);
+    assertTrue(status.isPresent());
+    assertEquals(path, status.get().getFileInfo().getUfsPath());
+    assertEquals("file7", status.get().getFileInfo().getName());
+    assertTrue(mMetaStore.getDoraMeta(PREFIX).get().getFileInfo().getFolder());
+
+    mMetaStore.removeDoraMeta(path);
+    assertFalse(mMetaStore.getDoraMeta(path).isPresent());
+    assertFalse(mMetaStore.getDoraMeta("s3://another/file").isPresent());
+  }
+
+  @Test
+  public void prefixesSurviveRestart() {
+    String path = PREFIX + "file";
+    DoraMeta.FileStatus status = fileStatus(path, false);
+    mMetaStore.putDoraMeta(path, status);
+    mMetaStore.close();
+    mMetaStore = new CompactRocksDBDoraMetaStore(mBaseDir, -1);
+    assertEquals(status, mMetaStore.getDoraMeta(path).get());
+    String other = "s3://bucket/other/file";
+    mMetaStore.putDoraMeta(other, fileStatus(other, false));
+    assertEquals(status, mMetaStore.getDoraMeta(path).get());
+    assertEquals(other, mMetaStore.getDoraMeta(other).get().getFileInfo().getUfsPath());
+  }
+
+  @Test
+  public void migrateFromLegacyStore() {
+    mMetaStore.close();
+    String migrateDir = mBaseDir + "/migrate";
+    RocksDBDoraMetaStore legacy = new RocksDBDoraMetaStore(migrateDir, -1);
+    for (int i = 0; i < 2500; i++) {
+      String path = PREFIX + "file" + i;
+      legacy.putDoraMeta(path, fileStatus(path, false));
+    }
+    DoraMeta.FileStatus expected = legacy.getDoraMeta(PREFIX + "file42").get();
+    legacy.close();
+
+    mMetaStore = new CompactRocksDBDoraMetaStore(migrateDir, -1);
+    assertEquals(expected, mMetaStore.getDoraMeta(PREFIX + "file42").get());
+    assertTrue(mMetaStore.getDoraMeta(PREFIX + "file2499").isPresent());
+    assertFalse(new File(migrateDir, RocksDBDoraMetaStore.DORA_META_DB_NAME).exists());
+  }
+}
@@ -13,11 +13,15 @@ package alluxio.worker.dora;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import alluxio.client.file.cache.CacheManager;
@@ -25,6 +29,8 @@ import alluxio.conf.AlluxioConfiguration;
 import alluxio.conf.AlluxioProperties;
 import alluxio.conf.InstancedConfiguration;
 import alluxio.conf.PropertyKey;
+import alluxio.proto.meta.DoraMeta;
+import alluxio.underfs.UfsFileStatus;
 import alluxio.underfs.UfsStatus;
 import alluxio.underfs.UnderFileSystem;
 
@@ -48,7 +54,10 @@ public class DoraMetaManagerTest {
 
   @Before
   public void before() throws IOException {
-    AlluxioProperties prop = new AlluxioProperties();
+    mManager = createManager(new AlluxioProperties());
+  }
+
+  private DoraMetaManager createManager(AlluxioProperties prop) {
     mTestMetaStorePath = Paths.get(mTemporaryFolder.getRoot().getAbsolutePath(),
         "testFile").toString();
     prop.set(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_DIR, String.format("%s/metastore",
@@ -57,7 +66,25 @@ public class DoraMetaManagerTest {
     PagedDoraWorker worker = mock(PagedDoraWorker.class);
     CacheManager cacheManager = mock(CacheManager.class);
     mDoraUfsManager = mock(DoraUfsManager.class);
-    mManager = new DoraMetaManager(conf, cacheManager, mDoraUfsManager);
+    return new DoraMetaManager(conf, cacheManager, mDoraUfsManager);
+  }
+
+  private DoraMetaManager createPrefetchManager() throws IOException {
+    mManager.close();
+    AlluxioProperties prop = new AlluxioProperties();
+    prop.set(PropertyKey.DORA_WORKER_METASTORE_PREFETCH_ENABLED, true);
+    prop.set(PropertyKey.DORA_WORKER_METASTORE_PREFETCH_SIBLINGS_ENABLED, true);
+    prop.set(PropertyKey.UNDERFS_XATTR_CHANGE_ENABLED, false);
+    return createManager(prop);
+  }
+
+  private static UfsStatus[] listing(String... names) {
+    UfsStatus[] statuses = new UfsStatus[names.length];
+    for (int i = 0; i < names.length; i++) {
+      statuses[i] = new UfsFileStatus(names[i], "hash" + i, 1024, 1000L, "owner", "group",
+          (short) 0644, 64);
+    }
+    return statuses;
   }
 
   @After
@@ -135,4 +162,36 @@ public class DoraMetaManagerTest {
     Optional<UfsStatus[]> status = mManager.listFromUfsThenCache("/test", false);
     assertEquals(status, Optional.empty());
   }
+
+  @Test
+  public void listFromUfsThenCachePrefetchesMetadata() throws IOException {
+    mManager = createPrefetchManager();
+    UnderFileSystem system = mock(UnderFileSystem.class);
+    when(system.listStatus(anyString(), any())).thenReturn(listing("a", "b", "c"));
+    when(system.getUnderFSType()).thenReturn("s3");
+    doReturn(system).when(mDoraUfsManager).getOrAdd(any(), any());
+
+    mManager.listFromUfsThenCache("/dir", false);
+    Optional<DoraMeta.FileStatus> status = mManager.getFromMetaStore("/dir/b");
+    assertTrue(status.isPresent());
+    assertEquals("/dir/b", status.get().getFileInfo().getUfsPath());
+    assertEquals("hash1", status.get().getFileInfo().getContentHash());
+    verify(system, never()).getStatus(anyString(), any());
+  }
+
+  @Test
+  public void loadFromUfsWithSiblingsListsParentOnce() throws IOException {
+    mManager = createPrefetchManager();
+    UnderFileSystem system = mock(UnderFileSystem.class);
+    when(system.listStatus(anyString(), any())).thenReturn(listing("a", "b", "c"));
+    when(system.getUnderFSType()).thenReturn("s3");
+    doReturn(system).when(mDoraUfsManager).getOrAdd(any(), any());
+
+    Optional<DoraMeta.FileStatus> status = mManager.loadFromUfsWithSiblings("/dir/a");
+    assertTrue(status.isPresent());
+    assertEquals("a", status.get().getFileInfo().getName());
+    assertTrue(mManager.getFromMetaStore("/dir/c").isPresent());
+    verify(system, times(1)).listStatus(anyString(), any());
+    verify(system, never()).getStatus(anyString(), any());
+  }
 }
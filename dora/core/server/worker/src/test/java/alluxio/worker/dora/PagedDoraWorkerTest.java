@@ -14,6 +14,7 @@ package alluxio.worker.dora;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThrows;
 import static org.junit.Assert.assertTrue;
@@ -58,6 +59,7 @@ import alluxio.wire.WorkerIdentity;
 import alluxio.worker.block.BlockMasterClientPool;
 
 import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
 import com.google.common.util.concurrent.ListenableFuture;
 import org.junit.After;
 import org.junit.Assert;
@@ -74,7 +76,9 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
@@ -252,6 +256,33 @@ public class PagedDoraWorkerTest {
     assertTrue(BufferUtils.equalIncreasingByteArray(0, 10, buffer));
   }
 
+  @Test
+  public void testListStatusIterable() throws IOException {
+    File root = mTestFolder.newFolder("listRoot");
+    for (String name : new String[] {"c", "a", "b/d"}) {
+      File file = new File(root, name);
+      file.getParentFile().mkdirs();
+      file.createNewFile();
+    }
+    List<String> names = new ArrayList<>();
+    mWorker.listStatusIterable(root.getAbsolutePath(), true, null, 0)
+        .forEachRemaining(status -> names.add(status.getName()));
+    assertEquals(Arrays.asList("a", "b", "b/d", "c"), names);
+    assertNull(mWorker.listStatusIterable(new File(root, "c").getAbsolutePath(), false, null, 0));
+  }
+
+  @Test
+  public void testForEachCachedFile() throws IOException {
+    String cachedPath = "/testCachedBytes/file";
+    mWorker.loadDataFromRemote(cachedPath, 0, mPageSize + 10,
+        new TestDataReader((int) (2 * mPageSize)), (int) mPageSize);
+    mWorker.loadDataFromRemote("/testOtherDir/file", 0, 10,
+        new TestDataReader(10), (int) mPageSize);
+    Map<String, Long> cachedBytes = new HashMap<>();
+    mWorker.forEachCachedFile("/testCachedBytes", cachedBytes::put);
+    assertEquals(ImmutableMap.of(cachedPath, mPageSize + 10), cachedBytes);
+  }
+
   @Test
   public void testLoadBlockFromReader() throws IOException {
     String ufsPath = "testLoadBlockRemote";
@@ -15,6 +15,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertTrue;
 
 import alluxio.AlluxioURI;
+import alluxio.CloseableSupplier;
 import alluxio.Constants;
 import alluxio.PositionReaderTest;
 import alluxio.client.file.cache.CacheManager;
@@ -62,6 +63,8 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 /**
  * Unit test of {@link PagedFileReader}.
@@ -76,6 +79,8 @@ public class PagedFileReaderTest {
   private final InstancedConfiguration mConf = Configuration.copyGlobal();
   private String mTestFileName;
   private PagedFileReader mPagedFileReader;
+  private CacheManager mCacheManager;
+  private String mFileId;
   private UnderFileSystem mLocalUfs;
   private byte[] mTestData;
   private final int mMinTestNum = 50;
@@ -129,11 +134,11 @@ public class PagedFileReaderTest {
     mTestFileName = path.toString();
     CacheManagerOptions cacheManagerOptions = CacheManagerOptions
         .createForWorker(mConf);
-    String fileId = new AlluxioURI(mTestFileName).hash();
-    CacheManager cacheManager = CacheManager.Factory.create(
+    mFileId = new AlluxioURI(mTestFileName).hash();
+    mCacheManager = CacheManager.Factory.create(
         mConf, cacheManagerOptions, pageMetaStore);
     mPagedFileReader = PagedFileReader.create(
-        mConf, cacheManager, mLocalUfs, fileId, mTestFileName, mFileLen, 0);
+        mConf, mCacheManager, mLocalUfs, mFileId, mTestFileName, mFileLen, 0);
     mPositionReaderTest = new PositionReaderTest(mPagedFileReader, mFileLen);
   }
 
@@ -212,4 +217,29 @@ public class PagedFileReaderTest {
     }
     Assert.assertArrayEquals(mTestData, bArray);
   }
+
+  @Test
+  public void parallelFetch() throws Exception {
+    mConf.set(PropertyKey.WORKER_UFS_PARALLEL_FETCH_PARALLELISM, 4);
+    ExecutorService executor = Executors.newFixedThreadPool(2);
+    try (PagedFileReader reader = PagedFileReader.create(mConf, mCacheManager,
+        new CloseableSupplier<>(() -> mLocalUfs.openPositionRead(mTestFileName, mFileLen)),
+        mFileId, mFileLen, 0, executor)) {
+      // sequential reads of a page at a time fetch the next pages ahead
+      CompositeDataBuffer compositeDataBuffer =
+          reader.getMultipleDataFileChannel(mEmbeddedChannel, mFileLen);
+      Assert.assertEquals(mFileLen, compositeDataBuffer.getLength());
+      byte[] bArray = new byte[mFileLen];
+      int readPosition = 0;
+      for (DataBuffer dataBuffer : (List<DataBuffer>) compositeDataBuffer.getNettyOutput()) {
+        int byteToBeRead = dataBuffer.readableBytes();
+        dataBuffer.readBytes(bArray, readPosition, byteToBeRead);
+        readPosition += byteToBeRead;
+      }
+      Assert.assertArrayEquals(mTestData, bArray);
+      new PositionReaderTest(reader, mFileLen).concurrentReadPart();
+    } finally {
+      executor.shutdownNow();
+    }
+  }
 }
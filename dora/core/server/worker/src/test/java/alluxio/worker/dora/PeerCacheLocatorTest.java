@@ -0,0 +1,127 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.dora;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import alluxio.conf.Configuration;
+import alluxio.conf.InstancedConfiguration;
+import alluxio.conf.PropertyKey;
+import alluxio.membership.MembershipManager;
+import alluxio.wire.WorkerIdentity;
+import alluxio.wire.WorkerIdentityTestUtils;
+import alluxio.wire.WorkerInfo;
+import alluxio.wire.WorkerNetAddress;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+
+public class PeerCacheLocatorTest {
+  private static final int NUM_FILES = 100;
+
+  private final InstancedConfiguration mConf = Configuration.copyGlobal();
+  private final MembershipManager mMembershipManager = mock(MembershipManager.class);
+  private final Clock mClock = mock(Clock.class);
+  private final List<WorkerInfo> mWorkers = new ArrayList<>();
+
+  @Before
+  public void before() throws Exception {
+    mConf.set(PropertyKey.USER_WORKER_LIST_REFRESH_INTERVAL, "1min");
+    mConf.set(PropertyKey.WORKER_PEER_FILL_RING_HISTORY_RETENTION, "10min");
+    for (int i = 0; i < 4; i++) {
+      mWorkers.add(worker(i));
+    }
+    when(mMembershipManager.getLiveMembers()).thenReturn(new ArrayList<>(mWorkers));
+    when(mClock.millis()).thenReturn(0L);
+  }
+
+  @Test
+  public void previousOwnersAfterJoin() throws Exception {
+    WorkerInfo joined = worker(4);
+    PeerCacheLocator locator = new PeerCacheLocator(mConf, mMembershipManager,
+        joined::getIdentity, mClock);
+    for (int i = 0; i < NUM_FILES; i++) {
+      assertTrue(locator.getPreviousOwners(file(i)).isEmpty());
+    }
+
+    List<WorkerInfo> members = new ArrayList<>(mWorkers);
+    members.add(joined);
+    when(mMembershipManager.getLiveMembers()).thenReturn(members);
+    // the membership is not refreshed before the refresh interval
+    when(mClock.millis()).thenReturn(30_000L);
+    assertTrue(locator.getPreviousOwners(file(0)).isEmpty());
+    when(mClock.millis()).thenReturn(60_000L);
+    for (int i = 0; i < NUM_FILES; i++) {
+      List<WorkerNetAddress> owners = locator.getPreviousOwners(file(i));
+      assertEquals(1, owners.size());
+      assertFalse(owners.contains(joined.getAddress()));
+    }
+
+    // the previous ring is dropped after the retention period
+    when(mClock.millis()).thenReturn(60_000L + 10 * 60_000L + 1);
+    assertTrue(locator.getPreviousOwners(file(0)).isEmpty());
+  }
+
+  @Test
+  public void previousOwnersWhenFirstMembershipIncludesSelf() throws Exception {
+    // the worker sees the membership for the first time after it joined
+    WorkerInfo joined = worker(4);
+    List<WorkerInfo> members = new ArrayList<>(mWorkers);
+    members.add(joined);
+    when(mMembershipManager.getLiveMembers()).thenReturn(members);
+    PeerCacheLocator locator = new PeerCacheLocator(mConf, mMembershipManager,
+        joined::getIdentity, mClock);
+    for (int i = 0; i < NUM_FILES; i++) {
+      List<WorkerNetAddress> owners = locator.getPreviousOwners(file(i));
+      assertEquals(1, owners.size());
+      assertFalse(owners.contains(joined.getAddress()));
+    }
+
+    // the ring without this worker is dropped after the retention period
+    when(mClock.millis()).thenReturn(10 * 60_000L + 1);
+    assertTrue(locator.getPreviousOwners(file(0)).isEmpty());
+  }
+
+  @Test
+  public void previousOwnerLeft() throws Exception {
+    PeerCacheLocator locator = new PeerCacheLocator(mConf, mMembershipManager,
+        mWorkers.get(0)::getIdentity, mClock);
+    locator.update(mWorkers, 0);
+    List<WorkerInfo> members = new ArrayList<>(mWorkers);
+    WorkerInfo left = members.remove(members.size() - 1);
+    when(mMembershipManager.getLiveMembers()).thenReturn(members);
+    // a worker which left cannot serve its pages, and this worker never asks itself
+    for (int i = 0; i < NUM_FILES; i++) {
+      List<WorkerNetAddress> owners = locator.getPreviousOwners(file(i));
+      assertFalse(owners.contains(left.getAddress()));
+      assertFalse(owners.contains(mWorkers.get(0).getAddress()));
+    }
+  }
+
+  private static WorkerInfo worker(int index) {
+    WorkerIdentity identity = WorkerIdentityTestUtils.ofLegacyId(index);
+    return new WorkerInfo().setIdentity(identity).setAddress(new WorkerNetAddress()
+        .setHost("worker" + index).setRpcPort(29999).setDataPort(29997).setWebPort(30000));
+  }
+
+  private static String file(int index) {
+    return "s3://bucket/file" + index;
+  }
+}
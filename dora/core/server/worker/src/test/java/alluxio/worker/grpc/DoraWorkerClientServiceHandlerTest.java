@@ -14,12 +14,17 @@ package alluxio.worker.grpc;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 
+import alluxio.AlluxioURI;
+import alluxio.client.file.CacheContext;
 import alluxio.client.file.FileSystemContext;
 import alluxio.client.file.cache.CacheManager;
 import alluxio.client.file.cache.CacheManagerOptions;
+import alluxio.client.file.cache.PageId;
 import alluxio.client.file.cache.PageMetaStore;
 import alluxio.conf.Configuration;
 import alluxio.conf.PropertyKey;
+import alluxio.grpc.GetCacheReportRequest;
+import alluxio.grpc.GetCacheReportResponse;
 import alluxio.grpc.ListStatusPRequest;
 import alluxio.grpc.ListStatusPResponse;
 import alluxio.membership.MembershipManager;
@@ -30,6 +35,7 @@ import alluxio.worker.dora.DoraMetaManager;
 import alluxio.worker.dora.DoraUfsManager;
 import alluxio.worker.dora.PagedDoraWorker;
 
+import com.google.common.collect.ImmutableMap;
 import io.grpc.stub.StreamObserver;
 import org.junit.After;
 import org.junit.Before;
@@ -42,7 +48,9 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicReference;
 
 public class DoraWorkerClientServiceHandlerTest {
@@ -137,6 +145,48 @@ public class DoraWorkerClientServiceHandlerTest {
     executeAndAssertListStatus(filePath, true, new String[] {filePath}, new Boolean[] {false});
   }
 
+  @Test
+  public void testGetCacheReport() {
+    cacheFile("s3://bucket/dir/f1", 10);
+    cacheFile("s3://bucket/dir/d1/f2", 20);
+    cacheFile("s3://bucket/dir2/f3", 30);
+
+    assertEquals(ImmutableMap.of("s3://bucket/dir/f1", 10L),
+        getCacheReport("s3://bucket/dir", false));
+    assertEquals(ImmutableMap.of("s3://bucket/dir/f1", 10L, "s3://bucket/dir/d1/f2", 20L),
+        getCacheReport("s3://bucket/dir/", true));
+    assertEquals(ImmutableMap.of("s3://bucket/dir2/f3", 30L),
+        getCacheReport("s3://bucket/dir2/f3", false));
+  }
+
+  private void cacheFile(String ufsPath, int length) {
+    PageId pageId = new PageId(new AlluxioURI(ufsPath).hash(), 0);
+    mCacheManager.put(pageId, new byte[length], CacheContext.defaults().setFilePath(ufsPath));
+  }
+
+  private Map<String, Long> getCacheReport(String path, boolean recursive) {
+    Map<String, Long> files = new HashMap<>();
+    mServiceHandler.getCacheReport(
+        GetCacheReportRequest.newBuilder().setPath(path).setRecursive(recursive).build(),
+        new StreamObserver<GetCacheReportResponse>() {
+          @Override
+          public void onNext(GetCacheReportResponse value) {
+            value.getFilesList().forEach(file -> files.put(file.getUfsPath(),
+                file.getCachedBytes()));
+          }
+
+          @Override
+          public void onError(Throwable t) {
+            throw new RuntimeException(t);
+          }
+
+          @Override
+          public void onCompleted() {
+          }
+        });
+    return files;
+  }
+
   private String setupTestDirectoryAndFile() throws IOException {
     File rootFolder = mTestFolder.newFolder("root");
     String rootPath = rootFolder.getAbsolutePath();
@@ -0,0 +1,396 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.worker.task;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import alluxio.AlluxioURI;
+import alluxio.PositionReader;
+import alluxio.client.file.FileInStream;
+import alluxio.client.file.FileOutStream;
+import alluxio.client.file.FileSystem;
+import alluxio.client.file.URIStatus;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.exception.runtime.AlluxioRuntimeException;
+import alluxio.file.ReadTargetBuffer;
+import alluxio.grpc.CreateFilePOptions;
+import alluxio.grpc.GetStatusPOptions;
+import alluxio.grpc.OpenFilePOptions;
+import alluxio.grpc.Route;
+import alluxio.grpc.WriteOptions;
+import alluxio.grpc.WritePType;
+import alluxio.underfs.Fingerprint;
+import alluxio.underfs.MultipartUploader;
+import alluxio.underfs.UfsFileStatus;
+import alluxio.underfs.UnderFileSystem;
+import alluxio.util.io.BufferUtils;
+import alluxio.wire.FileInfo;
+
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.apache.commons.codec.binary.Hex;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Tests for {@link CopyHandler}.
+ */
+public final class CopyHandlerTest {
+  private static final int PART_SIZE =
+      (int) Configuration.getBytes(PropertyKey.WORKER_COPY_PART_SIZE);
+  private static final String SRC = "s3://bucket/src";
+  private static final String DST = "s3://bucket/dst";
+  private static final Route ROUTE = Route.newBuilder().setSrc(SRC).setDst(DST).build();
+
+  private final FileSystem mSrcFs = mock(FileSystem.class);
+  private final FileSystem mDstFs = mock(FileSystem.class);
+  private final UnderFileSystem mUfs = mock(UnderFileSystem.class);
+  private final RecordingUploader mUploader = new RecordingUploader();
+  private ExecutorService mPartExecutor;
+
+  @Before
+  public void before() throws Exception {
+    mPartExecutor = Executors.newFixedThreadPool(8);
+    when(mUfs.supportsServerSideCopy()).thenReturn(true);
+    when(mUfs.supportsMultipartUpload()).thenReturn(true);
+    when(mUfs.createMultipartUploader(DST)).thenReturn(mUploader);
+  }
+
+  @After
+  public void after() {
+    mPartExecutor.shutdownNow();
+  }
+
+  @Test
+  public void copyPartsUploadsEachRangeAsAPart() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(2 * PART_SIZE + 1000);
+    ArrayPositionReader reader = new ArrayPositionReader(data, 64 * 1024);
+    mockSource(data, DigestUtils.md5Hex(data), reader);
+    mockDestination(data.length, multipartContentHash(data, PART_SIZE));
+
+    CopyHandler.copy(ROUTE, writeOptions(WritePType.THROUGH), mSrcFs, mDstFs, null, mUfs,
+        mPartExecutor);
+
+    assertEquals(3, mUploader.mParts.size());
+    assertEquals(PART_SIZE, mUploader.mParts.get(1).length);
+    assertEquals(1000, mUploader.mParts.get(3).length);
+    assertArrayEquals(data, mUploader.content());
+    assertTrue(mUploader.mCompleted);
+    assertFalse(mUploader.mAborted);
+    assertTrue(reader.mClosed);
+    verify(mDstFs, never()).createFile(any(AlluxioURI.class), any(CreateFilePOptions.class));
+    // verified from the part MD5s without reading the destination back
+    verify(mDstFs, never()).openFile(any(AlluxioURI.class));
+    verify(mDstFs, never()).delete(any(AlluxioURI.class));
+  }
+
+  @Test
+  public void copyPartsAbortsOnFailedPartRead() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(3 * PART_SIZE);
+    ArrayPositionReader reader = new ArrayPositionReader(data, PART_SIZE);
+    reader.mFailAt = PART_SIZE;
+    mockSource(data, DigestUtils.md5Hex(data), reader);
+
+    assertThrows(AlluxioRuntimeException.class, () -> CopyHandler.copy(ROUTE,
+        writeOptions(WritePType.THROUGH), mSrcFs, mDstFs, null, mUfs, mPartExecutor));
+
+    assertTrue(mUploader.mAborted);
+    assertFalse(mUploader.mCompleted);
+    assertTrue(reader.mClosed);
+    // the parts still running when the copy failed are drained before the reader is closed
+    assertFalse(reader.mReadAfterClose.get());
+  }
+
+  @Test
+  public void readPartHandlesShortReads() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(1000);
+    byte[] part = CopyHandler.readPart(new ArrayPositionReader(data, 7), 10, 900);
+    assertArrayEquals(Arrays.copyOfRange(data, 10, 910), part);
+  }
+
+  @Test
+  public void readPartFailsOnTruncatedFile() {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    assertThrows(IOException.class,
+        () -> CopyHandler.readPart(new ArrayPositionReader(data, 7), 50, 100));
+  }
+
+  @Test
+  public void copiesServerSideInSameUfs() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    String md5 = DigestUtils.md5Hex(data);
+    mockSource(data, md5, new ArrayPositionReader(data, data.length));
+    mockDestination(data.length, md5);
+    when(mUfs.copyFile(SRC, DST)).thenReturn(true);
+
+    CopyHandler.copy(ROUTE, writeOptions(WritePType.THROUGH), mSrcFs, mDstFs, mUfs, mUfs,
+        mPartExecutor);
+
+    verify(mUfs).copyFile(SRC, DST);
+    verify(mSrcFs, never()).openFile(any(AlluxioURI.class));
+    verify(mDstFs, never()).createFile(any(AlluxioURI.class), any(CreateFilePOptions.class));
+  }
+
+  @Test
+  public void streamsWhenNotWrittenThrough() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(2 * PART_SIZE + 1000);
+    String md5 = DigestUtils.md5Hex(data);
+    mockSource(data, md5, new ArrayPositionReader(data, data.length));
+    ByteArrayOutputStream written = mockDestination(data.length, md5);
+
+    CopyHandler.copy(ROUTE, writeOptions(WritePType.CACHE_THROUGH), mSrcFs, mDstFs, mUfs, mUfs,
+        mPartExecutor);
+
+    verify(mUfs, never()).copyFile(anyString(), anyString());
+    verify(mUfs, never()).createMultipartUploader(anyString());
+    assertArrayEquals(data, written.toByteArray());
+  }
+
+  @Test
+  public void streamedCopyAcceptsMultipartDestinationHash() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    mockSource(data, DigestUtils.md5Hex(data), new ArrayPositionReader(data, data.length));
+    mockDestination(data.length, DigestUtils.md5Hex("parts") + "-2");
+
+    CopyHandler.copy(ROUTE, writeOptions(WritePType.CACHE_THROUGH), mSrcFs, mDstFs);
+
+    verify(mDstFs, never()).delete(any(AlluxioURI.class));
+    verify(mDstFs, never()).openFile(any(AlluxioURI.class));
+  }
+
+  @Test
+  public void streamedCopyRejectsDifferentDestinationHash() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    mockSource(data, DigestUtils.md5Hex(data), new ArrayPositionReader(data, data.length));
+    mockDestination(data.length, DigestUtils.md5Hex("other"));
+
+    assertThrows(AlluxioRuntimeException.class, () -> CopyHandler.copy(ROUTE,
+        writeOptions(WritePType.CACHE_THROUGH), mSrcFs, mDstFs));
+    verify(mDstFs).delete(new AlluxioURI(DST));
+  }
+
+  @Test
+  public void streamedCopyRejectsShorterDestination() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    mockSource(data, DigestUtils.md5Hex(data), new ArrayPositionReader(data, data.length));
+    mockDestination(data.length - 1, DigestUtils.md5Hex("parts") + "-2");
+
+    assertThrows(AlluxioRuntimeException.class, () -> CopyHandler.copy(ROUTE,
+        writeOptions(WritePType.CACHE_THROUGH), mSrcFs, mDstFs));
+    verify(mDstFs).delete(new AlluxioURI(DST));
+  }
+
+  @Test
+  public void copyPartsRejectsDifferentDestinationHash() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(2 * PART_SIZE);
+    mockSource(data, DigestUtils.md5Hex(data), new ArrayPositionReader(data, PART_SIZE));
+    mockDestination(data.length, DigestUtils.md5Hex("other") + "-2");
+
+    assertThrows(AlluxioRuntimeException.class, () -> CopyHandler.copy(ROUTE,
+        writeOptions(WritePType.THROUGH), mSrcFs, mDstFs, null, mUfs, mPartExecutor));
+    assertTrue(mUploader.mCompleted);
+    verify(mDstFs).delete(new AlluxioURI(DST));
+  }
+
+  @Test
+  public void serverSideCopyRejectsDifferentDestinationHash() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    mockSource(data, DigestUtils.md5Hex(data), new ArrayPositionReader(data, data.length));
+    mockDestination(data.length, DigestUtils.md5Hex("other"));
+    when(mUfs.copyFile(SRC, DST)).thenReturn(true);
+
+    assertThrows(AlluxioRuntimeException.class, () -> CopyHandler.copy(ROUTE,
+        writeOptions(WritePType.THROUGH), mSrcFs, mDstFs, mUfs, mUfs, mPartExecutor));
+    verify(mDstFs).delete(new AlluxioURI(DST));
+  }
+
+  @Test
+  public void serverSideCopyAcceptsMultipartDestinationOfUnchangedSource() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    mockSource(data, DigestUtils.md5Hex(data), new ArrayPositionReader(data, data.length));
+    mockDestination(data.length, DigestUtils.md5Hex("parts") + "-2");
+    when(mUfs.copyFile(SRC, DST)).thenReturn(true);
+
+    CopyHandler.copy(ROUTE, writeOptions(WritePType.THROUGH), mSrcFs, mDstFs, mUfs, mUfs,
+        mPartExecutor);
+
+    verify(mDstFs, never()).delete(any(AlluxioURI.class));
+  }
+
+  @Test
+  public void serverSideCopyRejectsUpdatedSource() throws Exception {
+    byte[] data = BufferUtils.getIncreasingByteArray(100);
+    when(mSrcFs.getStatus(eq(new AlluxioURI(SRC)), any(GetStatusPOptions.class))).thenReturn(
+        status(SRC, data.length, DigestUtils.md5Hex(data)),
+        status(SRC, data.length, DigestUtils.md5Hex("updated")));
+    mockDestination(data.length, DigestUtils.md5Hex("parts") + "-2");
+    when(mUfs.copyFile(SRC, DST)).thenReturn(true);
+
+    assertThrows(AlluxioRuntimeException.class, () -> CopyHandler.copy(ROUTE,
+        writeOptions(WritePType.THROUGH), mSrcFs, mDstFs, mUfs, mUfs, mPartExecutor));
+    verify(mDstFs).delete(new AlluxioURI(DST));
+  }
+
+  private static WriteOptions writeOptions(WritePType writeType) {
+    return WriteOptions.newBuilder().setWriteType(writeType).setCheckContent(true).build();
+  }
+
+  private void mockSource(byte[] data, String contentHash, PositionReader reader)
+      throws Exception {
+    URIStatus status = status(SRC, data.length, contentHash);
+    when(mSrcFs.getStatus(eq(new AlluxioURI(SRC)), any(GetStatusPOptions.class)))
+        .thenReturn(status);
+    when(mSrcFs.openPositionRead(eq(status), any(OpenFilePOptions.class))).thenReturn(reader);
+    ByteArrayInputStream stream = new ByteArrayInputStream(data);
+    FileInStream in = mock(FileInStream.class);
+    when(in.read(any(byte[].class), anyInt(), anyInt())).thenAnswer(invocation -> stream.read(
+        invocation.getArgument(0), invocation.getArgument(1), invocation.getArgument(2)));
+    when(mSrcFs.openFile(new AlluxioURI(SRC))).thenReturn(in);
+  }
+
+  private ByteArrayOutputStream mockDestination(long length, String contentHash)
+      throws Exception {
+    when(mDstFs.getStatus(eq(new AlluxioURI(DST)), any(GetStatusPOptions.class)))
+        .thenReturn(status(DST, length, contentHash));
+    ByteArrayOutputStream written = new ByteArrayOutputStream();
+    FileOutStream out = mock(FileOutStream.class);
+    doAnswer(invocation -> {
+      written.write(invocation.getArgument(0), invocation.getArgument(1),
+          invocation.getArgument(2));
+      return null;
+    }).when(out).write(any(byte[].class), anyInt(), anyInt());
+    when(mDstFs.createFile(eq(new AlluxioURI(DST)), any(CreateFilePOptions.class)))
+        .thenReturn(out);
+    return written;
+  }
+
+  private static URIStatus status(String path, long length, String contentHash) {
+    UfsFileStatus ufsStatus =
+        new UfsFileStatus(path, contentHash, length, 0L, "owner", "group", (short) 0644);
+    return new URIStatus(new FileInfo().setPath(path).setLength(length).setFolder(false)
+        .setUfsFingerprint(Fingerprint.create("s3", ufsStatus).serialize()));
+  }
+
+  /**
+   * @return the content hash of the data uploaded in parts, as S3 reports it
+   */
+  private static String multipartContentHash(byte[] data, int partSize) {
+    MessageDigest md5 = DigestUtils.getMd5Digest();
+    int numParts = 0;
+    for (int offset = 0; offset < data.length; offset += partSize, numParts++) {
+      md5.update(DigestUtils.md5(
+          Arrays.copyOfRange(data, offset, Math.min(data.length, offset + partSize))));
+    }
+    return Hex.encodeHexString(md5.digest()) + "-" + numParts;
+  }
+
+  private static final class ArrayPositionReader implements PositionReader {
+    private final byte[] mData;
+    private final int mMaxRead;
+    private final AtomicBoolean mReadAfterClose = new AtomicBoolean(false);
+    private volatile long mFailAt = -1;
+    private volatile boolean mClosed = false;
+
+    ArrayPositionReader(byte[] data, int maxRead) {
+      mData = data;
+      mMaxRead = maxRead;
+    }
+
+    @Override
+    public int readInternal(long position, ReadTargetBuffer buffer, int length)
+        throws IOException {
+      if (mClosed) {
+        mReadAfterClose.set(true);
+      }
+      if (mFailAt >= 0 && position >= mFailAt) {
+        throw new IOException("Failed to read at " + position);
+      }
+      if (position >= mData.length) {
+        return -1;
+      }
+      int read = (int) Math.min(Math.min(length, mMaxRead), mData.length - position);
+      buffer.writeBytes(mData, (int) position, read);
+      return read;
+    }
+
+    @Override
+    public void close() {
+      mClosed = true;
+    }
+  }
+
+  private static final class RecordingUploader implements MultipartUploader {
+    private final Map<Integer, byte[]> mParts = new ConcurrentHashMap<>();
+    private volatile boolean mCompleted = false;
+    private volatile boolean mAborted = false;
+
+    @Override
+    public void startUpload() {}
+
+    @Override
+    public ListenableFuture<Void> putPart(ByteBuffer b, int partNumber) {
+      byte[] data = new byte[b.remaining()];
+      b.get(data);
+      mParts.put(partNumber, data);
+      return Futures.immediateFuture(null);
+    }
+
+    @Override
+    public void complete() {
+      mCompleted = true;
+    }
+
+    @Override
+    public void abort() {
+      mAborted = true;
+    }
+
+    @Override
+    public void flush() {}
+
+    byte[] content() throws IOException {
+      ByteArrayOutputStream content = new ByteArrayOutputStream();
+      for (int partNumber = 1; partNumber <= mParts.size(); partNumber++) {
+        content.write(mParts.get(partNumber));
+      }
+      return content.toByteArray();
+    }
+  }
+}
@@ -18,6 +18,7 @@ import alluxio.proto.journal.Journal;
 import alluxio.wire.WorkerInfo;
 
 import java.util.List;
+import java.util.Optional;
 import java.util.OptionalLong;
 import java.util.Set;
 
@@ -147,4 +148,26 @@ public interface Job<T extends Task<?>> {
    * Initialize the job before kick it running.
    */
   void initializeJob();
+
+  /**
+   * @return the user who submitted the job, which the scheduler shares the workers between
+   */
+  default Optional<String> getUser() {
+    return Optional.empty();
+  }
+
+  /**
+   * @return the maximum UFS bandwidth of the job in bytes per second, if limited
+   */
+  default OptionalLong getBandwidth() {
+    return OptionalLong.empty();
+  }
+
+  /**
+   * @return whether the tasks of this job can run on any worker, so that the scheduler may move
+   *         a queued task from a busy worker to an idle one
+   */
+  default boolean canRunTasksOnAnyWorker() {
+    return false;
+  }
 }
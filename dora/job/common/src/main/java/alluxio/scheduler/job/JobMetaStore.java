@@ -11,6 +11,7 @@
 
 package alluxio.scheduler.job;
 
+import java.util.Optional;
 import java.util.Set;
 
 /**
@@ -28,4 +29,21 @@ public interface JobMetaStore {
    * @return all the jobs in the meta store
    */
   Set<Job<?>> getJobs();
+
+  /**
+   * @param loadPath the path of the load jobs
+   * @return the manifest of the files loaded by the incremental load jobs of the path
+   */
+  default Optional<LoadManifest> getLoadManifest(String loadPath) {
+    return Optional.empty();
+  }
+
+  /**
+   * Updates the manifest of the files loaded by the incremental load jobs of a path.
+   *
+   * @param loadPath the path of the load jobs
+   * @param manifest the manifest
+   * @param append whether the files are added to the existing manifest instead of replacing it
+   */
+  default void updateLoadManifest(String loadPath, LoadManifest manifest, boolean append) {}
 }
@@ -0,0 +1,260 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.scheduler.job;
+
+import alluxio.proto.journal.Job.LoadManifestEntry;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.underfs.UfsFileStatus;
+import alluxio.underfs.UfsStatus;
+
+import com.google.common.collect.AbstractIterator;
+import com.google.common.hash.HashFunction;
+import com.google.common.hash.Hasher;
+import com.google.common.hash.Hashing;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import javax.annotation.concurrent.NotThreadSafe;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * The manifest of the files loaded by the incremental load jobs of a path, used to only load the
+ * files which are new or changed since they were last loaded.
+ *
+ * The manifest keeps a 64-bit hash of the ufs path and a 64-bit fingerprint of the length and
+ * content hash of every file, sorted by path hash, so that it takes 16 bytes per file.
+ */
+@ThreadSafe
+public final class LoadManifest {
+  /** The number of files in each journal entry of a manifest. */
+  private static final int JOURNAL_ENTRY_SIZE = 64 * 1024;
+  private static final HashFunction HASH_FUNCTION = Hashing.murmur3_128();
+  private static final LoadManifest EMPTY = new LoadManifest(new long[0], new long[0]);
+
+  private final long[] mPathHashes;
+  private final long[] mFingerprints;
+
+  private LoadManifest(long[] pathHashes, long[] fingerprints) {
+    mPathHashes = pathHashes;
+    mFingerprints = fingerprints;
+  }
+
+  /**
+   * @return an empty manifest
+   */
+  public static LoadManifest empty() {
+    return EMPTY;
+  }
+
+  /**
+   * @param ufsPath the full ufs path of a file
+   * @return the hash of the path in the manifest
+   */
+  public static long hashPath(String ufsPath) {
+    return HASH_FUNCTION.hashString(ufsPath, StandardCharsets.UTF_8).asLong();
+  }
+
+  /**
+   * Computes the fingerprint of a file, which changes when the content of the file changes. The
+   * content hash of the file is used when the ufs provides one, the modification time otherwise.
+   *
+   * @param status the status of the file
+   * @return the fingerprint
+   */
+  public static long fingerprint(UfsStatus status) {
+    Hasher hasher = HASH_FUNCTION.newHasher();
+    if (status.isFile()) {
+      UfsFileStatus fileStatus = status.asUfsFileStatus();
+      hasher.putLong(fileStatus.getContentLength());
+      String contentHash = fileStatus.getContentHash();
+      if (contentHash != null && !contentHash.equals(UfsFileStatus.INVALID_CONTENT_HASH)) {
+        hasher.putString(contentHash, StandardCharsets.UTF_8);
+      } else if (status.getLastModifiedTime() != null) {
+        hasher.putLong(status.getLastModifiedTime());
+      }
+    } else {
+      // the metadata of a directory only needs to be loaded once
+      hasher.putBoolean(false);
+    }
+    return hasher.hash().asLong();
+  }
+
+  /**
+   * @param status the status of a file
+   * @return whether the file is in the manifest with the same fingerprint
+   */
+  public boolean contains(UfsStatus status) {
+    int index = Arrays.binarySearch(mPathHashes, hashPath(status.getUfsFullPath().toString()));
+    return index >= 0 && mFingerprints[index] == fingerprint(status);
+  }
+
+  /**
+   * @return the number of files in the manifest
+   */
+  public int size() {
+    return mPathHashes.length;
+  }
+
+  /**
+   * Merges the files of another manifest in this one.
+   *
+   * @param other the other manifest, whose fingerprints win over the ones of this manifest
+   * @return the merged manifest
+   */
+  public LoadManifest merge(LoadManifest other) {
+    if (other.size() == 0) {
+      return this;
+    }
+    long[] pathHashes = new long[size() + other.size()];
+    long[] fingerprints = new long[pathHashes.length];
+    int i = 0;
+    int j = 0;
+    int n = 0;
+    while (i < size() || j < other.size()) {
+      if (j == other.size()
+          || (i < size() && mPathHashes[i] < other.mPathHashes[j])) {
+        pathHashes[n] = mPathHashes[i];
+        fingerprints[n++] = mFingerprints[i++];
+      } else {
+        if (i < size() && mPathHashes[i] == other.mPathHashes[j]) {
+          i++;
+        }
+        pathHashes[n] = other.mPathHashes[j];
+        fingerprints[n++] = other.mFingerprints[j++];
+      }
+    }
+    return new LoadManifest(Arrays.copyOf(pathHashes, n), Arrays.copyOf(fingerprints, n));
+  }
+
+  /**
+   * Converts the manifest to journal entries, each holding a part of the files.
+   *
+   * @param loadPath the path of the load jobs
+   * @param append whether the files are added to the manifest of the path instead of replacing it
+   * @return the journal entries
+   */
+  public Iterator<JournalEntry> toJournalEntries(String loadPath, boolean append) {
+    return new AbstractIterator<JournalEntry>() {
+      private int mOffset = 0;
+
+      @Override
+      protected JournalEntry computeNext() {
+        // an empty manifest which replaces the existing one still needs an entry
+        if (mOffset >= size() && (mOffset > 0 || append)) {
+          return endOfData();
+        }
+        LoadManifestEntry.Builder entry = LoadManifestEntry.newBuilder()
+            .setLoadPath(loadPath)
+            .setAppend(append || mOffset > 0);
+        int end = Math.min(size(), mOffset + JOURNAL_ENTRY_SIZE);
+        for (int i = mOffset; i < end; i++) {
+          entry.addPathHash(mPathHashes[i]).addFingerprint(mFingerprints[i]);
+        }
+        mOffset = Math.max(end, 1);
+        return JournalEntry.newBuilder().setLoadManifest(entry).build();
+      }
+    };
+  }
+
+  /**
+   * Builder of {@link LoadManifest}. When a file is added multiple times, the last fingerprint
+   * added wins.
+   */
+  @NotThreadSafe
+  public static final class Builder {
+    private long[] mPathHashes = new long[16];
+    private long[] mFingerprints = new long[16];
+    private int mSize = 0;
+
+    /**
+     * @param status the status of a loaded file
+     * @return the builder
+     */
+    public Builder add(UfsStatus status) {
+      return add(hashPath(status.getUfsFullPath().toString()), fingerprint(status));
+    }
+
+    /**
+     * @param entry a journal entry of a manifest
+     * @return the builder
+     */
+    public Builder add(LoadManifestEntry entry) {
+      for (int i = 0; i < entry.getPathHashCount(); i++) {
+        add(entry.getPathHash(i), entry.getFingerprint(i));
+      }
+      return this;
+    }
+
+    private Builder add(long pathHash, long fingerprint) {
+      if (mSize == mPathHashes.length) {
+        mPathHashes = Arrays.copyOf(mPathHashes, mSize * 2);
+        mFingerprints = Arrays.copyOf(mFingerprints, mSize * 2);
+      }
+      mPathHashes[mSize] = pathHash;
+      mFingerprints[mSize++] = fingerprint;
+      return this;
+    }
+
+    /**
+     * @return the number of files added to the builder
+     */
+    public int size() {
+      return mSize;
+    }
+
+    /**
+     * @return the manifest
+     */
+    public LoadManifest build() {
+      if (mSize == 0) {
+        return EMPTY;
+      }
+      long[] pathHashes = Arrays.copyOf(mPathHashes, mSize);
+      long[] fingerprints = Arrays.copyOf(mFingerprints, mSize);
+      // a stable sort keeps the files added later after the earlier ones with the same path
+      mergeSort(pathHashes, fingerprints, new long[mSize], new long[mSize], 0, mSize);
+      int n = 0;
+      for (int i = 0; i < mSize; i++) {
+        if (i + 1 < mSize && pathHashes[i + 1] == pathHashes[i]) {
+          continue;
+        }
+        pathHashes[n] = pathHashes[i];
+        fingerprints[n++] = fingerprints[i];
+      }
+      return new LoadManifest(Arrays.copyOf(pathHashes, n), Arrays.copyOf(fingerprints, n));
+    }
+
+    private static void mergeSort(long[] keys, long[] values, long[] keysBuffer,
+        long[] valuesBuffer, int from, int to) {
+      if (to - from < 2) {
+        return;
+      }
+      int mid = (from + to) >>> 1;
+      mergeSort(keys, values, keysBuffer, valuesBuffer, from, mid);
+      mergeSort(keys, values, keysBuffer, valuesBuffer, mid, to);
+      int i = from;
+      int j = mid;
+      for (int n = from; n < to; n++) {
+        if (j == to || (i < mid && keys[i] <= keys[j])) {
+          keysBuffer[n] = keys[i];
+          valuesBuffer[n] = values[i++];
+        } else {
+          keysBuffer[n] = keys[j];
+          valuesBuffer[n] = values[j++];
+        }
+      }
+      System.arraycopy(keysBuffer, from, keys, from, to - from);
+      System.arraycopy(valuesBuffer, from, values, from, to - from);
+    }
+  }
+}
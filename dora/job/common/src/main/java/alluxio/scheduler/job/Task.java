@@ -149,6 +149,13 @@ public abstract class Task<V> implements Comparable<Task> {
     return mTaskStat;
   }
 
+  /**
+   * @return the number of bytes the task is expected to read from the UFS, or 0 if unknown
+   */
+  public long getEstimatedBytes() {
+    return 0;
+  }
+
   /**
    * @return priority
    */
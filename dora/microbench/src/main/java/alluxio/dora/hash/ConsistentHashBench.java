@@ -0,0 +1,150 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.dora.hash;
+
+import static com.google.common.hash.Hashing.murmur3_32_fixed;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import alluxio.Constants;
+import alluxio.client.block.BlockWorkerInfo;
+import alluxio.client.file.dora.HashRing;
+import alluxio.wire.WorkerIdentity;
+import alluxio.wire.WorkerNetAddress;
+
+import com.google.common.hash.HashFunction;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * This benchmark compares the {@link TreeMap} based consistent hash ring that was used by the
+ * client with {@link HashRing}, at the scale of 1000 workers with 1000 virtual nodes each.
+ * The following parameters can be varied:
+ * mImpl - TREE_MAP or HASH_RING
+ * mOperation - LOOKUP a key, or UPDATE the ring after one worker is replaced
+ */
+public class ConsistentHashBench {
+  private static final HashFunction HASH_FUNCTION = murmur3_32_fixed();
+
+  @State(Scope.Benchmark)
+  public static class Ring {
+    @Param({"1000"})
+    public int mNumWorkers;
+
+    @Param({"1000"})
+    public int mNumVirtualNodes;
+
+    @Param({"TREE_MAP", "HASH_RING"})
+    public String mImpl;
+
+    @Param({"LOOKUP", "UPDATE"})
+    public String mOperation;
+
+    List<BlockWorkerInfo> mWorkers;
+    List<BlockWorkerInfo> mChangedWorkers;
+    NavigableMap<Integer, BlockWorkerInfo> mTreeMap;
+    HashRing mHashRing;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      mWorkers = new ArrayList<>();
+      for (int i = 0; i < mNumWorkers; i++) {
+        mWorkers.add(worker(i));
+      }
+      mChangedWorkers = new ArrayList<>(mWorkers);
+      mChangedWorkers.set(mNumWorkers / 2, worker(mNumWorkers));
+      mTreeMap = buildTreeMap(mWorkers, mNumVirtualNodes);
+      mHashRing = HashRing.build(mWorkers, mNumVirtualNodes);
+    }
+
+    private static BlockWorkerInfo worker(int i) {
+      WorkerNetAddress address = new WorkerNetAddress().setHost("worker" + i).setRpcPort(29999);
+      return new BlockWorkerInfo(WorkerIdentity.ParserV0.INSTANCE.fromLong(i), address,
+          Constants.GB, 0);
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class ThreadState {
+    String[] mKeys;
+    int mNext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      mKeys = new String[4096];
+      for (int i = 0; i < mKeys.length; i++) {
+        mKeys[i] = "s3://bucket/warehouse/table/part-" + ThreadLocalRandom.current().nextLong();
+      }
+    }
+
+    String nextKey() {
+      return mKeys[mNext++ & (mKeys.length - 1)];
+    }
+  }
+
+  @Benchmark
+  public void testMethod(Ring ring, ThreadState ts, Blackhole bh) {
+    boolean treeMap = ring.mImpl.equals("TREE_MAP");
+    if (ring.mOperation.equals("LOOKUP")) {
+      String key = ts.nextKey();
+      bh.consume(treeMap ? getFromTreeMap(ring.mTreeMap, key, 1) : ring.mHashRing.get(key, 1));
+    } else {
+      bh.consume(treeMap ? buildTreeMap(ring.mChangedWorkers, ring.mNumVirtualNodes)
+          : ring.mHashRing.update(ring.mChangedWorkers));
+    }
+  }
+
+  private static NavigableMap<Integer, BlockWorkerInfo> buildTreeMap(
+      List<BlockWorkerInfo> workerInfos, int numVirtualNodes) {
+    NavigableMap<Integer, BlockWorkerInfo> map = new TreeMap<>();
+    for (BlockWorkerInfo workerInfo : workerInfos) {
+      for (int i = 0; i < numVirtualNodes; i++) {
+        map.put(HASH_FUNCTION.newHasher()
+            .putObject(workerInfo.getIdentity(), WorkerIdentity.HashFunnel.INSTANCE)
+            .putInt(i)
+            .hash().asInt(), workerInfo);
+      }
+    }
+    return map;
+  }
+
+  private static BlockWorkerInfo getFromTreeMap(NavigableMap<Integer, BlockWorkerInfo> map,
+      String key, int index) {
+    int hash = HASH_FUNCTION.newHasher().putString(key, UTF_8).putInt(index).hash().asInt();
+    Map.Entry<Integer, BlockWorkerInfo> entry = map.ceilingEntry(hash);
+    return entry != null ? entry.getValue() : map.firstEntry().getValue();
+  }
+
+  public static void main(String []args) throws RunnerException {
+    Options opt = new OptionsBuilder().include(ConsistentHashBench.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .warmupIterations(5)
+        .forks(1).threads(1).build();
+    new Runner(opt).run();
+  }
+}
@@ -13,6 +13,7 @@ package alluxio.dora.meta;
 
 import static alluxio.dora.meta.DoraMetaBenchBase.ROCKS;
 import static alluxio.dora.meta.DoraMetaBenchBase.ROCKS_1GB_CACHE;
+import static alluxio.dora.meta.DoraMetaBenchBase.ROCKS_COMPACT;
 import static alluxio.dora.meta.DoraMetaBenchBase.UFS_PATH_PREFIX;
 import static alluxio.dora.meta.DoraMetaBenchBase.makeFileStatus;
 
@@ -57,7 +58,7 @@ public class DoraMetaBench {
     @Param({"ZIPF"})
     public Distribution mDistribution;
 
-    @Param({ROCKS, ROCKS_1GB_CACHE})
+    @Param({ROCKS, ROCKS_1GB_CACHE, ROCKS_COMPACT})
     public String mType;
 
     @Param({"READ"})
@@ -17,6 +17,7 @@ import alluxio.conf.PropertyKey;
 import alluxio.grpc.FileInfo;
 import alluxio.grpc.PAcl;
 import alluxio.proto.meta.DoraMeta;
+import alluxio.worker.dora.CompactRocksDBDoraMetaStore;
 import alluxio.worker.dora.DoraMetaStore;
 import alluxio.worker.dora.RocksDBDoraMetaStore;
 
@@ -25,6 +26,7 @@ import java.io.IOException;
 class DoraMetaBenchBase {
   public static final String ROCKS = "rocks";
   public static final String ROCKS_1GB_CACHE = "rocks-1gb-cache";
+  public static final String ROCKS_COMPACT = "rocks-compact";
   private static final boolean BOOLEAN_FIELD = false;
   private static final int INT_FIELD = 1;
   private static final String STRING_FIELD = "foobar";
@@ -96,6 +98,8 @@ class DoraMetaBenchBase {
         Configuration.set(PropertyKey.DORA_WORKER_METASTORE_ROCKSDB_CACHE_SIZE,
             (long) 1024 * 1204 * 1024); // 1GB
         return new RocksDBDoraMetaStore(dir, -1);
+      case ROCKS_COMPACT:
+        return new CompactRocksDBDoraMetaStore(dir, -1);
       default:
         throw new IllegalStateException("Invalid type: " + type);
     }
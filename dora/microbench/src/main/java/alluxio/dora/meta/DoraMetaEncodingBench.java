@@ -0,0 +1,90 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.dora.meta;
+
+import alluxio.proto.meta.DoraMeta;
+import alluxio.underfs.UfsFileStatus;
+import alluxio.worker.dora.DoraMetaValueCodec;
+import alluxio.worker.dora.PagedDoraWorker;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Optional;
+
+/**
+ * This benchmark compares the protobuf encoding of the dora worker metadata with the
+ * compact encoding of {@link DoraMetaValueCodec}, on a file status built the same way the
+ * worker builds it from a UFS status. The encoded sizes are printed in the setup.
+ * The following parameters can be varied:
+ * mEncoding - proto or compact
+ * mOperation - encode or decode
+ */
+public class DoraMetaEncodingBench {
+  private static final String PATH =
+      "s3://bucket/warehouse/db.db/table/dt=2023-01-01/part-00000-0a1b2c3d.c000.snappy.parquet";
+
+  @State(Scope.Benchmark)
+  public static class Db {
+    @Param({"PROTO", "COMPACT"})
+    public String mEncoding;
+
+    @Param({"ENCODE", "DECODE"})
+    public String mOperation;
+
+    DoraMeta.FileStatus mStatus;
+    byte[] mEncoded;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      mStatus = DoraMeta.FileStatus.newBuilder()
+          .setFileInfo(PagedDoraWorker.buildFileInfoFromUfsStatus(Optional.empty(), "s3",
+              new UfsFileStatus(PATH, "0a1b2c3d4e5f", 128L * 1024 * 1024,
+                  System.currentTimeMillis(), "owner", "group", (short) 0644, 64L << 20),
+              PATH, null))
+          .setTs(System.nanoTime())
+          .build();
+      mEncoded = mEncoding.equals("PROTO") ? mStatus.toByteArray()
+          : DoraMetaValueCodec.encode(PATH, mStatus);
+      System.out.printf("%s value size: %d bytes%n", mEncoding, mEncoded.length);
+    }
+  }
+
+  @Benchmark
+  public void testMethod(Db db, Blackhole bh) throws Exception {
+    boolean proto = db.mEncoding.equals("PROTO");
+    if (db.mOperation.equals("ENCODE")) {
+      bh.consume(proto ? db.mStatus.toByteArray() : DoraMetaValueCodec.encode(PATH, db.mStatus));
+    } else {
+      bh.consume(proto ? DoraMeta.FileStatus.parseFrom(db.mEncoded)
+          : DoraMetaValueCodec.decode(PATH, db.mEncoded));
+    }
+  }
+
+  public static void main(String []args) throws RunnerException {
+    Options opt = new OptionsBuilder().include(DoraMetaEncodingBench.class.getSimpleName())
+        .addProfiler(GCProfiler.class)
+        .warmupIterations(5)
+        .forks(1).threads(1).build();
+    new Runner(opt).run();
+  }
+}
@@ -46,6 +46,7 @@ import alluxio.master.metastore.rocks.RocksInodeStore;
 import alluxio.master.metrics.MetricsMaster;
 import alluxio.master.metrics.MetricsMasterFactory;
 import alluxio.underfs.UfsManager;
+import alluxio.wire.FileInfo;
 
 import com.google.common.base.Preconditions;
 import org.apache.log4j.Level;
@@ -54,6 +55,7 @@ import org.apache.log4j.Logger;
 import java.io.IOException;
 import java.time.Clock;
 import java.util.ArrayList;
+import java.util.Optional;
 import java.util.function.Consumer;
 
 class InodeBenchBase {
@@ -147,10 +149,22 @@ class InodeBenchBase {
         mBasePath.get(depth), nxtFileId, myId));
   }
 
-  Inode getFile(int depth, long nxtFileId) throws Exception {
+  FileInfo getFileInfo(int depth, long nxtFileId, boolean optimistic) throws Exception {
+    AlluxioURI uri = getPath(0, depth, nxtFileId);
+    if (optimistic) {
+      // the same lookup as the optimistic path of DefaultFileSystemMaster#getFileInfo
+      Optional<FileInfo> info = mTree.readInodePathOptimistically(uri, inodes -> {
+        Inode last = inodes.get(inodes.size() - 1);
+        return last.getName().equals(uri.getName())
+            ? last.generateClientFileInfo(uri.toString()) : null;
+      });
+      if (info.isPresent()) {
+        return info.get();
+      }
+    }
     try (LockedInodePath path = mTree.lockFullInodePath(
-        getPath(0, depth, nxtFileId), InodeTree.LockPattern.READ, NoopJournalContext.INSTANCE)) {
-      return path.getInode();
+        uri, InodeTree.LockPattern.READ, NoopJournalContext.INSTANCE)) {
+      return path.getInode().generateClientFileInfo(uri.toString());
     }
   }
 
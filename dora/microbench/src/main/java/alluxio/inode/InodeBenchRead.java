@@ -45,6 +45,8 @@ import org.openjdk.jmh.runner.options.OptionsBuilder;
  *   with shallow depth will be more likely to be chosen, and files with
  *   larger ids are more likely to be chosen (i.e. those written later).
  * mType - the type of inode storage to use
+ * mOptimistic - if true, the file info of single files is first read without locking the
+ *   path as getStatus does, falling back to locking it when the read races with a write
  * mRocksConfig - see {@link RocksBenchConfig}
  */
 public class InodeBenchRead {
@@ -72,6 +74,9 @@ public class InodeBenchRead {
     @Param({ROCKSCACHE})
     public String mType;
 
+    @Param({"false", "true"})
+    public boolean mOptimistic;
+
     @Param({RocksBenchConfig.JAVA_CONFIG})
     public String mRocksConfig;
 
@@ -103,7 +108,7 @@ public class InodeBenchRead {
   public void testMethod(Db db, ThreadState ts, Blackhole bh) throws Exception {
     int depth = ts.nextDepth(db);
     if (db.mSingleFile) {
-      bh.consume(db.mBase.getFile(depth, ts.nextFileId(db, depth)));
+      bh.consume(db.mBase.getFileInfo(depth, ts.nextFileId(db, depth), db.mOptimistic));
     } else {
       db.mBase.listDir(depth, bh::consume);
     }
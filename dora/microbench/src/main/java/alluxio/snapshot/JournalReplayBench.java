@@ -0,0 +1,167 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.snapshot;
+
+import alluxio.Constants;
+import alluxio.annotation.SuppressFBWarnings;
+import alluxio.conf.Configuration;
+import alluxio.conf.PropertyKey;
+import alluxio.master.journal.NoopJournaled;
+import alluxio.master.journal.raft.BufferedJournalApplier;
+import alluxio.master.journal.raft.RaftJournal;
+import alluxio.proto.journal.Block;
+import alluxio.proto.journal.File;
+import alluxio.proto.journal.Job;
+import alluxio.proto.journal.Journal.JournalEntry;
+import alluxio.proto.journal.Meta;
+
+import com.google.common.hash.Hashing;
+import org.apache.log4j.LogManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Measures how long the journal applier takes to replay a journal, depending on
+ * {@link PropertyKey#MASTER_JOURNAL_REPLAY_PARALLELISM}. The masters are replaced by state
+ * machines hashing and indexing the entries, so that the benchmark measures the replay rather
+ * than the metadata stores.
+ */
+@SuppressFBWarnings("UWF_FIELD_NOT_INITIALIZED_IN_CONSTRUCTOR")
+public class JournalReplayBench {
+  @State(Scope.Benchmark)
+  public static class Replay {
+    @Param({"1000000"})
+    public int mNumEntries;
+
+    @Param({"1", "4", "16"})
+    public int mParallelism;
+
+    List<JournalEntry> mEntries;
+    Map<String, RaftJournal> mJournals;
+    BufferedJournalApplier mApplier;
+
+    @Setup(Level.Trial)
+    public void setup() {
+      LogManager.getRootLogger().setLevel(org.apache.log4j.Level.ERROR);
+      Configuration.set(PropertyKey.MASTER_JOURNAL_REPLAY_PARALLELISM, mParallelism);
+      mJournals = new HashMap<>();
+      for (String master : new String[] {Constants.FILE_SYSTEM_MASTER_NAME,
+          Constants.BLOCK_MASTER_NAME, Constants.META_MASTER_NAME}) {
+        mJournals.put(master, new RaftJournal(new IndexingJournaled(),
+            URI.create("/" + master), new AtomicReference<>()));
+      }
+      // mostly namespace entries creating and updating inodes spread over many directories, with
+      // some job, block and configuration entries, and a mount every 100k
+      mEntries = new ArrayList<>(mNumEntries);
+      for (int i = 0; i < mNumEntries; i++) {
+        JournalEntry.Builder entry = JournalEntry.newBuilder().setSequenceNumber(i);
+        if (i % 100_000 == 0) {
+          entry.setAddMountPoint(File.AddMountPointEntry.newBuilder()
+              .setAlluxioPath("/mnt" + i).setUfsPath("s3://bucket/mnt" + i));
+        } else if (i % 10 < 4) {
+          entry.setInodeFile(File.InodeFileEntry.newBuilder()
+              .setId(i).setParentId(i / 1000).setName("file" + i));
+        } else if (i % 10 < 7) {
+          entry.setUpdateInode(File.UpdateInodeEntry.newBuilder()
+              .setId(i - i % 10).setLastModificationTimeMs(i));
+        } else if (i % 10 < 8) {
+          entry.setLoadManifest(Job.LoadManifestEntry.newBuilder()
+              .setLoadPath("/load" + i % 100).setAppend(true).addPathHash(i).addFingerprint(i));
+        } else if (i % 10 < 9) {
+          entry.setBlockInfo(Block.BlockInfoEntry.newBuilder()
+              .setBlockId(i).setLength(Constants.MB));
+        } else {
+          entry.setPathProperties(Meta.PathPropertiesEntry.newBuilder()
+              .setPath("/path" + i % 1000).putProperties("key", "value" + i));
+        }
+        mEntries.add(entry.build());
+      }
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation() {
+      mApplier = new BufferedJournalApplier(mJournals, Collections::emptySet);
+    }
+
+    @TearDown(Level.Invocation)
+    public void tearDownInvocation() {
+      mApplier.close();
+      for (RaftJournal journal : mJournals.values()) {
+        journal.getStateMachine().resetState();
+      }
+    }
+  }
+
+  /**
+   * Applies an entry by hashing it and indexing its hash by sequence number.
+   */
+  private static class IndexingJournaled implements NoopJournaled {
+    private final Map<Long, Long> mIndex = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean processJournalEntry(JournalEntry entry) {
+      mIndex.put(entry.getSequenceNumber(),
+          Hashing.murmur3_128().hashBytes(entry.toByteArray()).asLong());
+      return true;
+    }
+
+    @Override
+    public void resetState() {
+      mIndex.clear();
+    }
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1)
+  @Measurement(iterations = 3)
+  public void replay(Blackhole bh, Replay replay) {
+    for (JournalEntry entry : replay.mEntries) {
+      replay.mApplier.processJournalEntry(entry);
+    }
+    replay.mApplier.awaitApplied();
+    bh.consume(replay.mApplier);
+  }
+
+  public static void main(String[] args) throws Exception {
+    Options argsCli = new CommandLineOptions(args);
+    Options opts = new OptionsBuilder()
+        .forks(0)
+        .parent(argsCli)
+        .include(JournalReplayBench.class.getName())
+        .result("results.json")
+        .resultFormat(ResultFormatType.JSON)
+        .build();
+    new Runner(opts).run();
+  }
+}
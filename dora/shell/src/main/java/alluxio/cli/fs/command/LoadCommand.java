@@ -116,6 +116,14 @@ public final class LoadCommand extends AbstractFileSystemCommand {
       .desc("If specified, skip files if they exist and are fully cached in alluxio.")
       .build();
 
+  private static final Option INCREMENTAL = Option.builder()
+      .longOpt("incremental")
+      .required(false)
+      .hasArg(false)
+      .desc("If specified, only load the files which are new or changed since the last "
+          + "incremental load of the path.")
+      .build();
+
   private static final Option FILE_FILTER_REGX = Option.builder()
       .longOpt("file-filter-regx")
       .required(false)
@@ -150,6 +158,7 @@ public final class LoadCommand extends AbstractFileSystemCommand {
         .addOption(PROGRESS_VERBOSE)
         .addOption(LOAD_METADATA_ONLY)
         .addOption(SKIP_IF_EXISTS)
+        .addOption(INCREMENTAL)
         .addOption(FILE_FILTER_REGX);
   }
 
@@ -178,6 +187,7 @@ public final class LoadCommand extends AbstractFileSystemCommand {
           cl.hasOption(VERIFY_OPTION.getLongOpt()),
           cl.hasOption(LOAD_METADATA_ONLY.getLongOpt()),
           cl.hasOption(SKIP_IF_EXISTS.getLongOpt()),
+          cl.hasOption(INCREMENTAL.getLongOpt()),
           regxPatternStr);
     }
 
@@ -200,7 +210,7 @@ public final class LoadCommand extends AbstractFileSystemCommand {
     return "For distributed load:\n"
         + "\tload <path> --submit "
         + "[--bandwidth N] [--verify] [--partial-listing] [--metadata-only] [--skip-if-exists] "
-        + "[--file-filter-regx <regx_pattern_string>]\n"
+        + "[--incremental] [--file-filter-regx <regx_pattern_string>]\n"
         + "\tload <path> --stop\n"
         + "\tload <path> --progress [--format TEXT|JSON] [--verbose]\n";
   }
@@ -230,11 +240,12 @@ public final class LoadCommand extends AbstractFileSystemCommand {
 
   private int submitLoad(AlluxioURI path, OptionalLong bandwidth,
       boolean usePartialListing, boolean verify, boolean loadMetadataOnly, boolean skipIfExists,
-                         Optional<String> regxPatternStr) {
+      boolean incremental, Optional<String> regxPatternStr) {
     LoadJobPOptions.Builder options = alluxio.grpc.LoadJobPOptions
         .newBuilder().setPartialListing(usePartialListing).setVerify(verify)
         .setLoadMetadataOnly(loadMetadataOnly)
-        .setSkipIfExists(skipIfExists);
+        .setSkipIfExists(skipIfExists)
+        .setIncremental(incremental);
     if (bandwidth.isPresent()) {
       options.setBandwidth(bandwidth.getAsLong());
     }
@@ -16,15 +16,19 @@ import alluxio.annotation.PublicApi;
 import alluxio.cli.CommandUtils;
 import alluxio.client.file.DoraCacheFileSystem;
 import alluxio.client.file.FileSystemContext;
+import alluxio.client.file.dora.CacheReport;
 import alluxio.exception.AlluxioException;
 import alluxio.exception.status.InvalidArgumentException;
 import alluxio.wire.WorkerNetAddress;
 
 import com.google.gson.Gson;
 import org.apache.commons.cli.CommandLine;
+import org.apache.commons.cli.Option;
+import org.apache.commons.cli.Options;
 
 import java.io.IOException;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -38,6 +42,20 @@ import javax.annotation.concurrent.ThreadSafe;
 @ThreadSafe
 @PublicApi
 public final class LocationCommand extends AbstractFileSystemCommand {
+  private static final Option SUMMARY_OPTION =
+      Option.builder().longOpt("summary")
+          .required(false)
+          .hasArg(false)
+          .desc("print the bytes of the files under the path cached by the workers")
+          .build();
+
+  private static final Option RECURSIVE_OPTION =
+      Option.builder("R").longOpt("recursive")
+          .required(false)
+          .hasArg(false)
+          .desc("include the files in the subdirectories in the summary")
+          .build();
+
   /**
    * Constructs a new instance to display a list of hosts that have the file specified in args
    * stored.
@@ -58,6 +76,17 @@ public final class LocationCommand extends AbstractFileSystemCommand {
       throws AlluxioException, IOException {
     if (mFileSystem.getDoraCacheFileSystem() != null) {
       DoraCacheFileSystem doraCacheFileSystem = mFileSystem.getDoraCacheFileSystem();
+      if (cl.hasOption(SUMMARY_OPTION.getLongOpt())) {
+        CacheReport report = doraCacheFileSystem.getCacheReport(plainPath,
+            cl.hasOption(RECURSIVE_OPTION.getOpt()));
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("path", doraCacheFileSystem.convertToUfsPath(plainPath).toString());
+        summary.put("cachedFiles", report.getCachedFiles());
+        summary.put("cachedBytes", report.getCachedBytes());
+        summary.put("failedWorkers", report.getFailedWorkers());
+        System.out.println(new Gson().toJson(summary));
+        return;
+      }
       Map<String, List<WorkerNetAddress>> pathLocations =
           doraCacheFileSystem.checkFileLocation(plainPath);
       WorkerNetAddress preferredWorker = doraCacheFileSystem.getWorkerNetAddress(plainPath);
@@ -91,6 +120,13 @@ public final class LocationCommand extends AbstractFileSystemCommand {
     }
   }
 
+  @Override
+  public Options getOptions() {
+    return new Options()
+        .addOption(SUMMARY_OPTION)
+        .addOption(RECURSIVE_OPTION);
+  }
+
   @Override
   public int run(CommandLine cl) throws AlluxioException, IOException {
     String[] args = cl.getArgs();
@@ -101,12 +137,13 @@ public final class LocationCommand extends AbstractFileSystemCommand {
 
   @Override
   public String getUsage() {
-    return "location <path>";
+    return "location [--summary [-R]] <path>";
   }
 
   @Override
   public String getDescription() {
-    return "Displays the list of hosts storing the specified file.";
+    return "Displays the list of hosts storing the specified file, or with --summary, the bytes "
+        + "of the files under the specified path cached by the workers.";
   }
 
   @Override
@@ -0,0 +1,183 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.s3a;
+
+import alluxio.underfs.MultipartUploader;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.internal.Mimetypes;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.ObjectMetadata;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.Futures;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.ListeningExecutorService;
+import org.apache.commons.codec.digest.DigestUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * A {@link MultipartUploader} for aws s3. The parts are uploaded on the given executor, so that
+ * they can be put in any order and in parallel.
+ */
+@ThreadSafe
+public class S3AMultipartUploader implements MultipartUploader {
+  private static final Logger LOG = LoggerFactory.getLogger(S3AMultipartUploader.class);
+
+  private final String mBucketName;
+  private final String mKey;
+  private final AmazonS3 mClient;
+  private final ListeningExecutorService mExecutor;
+  private final boolean mSseEnabled;
+  /**
+   * Tags for the uploaded parts, provided by S3 after uploading.
+   */
+  private final List<PartETag> mTags = Collections.synchronizedList(new ArrayList<>());
+  private final List<ListenableFuture<Void>> mFutures =
+      Collections.synchronizedList(new ArrayList<>());
+
+  private volatile String mUploadId;
+
+  /**
+   * Constructs a new multipart uploader.
+   *
+   * @param bucketName the name of the bucket
+   * @param key        the key of the file
+   * @param s3Client   the Amazon S3 client to upload the file with
+   * @param executor   the executor uploading the parts
+   * @param sseEnabled whether server side encryption is enabled
+   */
+  public S3AMultipartUploader(String bucketName, String key, AmazonS3 s3Client,
+      ListeningExecutorService executor, boolean sseEnabled) {
+    mBucketName = Preconditions.checkNotNull(bucketName);
+    mKey = Preconditions.checkNotNull(key);
+    mClient = Preconditions.checkNotNull(s3Client);
+    mExecutor = Preconditions.checkNotNull(executor);
+    mSseEnabled = sseEnabled;
+  }
+
+  @Override
+  public void startUpload() throws IOException {
+    try {
+      ObjectMetadata meta = new ObjectMetadata();
+      if (mSseEnabled) {
+        meta.setSSEAlgorithm(ObjectMetadata.AES_256_SERVER_SIDE_ENCRYPTION);
+      }
+      meta.setContentType(Mimetypes.MIMETYPE_OCTET_STREAM);
+      mUploadId = mClient
+          .initiateMultipartUpload(new InitiateMultipartUploadRequest(mBucketName, mKey, meta))
+          .getUploadId();
+    } catch (SdkClientException e) {
+      throw new IOException(String.format("failed to init multi part upload, key: %s", mKey), e);
+    }
+  }
+
+  @Override
+  public ListenableFuture<Void> putPart(ByteBuffer b, int partNumber) throws IOException {
+    Preconditions.checkState(mUploadId != null, "The upload of %s is not started", mKey);
+    byte[] data = new byte[b.remaining()];
+    b.get(data);
+    ListenableFuture<Void> future = mExecutor.submit(() -> {
+      uploadPart(data, partNumber);
+      return null;
+    });
+    mFutures.add(future);
+    return future;
+  }
+
+  private void uploadPart(byte[] data, int partNumber) throws IOException {
+    try {
+      UploadPartRequest request = new UploadPartRequest()
+          .withBucketName(mBucketName)
+          .withKey(mKey)
+          .withUploadId(mUploadId)
+          .withPartNumber(partNumber)
+          .withInputStream(new ByteArrayInputStream(data))
+          .withPartSize(data.length)
+          .withMD5Digest(Base64.getEncoder().encodeToString(DigestUtils.md5(data)));
+      mTags.add(mClient.uploadPart(request).getPartETag());
+    } catch (SdkClientException e) {
+      LOG.debug("failed to upload part.", e);
+      throw new IOException(String.format(
+          "failed to upload part. key: %s part number: %s uploadId: %s",
+          mKey, partNumber, mUploadId), e);
+    }
+  }
+
+  @Override
+  public void complete() throws IOException {
+    flush();
+    List<PartETag> tags;
+    synchronized (mTags) {
+      tags = new ArrayList<>(mTags);
+    }
+    // S3 requires the parts in ascending order, but they may finish in any order
+    tags.sort(Comparator.comparingInt(PartETag::getPartNumber));
+    try {
+      LOG.debug("complete multi part {}", mUploadId);
+      mClient.completeMultipartUpload(
+          new CompleteMultipartUploadRequest(mBucketName, mKey, mUploadId, tags));
+    } catch (SdkClientException e) {
+      throw new IOException(
+          String.format("failed to complete multi part upload, key: %s, upload id: %s",
+              mKey, mUploadId), e);
+    }
+  }
+
+  @Override
+  public void abort() throws IOException {
+    List<ListenableFuture<Void>> futures;
+    synchronized (mFutures) {
+      futures = new ArrayList<>(mFutures);
+    }
+    futures.forEach(future -> future.cancel(true));
+    try {
+      mClient.abortMultipartUpload(new AbortMultipartUploadRequest(mBucketName, mKey, mUploadId));
+    } catch (SdkClientException e) {
+      throw new IOException(
+          String.format("failed to abort multi part upload, key: %s, upload id: %s", mKey,
+              mUploadId), e);
+    }
+  }
+
+  @Override
+  public void flush() throws IOException {
+    List<ListenableFuture<Void>> futures;
+    synchronized (mFutures) {
+      futures = new ArrayList<>(mFutures);
+    }
+    try {
+      Futures.allAsList(futures).get();
+    } catch (ExecutionException e) {
+      throw new IOException(String.format("failed to upload parts of %s", mKey), e.getCause());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException(String.format("interrupted uploading parts of %s", mKey), e);
+    }
+  }
+}
@@ -11,6 +11,7 @@
 
 package alluxio.underfs.s3a;
 
+import alluxio.conf.AlluxioConfiguration;
 import alluxio.underfs.ObjectPositionReader;
 
 import com.amazonaws.services.s3.AmazonS3;
@@ -44,6 +45,19 @@ public class S3APositionReader extends ObjectPositionReader {
     mClient = client;
   }
 
+  /**
+   * @param conf       the configuration of the UFS
+   * @param client     the amazon s3a client
+   * @param bucketName the bucket name
+   * @param path       the file path
+   * @param fileLength the file length
+   */
+  public S3APositionReader(AlluxioConfiguration conf, AmazonS3 client, String bucketName,
+      String path, long fileLength) {
+    super(conf, bucketName, path, fileLength);
+    mClient = client;
+  }
+
   @Override
   protected InputStream openObjectInputStream(
       long position, int bytesToRead) {
@@ -16,6 +16,7 @@ import alluxio.Constants;
 import alluxio.conf.PropertyKey;
 import alluxio.file.options.DescendantType;
 import alluxio.retry.RetryPolicy;
+import alluxio.underfs.MultipartUploader;
 import alluxio.underfs.ObjectUnderFileSystem;
 import alluxio.underfs.UfsDirectoryStatus;
 import alluxio.underfs.UfsFileStatus;
@@ -55,6 +56,7 @@ import com.amazonaws.services.s3.model.GetObjectTaggingResult;
 import com.amazonaws.services.s3.model.ListObjectsRequest;
 import com.amazonaws.services.s3.model.ListObjectsV2Request;
 import com.amazonaws.services.s3.model.ListObjectsV2Result;
+import com.amazonaws.services.s3.model.MultiObjectDeleteException;
 import com.amazonaws.services.s3.model.ObjectListing;
 import com.amazonaws.services.s3.model.ObjectMetadata;
 import com.amazonaws.services.s3.model.ObjectTagging;
@@ -481,7 +483,8 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
 
   @Override
   public S3APositionReader openPositionRead(String path, long fileLength) {
-    return new S3APositionReader(mClient, mBucketName, stripPrefixIfPresent(path), fileLength);
+    return new S3APositionReader(mUfsConf, mClient, mBucketName, stripPrefixIfPresent(path),
+        fileLength);
   }
 
   @Override
@@ -619,6 +622,17 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
     }
   }
 
+  @Override
+  public boolean supportsMultipartUpload() {
+    return true;
+  }
+
+  @Override
+  public MultipartUploader createMultipartUploader(String path) {
+    return new S3AMultipartUploader(mBucketName, stripPrefixIfPresent(path), mClient, mExecutor,
+        mUfsConf.getBoolean(PropertyKey.UNDERFS_S3_SERVER_SIDE_ENCRYPTION_ENABLED));
+  }
+
   @Override
   protected OutputStream createObject(String key) throws IOException {
     if (mStreamingUploadEnabled) {
@@ -666,6 +680,14 @@ public class S3AUnderFileSystem extends ObjectUnderFileSystem {
         deletedObjects.add(deletedObject.getKey());
       }
       return deletedObjects;
+    } catch (MultiObjectDeleteException e) {
+      // some keys failed to be deleted, only these are retried
+      LOG.debug("Failed to delete {} out of {} objects", e.getErrors().size(), keys.size());
+      List<String> deletedObjects = new ArrayList<>();
+      for (DeleteObjectsResult.DeletedObject deletedObject : e.getDeletedObjects()) {
+        deletedObjects.add(deletedObject.getKey());
+      }
+      return deletedObjects;
     } catch (AmazonClientException e) {
       throw AlluxioS3Exception.from(e);
     }
@@ -0,0 +1,101 @@
+/*
+ * The Alluxio Open Foundation licenses this work under the Apache License, version 2.0
+ * (the "License"). You may not use this work except in compliance with the License, which is
+ * available at www.apache.org/licenses/LICENSE-2.0
+ *
+ * This software is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND,
+ * either express or implied, as more fully set forth in the License.
+ *
+ * See the NOTICE file distributed with this work for information regarding copyright ownership.
+ */
+
+package alluxio.underfs.s3a;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.amazonaws.SdkClientException;
+import com.amazonaws.services.s3.AmazonS3;
+import com.amazonaws.services.s3.model.AbortMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadRequest;
+import com.amazonaws.services.s3.model.CompleteMultipartUploadResult;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadRequest;
+import com.amazonaws.services.s3.model.InitiateMultipartUploadResult;
+import com.amazonaws.services.s3.model.PartETag;
+import com.amazonaws.services.s3.model.UploadPartRequest;
+import com.amazonaws.services.s3.model.UploadPartResult;
+import com.google.common.util.concurrent.MoreExecutors;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Unit tests for the {@link S3AMultipartUploader}.
+ */
+public class S3AMultipartUploaderTest {
+  private static final String BUCKET_NAME = "testBucket";
+  private static final String KEY = "testKey";
+  private static final String UPLOAD_ID = "testUploadId";
+
+  private AmazonS3 mClient;
+  private S3AMultipartUploader mUploader;
+
+  @Before
+  public void before() {
+    mClient = mock(AmazonS3.class);
+    InitiateMultipartUploadResult initResult = new InitiateMultipartUploadResult();
+    initResult.setUploadId(UPLOAD_ID);
+    when(mClient.initiateMultipartUpload(any(InitiateMultipartUploadRequest.class)))
+        .thenReturn(initResult);
+    when(mClient.uploadPart(any(UploadPartRequest.class))).thenAnswer(invocation -> {
+      UploadPartRequest request = invocation.getArgument(0);
+      UploadPartResult result = new UploadPartResult();
+      result.setPartNumber(request.getPartNumber());
+      result.setETag("etag" + request.getPartNumber());
+      return result;
+    });
+    when(mClient.completeMultipartUpload(any(CompleteMultipartUploadRequest.class)))
+        .thenReturn(new CompleteMultipartUploadResult());
+    mUploader = new S3AMultipartUploader(BUCKET_NAME, KEY, mClient,
+        MoreExecutors.newDirectExecutorService(), false);
+  }
+
+  @Test
+  public void completesPartsInPartOrder() throws Exception {
+    mUploader.startUpload();
+    mUploader.putPart(ByteBuffer.wrap(new byte[] {3}), 3).get();
+    mUploader.putPart(ByteBuffer.wrap(new byte[] {1}), 1).get();
+    mUploader.putPart(ByteBuffer.wrap(new byte[] {2}), 2).get();
+    mUploader.complete();
+
+    ArgumentCaptor<CompleteMultipartUploadRequest> request =
+        ArgumentCaptor.forClass(CompleteMultipartUploadRequest.class);
+    verify(mClient).completeMultipartUpload(request.capture());
+    assertEquals(UPLOAD_ID, request.getValue().getUploadId());
+    assertEquals(Arrays.asList(1, 2, 3), Arrays.asList(
+        request.getValue().getPartETags().stream().map(PartETag::getPartNumber)
+            .toArray(Integer[]::new)));
+  }
+
+  @Test
+  public void completeFailsOnFailedPart() throws Exception {
+    when(mClient.uploadPart(any(UploadPartRequest.class)))
+        .thenThrow(new SdkClientException("failed"));
+    mUploader.startUpload();
+    mUploader.putPart(ByteBuffer.wrap(new byte[] {1}), 1);
+
+    assertThrows(IOException.class, () -> mUploader.complete());
+    verify(mClient, never()).completeMultipartUpload(any(CompleteMultipartUploadRequest.class));
+    mUploader.abort();
+    verify(mClient).abortMultipartUpload(any(AbortMultipartUploadRequest.class));
+  }
+}